@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.OpenWeatherMapClient;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpTransports;
+import com.github.prominence.openweathermap.api.http.PooledHttpTransport;
+import com.github.prominence.openweathermap.api.model.weather.Weather;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request round trip through async terminators against a local stub server.
+ * Allocation per operation includes url building, HTTP exchange and response mapping.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncTerminatorBenchmark {
+    @Param({"POOLED", "HTTP_CLIENT"})
+    public String transport;
+
+    private StubServer server;
+    private OpenWeatherMapClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        final HttpTransport httpTransport;
+        if ("HTTP_CLIENT".equals(transport)) {
+            httpTransport = HttpTransports.newHttpClientTransport();
+        } else {
+            httpTransport = new PooledHttpTransport();
+        }
+        server = new StubServer(Fixtures.loadBytes(Fixtures.WEATHER_SINGLE), 0, 100);
+        client = new OpenWeatherMapClient("benchmark", server.redirect(httpTransport));
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Weather asJava() {
+        return client.currentWeather()
+                .single()
+                .byCityName("Minsk")
+                .retrieveAsync()
+                .asJava()
+                .join();
+    }
+
+    @Benchmark
+    public String asJSON() {
+        return client.currentWeather()
+                .single()
+                .byCityName("Minsk")
+                .retrieveAsync()
+                .asJSON()
+                .join();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.enums.AirQualityIndex;
+import com.github.prominence.openweathermap.api.enums.WeatherCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up enum constants by API codes, as mappers do for every weather state and air pollution sample.
+ * Each operation cycles over all known codes, so every constant is looked up equally often.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EnumLookupBenchmark {
+    private int[] weatherConditionIds;
+    private int[] airQualityIndexes;
+    private int weatherConditionPosition;
+    private int airQualityIndexPosition;
+
+    @Setup
+    public void setUp() {
+        final WeatherCondition[] weatherConditions = WeatherCondition.values();
+        weatherConditionIds = new int[weatherConditions.length];
+        for (int i = 0; i < weatherConditions.length; i++) {
+            weatherConditionIds[i] = weatherConditions[i].getId();
+        }
+
+        final AirQualityIndex[] airQualityIndexValues = AirQualityIndex.values();
+        airQualityIndexes = new int[airQualityIndexValues.length];
+        for (int i = 0; i < airQualityIndexValues.length; i++) {
+            airQualityIndexes[i] = airQualityIndexValues[i].getValue();
+        }
+    }
+
+    @Benchmark
+    public WeatherCondition weatherConditionGetById() {
+        weatherConditionPosition = (weatherConditionPosition + 1) % weatherConditionIds.length;
+        return WeatherCondition.getById(weatherConditionIds[weatherConditionPosition]);
+    }
+
+    @Benchmark
+    public AirQualityIndex airQualityIndexGetByIndex() {
+        airQualityIndexPosition = (airQualityIndexPosition + 1) % airQualityIndexes.length;
+        return AirQualityIndex.getByIndex(airQualityIndexes[airQualityIndexPosition]);
+    }
+}
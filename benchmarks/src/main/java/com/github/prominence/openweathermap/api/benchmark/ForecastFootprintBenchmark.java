@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.FiveDayThreeHourStepForecastResponseMapper;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.model.forecast.ForecastSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link com.github.prominence.openweathermap.api.model.forecast.Forecast} with {@link ForecastSeries}.
+ * <code>*Footprint</code> benchmarks report retained heap per forecast with {@link RetainedHeap}, the other ones measure mapping throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastFootprintBenchmark {
+    private FiveDayThreeHourStepForecastResponseMapper mapper;
+    private byte[] forecast;
+
+    @Setup
+    public void setUp() {
+        mapper = MappingContext.getDefault().getForecastResponseMapper(UnitSystem.METRIC);
+        forecast = Fixtures.loadBytes(Fixtures.FORECAST);
+    }
+
+    @Benchmark
+    public Object mapForecast() {
+        return mapper.mapToForecast(new ByteArrayInputStream(forecast));
+    }
+
+    @Benchmark
+    public Object mapForecastSeries() {
+        return mapper.mapToForecastSeries(new ByteArrayInputStream(forecast));
+    }
+
+    @Benchmark
+    public double seriesTemperatureSum(SeriesState state) {
+        final ForecastSeries series = state.series;
+        double sum = 0;
+        for (int i = 0; i < series.size(); i++) {
+            sum += series.getTemperature(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double forecastTemperatureSum(SeriesState state) {
+        return state.series.toForecast().getWeatherForecasts().stream().mapToDouble(weatherForecast -> weatherForecast.getTemperature().getValue()).sum();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 1)
+    public Object forecastFootprint(RetainedHeap retainedHeap) {
+        return retainedHeap.measure(() -> mapper.mapToForecast(new ByteArrayInputStream(forecast)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 1)
+    public Object seriesFootprint(RetainedHeap retainedHeap) {
+        return retainedHeap.measure(() -> mapper.mapToForecastSeries(new ByteArrayInputStream(forecast)));
+    }
+
+    @State(Scope.Thread)
+    public static class SeriesState {
+        ForecastSeries series;
+
+        @Setup
+        public void setUp(ForecastFootprintBenchmark benchmark) {
+            series = benchmark.mapper.mapToForecastSeries(new ByteArrayInputStream(benchmark.forecast));
+        }
+    }
+}
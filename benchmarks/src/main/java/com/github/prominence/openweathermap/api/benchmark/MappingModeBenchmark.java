@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares full response mapping with tree-based and streaming mappers.
+ * With lazy mapping One Call sections aren't parsed, as if only current conditions are read.
+ * Run with <code>-prof gc</code> to see allocation per mapped response in <code>gc.alloc.rate.norm</code>.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingModeBenchmark {
+    @Param({Fixtures.WEATHER_SINGLE, Fixtures.WEATHER_LIST, Fixtures.FORECAST, Fixtures.ONECALL_FULL, Fixtures.ONECALL_HISTORICAL, Fixtures.AIR_POLLUTION_HISTORY})
+    public String fixture;
+
+    @Param({"TREE", "STREAMING", "LAZY"})
+    public MappingMode mappingMode;
+
+    private String json;
+    private MappingContext mappingContext;
+
+    @Setup
+    public void setUp() {
+        json = Fixtures.load(fixture);
+        mappingContext = new MappingContext(mappingMode);
+    }
+
+    @Benchmark
+    public Object map() {
+        switch (fixture) {
+            case Fixtures.WEATHER_SINGLE:
+                return mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getSingle(json);
+            case Fixtures.WEATHER_LIST:
+                return mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getList(json);
+            case Fixtures.FORECAST:
+                return mappingContext.getForecastResponseMapper(UnitSystem.METRIC).mapToForecast(json);
+            case Fixtures.ONECALL_FULL:
+                return mappingContext.getOneCallWeatherResponseMapper(UnitSystem.METRIC).mapToCurrent(json);
+            case Fixtures.ONECALL_HISTORICAL:
+                return mappingContext.getOneCallWeatherResponseMapper(UnitSystem.METRIC).mapToHistorical(json);
+            case Fixtures.AIR_POLLUTION_HISTORY:
+                return mappingContext.getAirPollutionResponseMapper().mapToAirPollution(json);
+            default:
+                throw new IllegalArgumentException("Unknown fixture: " + fixture);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained heap of mapped hourly history payloads: 5 days of hourly air pollution records and a day of historical weather.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelFootprintBenchmark {
+    private MappingContext mappingContext;
+    private byte[] airPollutionHistory;
+    private byte[] oneCallHistorical;
+
+    @Setup
+    public void setUp() {
+        mappingContext = MappingContext.getDefault();
+        airPollutionHistory = Fixtures.loadBytes(Fixtures.AIR_POLLUTION_HISTORY);
+        oneCallHistorical = Fixtures.loadBytes(Fixtures.ONECALL_HISTORICAL);
+    }
+
+    @Benchmark
+    public Object airPollutionHistoryFootprint(RetainedHeap retainedHeap) {
+        return retainedHeap.measure(() -> mappingContext.getAirPollutionResponseMapper().mapToAirPollution(new ByteArrayInputStream(airPollutionHistory)));
+    }
+
+    @Benchmark
+    public Object oneCallHistoricalFootprint(RetainedHeap retainedHeap) {
+        return retainedHeap.measure(() -> mappingContext.getOneCallWeatherResponseMapper(UnitSystem.METRIC).mapToHistorical(new ByteArrayInputStream(oneCallHistorical)));
+    }
+}
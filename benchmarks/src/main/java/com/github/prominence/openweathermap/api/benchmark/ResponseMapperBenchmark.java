@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps recorded payloads from byte streams the same way <code>asJava()</code> terminators map response bodies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMapperBenchmark {
+    @Param({"TREE", "STREAMING"})
+    public MappingMode mappingMode;
+
+    private MappingContext mappingContext;
+    private byte[] weatherSingle;
+    private byte[] weatherList;
+    private byte[] forecast;
+    private byte[] oneCallFull;
+    private byte[] oneCallHistorical;
+    private byte[] airPollutionHistory;
+
+    @Setup
+    public void setUp() {
+        mappingContext = new MappingContext(mappingMode);
+        weatherSingle = Fixtures.loadBytes(Fixtures.WEATHER_SINGLE);
+        weatherList = Fixtures.loadBytes(Fixtures.WEATHER_LIST);
+        forecast = Fixtures.loadBytes(Fixtures.FORECAST);
+        oneCallFull = Fixtures.loadBytes(Fixtures.ONECALL_FULL);
+        oneCallHistorical = Fixtures.loadBytes(Fixtures.ONECALL_HISTORICAL);
+        airPollutionHistory = Fixtures.loadBytes(Fixtures.AIR_POLLUTION_HISTORY);
+    }
+
+    @Benchmark
+    public Object currentWeatherSingle() {
+        return mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getSingle(new ByteArrayInputStream(weatherSingle));
+    }
+
+    @Benchmark
+    public Object currentWeatherList() {
+        return mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getList(new ByteArrayInputStream(weatherList));
+    }
+
+    @Benchmark
+    public Object forecast() {
+        return mappingContext.getForecastResponseMapper(UnitSystem.METRIC).mapToForecast(new ByteArrayInputStream(forecast));
+    }
+
+    @Benchmark
+    public Object oneCallCurrent() {
+        return mappingContext.getOneCallWeatherResponseMapper(UnitSystem.METRIC).mapToCurrent(new ByteArrayInputStream(oneCallFull));
+    }
+
+    @Benchmark
+    public Object oneCallHistorical() {
+        return mappingContext.getOneCallWeatherResponseMapper(UnitSystem.METRIC).mapToHistorical(new ByteArrayInputStream(oneCallHistorical));
+    }
+
+    @Benchmark
+    public Object airPollutionHistory() {
+        return mappingContext.getAirPollutionResponseMapper().mapToAirPollution(new ByteArrayInputStream(airPollutionHistory));
+    }
+}
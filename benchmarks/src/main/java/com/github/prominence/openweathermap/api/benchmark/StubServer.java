@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local HTTP server that answers every request with the same fixture.
+ * Delayed responses are sent from a scheduler, so waiting requests don't hold server threads.
+ */
+public final class StubServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ScheduledExecutorService responseScheduler;
+
+    /**
+     * Starts the server.
+     *
+     * @param body          response body.
+     * @param latencyMillis delay before each response.
+     * @param backlog       maximum number of pending connections.
+     * @throws IOException in case if the server can't be started.
+     */
+    public StubServer(byte[] body, int latencyMillis, int backlog) throws IOException {
+        // otherwise Nagle's algorithm and delayed ACKs add ~40 ms to every keep-alive exchange
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        responseScheduler = Executors.newScheduledThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), backlog);
+        server.createContext("/", exchange -> {
+            final Runnable response = () -> {
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    exchange.sendResponseHeaders(200, body.length);
+                    outputStream.write(body);
+                } catch (IOException ex) {
+                    exchange.close();
+                }
+            };
+            if (latencyMillis > 0) {
+                responseScheduler.schedule(response, latencyMillis, TimeUnit.MILLISECONDS);
+            } else {
+                response.run();
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    /**
+     * Wraps transport to send all API calls to this server.
+     *
+     * @param delegate the transport to execute requests with.
+     * @return the redirecting transport, async if the delegate is.
+     */
+    public HttpTransport redirect(HttpTransport delegate) {
+        if (delegate instanceof AsyncHttpTransport) {
+            return new AsyncRedirectingTransport((AsyncHttpTransport) delegate, server.getAddress().getPort());
+        }
+        return new RedirectingTransport(delegate, server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+        responseScheduler.shutdownNow();
+    }
+
+    private static class RedirectingTransport implements HttpTransport {
+        private final HttpTransport delegate;
+        private final int port;
+
+        private RedirectingTransport(HttpTransport delegate, int port) {
+            this.delegate = delegate;
+            this.port = port;
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+            return delegate.execute(redirect(url), timeoutSettings);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        URL redirect(URL url) throws MalformedURLException {
+            return new URL("http", "127.0.0.1", port, url.getFile());
+        }
+    }
+
+    private static final class AsyncRedirectingTransport extends RedirectingTransport implements AsyncHttpTransport {
+        private final AsyncHttpTransport delegate;
+
+        private AsyncRedirectingTransport(AsyncHttpTransport delegate, int port) {
+            super(delegate, port);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            try {
+                return delegate.executeAsync(redirect(url), timeoutSettings);
+            } catch (MalformedURLException ex) {
+                final CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ex);
+                return failed;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.mapper.TimeConversion;
+import com.github.prominence.openweathermap.api.model.onecall.current.CurrentWeatherData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares conversion of API timestamps with zone resolved per timestamp and with cached one,
+ * and full One Call mapping with every {@link TimeConversion}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeConversionBenchmark {
+    private static final long EPOCH_SECOND = 1618610400L;
+
+    @Param({"SYSTEM_DEFAULT", "UTC", "EPOCH_SECONDS"})
+    public String timeConversionType;
+
+    @Param({"TREE", "STREAMING"})
+    public MappingMode mappingMode;
+
+    private String json;
+    private TimeConversion timeConversion;
+    private MappingContext mappingContext;
+
+    @Setup
+    public void setUp() {
+        json = Fixtures.load(Fixtures.ONECALL_FULL);
+        switch (timeConversionType) {
+            case "SYSTEM_DEFAULT":
+                timeConversion = TimeConversion.systemDefaultZone();
+                break;
+            case "UTC":
+                timeConversion = TimeConversion.zone(ZoneOffset.UTC);
+                break;
+            case "EPOCH_SECONDS":
+                timeConversion = TimeConversion.epochSeconds();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown time conversion: " + timeConversionType);
+        }
+        mappingContext = new MappingContext(mappingMode, timeConversion);
+    }
+
+    @Benchmark
+    public LocalDateTime convertWithDefaultTimeZoneLookup() {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(EPOCH_SECOND), TimeZone.getDefault().toZoneId());
+    }
+
+    @Benchmark
+    public LocalDateTime convert() {
+        return timeConversion.toLocalDateTime(EPOCH_SECOND);
+    }
+
+    @Benchmark
+    public CurrentWeatherData mapOneCall() {
+        return mappingContext.getOneCallWeatherResponseMapper(UnitSystem.METRIC).mapToCurrent(json);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.Language;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Builds request urls for typical OneCall and current weather requests.
+ * <code>legacy*</code> benchmarks reproduce the former stream based implementation without encoding as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlBuildingBenchmark {
+    private RequestSettings oneCallSettings;
+    private RequestSettings currentWeatherSettings;
+    private RequestSettings encodedCityNameSettings;
+
+    @Setup
+    public void setUp() {
+        oneCallSettings = new RequestSettings("0123456789abcdef0123456789abcdef", new TimeoutSettings(), null, new MappingContext());
+        oneCallSettings.appendToURL("onecall");
+        oneCallSettings.putRequestParameter("lat", "53.9045");
+        oneCallSettings.putRequestParameter("lon", "27.5615");
+        oneCallSettings.putRequestParameter("exclude", "minutely,alerts");
+        oneCallSettings.setUnitSystem(UnitSystem.METRIC);
+        oneCallSettings.setLanguage(Language.GERMAN);
+
+        currentWeatherSettings = new RequestSettings("0123456789abcdef0123456789abcdef", new TimeoutSettings(), null, new MappingContext());
+        currentWeatherSettings.appendToURL("weather");
+        currentWeatherSettings.putRequestParameter("q", "Minsk,BY");
+
+        encodedCityNameSettings = new RequestSettings("0123456789abcdef0123456789abcdef", new TimeoutSettings(), null, new MappingContext());
+        encodedCityNameSettings.appendToURL("weather");
+        encodedCityNameSettings.putRequestParameter("q", "São Paulo,BR");
+    }
+
+    @Benchmark
+    public String oneCallUrl() {
+        return RequestUtils.getRequestUrl(oneCallSettings);
+    }
+
+    @Benchmark
+    public String currentWeatherUrl() {
+        return RequestUtils.getRequestUrl(currentWeatherSettings);
+    }
+
+    @Benchmark
+    public String oneCallCanonicalRequest() {
+        return RequestUtils.getCanonicalRequest(oneCallSettings);
+    }
+
+    @Benchmark
+    public String encodedCityNameUrl() {
+        return RequestUtils.getRequestUrl(encodedCityNameSettings);
+    }
+
+    @Benchmark
+    public String legacyOneCallUrl() {
+        return legacyRequestUrl(oneCallSettings);
+    }
+
+    @Benchmark
+    public String legacyCurrentWeatherUrl() {
+        return legacyRequestUrl(currentWeatherSettings);
+    }
+
+    private static String legacyRequestUrl(RequestSettings requestSettings) {
+        StringBuilder requestUrlBuilder = new StringBuilder("https://api.openweathermap.org/data/2.5/");
+        requestUrlBuilder.append(requestSettings.getUrlAppender());
+        requestUrlBuilder.append("?appid=0123456789abcdef0123456789abcdef&");
+        String parameters = requestSettings.getRequestParameters().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"));
+        requestUrlBuilder.append(parameters);
+
+        return requestUrlBuilder.toString();
+    }
+}
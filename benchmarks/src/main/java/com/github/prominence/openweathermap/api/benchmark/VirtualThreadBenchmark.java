@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.benchmark;
+
+import com.github.prominence.openweathermap.api.OpenWeatherMapClient;
+import com.github.prominence.openweathermap.api.enums.ExecutionMode;
+import com.github.prominence.openweathermap.api.http.PooledHttpTransport;
+import com.github.prominence.openweathermap.api.utils.VirtualThreadUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ExecutionMode#PLATFORM_THREADS} with a fixed pool and {@link ExecutionMode#VIRTUAL_THREADS}
+ * for a burst of concurrent <code>retrieveAsync()</code> requests with the blocking pooled transport.
+ * Requests are sent to a local stub server that answers after <code>latencyMillis</code> without holding a thread.
+ * Virtual thread runs fail on Java older than 21, use <code>-p executionMode=PLATFORM_THREADS</code> there.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+    @Param({"PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    public ExecutionMode executionMode;
+
+    @Param("10000")
+    public int concurrentRequests;
+
+    @Param("200")
+    public int platformThreads;
+
+    @Param("1000")
+    public int maxConnections;
+
+    @Param("50")
+    public int latencyMillis;
+
+    private StubServer server;
+    private ExecutorService platformExecutor;
+    private OpenWeatherMapClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (executionMode == ExecutionMode.VIRTUAL_THREADS && !VirtualThreadUtils.isSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer.");
+        }
+
+        server = new StubServer(Fixtures.loadBytes(Fixtures.WEATHER_SINGLE), latencyMillis, maxConnections);
+        client = new OpenWeatherMapClient("benchmark", server.redirect(new PooledHttpTransport(maxConnections, PooledHttpTransport.DEFAULT_IDLE_TIMEOUT_MILLIS)));
+        if (executionMode == ExecutionMode.VIRTUAL_THREADS) {
+            client.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+        } else {
+            platformExecutor = Executors.newFixedThreadPool(platformThreads);
+            client.setExecutor(platformExecutor);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public int concurrentRequests() {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures[i] = client.currentWeather()
+                    .single()
+                    .byCityId(i)
+                    .retrieveAsync()
+                    .asJava();
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+}
@@ -23,12 +23,39 @@
 package com.github.prominence.openweathermap.api;
 
 import com.github.prominence.openweathermap.api.annotation.SubscriptionAvailability;
+import com.github.prominence.openweathermap.api.cache.DiskResponseCache;
+import com.github.prominence.openweathermap.api.cache.ResponseCache;
+import com.github.prominence.openweathermap.api.circuitbreaker.CircuitBreaker;
+import com.github.prominence.openweathermap.api.conf.CacheSettings;
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
 import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.ExecutionMode;
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.RateLimitMode;
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+import com.github.prominence.openweathermap.api.hedging.HedgingPolicy;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.http.UrlConnectionHttpTransport;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.mapper.TimeConversion;
+import com.github.prominence.openweathermap.api.metrics.ClientMetrics;
+import com.github.prominence.openweathermap.api.ratelimit.RateLimiter;
+import com.github.prominence.openweathermap.api.request.RequestExecutor;
+import com.github.prominence.openweathermap.api.retry.RetryPolicy;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.RequestUrlBuilder;
 import com.github.prominence.openweathermap.api.request.air.pollution.AirPollutionRequester;
 import com.github.prominence.openweathermap.api.request.forecast.free.FiveDayThreeHourStepForecastRequester;
 import com.github.prominence.openweathermap.api.request.onecall.OneCallWeatherRequester;
 import com.github.prominence.openweathermap.api.request.weather.CurrentWeatherRequester;
+import com.github.prominence.openweathermap.api.tracing.RequestTracer;
+
+import java.io.Closeable;
+import java.util.concurrent.Executor;
 
 import static com.github.prominence.openweathermap.api.enums.SubscriptionPlan.ALL;
 
@@ -36,16 +63,30 @@ import static com.github.prominence.openweathermap.api.enums.SubscriptionPlan.AL
  * The main public API client to communicate with OpenWeatherMap services.
  * Requires API key for usage. More info on the website <a href="https://openweathermap.org/api">https://openweathermap.org/api</a>.
  */
-public class OpenWeatherMapClient {
-    private final String apiKey;
+public class OpenWeatherMapClient implements Closeable {
+    private final RequestUrlBuilder requestUrlBuilder;
     private final TimeoutSettings timeoutSettings = new TimeoutSettings();
+    private final RequestExecutor requestExecutor;
+    private MappingContext mappingContext = new MappingContext();
 
     /**
-     * Created OpenWeatherMap client object.
+     * Created OpenWeatherMap client object with default {@link UrlConnectionHttpTransport}, which respects JVM proxy settings and follows redirects.
      * @param apiKey API key obtained on <a href="https://home.openweathermap.org/api_keys">OpenWeatherMap site</a>.
      */
     public OpenWeatherMapClient(String apiKey) {
-        this.apiKey = apiKey;
+        this(apiKey, new UrlConnectionHttpTransport());
+    }
+
+    /**
+     * Created OpenWeatherMap client object.
+     * @param apiKey API key obtained on <a href="https://home.openweathermap.org/api_keys">OpenWeatherMap site</a>.
+     * @param httpTransport transport to execute requests with, e.g. {@link com.github.prominence.openweathermap.api.http.PooledHttpTransport}
+     *                      or {@link com.github.prominence.openweathermap.api.http.HttpTransports#newHttpClientTransport()}.
+     *                      The client takes ownership and closes it in {@link #close()}.
+     */
+    public OpenWeatherMapClient(String apiKey, HttpTransport httpTransport) {
+        this.requestUrlBuilder = new RequestUrlBuilder(apiKey);
+        this.requestExecutor = new RequestExecutor(httpTransport);
     }
 
     public void setConnectionTimeout(int connectionTimeout) {
@@ -56,13 +97,273 @@ public class OpenWeatherMapClient {
         timeoutSettings.setReadTimeout(readTimeout);
     }
 
+    /**
+     * Sets the way responses are mapped into java objects. {@link MappingMode#TREE} is used by default.
+     * Affects only requesters created after the call.
+     * @param mappingMode the mapping mode
+     */
+    public void setMappingMode(MappingMode mappingMode) {
+        this.mappingContext = new MappingContext(mappingMode, mappingContext.getTimeConversion());
+    }
+
+    /**
+     * Sets the way API timestamps are converted into local date and time. {@link TimeConversion#systemDefaultZone()} is used by default.
+     * Affects only requesters created after the call.
+     * @param timeConversion the time conversion
+     */
+    public void setTimeConversion(TimeConversion timeConversion) {
+        this.mappingContext = new MappingContext(mappingContext.getMappingMode(), timeConversion);
+    }
+
+    /**
+     * Enables in-memory cache of responses with default settings.
+     * Equal requests made within time to live of their endpoint type are served without API calls.
+     */
+    public void enableCache() {
+        enableCache(new CacheSettings());
+    }
+
+    /**
+     * Enables in-memory cache of responses. Previously cached responses are dropped.
+     * @param cacheSettings size limit and time to live per endpoint type
+     */
+    public void enableCache(CacheSettings cacheSettings) {
+        requestExecutor.setResponseCache(new ResponseCache(cacheSettings));
+    }
+
+    /**
+     * Disables cache of responses, it is disabled by default.
+     */
+    public void disableCache() {
+        requestExecutor.setResponseCache(null);
+    }
+
+    /**
+     * Returns cache of responses, e.g. to check its hit and miss counters.
+     * @return the cache or <code>null</code> if caching is disabled
+     */
+    public ResponseCache getResponseCache() {
+        return requestExecutor.getResponseCache();
+    }
+
+    /**
+     * Enables persistent cache of responses in addition to the in-memory one, by default for historical data only.
+     * Responses stored by previous processes using the same directory are served without API calls.
+     * @param diskCacheSettings directory, size cap and time to live per endpoint type
+     * @throws java.io.UncheckedIOException in case if the directory can't be used
+     * @throws IllegalStateException in case if the directory is used by another client or process
+     */
+    public void enableDiskCache(DiskCacheSettings diskCacheSettings) {
+        requestExecutor.setDiskResponseCache(new DiskResponseCache(diskCacheSettings));
+    }
+
+    /**
+     * Disables persistent cache of responses and releases its directory, it is disabled by default. Stored responses are kept on disk.
+     */
+    public void disableDiskCache() {
+        requestExecutor.setDiskResponseCache(null);
+    }
+
+    /**
+     * Returns persistent cache of responses, e.g. to check its hit and miss counters.
+     * @return the cache or <code>null</code> if disk caching is disabled
+     */
+    public DiskResponseCache getDiskResponseCache() {
+        return requestExecutor.getDiskResponseCache();
+    }
+
+    /**
+     * Enables or disables coalescing of identical concurrent requests, it is disabled by default.
+     * When enabled, requests with equal endpoint and parameters made while the first of them is in flight
+     * wait for its response instead of making own API calls. Each of them still gets own result object.
+     * @param requestCoalescing <code>true</code> to enable coalescing
+     */
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        requestExecutor.setRequestCoalescing(requestCoalescing);
+    }
+
+    /**
+     * Limits API calls to the calls per minute quota of the subscription plan.
+     * @param subscriptionPlan the subscription plan of the API key
+     * @param rateLimitMode whether requests wait for a permit or fail at once when the quota is reached
+     */
+    public void enableRateLimit(SubscriptionPlan subscriptionPlan, RateLimitMode rateLimitMode) {
+        enableRateLimit(RateLimiter.forSubscriptionPlan(subscriptionPlan, rateLimitMode));
+    }
+
+    /**
+     * Limits API calls with provided rate limiter, e.g. with explicit limits lower than the plan quota.
+     * @param rateLimiter the rate limiter, its counters show wait times and rejections
+     */
+    public void enableRateLimit(RateLimiter rateLimiter) {
+        requestExecutor.setRateLimiter(rateLimiter);
+    }
+
+    /**
+     * Disables rate limiting, it is disabled by default.
+     */
+    public void disableRateLimit() {
+        requestExecutor.setRateLimiter(null);
+    }
+
+    public RateLimiter getRateLimiter() {
+        return requestExecutor.getRateLimiter();
+    }
+
+    /**
+     * Enables retries of calls failed with network errors or 429 and 5xx statuses with default settings.
+     */
+    public void enableRetries() {
+        enableRetries(new RetrySettings());
+    }
+
+    /**
+     * Enables retries of failed calls with exponential backoff and jitter, limited by retry budget.
+     * Calls of both <code>retrieve()</code> and <code>retrieveAsync()</code> are retried.
+     * @param retrySettings attempts limit, backoff, retried failures and retry budget
+     */
+    public void enableRetries(RetrySettings retrySettings) {
+        requestExecutor.setRetryPolicy(new RetryPolicy(retrySettings));
+    }
+
+    /**
+     * Disables retries of failed calls, they are disabled by default.
+     */
+    public void disableRetries() {
+        requestExecutor.setRetryPolicy(null);
+    }
+
+    /**
+     * Returns retry policy, e.g. to check its retry and budget counters.
+     * @return the policy or <code>null</code> if retries are disabled
+     */
+    public RetryPolicy getRetryPolicy() {
+        return requestExecutor.getRetryPolicy();
+    }
+
+    /**
+     * Enables circuit breakers of API endpoints with default settings.
+     * @see #enableCircuitBreakers(CircuitBreakerSettings)
+     */
+    public void enableCircuitBreakers() {
+        enableCircuitBreakers(new CircuitBreakerSettings());
+    }
+
+    /**
+     * Enables per-endpoint circuit breakers. A breaker opens when failure or slow call rate exceeds its threshold,
+     * then calls of the endpoint fail fast with {@link com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException}
+     * or get the last successful response of the same request, until probe calls in half-open state succeed.
+     * @param circuitBreakerSettings thresholds, sliding window, open state duration and stale responses serving
+     */
+    public void enableCircuitBreakers(CircuitBreakerSettings circuitBreakerSettings) {
+        requestExecutor.setCircuitBreakerSettings(circuitBreakerSettings);
+    }
+
+    /**
+     * Disables circuit breakers, they are disabled by default.
+     */
+    public void disableCircuitBreakers() {
+        requestExecutor.setCircuitBreakerSettings(null);
+    }
+
+    /**
+     * Returns circuit breaker of the endpoint, e.g. to check its state and transition counts.
+     * @param endpointType the endpoint type
+     * @return the breaker or <code>null</code> if circuit breakers are disabled
+     */
+    public CircuitBreaker getCircuitBreaker(EndpointType endpointType) {
+        return requestExecutor.getCircuitBreaker(endpointType);
+    }
+
+    /**
+     * Enables hedging of slow calls with default settings.
+     * @see #enableHedging(HedgingSettings)
+     */
+    public void enableHedging() {
+        enableHedging(new HedgingSettings());
+    }
+
+    /**
+     * Enables hedging of slow calls: when a call isn't completed in the tracked latency percentile of its endpoint type,
+     * a duplicate call is made on another connection, the first response is used and the other call is cancelled.
+     * Duplicate calls are limited to a share of all calls.
+     * @param hedgingSettings latency percentile, latency window and extra load limit
+     */
+    public void enableHedging(HedgingSettings hedgingSettings) {
+        requestExecutor.setHedgingPolicy(new HedgingPolicy(hedgingSettings));
+    }
+
+    /**
+     * Disables hedging of slow calls, it is disabled by default.
+     */
+    public void disableHedging() {
+        requestExecutor.setHedgingPolicy(null);
+    }
+
+    /**
+     * Returns hedging policy, e.g. to check its hedge delays and counters.
+     * @return the policy or <code>null</code> if hedging is disabled
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return requestExecutor.getHedgingPolicy();
+    }
+
+    /**
+     * Reports latency phases, response sizes and statuses, failures and in-flight requests of API calls to provided metrics,
+     * e.g. to {@link com.github.prominence.openweathermap.api.metrics.MicrometerClientMetrics}. Disabled by default.
+     * @param clientMetrics the metrics, {@link ClientMetrics#noop()} disables reporting
+     */
+    public void setClientMetrics(ClientMetrics clientMetrics) {
+        requestExecutor.setClientMetrics(clientMetrics);
+    }
+
+    public ClientMetrics getClientMetrics() {
+        return requestExecutor.getClientMetrics();
+    }
+
+    /**
+     * Traces API calls with spans of their queue, network and mapping phases,
+     * e.g. with {@link com.github.prominence.openweathermap.api.tracing.OpenTelemetryRequestTracer}. Disabled by default.
+     * Spans of <code>retrieveAsync()</code> calls are children of the trace context current on the calling thread.
+     * @param requestTracer the tracer, {@link RequestTracer#noop()} disables tracing
+     */
+    public void setRequestTracer(RequestTracer requestTracer) {
+        requestExecutor.setRequestTracer(requestTracer);
+    }
+
+    public RequestTracer getRequestTracer() {
+        return requestExecutor.getRequestTracer();
+    }
+
+    /**
+     * Sets executor for <code>retrieveAsync()</code> requests, {@link java.util.concurrent.ForkJoinPool#commonPool()} is used by default.
+     * Blocking transports run the whole call on it, so a dedicated pool keeps slow network calls away from the common pool.
+     * Non-blocking transports, e.g. {@link com.github.prominence.openweathermap.api.http.HttpTransports#newHttpClientTransport()}, use it only for response mapping.
+     * @param executor the executor
+     */
+    public void setExecutor(Executor executor) {
+        requestExecutor.setExecutor(executor);
+    }
+
+    /**
+     * Sets threads that execute <code>retrieveAsync()</code> requests with blocking transport.
+     * {@link ExecutionMode#VIRTUAL_THREADS} allows thousands of concurrent requests without a large thread pool,
+     * check {@link com.github.prominence.openweathermap.api.utils.VirtualThreadUtils#isSupported()} before enabling it.
+     * Replaces executor set by {@link #setExecutor(Executor)}.
+     * @param executionMode the execution mode
+     * @throws UnsupportedOperationException in case if virtual threads are requested on Java older than 21.
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        requestExecutor.setExecutionMode(executionMode);
+    }
+
     /**
      * Current Weather <a href="https://openweathermap.org/current">API</a>.
      * @return requester for retrieving current weather information.
      */
     @SubscriptionAvailability(plans = ALL)
     public CurrentWeatherRequester currentWeather() {
-        return new CurrentWeatherRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new CurrentWeatherRequester(new RequestSettings(requestUrlBuilder, timeoutSettings, requestExecutor, mappingContext));
     }
 
     /**
@@ -71,7 +372,7 @@ public class OpenWeatherMapClient {
      */
     @SubscriptionAvailability(plans = ALL)
     public FiveDayThreeHourStepForecastRequester forecast5Day3HourStep() {
-        return new FiveDayThreeHourStepForecastRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new FiveDayThreeHourStepForecastRequester(new RequestSettings(requestUrlBuilder, timeoutSettings, requestExecutor, mappingContext));
     }
 
     /**
@@ -81,7 +382,7 @@ public class OpenWeatherMapClient {
      */
     @SubscriptionAvailability(plans = ALL)
     public OneCallWeatherRequester oneCall() {
-        return new OneCallWeatherRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new OneCallWeatherRequester(new RequestSettings(requestUrlBuilder, timeoutSettings, requestExecutor, mappingContext));
     }
 
     /**
@@ -91,6 +392,14 @@ public class OpenWeatherMapClient {
      */
     @SubscriptionAvailability(plans = ALL)
     public AirPollutionRequester airPollution() {
-        return new AirPollutionRequester(new RequestSettings(apiKey, timeoutSettings));
+        return new AirPollutionRequester(new RequestSettings(requestUrlBuilder, timeoutSettings, requestExecutor, mappingContext));
+    }
+
+    /**
+     * Releases resources of the client, e.g. pooled connections, virtual thread executor and disk cache directory.
+     */
+    @Override
+    public void close() {
+        requestExecutor.close();
     }
 }
@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.cache;
+
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache of raw response bodies, e.g. to serve historical data after restart without paid API calls.
+ * Responses are appended to memory-mapped segment files of fixed size and located via in-memory index keyed by canonical request,
+ * which is rebuilt from segments on start. Later records of the same key override earlier ones.
+ * When size cap is reached, the segment with least live data is compacted, i.e. its live records are moved to the active segment,
+ * or the oldest segment is dropped if all segments are mostly live.
+ * <p>
+ * Expiration is based on wall clock time, as it must survive restarts. The directory is locked, so only one process may use it.
+ * Disk errors never fail requests: they are logged and treated as cache misses.
+ * <p>
+ * Segments are forced to disk when they are full and on close only. Appended records survive a crash of the process,
+ * as mapped memory belongs to the OS, but records of the active segment may be lost on OS crash or power loss.
+ * Files of dropped segments which can't be deleted while mapped, e.g. on Windows, are emptied and deleted later.
+ */
+public class DiskResponseCache implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(DiskResponseCache.class);
+
+    private static final String SEGMENT_PREFIX = "responses-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String LOCK_FILE_NAME = "cache.lock";
+    // record length, CRC32, expiration time and key length
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 4;
+
+    private final DiskCacheSettings settings;
+    private final LongSupplier wallClock;
+    private final int maxSegments;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, Location> index = new HashMap<>();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final List<Path> pendingDeletes = new ArrayList<>();
+
+    private Segment activeSegment;
+    private boolean closed;
+
+    private long hitCount;
+    private long missCount;
+    private long compactionCount;
+    private long droppedSegmentCount;
+
+    /**
+     * Opens the cache in the settings directory, loading responses stored by previous processes.
+     *
+     * @param settings the cache settings, copied on creation.
+     * @throws UncheckedIOException in case if the directory can't be used.
+     * @throws IllegalStateException in case if the directory is used by another cache.
+     */
+    public DiskResponseCache(DiskCacheSettings settings) {
+        this(settings, System::currentTimeMillis);
+    }
+
+    DiskResponseCache(DiskCacheSettings settings, LongSupplier wallClock) {
+        this.settings = new DiskCacheSettings(settings);
+        this.wallClock = wallClock;
+        this.maxSegments = (int) Math.min(Integer.MAX_VALUE, this.settings.getMaxSizeBytes() / this.settings.getSegmentSizeBytes());
+        try {
+            Files.createDirectories(this.settings.getDirectory());
+            lockChannel = FileChannel.open(this.settings.getDirectory().resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        try {
+            lock = lockChannel.tryLock();
+        } catch (IOException | OverlappingFileLockException ex) {
+            closeQuietly(lockChannel);
+            throw new IllegalStateException("Cache directory is used by another process: " + this.settings.getDirectory(), ex);
+        }
+        if (lock == null) {
+            closeQuietly(lockChannel);
+            throw new IllegalStateException("Cache directory is used by another process: " + this.settings.getDirectory());
+        }
+        try {
+            load();
+        } catch (IOException ex) {
+            close();
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Checks whether responses of the endpoint type are stored on disk at all.
+     *
+     * @param endpointType the endpoint type.
+     * @return <code>true</code> if time to live of the endpoint type is positive.
+     */
+    public boolean isCacheable(EndpointType endpointType) {
+        return settings.getTimeToLiveMillis(endpointType) > 0;
+    }
+
+    /**
+     * Returns stored response body.
+     *
+     * @param key the canonical request.
+     * @return the body or <code>null</code> if there is no fresh response.
+     */
+    public synchronized byte[] get(String key) {
+        final Location location = closed ? null : index.get(key);
+        if (location == null) {
+            missCount++;
+            return null;
+        }
+        if (location.expiresAt <= wallClock.getAsLong()) {
+            remove(key, location);
+            missCount++;
+            return null;
+        }
+        final byte[] body = new byte[location.bodyLength];
+        final ByteBuffer buffer = location.segment.buffer.duplicate();
+        buffer.position(location.bodyOffset());
+        buffer.get(body);
+        hitCount++;
+        return body;
+    }
+
+    /**
+     * Appends response body for the time to live of the endpoint type.
+     *
+     * @param key          the canonical request.
+     * @param endpointType type of the requested endpoint.
+     * @param body         the response body.
+     */
+    public synchronized void put(String key, EndpointType endpointType, byte[] body) {
+        final long timeToLiveMillis = settings.getTimeToLiveMillis(endpointType);
+        if (closed || timeToLiveMillis == 0) {
+            return;
+        }
+        try {
+            append(key.getBytes(StandardCharsets.UTF_8), body, wallClock.getAsLong() + timeToLiveMillis);
+        } catch (IOException ex) {
+            logger.warn("Cannot store response in disk cache: ", ex);
+        }
+    }
+
+    /**
+     * Compacts all segments except the active one where more than half of data is stale.
+     */
+    public synchronized void compact() {
+        if (closed) {
+            return;
+        }
+        try {
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                if (segment != activeSegment && segment.liveBytes * 2 < segment.writePosition) {
+                    compact(segment);
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Cannot compact disk cache: ", ex);
+        }
+    }
+
+    /**
+     * Removes all stored responses and their segment files.
+     */
+    public synchronized void clear() {
+        if (closed) {
+            return;
+        }
+        index.clear();
+        try {
+            final long nextId = activeSegment.id + 1;
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                deleteSegment(segment);
+            }
+            activeSegment = createSegment(nextId);
+        } catch (IOException ex) {
+            logger.warn("Cannot clear disk cache: ", ex);
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns total size of segment files.
+     *
+     * @return size in bytes.
+     */
+    public synchronized long getSizeBytes() {
+        return (long) segments.size() * settings.getSegmentSizeBytes();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getCompactionCount() {
+        return compactionCount;
+    }
+
+    public synchronized long getDroppedSegmentCount() {
+        return droppedSegmentCount;
+    }
+
+    /**
+     * Flushes segments to disk and releases the directory. Mapped memory is released by garbage collector,
+     * files of dropped segments which are still mapped are deleted on next start.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+        retryPendingDeletes();
+        segments.clear();
+        index.clear();
+        activeSegment = null;
+        try {
+            lock.release();
+        } catch (IOException ex) {
+            logger.debug("Cannot release disk cache lock: ", ex);
+        }
+        closeQuietly(lockChannel);
+    }
+
+    private void load() throws IOException {
+        final List<Path> segmentFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(settings.getDirectory(), SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segmentFiles::add);
+        }
+        for (Path segmentFile : segmentFiles) {
+            final String fileName = segmentFile.getFileName().toString();
+            final long id;
+            try {
+                id = Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+            if (Files.size(segmentFile) != settings.getSegmentSizeBytes() || isEmpty(segmentFile)) {
+                // written with another segment size or emptied on drop, deleted before it is mapped
+                Files.delete(segmentFile);
+                continue;
+            }
+            segments.put(id, new Segment(id, segmentFile, map(segmentFile)));
+        }
+        final long now = wallClock.getAsLong();
+        for (Segment segment : segments.values()) {
+            scan(segment, now);
+        }
+        while (segments.size() > maxSegments) {
+            dropSegment(segments.firstEntry().getValue());
+        }
+        activeSegment = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+    }
+
+    /**
+     * Indexes valid records of the segment. Scanning stops at the first empty or corrupted record, e.g. the one being written at crash.
+     */
+    private void scan(Segment segment, long now) {
+        final ByteBuffer buffer = segment.buffer.duplicate();
+        int position = 0;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            final int recordLength = buffer.getInt(position);
+            if (recordLength < RECORD_HEADER_SIZE || position + recordLength > buffer.capacity()) {
+                break;
+            }
+            final int crc = buffer.getInt(position + 4);
+            final long expiresAt = buffer.getLong(position + 8);
+            final int keyLength = buffer.getInt(position + 16);
+            if (keyLength < 0 || RECORD_HEADER_SIZE + keyLength > recordLength || crc != checksum(buffer, position, recordLength)) {
+                break;
+            }
+            final byte[] key = new byte[keyLength];
+            buffer.position(position + RECORD_HEADER_SIZE);
+            buffer.get(key);
+            final Location location = new Location(segment, position, recordLength, keyLength, expiresAt);
+            final String keyString = new String(key, StandardCharsets.UTF_8);
+            final Location previous = index.remove(keyString);
+            if (previous != null) {
+                previous.segment.liveBytes -= previous.recordLength;
+            }
+            if (expiresAt > now) {
+                index.put(keyString, location);
+                segment.liveBytes += recordLength;
+            }
+            position += recordLength;
+        }
+        segment.writePosition = position;
+    }
+
+    private void append(byte[] key, byte[] body, long expiresAt) throws IOException {
+        final long recordSize = (long) RECORD_HEADER_SIZE + key.length + body.length;
+        if (recordSize > settings.getSegmentSizeBytes()) {
+            return;
+        }
+        final int recordLength = (int) recordSize;
+        while (activeSegment.writePosition + recordLength > settings.getSegmentSizeBytes()) {
+            rollSegment();
+        }
+        final Segment segment = activeSegment;
+        final int position = segment.writePosition;
+        final ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(position + 8);
+        buffer.putLong(expiresAt);
+        buffer.putInt(key.length);
+        buffer.put(key);
+        buffer.put(body);
+        buffer.putInt(position + 4, checksum(buffer, position, recordLength));
+        // length goes last, so a record is never visible to scan before it is complete
+        buffer.putInt(position, recordLength);
+        segment.writePosition += recordLength;
+        segment.liveBytes += recordLength;
+
+        final String keyString = new String(key, StandardCharsets.UTF_8);
+        final Location previous = index.put(keyString, new Location(segment, position, recordLength, key.length, expiresAt));
+        if (previous != null) {
+            previous.segment.liveBytes -= previous.recordLength;
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        final long nextId = activeSegment.id + 1;
+        activeSegment.buffer.force();
+        retryPendingDeletes();
+        while (segments.size() >= maxSegments) {
+            final Segment victim = findCompactionVictim();
+            if (victim != null) {
+                // compaction appends to the active segment, so make room for a fresh one first
+                final List<Record> records = readLiveRecords(victim);
+                deleteSegment(victim);
+                compactionCount++;
+                activeSegment = createSegment(nextId);
+                for (Record record : records) {
+                    append(record.key, record.body, record.expiresAt);
+                }
+                return;
+            }
+            dropSegment(segments.firstEntry().getValue());
+        }
+        activeSegment = createSegment(nextId);
+    }
+
+    private Segment findCompactionVictim() {
+        Segment victim = null;
+        final long now = wallClock.getAsLong();
+        removeExpired(now);
+        for (Segment segment : segments.values()) {
+            if (segment != activeSegment && segment.liveBytes * 2 < settings.getSegmentSizeBytes()
+                    && (victim == null || segment.liveBytes < victim.liveBytes)) {
+                victim = segment;
+            }
+        }
+        return victim;
+    }
+
+    private void compact(Segment segment) throws IOException {
+        final List<Record> records = readLiveRecords(segment);
+        deleteSegment(segment);
+        compactionCount++;
+        for (Record record : records) {
+            append(record.key, record.body, record.expiresAt);
+        }
+    }
+
+    private List<Record> readLiveRecords(Segment segment) {
+        final List<Record> records = new ArrayList<>();
+        final Iterator<Map.Entry<String, Location>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Location> entry = iterator.next();
+            final Location location = entry.getValue();
+            if (location.segment == segment) {
+                final byte[] body = new byte[location.bodyLength];
+                final ByteBuffer buffer = segment.buffer.duplicate();
+                buffer.position(location.bodyOffset());
+                buffer.get(body);
+                records.add(new Record(entry.getKey().getBytes(StandardCharsets.UTF_8), body, location.expiresAt));
+                iterator.remove();
+            }
+        }
+        return records;
+    }
+
+    private void removeExpired(long now) {
+        final Iterator<Location> iterator = index.values().iterator();
+        while (iterator.hasNext()) {
+            final Location location = iterator.next();
+            if (location.expiresAt <= now) {
+                location.segment.liveBytes -= location.recordLength;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void remove(String key, Location location) {
+        index.remove(key);
+        location.segment.liveBytes -= location.recordLength;
+    }
+
+    private void dropSegment(Segment segment) throws IOException {
+        index.values().removeIf(location -> location.segment == segment);
+        deleteSegment(segment);
+        droppedSegmentCount++;
+    }
+
+    private void deleteSegment(Segment segment) {
+        segments.remove(segment.id);
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException ex) {
+            // mapped files can't be deleted on some platforms, so empty it to keep its records from being loaded
+            logger.debug("Cannot delete disk cache segment, deletion is deferred: ", ex);
+            segment.buffer.putInt(0, 0);
+            segment.buffer.force();
+            pendingDeletes.add(segment.file);
+        }
+    }
+
+    private void retryPendingDeletes() {
+        pendingDeletes.removeIf(file -> {
+            try {
+                Files.deleteIfExists(file);
+                return true;
+            } catch (IOException ex) {
+                return false;
+            }
+        });
+    }
+
+    private static boolean isEmpty(Path segmentFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            final ByteBuffer recordLength = ByteBuffer.allocate(4);
+            while (recordLength.hasRemaining() && channel.read(recordLength) >= 0) {
+                // read the length of the first record
+            }
+            return recordLength.hasRemaining() || recordLength.getInt(0) == 0;
+        }
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        final Path file = settings.getDirectory().resolve(String.format("%s%019d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        final Segment segment = new Segment(id, file, map(file));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, settings.getSegmentSizeBytes());
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer, int position, int recordLength) {
+        final CRC32 crc32 = new CRC32();
+        final ByteBuffer record = buffer.duplicate();
+        record.limit(position + recordLength);
+        record.position(position + 8);
+        crc32.update(record);
+        return (int) crc32.getValue();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ex) {
+            logger.debug("Cannot close disk cache file: ", ex);
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private long liveBytes;
+
+        private Segment(long id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int recordLength;
+        private final int keyLength;
+        private final int bodyLength;
+        private final long expiresAt;
+
+        private Location(Segment segment, int offset, int recordLength, int keyLength, long expiresAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.recordLength = recordLength;
+            this.keyLength = keyLength;
+            this.bodyLength = recordLength - RECORD_HEADER_SIZE - keyLength;
+            this.expiresAt = expiresAt;
+        }
+
+        private int bodyOffset() {
+            return offset + RECORD_HEADER_SIZE + keyLength;
+        }
+    }
+
+    private static final class Record {
+        private final byte[] key;
+        private final byte[] body;
+        private final long expiresAt;
+
+        private Record(byte[] key, byte[] body, long expiresAt) {
+            this.key = key;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
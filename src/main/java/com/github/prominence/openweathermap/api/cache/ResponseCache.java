@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.cache;
+
+import com.github.prominence.openweathermap.api.conf.CacheSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded in-memory cache of raw response bodies with LRU eviction.
+ * Raw bytes are stored, so the same entry serves both <code>asJSON()</code> and <code>asJava()</code> of equal requests.
+ * Keys are canonical requests without API key, see {@link com.github.prominence.openweathermap.api.utils.RequestUtils#getCanonicalRequest}.
+ */
+public class ResponseCache {
+    private final CacheSettings cacheSettings;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Instantiates a new response cache.
+     *
+     * @param cacheSettings the cache settings, copied on creation.
+     */
+    public ResponseCache(CacheSettings cacheSettings) {
+        this(cacheSettings, System::nanoTime);
+    }
+
+    ResponseCache(CacheSettings cacheSettings, LongSupplier nanoClock) {
+        this.cacheSettings = new CacheSettings(cacheSettings);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns cached response body.
+     *
+     * @param key the canonical request.
+     * @return the body or <code>null</code> if there is no fresh response.
+     */
+    public synchronized byte[] get(String key) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - nanoClock.getAsLong() > 0) {
+            hitCount++;
+            return entry.body;
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Stores response body for the time to live of the endpoint type.
+     *
+     * @param key          the canonical request.
+     * @param endpointType type of the requested endpoint.
+     * @param body         the response body, must not be modified afterwards.
+     */
+    public synchronized void put(String key, EndpointType endpointType, byte[] body) {
+        final long timeToLiveMillis = cacheSettings.getTimeToLiveMillis(endpointType);
+        if (timeToLiveMillis == 0) {
+            return;
+        }
+        entries.put(key, new Entry(body, nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis)));
+        if (entries.size() > cacheSettings.getMaxEntries()) {
+            evict();
+        }
+    }
+
+    /**
+     * Checks whether responses of the endpoint type are cached at all.
+     *
+     * @param endpointType the endpoint type.
+     * @return <code>true</code> if time to live of the endpoint type is positive.
+     */
+    public boolean isCacheable(EndpointType endpointType) {
+        return cacheSettings.getTimeToLiveMillis(endpointType) > 0;
+    }
+
+    /**
+     * Removes all cached responses. Counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private void evict() {
+        // access-ordered map keeps the least recently used response first
+        final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > cacheSettings.getMaxEntries() && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] body;
+        private final long expiresAt;
+
+        private Entry(byte[] body, long expiresAt) {
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
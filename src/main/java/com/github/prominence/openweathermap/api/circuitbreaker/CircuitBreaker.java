@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.circuitbreaker;
+
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.enums.CircuitBreakerState;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of API calls to endpoints of one type. Outcomes of calls are recorded in a sliding window of the last calls;
+ * when failure or slow call rate reaches its threshold, the breaker opens and calls fail fast with {@link CircuitBreakerOpenException}
+ * or get the last successful response of the same request. After open state duration a few probe calls are let through:
+ * the breaker closes if all of them succeed and opens again otherwise.
+ * Outcomes of calls started before a state transition are ignored.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final EndpointType endpointType;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int minimumNumberOfCalls;
+    private final long openStateDurationNanos;
+    private final int halfOpenCalls;
+    private final boolean staleResponseServed;
+    private final LongSupplier nanoClock;
+
+    // ring buffers of the sliding window
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int recordedCalls;
+    private int nextCallIndex;
+    private int failedCallCount;
+    private int slowCallCount;
+
+    private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private long stateEpoch;
+    private long openedAtNanos;
+    private int availableHalfOpenCalls;
+    private int succeededHalfOpenCalls;
+
+    private final long[] transitionCounts = new long[CircuitBreakerState.values().length];
+    private long rejectedCount;
+    private long staleResponseCount;
+
+    private final Map<String, byte[]> staleResponses;
+
+    /**
+     * Instantiates a new closed circuit breaker.
+     *
+     * @param endpointType           type of the protected endpoints.
+     * @param circuitBreakerSettings the settings.
+     */
+    public CircuitBreaker(EndpointType endpointType, CircuitBreakerSettings circuitBreakerSettings) {
+        this(endpointType, circuitBreakerSettings, System::nanoTime);
+    }
+
+    CircuitBreaker(EndpointType endpointType, CircuitBreakerSettings circuitBreakerSettings, LongSupplier nanoClock) {
+        this.endpointType = endpointType;
+        this.failureRateThreshold = circuitBreakerSettings.getFailureRateThreshold();
+        this.slowCallRateThreshold = circuitBreakerSettings.getSlowCallRateThreshold();
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(circuitBreakerSettings.getSlowCallDurationMillis());
+        this.minimumNumberOfCalls = circuitBreakerSettings.getMinimumNumberOfCalls();
+        this.openStateDurationNanos = TimeUnit.MILLISECONDS.toNanos(circuitBreakerSettings.getOpenStateDurationMillis());
+        this.halfOpenCalls = circuitBreakerSettings.getHalfOpenCalls();
+        this.staleResponseServed = circuitBreakerSettings.isStaleResponseServed();
+        this.nanoClock = nanoClock;
+        this.failedCalls = new boolean[circuitBreakerSettings.getSlidingWindowSize()];
+        this.slowCalls = new boolean[circuitBreakerSettings.getSlidingWindowSize()];
+        final int maxStaleResponses = circuitBreakerSettings.getMaxStaleResponses();
+        this.staleResponses = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxStaleResponses;
+            }
+        };
+    }
+
+    /**
+     * Wraps transport into one that asks this breaker for permission before every call and records call outcomes.
+     *
+     * @param httpTransport the transport to protect.
+     * @return the protected transport.
+     */
+    public HttpTransport wrap(HttpTransport httpTransport) {
+        if (httpTransport instanceof AsyncHttpTransport) {
+            return new CircuitBreakerAsyncHttpTransport((AsyncHttpTransport) httpTransport, this);
+        }
+        return new CircuitBreakerHttpTransport(httpTransport, this);
+    }
+
+    public EndpointType getEndpointType() {
+        return endpointType;
+    }
+
+    public boolean isStaleResponseServed() {
+        return staleResponseServed;
+    }
+
+    /**
+     * Returns current state. Open breaker becomes half-open on the first call after open state duration.
+     *
+     * @return the state.
+     */
+    public synchronized CircuitBreakerState getState() {
+        return state;
+    }
+
+    /**
+     * Returns number of transitions into provided state.
+     *
+     * @param state the target state.
+     * @return transitions count.
+     */
+    public synchronized long getTransitionCount(CircuitBreakerState state) {
+        return transitionCounts[state.ordinal()];
+    }
+
+    /**
+     * Returns number of calls that failed fast or got stale response without reaching the API.
+     *
+     * @return rejected calls count.
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public synchronized long getStaleResponseCount() {
+        return staleResponseCount;
+    }
+
+    /**
+     * Returns percentage of failed calls in the sliding window.
+     *
+     * @return the percentage or <code>-1</code> if fewer than minimum number of calls are recorded.
+     */
+    public synchronized float getFailureRate() {
+        return recordedCalls < minimumNumberOfCalls ? -1 : failedCallCount * 100f / recordedCalls;
+    }
+
+    /**
+     * Returns percentage of slow calls in the sliding window.
+     *
+     * @return the percentage or <code>-1</code> if fewer than minimum number of calls are recorded.
+     */
+    public synchronized float getSlowCallRate() {
+        return recordedCalls < minimumNumberOfCalls ? -1 : slowCallCount * 100f / recordedCalls;
+    }
+
+    /**
+     * Asks permission to make a call.
+     *
+     * @return epoch of the current state to pass to {@link #onResult(long, boolean, long)} or <code>-1</code> if the call isn't permitted.
+     */
+    public synchronized long tryAcquirePermission() {
+        if (state == CircuitBreakerState.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openStateDurationNanos) {
+                rejectedCount++;
+                return -1;
+            }
+            transitionTo(CircuitBreakerState.HALF_OPEN);
+        }
+        if (state == CircuitBreakerState.HALF_OPEN) {
+            if (availableHalfOpenCalls == 0) {
+                rejectedCount++;
+                return -1;
+            }
+            availableHalfOpenCalls--;
+        }
+        return stateEpoch;
+    }
+
+    /**
+     * Records outcome of a permitted call.
+     *
+     * @param epoch         the value returned by {@link #tryAcquirePermission()}.
+     * @param failed        whether the call failed.
+     * @param durationNanos duration of the call till response headers.
+     */
+    public synchronized void onResult(long epoch, boolean failed, long durationNanos) {
+        if (epoch != stateEpoch) {
+            return;
+        }
+        final boolean slow = durationNanos >= slowCallDurationNanos;
+        if (state == CircuitBreakerState.HALF_OPEN) {
+            if (failed || slow) {
+                transitionTo(CircuitBreakerState.OPEN);
+            } else if (++succeededHalfOpenCalls == halfOpenCalls) {
+                transitionTo(CircuitBreakerState.CLOSED);
+            }
+            return;
+        }
+
+        if (recordedCalls == failedCalls.length) {
+            failedCallCount -= failedCalls[nextCallIndex] ? 1 : 0;
+            slowCallCount -= slowCalls[nextCallIndex] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextCallIndex] = failed;
+        slowCalls[nextCallIndex] = slow;
+        failedCallCount += failed ? 1 : 0;
+        slowCallCount += slow ? 1 : 0;
+        nextCallIndex = (nextCallIndex + 1) % failedCalls.length;
+
+        if (recordedCalls >= minimumNumberOfCalls && (failedCallCount * 100f / recordedCalls >= failureRateThreshold
+                || slowCallCount * 100f / recordedCalls >= slowCallRateThreshold)) {
+            transitionTo(CircuitBreakerState.OPEN);
+        }
+    }
+
+    /**
+     * Returns the last successful response of the request while the breaker doesn't let calls through.
+     *
+     * @param requestKey the canonical request.
+     * @return the response body or <code>null</code> if there is none.
+     */
+    public synchronized byte[] getStaleResponse(String requestKey) {
+        final byte[] body = staleResponses.get(requestKey);
+        if (body != null) {
+            staleResponseCount++;
+        }
+        return body;
+    }
+
+    /**
+     * Keeps the last successful response of the request to serve it while the breaker doesn't let calls through.
+     *
+     * @param requestKey the canonical request, see {@link com.github.prominence.openweathermap.api.request.RequestTemplate#getCanonicalRequest()}.
+     * @param body       the response body.
+     */
+    public synchronized void putStaleResponse(String requestKey, byte[] body) {
+        staleResponses.put(requestKey, body);
+    }
+
+    CircuitBreakerOpenException createOpenException() {
+        return new CircuitBreakerOpenException(endpointType);
+    }
+
+    private void transitionTo(CircuitBreakerState newState) {
+        logger.info("Circuit breaker of {} endpoints: {} -> {}.", endpointType, state, newState);
+        state = newState;
+        stateEpoch++;
+        transitionCounts[newState.ordinal()]++;
+        recordedCalls = 0;
+        nextCallIndex = 0;
+        failedCallCount = 0;
+        slowCallCount = 0;
+        if (newState == CircuitBreakerState.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        } else if (newState == CircuitBreakerState.HALF_OPEN) {
+            availableHalfOpenCalls = halfOpenCalls;
+            succeededHalfOpenCalls = 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.circuitbreaker;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Circuit breaker transport for {@link AsyncHttpTransport}. Rejected calls complete at once.
+ */
+class CircuitBreakerAsyncHttpTransport extends CircuitBreakerHttpTransport implements AsyncHttpTransport {
+    private final AsyncHttpTransport httpTransport;
+
+    CircuitBreakerAsyncHttpTransport(AsyncHttpTransport httpTransport, CircuitBreaker circuitBreaker) {
+        super(httpTransport, circuitBreaker);
+        this.httpTransport = httpTransport;
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+        final long epoch = circuitBreaker.tryAcquirePermission();
+        if (epoch < 0) {
+            final CompletableFuture<HttpResponse> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(circuitBreaker.createOpenException());
+            return rejected;
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse> responseFuture;
+        try {
+            responseFuture = httpTransport.executeAsync(url, timeoutSettings);
+        } catch (Throwable ex) {
+            circuitBreaker.onResult(epoch, true, System.nanoTime() - start);
+            throw ex;
+        }
+        return responseFuture.whenComplete((response, throwable) ->
+                circuitBreaker.onResult(epoch, throwable != null || isFailed(response), System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.circuitbreaker;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Transport which makes calls of the wrapped one only when {@link CircuitBreaker} permits them.
+ * Calls failed with I/O errors or 5xx statuses are recorded as failed. Rejected calls fail with
+ * {@link com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException}, stale responses are served by the caller.
+ */
+class CircuitBreakerHttpTransport implements HttpTransport {
+    private final HttpTransport httpTransport;
+    final CircuitBreaker circuitBreaker;
+
+    CircuitBreakerHttpTransport(HttpTransport httpTransport, CircuitBreaker circuitBreaker) {
+        this.httpTransport = httpTransport;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+        final long epoch = circuitBreaker.tryAcquirePermission();
+        if (epoch < 0) {
+            throw circuitBreaker.createOpenException();
+        }
+        final long start = System.nanoTime();
+        final HttpResponse response;
+        try {
+            response = httpTransport.execute(url, timeoutSettings);
+        } catch (Throwable ex) {
+            // errors are recorded too, otherwise the permit of a half-open breaker would never be released
+            circuitBreaker.onResult(epoch, true, System.nanoTime() - start);
+            throw ex;
+        }
+        circuitBreaker.onResult(epoch, isFailed(response), System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public void close() {
+        httpTransport.close();
+    }
+
+    static boolean isFailed(HttpResponse response) {
+        return response.getStatusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the in-memory response cache: size limit and time to live of responses per endpoint type.
+ */
+public class CacheSettings {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private int maxEntries;
+    private final Map<EndpointType, Long> timeToLiveMillis = new EnumMap<>(EndpointType.class);
+
+    /**
+     * Instantiates settings with default size limit and TTLs matching data update intervals of the API.
+     */
+    public CacheSettings() {
+        this.maxEntries = DEFAULT_MAX_ENTRIES;
+        timeToLiveMillis.put(EndpointType.CURRENT_WEATHER, TimeUnit.MINUTES.toMillis(10));
+        timeToLiveMillis.put(EndpointType.FORECAST, TimeUnit.HOURS.toMillis(3));
+        timeToLiveMillis.put(EndpointType.ONE_CALL, TimeUnit.MINUTES.toMillis(10));
+        timeToLiveMillis.put(EndpointType.ONE_CALL_HISTORICAL, TimeUnit.DAYS.toMillis(1));
+        timeToLiveMillis.put(EndpointType.AIR_POLLUTION, TimeUnit.MINUTES.toMillis(10));
+        timeToLiveMillis.put(EndpointType.AIR_POLLUTION_HISTORY, TimeUnit.DAYS.toMillis(1));
+    }
+
+    /**
+     * Instantiates a copy of provided settings.
+     * @param from settings to copy
+     */
+    public CacheSettings(CacheSettings from) {
+        this.maxEntries = from.maxEntries;
+        this.timeToLiveMillis.putAll(from.timeToLiveMillis);
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets maximum number of cached responses, least recently used responses are evicted first.
+     * @param maxEntries the limit
+     */
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive.");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public long getTimeToLiveMillis(EndpointType endpointType) {
+        return timeToLiveMillis.get(endpointType);
+    }
+
+    /**
+     * Sets time to live of responses for the endpoint type. Zero disables caching for it.
+     * @param endpointType the endpoint type
+     * @param timeToLive the time to live
+     * @param timeUnit unit of the time to live
+     */
+    public void setTimeToLive(EndpointType endpointType, long timeToLive, TimeUnit timeUnit) {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("Time to live must not be negative.");
+        }
+        timeToLiveMillis.put(endpointType, timeUnit.toMillis(timeToLive));
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.conf;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of per-endpoint circuit breakers: trip thresholds, sliding window, open state duration and half-open probes.
+ */
+public class CircuitBreakerSettings {
+    public static final float DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    public static final float DEFAULT_SLOW_CALL_RATE_THRESHOLD = 80;
+    public static final long DEFAULT_SLOW_CALL_DURATION_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+    public static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 10;
+    public static final long DEFAULT_OPEN_STATE_DURATION_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+    public static final int DEFAULT_MAX_STALE_RESPONSES = 100;
+
+    private float failureRateThreshold;
+    private float slowCallRateThreshold;
+    private long slowCallDurationMillis;
+    private int slidingWindowSize;
+    private int minimumNumberOfCalls;
+    private long openStateDurationMillis;
+    private int halfOpenCalls;
+    private boolean staleResponseServed;
+    private int maxStaleResponses;
+
+    /**
+     * Instantiates settings with defaults: breaker opens when at least half of the last 20 calls failed
+     * or 80% of them took a second or longer, stays open for 30 seconds and then lets 3 probe calls through.
+     */
+    public CircuitBreakerSettings() {
+        this.failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        this.slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        this.slowCallDurationMillis = DEFAULT_SLOW_CALL_DURATION_MILLIS;
+        this.slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        this.minimumNumberOfCalls = DEFAULT_MINIMUM_NUMBER_OF_CALLS;
+        this.openStateDurationMillis = DEFAULT_OPEN_STATE_DURATION_MILLIS;
+        this.halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+        this.maxStaleResponses = DEFAULT_MAX_STALE_RESPONSES;
+    }
+
+    /**
+     * Instantiates a copy of provided settings.
+     * @param from settings to copy
+     */
+    public CircuitBreakerSettings(CircuitBreakerSettings from) {
+        this.failureRateThreshold = from.failureRateThreshold;
+        this.slowCallRateThreshold = from.slowCallRateThreshold;
+        this.slowCallDurationMillis = from.slowCallDurationMillis;
+        this.slidingWindowSize = from.slidingWindowSize;
+        this.minimumNumberOfCalls = from.minimumNumberOfCalls;
+        this.openStateDurationMillis = from.openStateDurationMillis;
+        this.halfOpenCalls = from.halfOpenCalls;
+        this.staleResponseServed = from.staleResponseServed;
+        this.maxStaleResponses = from.maxStaleResponses;
+    }
+
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Sets percentage of failed calls in the sliding window which opens the breaker.
+     * Calls failed with I/O errors or 5xx statuses are counted as failed.
+     * @param failureRateThreshold the percentage in <code>(0, 100]</code> range
+     */
+    public void setFailureRateThreshold(float failureRateThreshold) {
+        this.failureRateThreshold = checkPercentage(failureRateThreshold);
+    }
+
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * Sets percentage of slow calls in the sliding window which opens the breaker.
+     * @param slowCallRateThreshold the percentage in <code>(0, 100]</code> range
+     */
+    public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+        this.slowCallRateThreshold = checkPercentage(slowCallRateThreshold);
+    }
+
+    public long getSlowCallDurationMillis() {
+        return slowCallDurationMillis;
+    }
+
+    /**
+     * Sets duration of a call till response headers, starting from which the call is counted as slow.
+     * The call is timed only until the headers arrive, so slowly streamed response bodies don't make it slow.
+     * @param slowCallDuration the duration
+     * @param timeUnit unit of the duration
+     */
+    public void setSlowCallDuration(long slowCallDuration, TimeUnit timeUnit) {
+        if (slowCallDuration <= 0) {
+            throw new IllegalArgumentException("Slow call duration must be positive.");
+        }
+        this.slowCallDurationMillis = timeUnit.toMillis(slowCallDuration);
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    /**
+     * Sets number of the last calls the rates are calculated for and the minimum number of recorded calls to calculate them.
+     * @param slidingWindowSize the number of the last calls
+     * @param minimumNumberOfCalls the minimum number of calls, not greater than the window size
+     */
+    public void setSlidingWindow(int slidingWindowSize, int minimumNumberOfCalls) {
+        if (slidingWindowSize <= 0) {
+            throw new IllegalArgumentException("Sliding window size must be positive.");
+        }
+        if (minimumNumberOfCalls <= 0 || minimumNumberOfCalls > slidingWindowSize) {
+            throw new IllegalArgumentException("Minimum number of calls must be positive and not greater than the window size.");
+        }
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public long getOpenStateDurationMillis() {
+        return openStateDurationMillis;
+    }
+
+    /**
+     * Sets how long the breaker stays open before letting probe calls through.
+     * @param openStateDuration the duration
+     * @param timeUnit unit of the duration
+     */
+    public void setOpenStateDuration(long openStateDuration, TimeUnit timeUnit) {
+        if (openStateDuration < 0) {
+            throw new IllegalArgumentException("Open state duration must not be negative.");
+        }
+        this.openStateDurationMillis = timeUnit.toMillis(openStateDuration);
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    /**
+     * Sets number of probe calls in half-open state. The breaker closes when all of them succeed and opens again on the first failed or slow one.
+     * @param halfOpenCalls the number of calls
+     */
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        if (halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("Half-open calls must be positive.");
+        }
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public boolean isStaleResponseServed() {
+        return staleResponseServed;
+    }
+
+    public int getMaxStaleResponses() {
+        return maxStaleResponses;
+    }
+
+    /**
+     * Enables serving the last successful response of the same request while the breaker is open.
+     * Responses are matched by canonical request, which excludes API key and doesn't depend on parameters order.
+     * <p>
+     * Note the trade-off: to keep them, bodies of all successful responses are read fully into memory before mapping,
+     * like with response cache, so responses aren't mapped while they are streamed. Least recently used responses are evicted first.
+     * @param staleResponseServed <code>true</code> to serve stale responses
+     * @param maxStaleResponses the number of kept responses per endpoint type
+     */
+    public void setStaleResponseServed(boolean staleResponseServed, int maxStaleResponses) {
+        if (maxStaleResponses <= 0) {
+            throw new IllegalArgumentException("Max stale responses must be positive.");
+        }
+        this.staleResponseServed = staleResponseServed;
+        this.maxStaleResponses = maxStaleResponses;
+    }
+
+    private static float checkPercentage(float value) {
+        if (value <= 0 || value > 100) {
+            throw new IllegalArgumentException("Threshold must be in (0, 100] range.");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.conf;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the persistent on-disk response cache: directory, size cap and time to live of responses per endpoint type.
+ * By default only historical data is stored on disk, as it never changes.
+ */
+public class DiskCacheSettings {
+    public static final long DEFAULT_MAX_SIZE_BYTES = 256L * 1024 * 1024;
+    public static final int DEFAULT_SEGMENT_SIZE_BYTES = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private long maxSizeBytes;
+    private int segmentSizeBytes;
+    private final Map<EndpointType, Long> timeToLiveMillis = new EnumMap<>(EndpointType.class);
+
+    /**
+     * Instantiates settings with default size limits and TTLs.
+     * @param directory directory to keep segment files in, created if it doesn't exist
+     */
+    public DiskCacheSettings(Path directory) {
+        this.directory = Objects.requireNonNull(directory, "Directory must be set.");
+        this.maxSizeBytes = DEFAULT_MAX_SIZE_BYTES;
+        this.segmentSizeBytes = DEFAULT_SEGMENT_SIZE_BYTES;
+        for (EndpointType endpointType : EndpointType.values()) {
+            timeToLiveMillis.put(endpointType, 0L);
+        }
+        timeToLiveMillis.put(EndpointType.ONE_CALL_HISTORICAL, TimeUnit.DAYS.toMillis(365));
+        timeToLiveMillis.put(EndpointType.AIR_POLLUTION_HISTORY, TimeUnit.DAYS.toMillis(365));
+    }
+
+    /**
+     * Instantiates a copy of provided settings.
+     * @param from settings to copy
+     */
+    public DiskCacheSettings(DiskCacheSettings from) {
+        this.directory = from.directory;
+        this.maxSizeBytes = from.maxSizeBytes;
+        this.segmentSizeBytes = from.segmentSizeBytes;
+        this.timeToLiveMillis.putAll(from.timeToLiveMillis);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    /**
+     * Sets size cap of all segment files. When it is reached, segments with most stale data are compacted or the oldest segment is dropped.
+     * @param maxSizeBytes the cap, at least two segments
+     */
+    public void setMaxSizeBytes(long maxSizeBytes) {
+        if (maxSizeBytes < 2L * segmentSizeBytes) {
+            throw new IllegalArgumentException("Max size must fit at least two segments.");
+        }
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public int getSegmentSizeBytes() {
+        return segmentSizeBytes;
+    }
+
+    /**
+     * Sets size of one memory-mapped segment file. Responses larger than a segment aren't stored.
+     * @param segmentSizeBytes the size, at least 4 KiB and at most half of max size
+     */
+    public void setSegmentSizeBytes(int segmentSizeBytes) {
+        if (segmentSizeBytes < 4096 || 2L * segmentSizeBytes > maxSizeBytes) {
+            throw new IllegalArgumentException("Segment size must be at least 4 KiB and at most half of max size.");
+        }
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    public long getTimeToLiveMillis(EndpointType endpointType) {
+        return timeToLiveMillis.get(endpointType);
+    }
+
+    /**
+     * Sets time to live of responses for the endpoint type. Zero disables storing it on disk.
+     * @param endpointType the endpoint type
+     * @param timeToLive the time to live
+     * @param timeUnit unit of the time to live
+     */
+    public void setTimeToLive(EndpointType endpointType, long timeToLive, TimeUnit timeUnit) {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("Time to live must not be negative.");
+        }
+        timeToLiveMillis.put(endpointType, timeUnit.toMillis(timeToLive));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.conf;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of hedged API calls: latency percentile to hedge at, latency window and extra load limit.
+ */
+public class HedgingSettings {
+    public static final double DEFAULT_LATENCY_PERCENTILE = 95;
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 10;
+    public static final int DEFAULT_LATENCY_WINDOW_SIZE = 200;
+    public static final int DEFAULT_MINIMUM_SAMPLES = 20;
+    public static final double DEFAULT_MAX_EXTRA_LOAD_RATIO = 0.05;
+    public static final int DEFAULT_MAX_BURST = 5;
+
+    private double latencyPercentile;
+    private long minDelayMillis;
+    private int latencyWindowSize;
+    private int minimumSamples;
+    private double maxExtraLoadRatio;
+    private int maxBurst;
+
+    /**
+     * Instantiates settings with defaults: a duplicate call is made when the call isn't completed in 95th percentile
+     * of the last 200 call latencies, but not earlier than in 10 milliseconds and not before 20 latencies are known;
+     * duplicate calls are limited to 5% of calls with bursts up to 5 calls.
+     */
+    public HedgingSettings() {
+        this.latencyPercentile = DEFAULT_LATENCY_PERCENTILE;
+        this.minDelayMillis = DEFAULT_MIN_DELAY_MILLIS;
+        this.latencyWindowSize = DEFAULT_LATENCY_WINDOW_SIZE;
+        this.minimumSamples = DEFAULT_MINIMUM_SAMPLES;
+        this.maxExtraLoadRatio = DEFAULT_MAX_EXTRA_LOAD_RATIO;
+        this.maxBurst = DEFAULT_MAX_BURST;
+    }
+
+    /**
+     * Instantiates a copy of provided settings.
+     * @param from settings to copy
+     */
+    public HedgingSettings(HedgingSettings from) {
+        this.latencyPercentile = from.latencyPercentile;
+        this.minDelayMillis = from.minDelayMillis;
+        this.latencyWindowSize = from.latencyWindowSize;
+        this.minimumSamples = from.minimumSamples;
+        this.maxExtraLoadRatio = from.maxExtraLoadRatio;
+        this.maxBurst = from.maxBurst;
+    }
+
+    public double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    /**
+     * Sets percentile of recent call latencies of the endpoint after which a duplicate call is made.
+     * @param latencyPercentile the percentile, e.g. <code>95</code>
+     */
+    public void setLatencyPercentile(double latencyPercentile) {
+        if (latencyPercentile <= 0 || latencyPercentile > 100) {
+            throw new IllegalArgumentException("Latency percentile must be in (0, 100] range.");
+        }
+        this.latencyPercentile = latencyPercentile;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    /**
+     * Sets the shortest delay of a duplicate call, it is used when the latency percentile is lower.
+     * @param minDelay the delay
+     * @param timeUnit unit of the delay
+     */
+    public void setMinDelay(long minDelay, TimeUnit timeUnit) {
+        if (minDelay < 0) {
+            throw new IllegalArgumentException("Min delay must not be negative.");
+        }
+        this.minDelayMillis = timeUnit.toMillis(minDelay);
+    }
+
+    public int getLatencyWindowSize() {
+        return latencyWindowSize;
+    }
+
+    public int getMinimumSamples() {
+        return minimumSamples;
+    }
+
+    /**
+     * Sets number of the last call latencies the percentile is calculated of.
+     * @param latencyWindowSize number of latencies kept per endpoint type
+     * @param minimumSamples number of latencies to know before calls are hedged
+     */
+    public void setLatencyWindow(int latencyWindowSize, int minimumSamples) {
+        if (latencyWindowSize <= 0) {
+            throw new IllegalArgumentException("Latency window size must be positive.");
+        }
+        if (minimumSamples <= 0 || minimumSamples > latencyWindowSize) {
+            throw new IllegalArgumentException("Minimum samples must be positive and not greater than the window size.");
+        }
+        this.latencyWindowSize = latencyWindowSize;
+        this.minimumSamples = minimumSamples;
+    }
+
+    public double getMaxExtraLoadRatio() {
+        return maxExtraLoadRatio;
+    }
+
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+
+    /**
+     * Sets limit of duplicate calls: every call deposits the ratio of a token, every duplicate call takes one token.
+     * @param maxExtraLoadRatio share of calls which may be duplicated, e.g. <code>0.05</code> for 5%
+     * @param maxBurst the bucket capacity, it is full initially
+     */
+    public void setMaxExtraLoad(double maxExtraLoadRatio, int maxBurst) {
+        if (maxExtraLoadRatio < 0 || maxExtraLoadRatio > 1) {
+            throw new IllegalArgumentException("Max extra load ratio must be in [0, 1] range.");
+        }
+        if (maxBurst < 0) {
+            throw new IllegalArgumentException("Max burst must not be negative.");
+        }
+        this.maxExtraLoadRatio = maxExtraLoadRatio;
+        this.maxBurst = maxBurst;
+    }
+}
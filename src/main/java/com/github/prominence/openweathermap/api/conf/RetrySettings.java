@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.conf;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of API call retries: attempts limit, backoff, retried failures and retry budget.
+ */
+public class RetrySettings {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 100;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    public static final long DEFAULT_MAX_RETRY_AFTER_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final int DEFAULT_BUDGET_MAX_TOKENS = 10;
+    public static final double DEFAULT_BUDGET_TOKENS_PER_REQUEST = 0.1;
+
+    private int maxAttempts;
+    private long initialBackoffMillis;
+    private long maxBackoffMillis;
+    private long maxRetryAfterMillis;
+    private final Set<Integer> retryableStatusCodes = new HashSet<>();
+    private boolean networkFailureRetried;
+    private int budgetMaxTokens;
+    private double budgetTokensPerRequest;
+
+    /**
+     * Instantiates settings with defaults: 3 attempts, backoff from 100 milliseconds up to 5 seconds,
+     * retries of network failures and 429, 500, 502, 503 and 504 statuses, retry budget of 10% of requests.
+     */
+    public RetrySettings() {
+        this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        this.initialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+        this.maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+        this.maxRetryAfterMillis = DEFAULT_MAX_RETRY_AFTER_MILLIS;
+        this.retryableStatusCodes.addAll(Arrays.asList(429, 500, 502, 503, 504));
+        this.networkFailureRetried = true;
+        this.budgetMaxTokens = DEFAULT_BUDGET_MAX_TOKENS;
+        this.budgetTokensPerRequest = DEFAULT_BUDGET_TOKENS_PER_REQUEST;
+    }
+
+    /**
+     * Instantiates a copy of provided settings.
+     * @param from settings to copy
+     */
+    public RetrySettings(RetrySettings from) {
+        this.maxAttempts = from.maxAttempts;
+        this.initialBackoffMillis = from.initialBackoffMillis;
+        this.maxBackoffMillis = from.maxBackoffMillis;
+        this.maxRetryAfterMillis = from.maxRetryAfterMillis;
+        this.retryableStatusCodes.addAll(from.retryableStatusCodes);
+        this.networkFailureRetried = from.networkFailureRetried;
+        this.budgetMaxTokens = from.budgetMaxTokens;
+        this.budgetTokensPerRequest = from.budgetTokensPerRequest;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets maximum number of attempts of a call including the first one. One disables retries.
+     * @param maxAttempts the limit
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive.");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * Sets bounds of the decorrelated jitter backoff: every delay is random between the initial backoff
+     * and three times the previous delay, but not longer than the max backoff.
+     * @param initialBackoff the delay before the first retry at least
+     * @param maxBackoff the delay limit
+     * @param timeUnit unit of the delays
+     */
+    public void setBackoff(long initialBackoff, long maxBackoff, TimeUnit timeUnit) {
+        if (initialBackoff < 0) {
+            throw new IllegalArgumentException("Initial backoff must not be negative.");
+        }
+        if (maxBackoff < initialBackoff) {
+            throw new IllegalArgumentException("Max backoff must not be less than the initial one.");
+        }
+        this.initialBackoffMillis = timeUnit.toMillis(initialBackoff);
+        this.maxBackoffMillis = timeUnit.toMillis(maxBackoff);
+    }
+
+    public long getMaxRetryAfterMillis() {
+        return maxRetryAfterMillis;
+    }
+
+    /**
+     * Sets the longest <code>Retry-After</code> delay requested by the server that is waited for. Responses asking for longer ones aren't retried.
+     * @param maxRetryAfter the delay limit
+     * @param timeUnit unit of the delay
+     */
+    public void setMaxRetryAfter(long maxRetryAfter, TimeUnit timeUnit) {
+        if (maxRetryAfter < 0) {
+            throw new IllegalArgumentException("Max Retry-After must not be negative.");
+        }
+        this.maxRetryAfterMillis = timeUnit.toMillis(maxRetryAfter);
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return Collections.unmodifiableSet(retryableStatusCodes);
+    }
+
+    /**
+     * Sets HTTP status codes of responses which are retried.
+     * @param statusCodes the status codes
+     */
+    public void setRetryableStatusCodes(Set<Integer> statusCodes) {
+        retryableStatusCodes.clear();
+        retryableStatusCodes.addAll(statusCodes);
+    }
+
+    public boolean isNetworkFailureRetried() {
+        return networkFailureRetried;
+    }
+
+    /**
+     * Sets whether calls failed with I/O errors, e.g. timeouts or connection resets, are retried.
+     * @param networkFailureRetried <code>true</code> to retry network failures
+     */
+    public void setNetworkFailureRetried(boolean networkFailureRetried) {
+        this.networkFailureRetried = networkFailureRetried;
+    }
+
+    public int getBudgetMaxTokens() {
+        return budgetMaxTokens;
+    }
+
+    public double getBudgetTokensPerRequest() {
+        return budgetTokensPerRequest;
+    }
+
+    /**
+     * Sets token bucket retry budget: every call deposits tokens, every retry takes one token, retries are skipped when the bucket is empty.
+     * So during an outage retries are limited to the share of calls plus the bucket capacity.
+     * @param maxTokens the bucket capacity, it is full initially
+     * @param tokensPerRequest tokens deposited by every call, e.g. <code>0.1</code> allows retrying 10% of calls
+     */
+    public void setBudget(int maxTokens, double tokensPerRequest) {
+        if (maxTokens < 0) {
+            throw new IllegalArgumentException("Max tokens must not be negative.");
+        }
+        if (tokensPerRequest < 0) {
+            throw new IllegalArgumentException("Tokens per request must not be negative.");
+        }
+        this.budgetMaxTokens = maxTokens;
+        this.budgetTokensPerRequest = tokensPerRequest;
+    }
+}
@@ -24,9 +24,6 @@
 
 package com.github.prominence.openweathermap.api.enums;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 /**
  * The enum Air quality index.
  */
@@ -52,6 +49,14 @@ public enum AirQualityIndex {
      */
     VERY_POOR(5);
 
+    private static final AirQualityIndex[] BY_INDEX = new AirQualityIndex[values().length + 1];
+
+    static {
+        for (AirQualityIndex airQualityIndex : values()) {
+            BY_INDEX[airQualityIndex.value] = airQualityIndex;
+        }
+    }
+
     private final int value;
 
     AirQualityIndex(int index) {
@@ -71,10 +76,12 @@ public enum AirQualityIndex {
      * Gets by index.
      *
      * @param index the index
-     * @return the by index
+     * @return the air quality index or <code>null</code> if the index is unknown
      */
     public static AirQualityIndex getByIndex(int index) {
-        final Optional<AirQualityIndex> optionalAirQualityIndex = Arrays.stream(values()).filter(airQualityIndex -> airQualityIndex.getValue() == index).findFirst();
-        return optionalAirQualityIndex.orElse(null);
+        if (index < 0 || index >= BY_INDEX.length) {
+            return null;
+        }
+        return BY_INDEX[index];
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.enums;
+
+/**
+ * Groups API endpoints by the way their data is updated.
+ */
+public enum EndpointType {
+    /**
+     * Current weather for single or multiple locations, updated every ~10 minutes.
+     */
+    CURRENT_WEATHER("weather", "find", "group", "box/city"),
+
+    /**
+     * 5 day / 3 hour forecast, updated every 3 hours.
+     */
+    FORECAST("forecast"),
+
+    /**
+     * One Call current weather and forecasts.
+     */
+    ONE_CALL("onecall"),
+
+    /**
+     * One Call historical weather, doesn't change once published.
+     */
+    ONE_CALL_HISTORICAL("onecall/timemachine"),
+
+    /**
+     * Current and forecast air pollution.
+     */
+    AIR_POLLUTION("air_pollution", "air_pollution/forecast"),
+
+    /**
+     * Historical air pollution, doesn't change once published.
+     */
+    AIR_POLLUTION_HISTORY("air_pollution/history");
+
+    private final String[] urlAppenders;
+
+    EndpointType(String... urlAppenders) {
+        this.urlAppenders = urlAppenders;
+    }
+
+    /**
+     * Returns endpoint type by the URL part appended to API base url.
+     * @param urlAppender the url appender, e.g. <code>weather</code>.
+     * @return endpoint type or <code>null</code> if the endpoint is unknown.
+     */
+    public static EndpointType getByUrlAppender(CharSequence urlAppender) {
+        final String value = urlAppender.toString();
+        for (EndpointType endpointType : values()) {
+            for (String appender : endpointType.urlAppenders) {
+                if (appender.equals(value)) {
+                    return endpointType;
+                }
+            }
+        }
+        return null;
+    }
+}
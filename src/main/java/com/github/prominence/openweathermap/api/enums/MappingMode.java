@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.enums;
+
+/**
+ * Defines how JSON responses are mapped into model objects.
+ */
+public enum MappingMode {
+    /**
+     * Response is read into {@link com.fasterxml.jackson.databind.JsonNode} tree first and then mapped.
+     */
+    TREE,
+
+    /**
+     * Model objects are filled directly from parser tokens, no intermediate tree is built.
+     * Takes less memory for large responses like OneCall or air pollution history.
+     */
+    STREAMING,
+
+    /**
+     * Same as {@link #STREAMING}, but minutely, hourly, daily and alerts sections of One Call current data are parsed only on first access.
+     * Response content is retained until then. Suits consumers which mostly read current conditions only.
+     */
+    LAZY
+}
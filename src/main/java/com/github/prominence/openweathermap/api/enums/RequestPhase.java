@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.enums;
+
+/**
+ * Phases of API call latency reported to {@link com.github.prominence.openweathermap.api.metrics.ClientMetrics}.
+ */
+public enum RequestPhase {
+    /**
+     * Obtaining the connection: opening it including TLS handshake or taking it from the pool.
+     * Reported only by transports which measure it.
+     */
+    CONNECT,
+
+    /**
+     * From sending the request till receiving response headers. Includes connecting when the transport doesn't measure it separately.
+     */
+    TIME_TO_FIRST_BYTE,
+
+    /**
+     * Reading the response body from the network.
+     */
+    BODY_READ,
+
+    /**
+     * Mapping the response body into the result, excluding body reading.
+     * When responses are buffered for caching or coalescing, the buffer is mapped after the call and this phase covers buffering only.
+     */
+    MAPPING
+}
@@ -30,30 +30,44 @@ public enum SubscriptionPlan {
     /**
      * Free subscription plan.
      */
-    FREE,
+    FREE(60),
 
     /**
      * Startup subscription plan.
      */
-    STARTUP,
+    STARTUP(600),
 
     /**
      * Developer subscription plan.
      */
-    DEVELOPER,
+    DEVELOPER(3000),
 
     /**
      * Professional subscription plan.
      */
-    PROFESSIONAL,
+    PROFESSIONAL(30000),
 
     /**
      * Enterprise subscription plan.
      */
-    ENTERPRISE,
+    ENTERPRISE(200000),
 
     /**
      * All existing subscription plans.
      */
-    ALL,
+    ALL(0);
+
+    private final int callsPerMinute;
+
+    SubscriptionPlan(int callsPerMinute) {
+        this.callsPerMinute = callsPerMinute;
+    }
+
+    /**
+     * Returns API calls per minute quota of the plan.
+     * @return calls per minute or <code>0</code> for {@link #ALL}.
+     */
+    public int getCallsPerMinute() {
+        return callsPerMinute;
+    }
 }
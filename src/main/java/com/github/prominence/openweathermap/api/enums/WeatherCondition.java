@@ -22,9 +22,6 @@
 
 package com.github.prominence.openweathermap.api.enums;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 /**
  * Represents weather condition and related information.
  * More details <a href="https://openweathermap.org/weather-conditions#Weather-Condition-Codes-2">here</a>.
@@ -272,6 +269,17 @@ public enum WeatherCondition {
     CLOUDS_OVERCAST(804, "Clouds", "overcast clouds: 85-100%", "04");
 
 
+    private static final int MIN_ID = 200;
+    private static final int MAX_ID = 804;
+    // dense index by (id - MIN_ID), filled once since every mapped weather state is looked up here
+    private static final WeatherCondition[] BY_ID = new WeatherCondition[MAX_ID - MIN_ID + 1];
+
+    static {
+        for (WeatherCondition weatherCondition : values()) {
+            BY_ID[weatherCondition.id - MIN_ID] = weatherCondition;
+        }
+    }
+
     private final int id;
     private final String name;
     private final String description;
@@ -361,11 +369,13 @@ public enum WeatherCondition {
      * Gets {@link WeatherCondition} by id.
      *
      * @param id the id
-     * @return the by id
+     * @return the weather condition or <code>null</code> if the id is unknown
      */
     public static WeatherCondition getById(int id) {
-        final Optional<WeatherCondition> optionalWeatherCondition = Arrays.stream(values()).filter(weatherCondition -> weatherCondition.getId() == id).findFirst();
-        return optionalWeatherCondition.orElse(null);
+        if (id < MIN_ID || id > MAX_ID) {
+            return null;
+        }
+        return BY_ID[id - MIN_ID];
     }
 
     @Override
@@ -39,10 +39,10 @@ public class NoDataFoundException extends RuntimeException {
     }
 
     /**
-     * Creates {@link NoDataFoundException} with message from another throwable.
+     * Creates {@link NoDataFoundException} with message from another throwable, which is kept as the cause.
      * @param throwable source throwable.
      */
     public NoDataFoundException(Throwable throwable) {
-        super(throwable.getMessage(), throwable.getCause());
+        super(throwable.getMessage(), throwable);
     }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.hedging;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * One hedged call: the original attempt and a duplicate one started after the hedge delay if the budget allows.
+ * The first response completes the call, failure completes it only when no other attempt is pending.
+ * A hedge rejected by its executor is skipped.
+ */
+class HedgedCall {
+    private final Supplier<CompletableFuture<HttpResponse>> attemptStarter;
+    private final Supplier<CompletableFuture<HttpResponse>> hedgeStarter;
+    private final HedgingPolicy hedgingPolicy;
+    private final EndpointType endpointType;
+    private final boolean losersCancelled;
+    private final CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+
+    private final List<CompletableFuture<HttpResponse>> attempts = new ArrayList<>(2);
+    private int pendingAttempts;
+    private boolean completed;
+    private Throwable lastFailure;
+    private ScheduledFuture<?> hedgeTimer;
+
+    /**
+     * Instantiates a new hedged call.
+     *
+     * @param attemptStarter  starts the original attempt of the call.
+     * @param hedgeStarter    starts the duplicate attempt of the call.
+     * @param hedgingPolicy   the policy.
+     * @param endpointType    type of the called endpoint.
+     * @param losersCancelled whether slower attempts are cancelled, otherwise their responses are closed once they arrive.
+     */
+    HedgedCall(Supplier<CompletableFuture<HttpResponse>> attemptStarter, Supplier<CompletableFuture<HttpResponse>> hedgeStarter,
+               HedgingPolicy hedgingPolicy, EndpointType endpointType, boolean losersCancelled) {
+        this.attemptStarter = attemptStarter;
+        this.hedgeStarter = hedgeStarter;
+        this.hedgingPolicy = hedgingPolicy;
+        this.endpointType = endpointType;
+        this.losersCancelled = losersCancelled;
+    }
+
+    CompletableFuture<HttpResponse> start(long hedgeDelayNanos) {
+        synchronized (this) {
+            pendingAttempts++;
+        }
+        startAttempt(false);
+        synchronized (this) {
+            if (!completed) {
+                hedgeTimer = HedgingTimer.INSTANCE.schedule(this::startHedge, hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        return result;
+    }
+
+    private void startHedge() {
+        synchronized (this) {
+            if (completed || !hedgingPolicy.tryAcquireHedge()) {
+                return;
+            }
+            pendingAttempts++;
+        }
+        startAttempt(true);
+    }
+
+    private void startAttempt(boolean hedge) {
+        final long start = System.nanoTime();
+        CompletableFuture<HttpResponse> attempt;
+        try {
+            attempt = hedge ? hedgeStarter.get() : attemptStarter.get();
+        } catch (RuntimeException ex) {
+            if (hedge && ex instanceof RejectedExecutionException) {
+                onAttemptFailed(null);
+                return;
+            }
+            attempt = new CompletableFuture<>();
+            attempt.completeExceptionally(ex);
+        }
+        synchronized (this) {
+            attempts.add(attempt);
+        }
+        final CompletableFuture<HttpResponse> startedAttempt = attempt;
+        attempt.whenComplete((response, throwable) -> onAttemptCompleted(startedAttempt, hedge, System.nanoTime() - start, response, throwable));
+    }
+
+    private void onAttemptCompleted(CompletableFuture<HttpResponse> attempt, boolean hedge, long latencyNanos, HttpResponse response, Throwable throwable) {
+        if (throwable == null) {
+            hedgingPolicy.recordLatency(endpointType, latencyNanos);
+            if (!tryFinish(attempt)) {
+                closeQuietly(response);
+                return;
+            }
+            if (hedge) {
+                hedgingPolicy.onHedgeWon();
+            }
+            result.complete(response);
+            return;
+        }
+        onAttemptFailed(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+    }
+
+    /**
+     * Completes the call with the last failure if no other attempt is pending.
+     *
+     * @param failure the failure of the attempt or <code>null</code> if the hedge wasn't started.
+     */
+    private void onAttemptFailed(Throwable failure) {
+        final Throwable callFailure;
+        synchronized (this) {
+            if (failure != null) {
+                lastFailure = failure;
+            }
+            if (--pendingAttempts > 0) {
+                return;
+            }
+            callFailure = lastFailure;
+        }
+        if (tryFinish(null)) {
+            result.completeExceptionally(callFailure);
+        }
+    }
+
+    /**
+     * Marks the call completed by the attempt, cancels the hedge timer and the other attempts.
+     *
+     * @return <code>false</code> if the call is already completed.
+     */
+    private boolean tryFinish(CompletableFuture<HttpResponse> winner) {
+        final List<CompletableFuture<HttpResponse>> losers = new ArrayList<>(2);
+        synchronized (this) {
+            if (completed) {
+                return false;
+            }
+            completed = true;
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+            }
+            for (CompletableFuture<HttpResponse> attempt : attempts) {
+                if (attempt != winner) {
+                    losers.add(attempt);
+                }
+            }
+        }
+        if (losersCancelled) {
+            losers.forEach(loser -> loser.cancel(true));
+        }
+        return true;
+    }
+
+    private static void closeQuietly(HttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+            // the response is dropped anyway
+        }
+    }
+
+    /**
+     * Holder of the timer thread, created on first hedged call.
+     */
+    private static final class HedgingTimer {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "openweathermap-hedging-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
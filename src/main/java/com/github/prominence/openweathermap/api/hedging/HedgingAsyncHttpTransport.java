@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.hedging;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Hedging transport for {@link AsyncHttpTransport}. Duplicate calls are started by a shared timer thread
+ * and the slower attempt is cancelled, no thread waits for responses.
+ */
+class HedgingAsyncHttpTransport extends HedgingHttpTransport implements AsyncHttpTransport {
+    private final AsyncHttpTransport httpTransport;
+
+    HedgingAsyncHttpTransport(AsyncHttpTransport httpTransport, HedgingPolicy hedgingPolicy, EndpointType endpointType) {
+        super(httpTransport, hedgingPolicy, endpointType);
+        this.httpTransport = httpTransport;
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+        hedgingPolicy.onCall();
+        final long hedgeDelayNanos = hedgingPolicy.getHedgeDelayNanos(endpointType);
+        if (hedgeDelayNanos < 0) {
+            final long start = System.nanoTime();
+            return httpTransport.executeAsync(url, timeoutSettings).whenComplete((response, throwable) -> {
+                if (throwable == null) {
+                    hedgingPolicy.recordLatency(endpointType, System.nanoTime() - start);
+                }
+            });
+        }
+        return hedge(url, timeoutSettings, hedgeDelayNanos);
+    }
+
+    /**
+     * Blocking calls are hedged with asynchronous attempts too, so they don't occupy hedging threads.
+     */
+    @Override
+    CompletableFuture<HttpResponse> hedge(URL url, TimeoutSettings timeoutSettings, long hedgeDelayNanos) {
+        final Supplier<CompletableFuture<HttpResponse>> attemptStarter = () -> httpTransport.executeAsync(url, timeoutSettings);
+        return new HedgedCall(attemptStarter, attemptStarter, hedgingPolicy, endpointType, true).start(hedgeDelayNanos);
+    }
+}
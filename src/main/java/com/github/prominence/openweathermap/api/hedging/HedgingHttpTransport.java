@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.hedging;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport which duplicates slow calls of the wrapped one according to {@link HedgingPolicy}.
+ * Original attempts are made on at most {@link #MAX_PRIMARY_THREADS} threads, or on the calling thread while all of them are busy,
+ * and duplicates on at most {@link #MAX_HEDGING_THREADS} other threads, they are skipped while all of those are busy.
+ * The caller gets the first response, the slower attempt isn't interrupted and its response is closed once it arrives.
+ */
+class HedgingHttpTransport implements HttpTransport {
+    /**
+     * The maximum number of threads making original calls of blocking transports.
+     */
+    static final int MAX_PRIMARY_THREADS = 64;
+    /**
+     * The maximum number of threads making duplicate calls of blocking transports.
+     */
+    static final int MAX_HEDGING_THREADS = 16;
+
+    private final HttpTransport httpTransport;
+    private final Executor primaryExecutor;
+    private final Executor hedgeExecutor;
+    final HedgingPolicy hedgingPolicy;
+    final EndpointType endpointType;
+
+    HedgingHttpTransport(HttpTransport httpTransport, HedgingPolicy hedgingPolicy, EndpointType endpointType) {
+        this(httpTransport, hedgingPolicy, endpointType, null, null);
+    }
+
+    /**
+     * Instantiates a new hedging transport.
+     *
+     * @param httpTransport   the wrapped transport.
+     * @param hedgingPolicy   the policy.
+     * @param endpointType    type of the called endpoint.
+     * @param primaryExecutor the executor of original calls or <code>null</code> to use primary threads.
+     * @param hedgeExecutor   the executor of duplicate calls or <code>null</code> to use hedging threads.
+     */
+    HedgingHttpTransport(HttpTransport httpTransport, HedgingPolicy hedgingPolicy, EndpointType endpointType, Executor primaryExecutor,
+                         Executor hedgeExecutor) {
+        this.httpTransport = httpTransport;
+        this.hedgingPolicy = hedgingPolicy;
+        this.endpointType = endpointType;
+        this.primaryExecutor = primaryExecutor != null ? primaryExecutor : HedgingThreads.PRIMARY;
+        this.hedgeExecutor = hedgeExecutor != null ? hedgeExecutor : HedgingThreads.HEDGE;
+    }
+
+    @Override
+    public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+        hedgingPolicy.onCall();
+        final long hedgeDelayNanos = hedgingPolicy.getHedgeDelayNanos(endpointType);
+        if (hedgeDelayNanos < 0) {
+            final long start = System.nanoTime();
+            final HttpResponse response = httpTransport.execute(url, timeoutSettings);
+            hedgingPolicy.recordLatency(endpointType, System.nanoTime() - start);
+            return response;
+        }
+
+        final CompletableFuture<HttpResponse> responseFuture = hedge(url, timeoutSettings, hedgeDelayNanos);
+        try {
+            return responseFuture.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            responseFuture.thenAccept(HedgingHttpTransport::closeQuietly);
+            throw new InterruptedIOException("Interrupted while waiting for hedged call.");
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        httpTransport.close();
+    }
+
+    /**
+     * Starts the hedged call and returns its result. Blocking attempts can't be cancelled,
+     * so losers aren't cancelled and their responses are closed by the call once they arrive.
+     */
+    CompletableFuture<HttpResponse> hedge(URL url, TimeoutSettings timeoutSettings, long hedgeDelayNanos) {
+        final CompletableFuture<HttpResponse> attempt = new CompletableFuture<>();
+        boolean submitted;
+        try {
+            primaryExecutor.execute(() -> completeAttempt(url, timeoutSettings, attempt));
+            submitted = true;
+        } catch (RejectedExecutionException ex) {
+            submitted = false;
+        }
+        final CompletableFuture<HttpResponse> responseFuture = new HedgedCall(() -> attempt, () -> startHedge(url, timeoutSettings), hedgingPolicy,
+                endpointType, false).start(hedgeDelayNanos);
+        if (!submitted) {
+            completeAttempt(url, timeoutSettings, attempt);
+        }
+        return responseFuture;
+    }
+
+    private CompletableFuture<HttpResponse> startHedge(URL url, TimeoutSettings timeoutSettings) {
+        final CompletableFuture<HttpResponse> attempt = new CompletableFuture<>();
+        hedgeExecutor.execute(() -> completeAttempt(url, timeoutSettings, attempt));
+        return attempt;
+    }
+
+    /**
+     * Completes the attempt with any outcome of the call, so that the hedged call never waits for it forever.
+     */
+    private void completeAttempt(URL url, TimeoutSettings timeoutSettings, CompletableFuture<HttpResponse> attempt) {
+        try {
+            attempt.complete(httpTransport.execute(url, timeoutSettings));
+        } catch (Throwable ex) {
+            attempt.completeExceptionally(ex);
+        }
+    }
+
+    private static void closeQuietly(HttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException ignored) {
+            // the response is dropped anyway
+        }
+    }
+
+    /**
+     * Holder of the threads making hedged calls of synchronous transports, created on first such call.
+     * Idle threads are terminated after a minute, calls are rejected while all threads are busy.
+     */
+    private static final class HedgingThreads {
+        private static final ExecutorService PRIMARY = createThreads(MAX_PRIMARY_THREADS, "openweathermap-hedging-primary-");
+        private static final ExecutorService HEDGE = createThreads(MAX_HEDGING_THREADS, "openweathermap-hedging-");
+
+        private static ExecutorService createThreads(int maxThreads, String namePrefix) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            return new ThreadPoolExecutor(0, maxThreads, 1, TimeUnit.MINUTES, new SynchronousQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.hedging;
+
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.retry.RetryBudget;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedging of slow API calls. When a call isn't completed in the tracked latency percentile of its endpoint type,
+ * a duplicate call is made and the first completed one is used, the other is cancelled.
+ * All calls are idempotent GET requests, so they are safe to duplicate. Duplicate calls are limited by {@link RetryBudget}.
+ */
+public class HedgingPolicy {
+    private final long minDelayNanos;
+    private final Map<EndpointType, LatencyTracker> latencyTrackers = new EnumMap<>(EndpointType.class);
+    private final RetryBudget hedgingBudget;
+
+    private final AtomicLong hedgedCount = new AtomicLong();
+    private final AtomicLong hedgeWonCount = new AtomicLong();
+    private final AtomicLong budgetRejectedCount = new AtomicLong();
+
+    /**
+     * Instantiates a new hedging policy.
+     *
+     * @param hedgingSettings the settings.
+     */
+    public HedgingPolicy(HedgingSettings hedgingSettings) {
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgingSettings.getMinDelayMillis());
+        for (EndpointType endpointType : EndpointType.values()) {
+            latencyTrackers.put(endpointType, new LatencyTracker(hedgingSettings.getLatencyPercentile(),
+                    hedgingSettings.getLatencyWindowSize(), hedgingSettings.getMinimumSamples()));
+        }
+        this.hedgingBudget = new RetryBudget(hedgingSettings.getMaxBurst(), hedgingSettings.getMaxExtraLoadRatio());
+    }
+
+    /**
+     * Wraps transport into one that hedges calls of the endpoint type according to this policy.
+     * Calls of synchronous transports are made on bounded pools of hedging threads while the calling thread waits for the first response.
+     *
+     * @param httpTransport the transport to hedge calls of.
+     * @param endpointType  type of the endpoints called through the transport.
+     * @return the hedging transport.
+     */
+    public HttpTransport wrap(HttpTransport httpTransport, EndpointType endpointType) {
+        if (httpTransport instanceof AsyncHttpTransport) {
+            return new HedgingAsyncHttpTransport((AsyncHttpTransport) httpTransport, this, endpointType);
+        }
+        return new HedgingHttpTransport(httpTransport, this, endpointType);
+    }
+
+    public RetryBudget getHedgingBudget() {
+        return hedgingBudget;
+    }
+
+    /**
+     * Returns number of duplicate calls made.
+     *
+     * @return hedged calls count.
+     */
+    public long getHedgedCount() {
+        return hedgedCount.get();
+    }
+
+    /**
+     * Returns number of duplicate calls completed before the original ones.
+     *
+     * @return won duplicate calls count.
+     */
+    public long getHedgeWonCount() {
+        return hedgeWonCount.get();
+    }
+
+    /**
+     * Returns number of duplicate calls skipped because the hedging budget was exhausted.
+     *
+     * @return skipped duplicate calls count.
+     */
+    public long getBudgetRejectedCount() {
+        return budgetRejectedCount.get();
+    }
+
+    /**
+     * Returns delay after which a call of the endpoint type is duplicated.
+     *
+     * @param endpointType the endpoint type.
+     * @return the delay in milliseconds or <code>-1</code> if calls aren't hedged yet because too few latencies are known.
+     */
+    public long getHedgeDelayMillis(EndpointType endpointType) {
+        final long delayNanos = getHedgeDelayNanos(endpointType);
+        return delayNanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(delayNanos);
+    }
+
+    long getHedgeDelayNanos(EndpointType endpointType) {
+        final long percentileNanos = latencyTrackers.get(endpointType).getPercentileNanos();
+        return percentileNanos < 0 ? -1 : Math.max(minDelayNanos, percentileNanos);
+    }
+
+    void recordLatency(EndpointType endpointType, long latencyNanos) {
+        latencyTrackers.get(endpointType).record(latencyNanos);
+    }
+
+    void onCall() {
+        hedgingBudget.deposit();
+    }
+
+    boolean tryAcquireHedge() {
+        if (hedgingBudget.tryWithdraw()) {
+            hedgedCount.incrementAndGet();
+            return true;
+        }
+        budgetRejectedCount.incrementAndGet();
+        return false;
+    }
+
+    void onHedgeWon() {
+        hedgeWonCount.incrementAndGet();
+    }
+}
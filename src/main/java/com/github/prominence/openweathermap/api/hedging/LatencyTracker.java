@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of the last call latencies with cached percentile of them.
+ */
+class LatencyTracker {
+    private final double percentile;
+    private final int minimumSamples;
+    private final long[] latencies;
+    // percentile is recalculated after every 5% of the window is replaced, not on every latency
+    private final int recalculationInterval;
+    private int recordedLatencies;
+    private int nextLatencyIndex;
+    private int latenciesSinceRecalculation;
+
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile, int windowSize, int minimumSamples) {
+        this.percentile = percentile;
+        this.minimumSamples = minimumSamples;
+        this.latencies = new long[windowSize];
+        this.recalculationInterval = Math.max(1, windowSize / 20);
+    }
+
+    synchronized void record(long latencyNanos) {
+        latencies[nextLatencyIndex] = latencyNanos;
+        nextLatencyIndex = (nextLatencyIndex + 1) % latencies.length;
+        if (recordedLatencies < latencies.length) {
+            recordedLatencies++;
+        }
+        if (recordedLatencies >= minimumSamples
+                && (++latenciesSinceRecalculation >= recalculationInterval || percentileNanos < 0)) {
+            latenciesSinceRecalculation = 0;
+            final long[] sorted = Arrays.copyOf(latencies, recordedLatencies);
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            percentileNanos = sorted[Math.max(rank, 1) - 1];
+        }
+    }
+
+    /**
+     * Returns the latency percentile.
+     *
+     * @return latency in nanoseconds or <code>-1</code> if fewer than minimum number of latencies are recorded.
+     */
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link HttpTransport} that is able to execute requests without blocking a thread while waiting for the network.
+ * Async terminators use it directly when the client is created with such a transport.
+ */
+public interface AsyncHttpTransport extends HttpTransport {
+    /**
+     * Executes GET request to provided url asynchronously.
+     * The future completes when the whole body is received, so reading it doesn't block.
+     * The returned response must be closed by the caller.
+     *
+     * @param url             the url to make request to.
+     * @param timeoutSettings an object with timeout settings.
+     * @return future of response with status, headers and body. Completes exceptionally with {@link java.io.IOException} in case of any network problem.
+     */
+    CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings);
+}
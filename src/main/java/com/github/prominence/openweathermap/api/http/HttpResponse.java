@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HTTP response returned by {@link HttpTransport}.
+ * Closing the response closes its body and gives the connection back to the transport.
+ */
+public class HttpResponse implements Closeable {
+    private final int statusCode;
+    private final Map<String, String> headers;
+    private final InputStream body;
+    private final long connectNanos;
+
+    /**
+     * Instantiates a new response.
+     *
+     * @param statusCode the HTTP status code
+     * @param headers    the response headers, multiple values of the same header are expected to be joined with comma
+     * @param body       the response body stream
+     */
+    public HttpResponse(int statusCode, Map<String, String> headers, InputStream body) {
+        this(statusCode, headers, body, -1);
+    }
+
+    /**
+     * Instantiates a new response of the transport that measures how long it took to obtain the connection.
+     *
+     * @param statusCode   the HTTP status code
+     * @param headers      the response headers, multiple values of the same header are expected to be joined with comma
+     * @param body         the response body stream
+     * @param connectNanos time spent on obtaining the connection in nanoseconds or <code>-1</code> if it is unknown
+     */
+    public HttpResponse(int statusCode, Map<String, String> headers, InputStream body, long connectNanos) {
+        this.statusCode = statusCode;
+        final Map<String, String> headersCopy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headersCopy.putAll(headers);
+        this.headers = Collections.unmodifiableMap(headersCopy);
+        this.body = body;
+        this.connectNanos = connectNanos;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns header value by its case-insensitive name.
+     *
+     * @param name the header name
+     * @return the header value or <code>null</code> if there is no such header
+     */
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public InputStream getBody() {
+        return body;
+    }
+
+    /**
+     * Returns time spent on obtaining the connection: opening it including TLS handshake or taking it from the pool.
+     *
+     * @return time in nanoseconds or <code>-1</code> if the transport doesn't measure it
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Low-level HTTP layer used by the client to execute API calls.
+ * Implementations must be thread-safe: one instance is shared by all requests of an {@link com.github.prominence.openweathermap.api.OpenWeatherMapClient}.
+ */
+public interface HttpTransport extends Closeable {
+    /**
+     * Executes GET request to provided url.
+     * The returned response must be closed by the caller, it releases underlying connection.
+     *
+     * @param url             the url to make request to.
+     * @param timeoutSettings an object with timeout settings.
+     * @return response with status, headers and unread body.
+     * @throws IOException in case of any network problem.
+     */
+    HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException;
+
+    /**
+     * Releases all resources held by the transport.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+/**
+ * Factory methods for transports that depend on the runtime version.
+ * The transport based on <code>java.net.http.HttpClient</code> is shipped in the Java 11 part of the multi-release jar,
+ * so it is looked up reflectively and the library still runs on Java 8.
+ */
+public final class HttpTransports {
+    private static final String HTTP_CLIENT_CLASS_NAME = "java.net.http.HttpClient";
+    private static final String HTTP_CLIENT_TRANSPORT_CLASS_NAME = "com.github.prominence.openweathermap.api.http.JdkHttpClientTransport";
+
+    private HttpTransports() {
+    }
+
+    /**
+     * Checks whether {@link #newHttpClientTransport()} can be used at the current runtime.
+     *
+     * @return <code>true</code> on Java 11 and newer.
+     */
+    public static boolean isHttpClientTransportSupported() {
+        return getHttpClientTransportClass() != null;
+    }
+
+    /**
+     * Creates non-blocking transport based on <code>java.net.http.HttpClient</code>.
+     *
+     * @return the transport.
+     * @throws UnsupportedOperationException in case if the runtime is older than Java 11.
+     */
+    public static AsyncHttpTransport newHttpClientTransport() {
+        final Class<?> transportClass = getHttpClientTransportClass();
+        if (transportClass == null) {
+            throw new UnsupportedOperationException("java.net.http.HttpClient transport requires Java 11 or newer.");
+        }
+        try {
+            return (AsyncHttpTransport) transportClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot create java.net.http.HttpClient transport.", ex);
+        }
+    }
+
+    private static Class<?> getHttpClientTransportClass() {
+        try {
+            Class.forName(HTTP_CLIENT_CLASS_NAME);
+            return Class.forName(HTTP_CLIENT_TRANSPORT_CLASS_NAME);
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return null;
+        }
+    }
+}
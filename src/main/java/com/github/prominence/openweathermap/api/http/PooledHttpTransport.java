@@ -0,0 +1,715 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in {@link HttpTransport} implementation which keeps HTTP/1.1 connections alive and reuses them between calls,
+ * so the TCP and TLS handshakes are paid only once per connection.
+ * <p>
+ * Connections are pooled per route (scheme, host and port). The number of connections per route is limited,
+ * a caller waits for a free connection up to the connection timeout, or up to {@link #MAX_LEASE_WAIT_MILLIS}
+ * if no connection timeout is set. Connections which stay idle longer than
+ * the idle timeout are evicted.
+ * <p>
+ * Proxies are chosen by {@link ProxySelector#getDefault()}, so JVM proxy settings are honoured. HTTPS requests go
+ * through HTTP proxies in tunnels, proxy authentication is not supported. Redirects are not followed:
+ * they fail with {@link ProtocolException}.
+ */
+public class PooledHttpTransport implements HttpTransport {
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30000;
+    public static final int MAX_LEASE_WAIT_MILLIS = 60000;
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledHttpTransport.class);
+
+    // connections idle for less than this time are considered alive without additional check
+    private static final long STALE_CHECK_THRESHOLD_MILLIS = 2000;
+    // unread body part bigger than this value is not worth reading, connection is closed instead
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+
+    private final int maxConnectionsPerRoute;
+    private final long idleTimeoutMillis;
+    private final ConcurrentMap<Route, RoutePool> pools = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new transport with default settings.
+     */
+    public PooledHttpTransport() {
+        this(DEFAULT_MAX_CONNECTIONS_PER_ROUTE, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Instantiates a new transport.
+     *
+     * @param maxConnectionsPerRoute maximum number of open connections to the same host
+     * @param idleTimeoutMillis      time after which an unused connection is closed
+     */
+    public PooledHttpTransport(int maxConnectionsPerRoute, long idleTimeoutMillis) {
+        if (maxConnectionsPerRoute <= 0) {
+            throw new IllegalArgumentException("Max connections per route must be positive.");
+        }
+        if (idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Idle timeout must be positive.");
+        }
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    @Override
+    public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Transport is already closed.");
+        }
+        final long connectStart = System.nanoTime();
+        final RoutePool pool = pools.computeIfAbsent(Route.of(url), RoutePool::new);
+        pool.lease(timeoutSettings.getConnectionTimeout());
+        try {
+            final PooledConnection idleConnection = pool.pollIdle();
+            if (idleConnection != null) {
+                try {
+                    return idleConnection.exchange(url, timeoutSettings, System.nanoTime() - connectStart);
+                } catch (SocketTimeoutException | ProtocolException ex) {
+                    throw ex;
+                } catch (IOException ex) {
+                    // the server has closed the connection while it was in the pool, the request is safe to repeat
+                    logger.debug("Pooled connection to {} is broken, opening a new one.", pool.route, ex);
+                }
+            }
+            final PooledConnection connection = pool.open(timeoutSettings);
+            return connection.exchange(url, timeoutSettings, System.nanoTime() - connectStart);
+        } catch (IOException | RuntimeException ex) {
+            pool.releasePermit();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns number of idle connections kept for all routes.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnectionCount() {
+        int count = 0;
+        for (RoutePool pool : pools.values()) {
+            count += pool.idleConnections.size();
+        }
+        return count;
+    }
+
+    /**
+     * Closes connections which stayed idle longer than the idle timeout.
+     * Is called automatically on every request, but could be invoked by the owner to release sockets of unused routes.
+     */
+    public void evictIdleConnections() {
+        for (RoutePool pool : pools.values()) {
+            pool.evictExpired(System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (RoutePool pool : pools.values()) {
+            PooledConnection connection;
+            while ((connection = pool.idleConnections.pollFirst()) != null) {
+                connection.closeSocket();
+            }
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new EOFException("Unexpected end of HTTP response.");
+            }
+            if (line.size() >= MAX_LINE_LENGTH) {
+                throw new IOException("HTTP response line is too long.");
+            }
+            line.write(b);
+        }
+        final byte[] bytes = line.toByteArray();
+        final int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private static final class Route {
+        private final boolean secure;
+        private final String host;
+        private final int port;
+        private final Proxy proxy;
+
+        private Route(boolean secure, String host, int port, Proxy proxy) {
+            this.secure = secure;
+            this.host = host;
+            this.port = port;
+            this.proxy = proxy;
+        }
+
+        static Route of(URL url) {
+            final String protocol = url.getProtocol().toLowerCase();
+            if (!"http".equals(protocol) && !"https".equals(protocol)) {
+                throw new IllegalArgumentException("Unsupported protocol: " + protocol);
+            }
+            return new Route("https".equals(protocol), url.getHost(), url.getPort() != -1 ? url.getPort() : url.getDefaultPort(), selectProxy(url));
+        }
+
+        private static Proxy selectProxy(URL url) {
+            final ProxySelector proxySelector = ProxySelector.getDefault();
+            if (proxySelector == null) {
+                return Proxy.NO_PROXY;
+            }
+            try {
+                final List<Proxy> proxies = proxySelector.select(url.toURI());
+                return proxies == null || proxies.isEmpty() ? Proxy.NO_PROXY : proxies.get(0);
+            } catch (URISyntaxException ex) {
+                return Proxy.NO_PROXY;
+            }
+        }
+
+        boolean isHttpProxied() {
+            return proxy.type() == Proxy.Type.HTTP;
+        }
+
+        String getHostHeader() {
+            final int defaultPort = secure ? 443 : 80;
+            return port == defaultPort ? host : host + ':' + port;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Route)) return false;
+            Route route = (Route) o;
+            return secure == route.secure && port == route.port && Objects.equals(host, route.host) && Objects.equals(proxy, route.proxy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(secure, host, port, proxy);
+        }
+
+        @Override
+        public String toString() {
+            return (secure ? "https://" : "http://") + host + ':' + port + (proxy.type() != Proxy.Type.DIRECT ? " via " + proxy : "");
+        }
+    }
+
+    private final class RoutePool {
+        private final Route route;
+        private final Semaphore permits;
+        // most recently used connections are at the head
+        private final ConcurrentLinkedDeque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+
+        RoutePool(Route route) {
+            this.route = route;
+            this.permits = new Semaphore(maxConnectionsPerRoute, true);
+        }
+
+        void lease(Integer waitTimeoutMillis) throws IOException {
+            try {
+                final int leaseWaitMillis = waitTimeoutMillis == null || waitTimeoutMillis == 0 ? MAX_LEASE_WAIT_MILLIS : waitTimeoutMillis;
+                if (!permits.tryAcquire(leaseWaitMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SocketTimeoutException("Timeout waiting for a free connection to " + route);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a free connection to " + route);
+            }
+        }
+
+        void releasePermit() {
+            permits.release();
+        }
+
+        PooledConnection pollIdle() {
+            final long now = System.currentTimeMillis();
+            evictExpired(now);
+            PooledConnection connection;
+            while ((connection = idleConnections.pollFirst()) != null) {
+                if (now - connection.idleSince < idleTimeoutMillis && !connection.isStale(now)) {
+                    return connection;
+                }
+                connection.closeSocket();
+            }
+            return null;
+        }
+
+        void evictExpired(long now) {
+            final Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+            while (iterator.hasNext()) {
+                final PooledConnection connection = iterator.next();
+                if (now - connection.idleSince < idleTimeoutMillis) {
+                    // the rest of connections were used more recently
+                    break;
+                }
+                if (idleConnections.remove(connection)) {
+                    connection.closeSocket();
+                }
+            }
+        }
+
+        PooledConnection open(TimeoutSettings timeoutSettings) throws IOException {
+            final Integer connectionTimeout = timeoutSettings.getConnectionTimeout();
+            final Integer readTimeout = timeoutSettings.getReadTimeout();
+
+            Socket socket = route.proxy.type() == Proxy.Type.SOCKS ? new Socket(route.proxy) : new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setKeepAlive(true);
+                socket.connect(getSocketAddress(), connectionTimeout != null ? connectionTimeout : 0);
+                socket.setSoTimeout(readTimeout != null ? readTimeout : 0);
+                if (route.secure && route.isHttpProxied()) {
+                    openTunnel(socket);
+                }
+                if (route.secure) {
+                    final SSLSocket sslSocket = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                            .createSocket(socket, route.host, route.port, true);
+                    socket = sslSocket;
+                    final SSLParameters sslParameters = sslSocket.getSSLParameters();
+                    sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    sslSocket.setSSLParameters(sslParameters);
+                    sslSocket.startHandshake();
+                }
+            } catch (IOException | RuntimeException ex) {
+                try {
+                    socket.close();
+                } catch (IOException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+                throw ex;
+            }
+            logger.debug("Opened new connection to {}.", route);
+
+            return new PooledConnection(this, socket);
+        }
+
+        private InetSocketAddress getSocketAddress() {
+            switch (route.proxy.type()) {
+                case HTTP:
+                    final InetSocketAddress proxyAddress = (InetSocketAddress) route.proxy.address();
+                    // proxy selectors return unresolved addresses
+                    return proxyAddress.isUnresolved() ? new InetSocketAddress(proxyAddress.getHostString(), proxyAddress.getPort()) : proxyAddress;
+                case SOCKS:
+                    // the host is resolved by the proxy
+                    return InetSocketAddress.createUnresolved(route.host, route.port);
+                default:
+                    return new InetSocketAddress(route.host, route.port);
+            }
+        }
+
+        /**
+         * Asks HTTP proxy to connect to the route, the TLS handshake is made through the tunnel afterwards.
+         */
+        private void openTunnel(Socket socket) throws IOException {
+            final String authority = route.host + ':' + route.port;
+            final OutputStream out = socket.getOutputStream();
+            out.write(("CONNECT " + authority + " HTTP/1.1\r\n" +
+                    "Host: " + authority + "\r\n" +
+                    "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            // read byte by byte, so nothing sent after the proxy response is consumed
+            final InputStream in = socket.getInputStream();
+            final String statusLine = readLine(in);
+            while (!readLine(in).isEmpty()) {
+                // headers of the proxy response are not used
+            }
+            final String[] parts = statusLine.split(" ", 3);
+            if (parts.length < 2 || !parts[0].startsWith("HTTP/") || !parts[1].startsWith("2")) {
+                throw new ProtocolException("Proxy " + route.proxy.address() + " refused to connect to " + authority + ": " + statusLine);
+            }
+        }
+
+        void release(PooledConnection connection) {
+            if (closed) {
+                connection.closeSocket();
+            } else {
+                connection.idleSince = System.currentTimeMillis();
+                idleConnections.offerFirst(connection);
+            }
+            permits.release();
+        }
+
+        void discard(PooledConnection connection) {
+            connection.closeSocket();
+            permits.release();
+        }
+    }
+
+    private static final class PooledConnection {
+        private final RoutePool pool;
+        private final Socket socket;
+        private final BufferedInputStream in;
+        private final OutputStream out;
+        private volatile long idleSince;
+
+        PooledConnection(RoutePool pool, Socket socket) throws IOException {
+            this.pool = pool;
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        HttpResponse exchange(URL url, TimeoutSettings timeoutSettings, long connectNanos) throws IOException {
+            try {
+                socket.setSoTimeout(timeoutSettings.getReadTimeout() != null ? timeoutSettings.getReadTimeout() : 0);
+                writeRequest(url);
+                return readResponse(connectNanos);
+            } catch (IOException | RuntimeException ex) {
+                closeSocket();
+                throw ex;
+            }
+        }
+
+        private void writeRequest(URL url) throws IOException {
+            final String path = url.getFile().isEmpty() ? "/" : url.getFile();
+            // plain requests to HTTP proxies carry the absolute URI
+            final String target = pool.route.isHttpProxied() && !pool.route.secure ? "http://" + pool.route.getHostHeader() + path : path;
+            final String request = "GET " + target + " HTTP/1.1\r\n" +
+                    "Host: " + pool.route.getHostHeader() + "\r\n" +
+                    "Accept: */*\r\n" +
+                    "Connection: keep-alive\r\n" +
+                    "\r\n";
+            out.write(request.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        private HttpResponse readResponse(long connectNanos) throws IOException {
+            String statusLine = readLine();
+            int statusCode = parseStatusCode(statusLine);
+            Map<String, String> headers = readHeaders();
+            // informational responses are followed by the final one
+            while (statusCode >= 100 && statusCode < 200) {
+                statusLine = readLine();
+                statusCode = parseStatusCode(statusLine);
+                headers = readHeaders();
+            }
+            if (statusCode >= 300 && statusCode < 400 && statusCode != 304) {
+                throw new ProtocolException("Redirects are not followed, got " + statusCode + " to " + headers.get("Location")
+                        + ". Use UrlConnectionHttpTransport to follow them.");
+            }
+
+            final String connectionHeader = headers.get("Connection");
+            final boolean keepAlive = statusLine.startsWith("HTTP/1.0")
+                    ? "keep-alive".equalsIgnoreCase(connectionHeader)
+                    : !"close".equalsIgnoreCase(connectionHeader);
+
+            final String transferEncoding = headers.get("Transfer-Encoding");
+            final String contentLength = headers.get("Content-Length");
+            final BodyInputStream body;
+            if (statusCode == 204 || statusCode == 304) {
+                body = new FixedLengthBodyInputStream(this, keepAlive, 0);
+            } else if (transferEncoding != null && transferEncoding.toLowerCase().contains("chunked")) {
+                body = new ChunkedBodyInputStream(this, keepAlive);
+            } else if (contentLength != null) {
+                body = new FixedLengthBodyInputStream(this, keepAlive, parseContentLength(contentLength));
+            } else {
+                // body is delimited by connection close
+                body = new UntilCloseBodyInputStream(this);
+            }
+
+            return new HttpResponse(statusCode, headers, body, connectNanos);
+        }
+
+        private int parseStatusCode(String statusLine) throws IOException {
+            final String[] parts = statusLine.split(" ", 3);
+            if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+                throw new IOException("Malformed HTTP status line: " + statusLine);
+            }
+            try {
+                return Integer.parseInt(parts[1]);
+            } catch (NumberFormatException ex) {
+                throw new IOException("Malformed HTTP status line: " + statusLine);
+            }
+        }
+
+        private long parseContentLength(String value) throws IOException {
+            try {
+                final long length = Long.parseLong(value.trim());
+                if (length < 0) {
+                    throw new IOException("Negative Content-Length: " + value);
+                }
+                return length;
+            } catch (NumberFormatException ex) {
+                throw new IOException("Malformed Content-Length: " + value);
+            }
+        }
+
+        private Map<String, String> readHeaders() throws IOException {
+            final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            String line;
+            while (!(line = readLine()).isEmpty()) {
+                final int separatorIndex = line.indexOf(':');
+                if (separatorIndex <= 0) {
+                    throw new IOException("Malformed HTTP header: " + line);
+                }
+                final String name = line.substring(0, separatorIndex).trim();
+                final String value = line.substring(separatorIndex + 1).trim();
+                headers.merge(name, value, (oldValue, newValue) -> oldValue + ',' + newValue);
+            }
+            return headers;
+        }
+
+        String readLine() throws IOException {
+            return PooledHttpTransport.readLine(in);
+        }
+
+        boolean isStale(long now) {
+            if (socket.isClosed() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+                return true;
+            }
+            if (now - idleSince < STALE_CHECK_THRESHOLD_MILLIS) {
+                return false;
+            }
+            try {
+                socket.setSoTimeout(1);
+                // any byte or EOF on an idle connection means it can't be used anymore
+                in.read();
+                return true;
+            } catch (SocketTimeoutException ex) {
+                return false;
+            } catch (IOException ex) {
+                return true;
+            }
+        }
+
+        void closeSocket() {
+            try {
+                socket.close();
+            } catch (IOException ex) {
+                logger.debug("Error during connection closing: ", ex);
+            }
+        }
+    }
+
+    private abstract static class BodyInputStream extends InputStream {
+        protected final PooledConnection connection;
+        private final boolean reusable;
+        private boolean closed;
+
+        BodyInputStream(PooledConnection connection, boolean reusable) {
+            this.connection = connection;
+            this.reusable = reusable;
+        }
+
+        protected abstract boolean isComplete();
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            final int count = read(single, 0, 1);
+            return count == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (reusable && drain()) {
+                connection.pool.release(connection);
+            } else {
+                connection.pool.discard(connection);
+            }
+        }
+
+        private boolean drain() {
+            final byte[] buffer = new byte[4096];
+            long drained = 0;
+            try {
+                while (!isComplete()) {
+                    final int count = read(buffer, 0, buffer.length);
+                    if (count == -1) {
+                        break;
+                    }
+                    drained += count;
+                    if (drained > MAX_DRAIN_BYTES) {
+                        return false;
+                    }
+                }
+                return isComplete();
+            } catch (IOException ex) {
+                return false;
+            }
+        }
+    }
+
+    private static final class FixedLengthBodyInputStream extends BodyInputStream {
+        private long remaining;
+
+        FixedLengthBodyInputStream(PooledConnection connection, boolean reusable, long length) {
+            super(connection, reusable);
+            this.remaining = length;
+        }
+
+        @Override
+        protected boolean isComplete() {
+            return remaining == 0;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining == 0) {
+                return -1;
+            }
+            final int count = connection.in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (count == -1) {
+                throw new EOFException("Unexpected end of HTTP response body.");
+            }
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(connection.in.available(), remaining);
+        }
+    }
+
+    private static final class ChunkedBodyInputStream extends BodyInputStream {
+        private long chunkRemaining;
+        private boolean lastChunkRead;
+
+        ChunkedBodyInputStream(PooledConnection connection, boolean reusable) {
+            super(connection, reusable);
+        }
+
+        @Override
+        protected boolean isComplete() {
+            return lastChunkRead;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (lastChunkRead) {
+                return -1;
+            }
+            if (chunkRemaining == 0) {
+                readChunkHeader();
+                if (lastChunkRead) {
+                    return -1;
+                }
+            }
+            final int count = connection.in.read(buffer, offset, (int) Math.min(length, chunkRemaining));
+            if (count == -1) {
+                throw new EOFException("Unexpected end of HTTP response body.");
+            }
+            chunkRemaining -= count;
+            if (chunkRemaining == 0) {
+                // every chunk is followed by CRLF
+                connection.readLine();
+            }
+            return count;
+        }
+
+        private void readChunkHeader() throws IOException {
+            final String line = connection.readLine();
+            final int extensionIndex = line.indexOf(';');
+            final String size = (extensionIndex != -1 ? line.substring(0, extensionIndex) : line).trim();
+            try {
+                chunkRemaining = Long.parseLong(size, 16);
+            } catch (NumberFormatException ex) {
+                throw new IOException("Malformed chunk size: " + line);
+            }
+            if (chunkRemaining == 0) {
+                // skip trailers
+                while (!connection.readLine().isEmpty()) {
+                    // nothing to do
+                }
+                lastChunkRead = true;
+            }
+        }
+    }
+
+    private static final class UntilCloseBodyInputStream extends BodyInputStream {
+        private boolean endReached;
+
+        UntilCloseBodyInputStream(PooledConnection connection) {
+            super(connection, false);
+        }
+
+        @Override
+        protected boolean isComplete() {
+            return endReached;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (endReached) {
+                return -1;
+            }
+            final int count = connection.in.read(buffer, offset, length);
+            if (count == -1) {
+                endReached = true;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link HttpTransport} implementation based on {@link HttpURLConnection}.
+ * Connection reuse is fully up to JDK (see <code>http.keepAlive</code> and <code>http.maxConnections</code> system properties),
+ * but JVM proxy settings are respected.
+ */
+public class UrlConnectionHttpTransport implements HttpTransport {
+    @Override
+    public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+        if (timeoutSettings.getConnectionTimeout() != null) {
+            connection.setConnectTimeout(timeoutSettings.getConnectionTimeout());
+        }
+
+        if (timeoutSettings.getReadTimeout() != null) {
+            connection.setReadTimeout(timeoutSettings.getReadTimeout());
+        }
+
+        connection.setRequestMethod("GET");
+
+        final long connectStart = System.nanoTime();
+        connection.connect();
+        final long connectNanos = System.nanoTime() - connectStart;
+
+        final int statusCode = connection.getResponseCode();
+        InputStream body = statusCode < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream();
+        if (body == null) {
+            body = new ByteArrayInputStream(new byte[0]);
+        }
+
+        final Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+            // status line is stored with null key
+            if (header.getKey() != null) {
+                headers.put(header.getKey(), String.join(",", header.getValue()));
+            }
+        }
+
+        return new HttpResponse(statusCode, headers, body, connectNanos);
+    }
+
+    @Override
+    public void close() {
+        // nothing to release, connections are managed by JDK
+    }
+}
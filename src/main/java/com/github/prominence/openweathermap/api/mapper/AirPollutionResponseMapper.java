@@ -24,22 +24,41 @@ package com.github.prominence.openweathermap.api.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.prominence.openweathermap.api.enums.AirQualityIndex;
 import com.github.prominence.openweathermap.api.model.Coordinate;
 import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
 import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionRecord;
 
-import java.time.Instant;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TimeZone;
 
 /**
  * The type Air pollution response mapper.
  */
 public class AirPollutionResponseMapper {
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
+
+    /**
+     * Instantiates a new Air pollution response mapper.
+     */
+    public AirPollutionResponseMapper() {
+        this(MappingContext.getDefault());
+    }
+
+    /**
+     * Instantiates a new Air pollution response mapper.
+     *
+     * @param mappingContext the mapping context
+     */
+    public AirPollutionResponseMapper(MappingContext mappingContext) {
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
+    }
+
     /**
      * Map to air pollution air pollution.
      *
@@ -47,10 +66,9 @@ public class AirPollutionResponseMapper {
      * @return the air pollution
      */
     public AirPollutionDetails mapToAirPollution(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         AirPollutionDetails airPollutionDetails;
         try {
-            final JsonNode root = objectMapper.readTree(json);
+            final JsonNode root = mappingContext.readTree(json);
             airPollutionDetails = mapToAirPollution(root);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot parse Air Pollution response");
@@ -59,6 +77,24 @@ public class AirPollutionResponseMapper {
         return airPollutionDetails;
     }
 
+    /**
+     * Map to air pollution air pollution.
+     *
+     * @param inputStream the json stream
+     * @return the air pollution
+     */
+    public AirPollutionDetails mapToAirPollution(InputStream inputStream) {
+        AirPollutionDetails airPollutionDetails;
+        try {
+            final JsonNode root = mappingContext.readTree(inputStream);
+            airPollutionDetails = mapToAirPollution(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Air Pollution response");
+        }
+
+        return airPollutionDetails;
+    }
+
     private AirPollutionDetails mapToAirPollution(JsonNode rootNode) {
         final AirPollutionDetails airPollutionDetails = new AirPollutionDetails();
         airPollutionDetails.setCoordinate(parseCoordinate(rootNode.get("coord")));
@@ -75,7 +111,8 @@ public class AirPollutionResponseMapper {
 
     private AirPollutionRecord parseAirPollutionSample(JsonNode sampleNode) {
         AirPollutionRecord airPollutionRecord = new AirPollutionRecord();
-        airPollutionRecord.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(sampleNode.get("dt").asInt()), TimeZone.getDefault().toZoneId()));
+        airPollutionRecord.setForecastEpochSecond(sampleNode.get("dt").asLong());
+        airPollutionRecord.setForecastTime(timeConversion.toForecastTime(airPollutionRecord.getForecastEpochSecond()));
         airPollutionRecord.setAirQualityIndex(AirQualityIndex.getByIndex(sampleNode.get("main").get("aqi").asInt()));
 
         final JsonNode componentsNode = sampleNode.get("components");
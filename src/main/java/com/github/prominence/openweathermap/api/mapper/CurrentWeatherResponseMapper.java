@@ -24,17 +24,16 @@ package com.github.prominence.openweathermap.api.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.prominence.openweathermap.api.model.weather.*;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
 import com.github.prominence.openweathermap.api.model.*;
 
-import java.time.Instant;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TimeZone;
 
 /**
  * Official API response documentation:
@@ -84,6 +83,8 @@ import java.util.TimeZone;
  */
 public class CurrentWeatherResponseMapper {
     private final UnitSystem unitSystem;
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
 
     /**
      * Instantiates a new Current weather response mapper.
@@ -91,7 +92,19 @@ public class CurrentWeatherResponseMapper {
      * @param unitSystem the unit system
      */
     public CurrentWeatherResponseMapper(UnitSystem unitSystem) {
+        this(unitSystem, MappingContext.getDefault());
+    }
+
+    /**
+     * Instantiates a new Current weather response mapper.
+     *
+     * @param unitSystem     the unit system
+     * @param mappingContext the mapping context
+     */
+    public CurrentWeatherResponseMapper(UnitSystem unitSystem, MappingContext mappingContext) {
         this.unitSystem = unitSystem != null ? unitSystem : UnitSystem.STANDARD;
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
     }
 
     /**
@@ -101,10 +114,9 @@ public class CurrentWeatherResponseMapper {
      * @return the weather object
      */
     public Weather getSingle(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         Weather weather;
         try {
-            final JsonNode root = objectMapper.readTree(json);
+            final JsonNode root = mappingContext.readTree(json);
             weather = getSingle(root);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot parse Weather response");
@@ -113,6 +125,24 @@ public class CurrentWeatherResponseMapper {
         return weather;
     }
 
+    /**
+     * Gets single result.
+     *
+     * @param inputStream the json stream
+     * @return the weather object
+     */
+    public Weather getSingle(InputStream inputStream) {
+        Weather weather;
+        try {
+            final JsonNode root = mappingContext.readTree(inputStream);
+            weather = getSingle(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response");
+        }
+
+        return weather;
+    }
+
     private Weather getSingle(JsonNode rootNode) {
         final JsonNode weatherArrayNode = rootNode.get("weather");
         final JsonNode weatherNode = weatherArrayNode != null ? weatherArrayNode.get(0) : null;
@@ -130,7 +160,8 @@ public class CurrentWeatherResponseMapper {
 
         final JsonNode dtNode = rootNode.get("dt");
         if (dtNode != null) {
-            weather.setCalculationTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(dtNode.asInt()), TimeZone.getDefault().toZoneId()));
+            weather.setCalculationEpochSecond(dtNode.asLong());
+            weather.setCalculationTime(timeConversion.toForecastTime(weather.getCalculationEpochSecond()));
         }
 
         return weather;
@@ -143,10 +174,9 @@ public class CurrentWeatherResponseMapper {
      * @return the list of weathers
      */
     public List<Weather> getList(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         final List<Weather> weatherList = new ArrayList<>();
         try {
-            final JsonNode root = objectMapper.readTree(json);
+            final JsonNode root = mappingContext.readTree(json);
             final JsonNode listNode = root.get("list");
             listNode.forEach(jsonNode -> weatherList.add(getSingle(jsonNode)));
         } catch (JsonProcessingException e) {
@@ -156,6 +186,25 @@ public class CurrentWeatherResponseMapper {
         return weatherList;
     }
 
+    /**
+     * Gets list of results.
+     *
+     * @param inputStream the json stream
+     * @return the list of weathers
+     */
+    public List<Weather> getList(InputStream inputStream) {
+        final List<Weather> weatherList = new ArrayList<>();
+        try {
+            final JsonNode root = mappingContext.readTree(inputStream);
+            final JsonNode listNode = root.get("list");
+            listNode.forEach(jsonNode -> weatherList.add(getSingle(jsonNode)));
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response");
+        }
+
+        return weatherList;
+    }
+
     private WeatherState parseWeatherState(JsonNode weatherNode) {
         if (weatherNode == null) {
             return null;
@@ -291,10 +340,10 @@ public class CurrentWeatherResponseMapper {
             final JsonNode sunriseNode = sysNode.get("sunrise");
             final JsonNode sunsetNode = sysNode.get("sunset");
             if (sunriseNode != null) {
-                location.setSunriseTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(sunriseNode.asInt()), TimeZone.getDefault().toZoneId()));
+                location.setSunriseTime(timeConversion.toLocalDateTime(sunriseNode.asInt()));
             }
             if (sunsetNode != null) {
-                location.setSunsetTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(sunsetNode.asInt()), TimeZone.getDefault().toZoneId()));
+                location.setSunsetTime(timeConversion.toLocalDateTime(sunsetNode.asInt()));
             }
         }
 
@@ -24,7 +24,6 @@ package com.github.prominence.openweathermap.api.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
 import com.github.prominence.openweathermap.api.model.*;
 import com.github.prominence.openweathermap.api.model.forecast.*;
@@ -33,12 +32,13 @@ import com.github.prominence.openweathermap.api.model.forecast.Rain;
 import com.github.prominence.openweathermap.api.model.forecast.Snow;
 import com.github.prominence.openweathermap.api.model.Temperature;
 
-import java.time.Instant;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TimeZone;
 
 /**
  * Official API response documentation.
@@ -88,6 +88,8 @@ import java.util.TimeZone;
  */
 public class FiveDayThreeHourStepForecastResponseMapper {
     private final UnitSystem unitSystem;
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
 
     /**
      * Instantiates a new forecast response mapper.
@@ -95,7 +97,19 @@ public class FiveDayThreeHourStepForecastResponseMapper {
      * @param unitSystem the unit system
      */
     public FiveDayThreeHourStepForecastResponseMapper(UnitSystem unitSystem) {
+        this(unitSystem, MappingContext.getDefault());
+    }
+
+    /**
+     * Instantiates a new forecast response mapper.
+     *
+     * @param unitSystem     the unit system
+     * @param mappingContext the mapping context
+     */
+    public FiveDayThreeHourStepForecastResponseMapper(UnitSystem unitSystem, MappingContext mappingContext) {
         this.unitSystem = unitSystem;
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
     }
 
     /**
@@ -105,10 +119,9 @@ public class FiveDayThreeHourStepForecastResponseMapper {
      * @return the forecast
      */
     public Forecast mapToForecast(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         Forecast forecast;
         try {
-            final JsonNode root = objectMapper.readTree(json);
+            final JsonNode root = mappingContext.readTree(json);
             forecast = mapToForecast(root);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot parse Forecast response");
@@ -117,6 +130,48 @@ public class FiveDayThreeHourStepForecastResponseMapper {
         return forecast;
     }
 
+    /**
+     * Maps forecast response into java object.
+     *
+     * @param inputStream the json stream
+     * @return the forecast
+     */
+    public Forecast mapToForecast(InputStream inputStream) {
+        Forecast forecast;
+        try {
+            final JsonNode root = mappingContext.readTree(inputStream);
+            forecast = mapToForecast(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Forecast response");
+        }
+
+        return forecast;
+    }
+
+    /**
+     * Maps forecast response into compact columnar representation.
+     *
+     * @param json the json string
+     * @return the forecast series
+     */
+    public ForecastSeries mapToForecastSeries(String json) {
+        return ForecastSeries.of(mapToForecast(json), seriesZone());
+    }
+
+    /**
+     * Maps forecast response into compact columnar representation.
+     *
+     * @param inputStream the json stream
+     * @return the forecast series
+     */
+    public ForecastSeries mapToForecastSeries(InputStream inputStream) {
+        return ForecastSeries.of(mapToForecast(inputStream), seriesZone());
+    }
+
+    private ZoneId seriesZone() {
+        return timeConversion.isForecastTimeMaterialized() ? timeConversion.getZoneId() : null;
+    }
+
     private Forecast mapToForecast(JsonNode root) {
         final Forecast forecast = new Forecast();
         forecast.setLocation(parseLocation(root.get("city")));
@@ -153,7 +208,8 @@ public class FiveDayThreeHourStepForecastResponseMapper {
             weatherForecast.setDayTime("d".equals(sysNode.get("pod").asText()) ? DayTime.DAY : DayTime.NIGHT);
         }
 
-        weatherForecast.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(rootNode.get("dt").asLong()), TimeZone.getDefault().toZoneId()));
+        weatherForecast.setForecastEpochSecond(rootNode.get("dt").asLong());
+        weatherForecast.setForecastTime(timeConversion.toForecastTime(weatherForecast.getForecastEpochSecond()));
         weatherForecast.setForecastTimeISO(rootNode.get("dt_txt").asText());
 
         return weatherForecast;
@@ -273,10 +329,10 @@ public class FiveDayThreeHourStepForecastResponseMapper {
         final JsonNode sunriseNode = rootNode.get("sunrise");
         final JsonNode sunsetNode = rootNode.get("sunset");
         if (sunriseNode != null) {
-            location.setSunriseTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(sunriseNode.asLong()), TimeZone.getDefault().toZoneId()));
+            location.setSunriseTime(timeConversion.toLocalDateTime(sunriseNode.asLong()));
         }
         if (sunsetNode != null) {
-            location.setSunsetTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(sunsetNode.asLong()), TimeZone.getDefault().toZoneId()));
+            location.setSunsetTime(timeConversion.toLocalDateTime(sunsetNode.asLong()));
         }
 
         final JsonNode coordNode = rootNode.get("coord");
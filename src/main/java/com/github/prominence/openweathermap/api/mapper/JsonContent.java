@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Raw response content retained by lazy mappers, parsers could be created from any token of it later.
+ * Content is never modified, so parsers could be created concurrently.
+ */
+final class JsonContent {
+    private final JsonFactory jsonFactory;
+    private final char[] chars;
+    private final byte[] bytes;
+
+    private JsonContent(JsonFactory jsonFactory, char[] chars, byte[] bytes) {
+        this.jsonFactory = jsonFactory;
+        this.chars = chars;
+        this.bytes = bytes;
+    }
+
+    static JsonContent of(JsonFactory jsonFactory, String json) {
+        return new JsonContent(jsonFactory, json.toCharArray(), null);
+    }
+
+    /**
+     * Reads the stream fully, the stream is closed afterwards.
+     */
+    static JsonContent of(JsonFactory jsonFactory, InputStream inputStream) throws IOException {
+        try (InputStream stream = inputStream) {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return new JsonContent(jsonFactory, null, outputStream.toByteArray());
+        }
+    }
+
+    JsonParser createParser() throws IOException {
+        return chars != null ? jsonFactory.createParser(chars) : jsonFactory.createParser(bytes);
+    }
+
+    /**
+     * Returns offset of the current token of parser created by {@link #createParser()}.
+     */
+    long tokenOffset(JsonParser parser) {
+        final JsonLocation location = parser.getTokenLocation();
+        return chars != null ? location.getCharOffset() : location.getByteOffset();
+    }
+
+    /**
+     * Creates parser which first token is the one at provided offset, content after the value of that token isn't read.
+     */
+    JsonParser createParser(long offset) throws IOException {
+        final int start = (int) offset;
+        return chars != null ? jsonFactory.createParser(chars, start, chars.length - start) : jsonFactory.createParser(bytes, start, bytes.length - start);
+    }
+}
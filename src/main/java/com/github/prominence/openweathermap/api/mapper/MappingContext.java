@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * JSON parsing infrastructure and response mappers shared by all requests of a client.
+ * Jackson {@link ObjectReader} and {@link JsonFactory} are immutable and thread-safe, so parser symbol tables are reused
+ * between responses instead of being rebuilt for every call. Mappers are stateless and created once per unit system.
+ * Depending on {@link MappingMode} either tree-based or streaming mapper implementations are used.
+ */
+public class MappingContext {
+    private static final MappingContext DEFAULT = new MappingContext();
+
+    private final MappingMode mappingMode;
+    private final TimeConversion timeConversion;
+    private final ObjectReader objectReader;
+
+    private final Map<UnitSystem, CurrentWeatherResponseMapper> currentWeatherResponseMappers = new EnumMap<>(UnitSystem.class);
+    private final Map<UnitSystem, FiveDayThreeHourStepForecastResponseMapper> forecastResponseMappers = new EnumMap<>(UnitSystem.class);
+    private final Map<UnitSystem, OneCallWeatherResponseMapper> oneCallWeatherResponseMappers = new EnumMap<>(UnitSystem.class);
+    private final AirPollutionResponseMapper airPollutionResponseMapper;
+
+    /**
+     * Instantiates a new mapping context with tree-based mappers.
+     */
+    public MappingContext() {
+        this(MappingMode.TREE);
+    }
+
+    /**
+     * Instantiates a new mapping context.
+     *
+     * @param mappingMode the mapping mode
+     */
+    public MappingContext(MappingMode mappingMode) {
+        this(mappingMode, null);
+    }
+
+    /**
+     * Instantiates a new mapping context.
+     *
+     * @param mappingMode    the mapping mode
+     * @param timeConversion the way timestamps are converted, {@link TimeConversion#systemDefaultZone()} if <code>null</code>
+     */
+    public MappingContext(MappingMode mappingMode, TimeConversion timeConversion) {
+        this.mappingMode = mappingMode != null ? mappingMode : MappingMode.TREE;
+        this.timeConversion = timeConversion != null ? timeConversion : TimeConversion.systemDefaultZone();
+        this.objectReader = new ObjectMapper().reader();
+        final boolean streaming = this.mappingMode != MappingMode.TREE;
+        for (UnitSystem unitSystem : UnitSystem.values()) {
+            currentWeatherResponseMappers.put(unitSystem, streaming ? new StreamingCurrentWeatherResponseMapper(unitSystem, this) : new CurrentWeatherResponseMapper(unitSystem, this));
+            forecastResponseMappers.put(unitSystem, streaming ? new StreamingFiveDayThreeHourStepForecastResponseMapper(unitSystem, this) : new FiveDayThreeHourStepForecastResponseMapper(unitSystem, this));
+            oneCallWeatherResponseMappers.put(unitSystem, streaming ? new StreamingOneCallWeatherResponseMapper(unitSystem, this) : new OneCallWeatherResponseMapper(unitSystem, this));
+        }
+        this.airPollutionResponseMapper = streaming ? new StreamingAirPollutionResponseMapper(this) : new AirPollutionResponseMapper(this);
+    }
+
+    /**
+     * Returns context used by mappers created without explicit one.
+     *
+     * @return the default mapping context
+     */
+    public static MappingContext getDefault() {
+        return DEFAULT;
+    }
+
+    public MappingMode getMappingMode() {
+        return mappingMode;
+    }
+
+    public TimeConversion getTimeConversion() {
+        return timeConversion;
+    }
+
+    public JsonFactory getJsonFactory() {
+        return objectReader.getFactory();
+    }
+
+    public ObjectReader getObjectReader() {
+        return objectReader;
+    }
+
+    /**
+     * Parses JSON content into a tree.
+     *
+     * @param json the json string
+     * @return the root node
+     * @throws JsonProcessingException in case of malformed content
+     */
+    JsonNode readTree(String json) throws JsonProcessingException {
+        return objectReader.readTree(json);
+    }
+
+    /**
+     * Parses JSON content into a tree, the stream is closed afterwards.
+     *
+     * @param inputStream the json stream
+     * @return the root node
+     * @throws IOException in case of malformed content or read failure
+     */
+    JsonNode readTree(InputStream inputStream) throws IOException {
+        return objectReader.readTree(inputStream);
+    }
+
+    public CurrentWeatherResponseMapper getCurrentWeatherResponseMapper(UnitSystem unitSystem) {
+        return currentWeatherResponseMappers.get(unitSystem != null ? unitSystem : UnitSystem.STANDARD);
+    }
+
+    public FiveDayThreeHourStepForecastResponseMapper getForecastResponseMapper(UnitSystem unitSystem) {
+        return forecastResponseMappers.get(unitSystem != null ? unitSystem : UnitSystem.STANDARD);
+    }
+
+    public OneCallWeatherResponseMapper getOneCallWeatherResponseMapper(UnitSystem unitSystem) {
+        return oneCallWeatherResponseMappers.get(unitSystem != null ? unitSystem : UnitSystem.STANDARD);
+    }
+
+    public AirPollutionResponseMapper getAirPollutionResponseMapper() {
+        return airPollutionResponseMapper;
+    }
+}
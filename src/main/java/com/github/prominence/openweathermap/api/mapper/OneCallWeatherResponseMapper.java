@@ -24,7 +24,7 @@ package com.github.prominence.openweathermap.api.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.prominence.openweathermap.api.enums.OneCallResultOptions;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
 import com.github.prominence.openweathermap.api.model.Clouds;
 import com.github.prominence.openweathermap.api.model.Coordinate;
@@ -36,19 +36,23 @@ import com.github.prominence.openweathermap.api.model.onecall.historical.Histori
 import com.github.prominence.openweathermap.api.model.onecall.historical.HourlyHistorical;
 import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeatherData;
 
-import java.time.Instant;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.TimeZone;
+import java.util.Set;
 
 /**
  * Object mapper for OneCall API response.
  */
 public class OneCallWeatherResponseMapper {
     private final UnitSystem unitSystem;
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
 
     /**
      * Instantiates a new forecast response mapper.
@@ -56,7 +60,19 @@ public class OneCallWeatherResponseMapper {
      * @param unitSystem the unit system
      */
     public OneCallWeatherResponseMapper(UnitSystem unitSystem) {
+        this(unitSystem, MappingContext.getDefault());
+    }
+
+    /**
+     * Instantiates a new forecast response mapper.
+     *
+     * @param unitSystem     the unit system
+     * @param mappingContext the mapping context
+     */
+    public OneCallWeatherResponseMapper(UnitSystem unitSystem, MappingContext mappingContext) {
         this.unitSystem = unitSystem;
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
     }
 
     /**
@@ -66,11 +82,21 @@ public class OneCallWeatherResponseMapper {
      * @return the current data object
      */
     public CurrentWeatherData mapToCurrent(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
+        return mapToCurrent(json, Collections.emptySet());
+    }
+
+    /**
+     * Maps current weather data response into java object, excluded sections are skipped even if they are present in the response.
+     *
+     * @param json             the json string
+     * @param excludedSections sections to skip
+     * @return the current data object
+     */
+    public CurrentWeatherData mapToCurrent(String json, Set<OneCallResultOptions> excludedSections) {
         CurrentWeatherData currentData;
         try {
-            final JsonNode root = objectMapper.readTree(json);
-            currentData = mapToCurrent(root);
+            final JsonNode root = mappingContext.readTree(json);
+            currentData = mapToCurrent(root, excludedSections);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot parse OneCall response");
         }
@@ -78,6 +104,35 @@ public class OneCallWeatherResponseMapper {
         return currentData;
     }
 
+    /**
+     * Maps current weather data response into java object.
+     *
+     * @param inputStream the json stream
+     * @return the current data object
+     */
+    public CurrentWeatherData mapToCurrent(InputStream inputStream) {
+        return mapToCurrent(inputStream, Collections.emptySet());
+    }
+
+    /**
+     * Maps current weather data response into java object, excluded sections are skipped even if they are present in the response.
+     *
+     * @param inputStream      the json stream
+     * @param excludedSections sections to skip
+     * @return the current data object
+     */
+    public CurrentWeatherData mapToCurrent(InputStream inputStream, Set<OneCallResultOptions> excludedSections) {
+        CurrentWeatherData currentData;
+        try {
+            final JsonNode root = mappingContext.readTree(inputStream);
+            currentData = mapToCurrent(root, excludedSections);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+
+        return currentData;
+    }
+
     /**
      * Maps current weather data response into java object.
      *
@@ -85,10 +140,9 @@ public class OneCallWeatherResponseMapper {
      * @return the current data object
      */
     public HistoricalWeatherData mapToHistorical(String json) {
-        final ObjectMapper objectMapper = new ObjectMapper();
         HistoricalWeatherData historicalData;
         try {
-            final JsonNode root = objectMapper.readTree(json);
+            final JsonNode root = mappingContext.readTree(json);
             historicalData = mapToHistorical(root);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot parse OneCall response");
@@ -97,16 +151,44 @@ public class OneCallWeatherResponseMapper {
         return historicalData;
     }
 
-    private CurrentWeatherData mapToCurrent(JsonNode rootNode) {
+    /**
+     * Maps current weather data response into java object.
+     *
+     * @param inputStream the json stream
+     * @return the current data object
+     */
+    public HistoricalWeatherData mapToHistorical(InputStream inputStream) {
+        HistoricalWeatherData historicalData;
+        try {
+            final JsonNode root = mappingContext.readTree(inputStream);
+            historicalData = mapToHistorical(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+
+        return historicalData;
+    }
+
+    private CurrentWeatherData mapToCurrent(JsonNode rootNode, Set<OneCallResultOptions> excludedSections) {
         final CurrentWeatherData currentData = new CurrentWeatherData();
         currentData.setCoordinate(Coordinate.of(rootNode.get("lat").asDouble(), rootNode.get("lon").asDouble()));
         currentData.setTimezone(ZoneId.of(rootNode.get("timezone").asText()));
         currentData.setTimezoneOffset(ZoneOffset.ofTotalSeconds(rootNode.get("timezone_offset").asInt()));
-        currentData.setCurrent(parseCurrent(rootNode.get("current")));
-        currentData.setMinutelyList(parseMinutelyList(rootNode.get("minutely")));
-        currentData.setHourlyList(parseHourlyList(rootNode.get("hourly")));
-        currentData.setDailyList(parseDailyList(rootNode.get("daily")));
-        currentData.setAlerts(parseAlerts(rootNode.get("alerts")));
+        if (!excludedSections.contains(OneCallResultOptions.CURRENT)) {
+            currentData.setCurrent(parseCurrent(rootNode.get("current")));
+        }
+        if (!excludedSections.contains(OneCallResultOptions.MINUTELY)) {
+            currentData.setMinutelyList(parseMinutelyList(rootNode.get("minutely")));
+        }
+        if (!excludedSections.contains(OneCallResultOptions.HOURLY)) {
+            currentData.setHourlyList(parseHourlyList(rootNode.get("hourly")));
+        }
+        if (!excludedSections.contains(OneCallResultOptions.DAILY)) {
+            currentData.setDailyList(parseDailyList(rootNode.get("daily")));
+        }
+        if (!excludedSections.contains(OneCallResultOptions.ALERTS)) {
+            currentData.setAlerts(parseAlerts(rootNode.get("alerts")));
+        }
 
         return currentData;
     }
@@ -116,9 +198,10 @@ public class OneCallWeatherResponseMapper {
             return null;
         }
         final Current current = new Current();
-        current.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(currentNode.get("dt").asInt()), TimeZone.getDefault().toZoneId()));
-        current.setSunriseTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(currentNode.get("sunrise").asInt()), TimeZone.getDefault().toZoneId()));
-        current.setSunsetTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(currentNode.get("sunset").asInt()), TimeZone.getDefault().toZoneId()));
+        current.setForecastEpochSecond(currentNode.get("dt").asLong());
+        current.setForecastTime(timeConversion.toForecastTime(current.getForecastEpochSecond()));
+        current.setSunriseTime(timeConversion.toLocalDateTime(currentNode.get("sunrise").asInt()));
+        current.setSunsetTime(timeConversion.toLocalDateTime(currentNode.get("sunset").asInt()));
 
         current.setWeatherState(parseWeatherState(currentNode.get("weather").get(0)));
         current.setTemperature(parseTemperature(currentNode));
@@ -143,8 +226,10 @@ public class OneCallWeatherResponseMapper {
         }
         final List<Minutely> minutelyList = new ArrayList<>();
         for (final JsonNode minutelyNode : minutelyListNode) {
+            final long forecastEpochSecond = minutelyNode.get("dt").asLong();
             minutelyList.add(Minutely.withValue(
-                    LocalDateTime.ofInstant(Instant.ofEpochSecond(minutelyNode.get("dt").asInt()), TimeZone.getDefault().toZoneId()),
+                    forecastEpochSecond,
+                    timeConversion.toForecastTime(forecastEpochSecond),
                     minutelyNode.get("precipitation").asDouble()
             ));
         }
@@ -159,7 +244,8 @@ public class OneCallWeatherResponseMapper {
         final List<Hourly> hourlyList = new ArrayList<>();
         for (final JsonNode hourlyNode : hourlyListNode) {
             final Hourly hourly = new Hourly();
-            hourly.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(hourlyNode.get("dt").asInt()), TimeZone.getDefault().toZoneId()));
+            hourly.setForecastEpochSecond(hourlyNode.get("dt").asLong());
+            hourly.setForecastTime(timeConversion.toForecastTime(hourly.getForecastEpochSecond()));
 
             hourly.setWeatherState(parseWeatherState(hourlyNode.get("weather").get(0)));
             hourly.setTemperature(parseTemperature(hourlyNode));
@@ -197,16 +283,17 @@ public class OneCallWeatherResponseMapper {
         final List<Daily> dailyList = new ArrayList<>();
         for (final JsonNode dailyNode : dailyListNode) {
             final Daily daily = new Daily();
-            daily.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(dailyNode.get("dt").asInt()), TimeZone.getDefault().toZoneId()));
-            daily.setSunriseTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(dailyNode.get("sunrise").asInt()), TimeZone.getDefault().toZoneId()));
-            daily.setSunsetTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(dailyNode.get("sunset").asInt()), TimeZone.getDefault().toZoneId()));
+            daily.setForecastEpochSecond(dailyNode.get("dt").asLong());
+            daily.setForecastTime(timeConversion.toForecastTime(daily.getForecastEpochSecond()));
+            daily.setSunriseTime(timeConversion.toLocalDateTime(dailyNode.get("sunrise").asInt()));
+            daily.setSunsetTime(timeConversion.toLocalDateTime(dailyNode.get("sunset").asInt()));
             final JsonNode moonriseTimeNode = dailyNode.get("moonrise");
             if (moonriseTimeNode != null) {
-                daily.setMoonriseTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(moonriseTimeNode.asInt()), TimeZone.getDefault().toZoneId()));
+                daily.setMoonriseTime(timeConversion.toLocalDateTime(moonriseTimeNode.asInt()));
             }
             final JsonNode moonsetTimeNode = dailyNode.get("moonset");
             if (moonsetTimeNode != null) {
-                daily.setMoonsetTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(moonsetTimeNode.asInt()), TimeZone.getDefault().toZoneId()));
+                daily.setMoonsetTime(timeConversion.toLocalDateTime(moonsetTimeNode.asInt()));
             }
             final JsonNode moonPhaseNode = dailyNode.get("moon_phase");
             if (moonPhaseNode != null) {
@@ -239,8 +326,8 @@ public class OneCallWeatherResponseMapper {
             Alert alert = new Alert();
             alert.setSenderName(alertNode.get("sender_name").asText());
             alert.setEventName(alertNode.get("event").asText());
-            alert.setStartTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(alertNode.get("start").asInt()), TimeZone.getDefault().toZoneId()));
-            alert.setEndTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(alertNode.get("end").asInt()), TimeZone.getDefault().toZoneId()));
+            alert.setStartTime(timeConversion.toLocalDateTime(alertNode.get("start").asInt()));
+            alert.setEndTime(timeConversion.toLocalDateTime(alertNode.get("end").asInt()));
             alert.setDescription(alertNode.get("description").asText());
             alerts.add(alert);
         }
@@ -263,9 +350,10 @@ public class OneCallWeatherResponseMapper {
             return null;
         }
         final HistoricalWeather historicalWeather = new HistoricalWeather();
-        historicalWeather.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(currentNode.get("dt").asInt()), TimeZone.getDefault().toZoneId()));
-        historicalWeather.setSunriseTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(currentNode.get("sunrise").asInt()), TimeZone.getDefault().toZoneId()));
-        historicalWeather.setSunsetTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(currentNode.get("sunset").asInt()), TimeZone.getDefault().toZoneId()));
+        historicalWeather.setForecastEpochSecond(currentNode.get("dt").asLong());
+        historicalWeather.setForecastTime(timeConversion.toForecastTime(historicalWeather.getForecastEpochSecond()));
+        historicalWeather.setSunriseTime(timeConversion.toLocalDateTime(currentNode.get("sunrise").asInt()));
+        historicalWeather.setSunsetTime(timeConversion.toLocalDateTime(currentNode.get("sunset").asInt()));
 
         final JsonNode weatherListNode = currentNode.get("weather");
         if (weatherListNode != null) {
@@ -294,7 +382,8 @@ public class OneCallWeatherResponseMapper {
         final List<HourlyHistorical> hourlyList = new ArrayList<>();
         for (final JsonNode hourlyNode : hourlyListNode) {
             final HourlyHistorical hourly = new HourlyHistorical();
-            hourly.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(hourlyNode.get("dt").asInt()), TimeZone.getDefault().toZoneId()));
+            hourly.setForecastEpochSecond(hourlyNode.get("dt").asLong());
+            hourly.setForecastTime(timeConversion.toForecastTime(hourly.getForecastEpochSecond()));
 
             hourly.setWeatherState(parseWeatherState(hourlyNode.get("weather").get(0)));
             hourly.setTemperature(parseTemperature(hourlyNode));
@@ -415,9 +504,9 @@ public class OneCallWeatherResponseMapper {
     private Snow parseSnow(JsonNode root) {
         final JsonNode snowNode = root.get("snow");
         if (snowNode != null) {
-            final JsonNode OneHourNode = snowNode.get("1h");
-            if (OneHourNode != null) {
-                Rain.withOneHourLevelValue(OneHourNode.asDouble());
+            final JsonNode oneHourNode = snowNode.get("1h");
+            if (oneHourNode != null) {
+                return Snow.withOneHourLevelValue(oneHourNode.asDouble());
             }
         }
         return null;
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.github.prominence.openweathermap.api.enums.AirQualityIndex;
+import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
+import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.prominence.openweathermap.api.mapper.StreamingMappingSupport.*;
+
+/**
+ * Air pollution response mapper that reads JSON tokens directly into the model without building intermediate tree.
+ * Produces the same objects as {@link AirPollutionResponseMapper}.
+ */
+public class StreamingAirPollutionResponseMapper extends AirPollutionResponseMapper {
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
+
+    /**
+     * Instantiates a new streaming air pollution response mapper.
+     *
+     * @param mappingContext the mapping context
+     */
+    public StreamingAirPollutionResponseMapper(MappingContext mappingContext) {
+        super(mappingContext);
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
+    }
+
+    @Override
+    public AirPollutionDetails mapToAirPollution(String json) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(json)) {
+            parser.nextToken();
+            return parseAirPollution(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Air Pollution response");
+        }
+    }
+
+    @Override
+    public AirPollutionDetails mapToAirPollution(InputStream inputStream) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(inputStream)) {
+            parser.nextToken();
+            return parseAirPollution(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Air Pollution response");
+        }
+    }
+
+    private AirPollutionDetails parseAirPollution(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final AirPollutionDetails airPollutionDetails = new AirPollutionDetails();
+        final List<AirPollutionRecord> sampleList = new ArrayList<>();
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "coord":
+                    airPollutionDetails.setCoordinate(parseCoordinate(parser));
+                    break;
+                case "list":
+                    if (isArray(parser)) {
+                        while (nextElement(parser)) {
+                            sampleList.add(parseAirPollutionSample(parser));
+                        }
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        airPollutionDetails.setAirPollutionRecords(sampleList);
+
+        return airPollutionDetails;
+    }
+
+    private AirPollutionRecord parseAirPollutionSample(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final AirPollutionRecord airPollutionRecord = new AirPollutionRecord();
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "dt":
+                    airPollutionRecord.setForecastEpochSecond(parser.getValueAsLong());
+                    airPollutionRecord.setForecastTime(timeConversion.toForecastTime(airPollutionRecord.getForecastEpochSecond()));
+                    break;
+                case "main":
+                    parseMain(parser, airPollutionRecord);
+                    break;
+                case "components":
+                    parseComponents(parser, airPollutionRecord);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return airPollutionRecord;
+    }
+
+    private void parseMain(JsonParser parser, AirPollutionRecord airPollutionRecord) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            if ("aqi".equals(fieldName)) {
+                airPollutionRecord.setAirQualityIndex(AirQualityIndex.getByIndex(parser.getValueAsInt()));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseComponents(JsonParser parser, AirPollutionRecord airPollutionRecord) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "co":
+                    airPollutionRecord.setCO(parser.getValueAsDouble());
+                    break;
+                case "no":
+                    airPollutionRecord.setNO(parser.getValueAsDouble());
+                    break;
+                case "no2":
+                    airPollutionRecord.setNO2(parser.getValueAsDouble());
+                    break;
+                case "o3":
+                    airPollutionRecord.setO3(parser.getValueAsDouble());
+                    break;
+                case "so2":
+                    airPollutionRecord.setSO2(parser.getValueAsDouble());
+                    break;
+                case "pm2_5":
+                    airPollutionRecord.setPM2_5(parser.getValueAsDouble());
+                    break;
+                case "pm10":
+                    airPollutionRecord.setPM10(parser.getValueAsDouble());
+                    break;
+                case "nh3":
+                    airPollutionRecord.setNH3(parser.getValueAsDouble());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.*;
+import com.github.prominence.openweathermap.api.model.weather.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.prominence.openweathermap.api.mapper.StreamingMappingSupport.*;
+
+/**
+ * Current weather response mapper that reads JSON tokens directly into the model without building intermediate tree.
+ * Produces the same objects as {@link CurrentWeatherResponseMapper}.
+ */
+public class StreamingCurrentWeatherResponseMapper extends CurrentWeatherResponseMapper {
+    private final UnitSystem unitSystem;
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
+
+    /**
+     * Instantiates a new streaming current weather response mapper.
+     *
+     * @param unitSystem     the unit system
+     * @param mappingContext the mapping context
+     */
+    public StreamingCurrentWeatherResponseMapper(UnitSystem unitSystem, MappingContext mappingContext) {
+        super(unitSystem, mappingContext);
+        this.unitSystem = unitSystem != null ? unitSystem : UnitSystem.STANDARD;
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
+    }
+
+    @Override
+    public Weather getSingle(String json) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(json)) {
+            parser.nextToken();
+            return parseWeather(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response");
+        }
+    }
+
+    @Override
+    public Weather getSingle(InputStream inputStream) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(inputStream)) {
+            parser.nextToken();
+            return parseWeather(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response");
+        }
+    }
+
+    @Override
+    public List<Weather> getList(String json) {
+        final List<Weather> weatherList = new ArrayList<>();
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(json)) {
+            parser.nextToken();
+            if (isObject(parser)) {
+                String fieldName;
+                while ((fieldName = nextField(parser)) != null) {
+                    if ("list".equals(fieldName) && isArray(parser)) {
+                        while (nextElement(parser)) {
+                            weatherList.add(parseWeather(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response");
+        }
+
+        return weatherList;
+    }
+
+    @Override
+    public List<Weather> getList(InputStream inputStream) {
+        final List<Weather> weatherList = new ArrayList<>();
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(inputStream)) {
+            parser.nextToken();
+            if (isObject(parser)) {
+                String fieldName;
+                while ((fieldName = nextField(parser)) != null) {
+                    if ("list".equals(fieldName) && isArray(parser)) {
+                        while (nextElement(parser)) {
+                            weatherList.add(parseWeather(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Weather response");
+        }
+
+        return weatherList;
+    }
+
+    private Weather parseWeather(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final Weather weather = new Weather();
+        Integer locationId = null;
+        String locationName = null;
+        ZoneOffset zoneOffset = null;
+        Coordinate coordinate = null;
+        SysValues sysValues = null;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "weather":
+                    weather.setWeatherState(parseWeatherStateArray(parser));
+                    break;
+                case "main":
+                    parseMain(parser, weather);
+                    break;
+                case "wind":
+                    weather.setWind(parseWind(parser));
+                    break;
+                case "rain":
+                    weather.setRain(parseRain(parser));
+                    break;
+                case "snow":
+                    weather.setSnow(parseSnow(parser));
+                    break;
+                case "clouds":
+                    weather.setClouds(parseClouds(parser));
+                    break;
+                case "dt":
+                    weather.setCalculationEpochSecond(parser.getValueAsLong());
+                    weather.setCalculationTime(timeConversion.toForecastTime(weather.getCalculationEpochSecond()));
+                    break;
+                case "sys":
+                    sysValues = parseSys(parser);
+                    break;
+                case "coord":
+                    coordinate = parseCoordinate(parser);
+                    break;
+                case "timezone":
+                    zoneOffset = ZoneOffset.ofTotalSeconds(parser.getValueAsInt());
+                    break;
+                case "id":
+                    locationId = parser.getValueAsInt();
+                    break;
+                case "name":
+                    locationName = text(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        final Location location = Location.withValues(locationId, locationName);
+        location.setZoneOffset(zoneOffset);
+        location.setCoordinate(coordinate);
+        if (sysValues != null) {
+            location.setCountryCode(sysValues.countryCode);
+            location.setSunriseTime(sysValues.sunriseTime);
+            location.setSunsetTime(sysValues.sunsetTime);
+        }
+        weather.setLocation(location);
+
+        return weather;
+    }
+
+    private void parseMain(JsonParser parser, Weather weather) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        Double temp = null;
+        double feelsLike = Double.NaN;
+        double tempMax = Double.NaN;
+        double tempMin = Double.NaN;
+        Double pressure = null;
+        double seaLevel = Double.NaN;
+        double groundLevel = Double.NaN;
+        Integer humidity = null;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "temp":
+                    temp = parser.getValueAsDouble();
+                    break;
+                case "feels_like":
+                    feelsLike = parser.getValueAsDouble();
+                    break;
+                case "temp_max":
+                    tempMax = parser.getValueAsDouble();
+                    break;
+                case "temp_min":
+                    tempMin = parser.getValueAsDouble();
+                    break;
+                case "pressure":
+                    pressure = parser.getValueAsDouble();
+                    break;
+                case "sea_level":
+                    seaLevel = parser.getValueAsDouble();
+                    break;
+                case "grnd_level":
+                    groundLevel = parser.getValueAsDouble();
+                    break;
+                case "humidity":
+                    humidity = parser.getValueAsInt();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        final Temperature temperature = Temperature.withValue(temp, unitSystem.getTemperatureUnit());
+        if (!Double.isNaN(feelsLike)) {
+            temperature.setFeelsLike(feelsLike);
+        }
+        if (!Double.isNaN(tempMax)) {
+            temperature.setMaxTemperature(tempMax);
+        }
+        if (!Double.isNaN(tempMin)) {
+            temperature.setMinTemperature(tempMin);
+        }
+        weather.setTemperature(temperature);
+
+        final AtmosphericPressure atmosphericPressure = AtmosphericPressure.withValue(pressure);
+        if (!Double.isNaN(seaLevel)) {
+            atmosphericPressure.setSeaLevelValue(seaLevel);
+        }
+        if (!Double.isNaN(groundLevel)) {
+            atmosphericPressure.setGroundLevelValue(groundLevel);
+        }
+        weather.setAtmosphericPressure(atmosphericPressure);
+
+        weather.setHumidity(Humidity.withValue((byte) (int) humidity));
+    }
+
+    private Wind parseWind(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Double speed = null;
+        double degrees = Double.NaN;
+        double gust = Double.NaN;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "speed":
+                    speed = parser.getValueAsDouble();
+                    break;
+                case "deg":
+                    degrees = parser.getValueAsDouble();
+                    break;
+                case "gust":
+                    gust = parser.getValueAsDouble();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        final Wind wind = Wind.withValue(speed, unitSystem.getWindUnit());
+        if (!Double.isNaN(degrees)) {
+            wind.setDegrees(degrees);
+        }
+        if (!Double.isNaN(gust)) {
+            wind.setGust(gust);
+        }
+
+        return wind;
+    }
+
+    private Rain parseRain(JsonParser parser) throws IOException {
+        final Double[] levels = parseOneAndThreeHourLevels(parser);
+        if (levels[0] != null && levels[1] != null) {
+            return Rain.withValues(levels[0], levels[1]);
+        } else if (levels[0] != null) {
+            return Rain.withOneHourLevelValue(levels[0]);
+        } else if (levels[1] != null) {
+            return Rain.withThreeHourLevelValue(levels[1]);
+        }
+        return null;
+    }
+
+    private Snow parseSnow(JsonParser parser) throws IOException {
+        final Double[] levels = parseOneAndThreeHourLevels(parser);
+        if (levels[0] != null && levels[1] != null) {
+            return Snow.withValues(levels[0], levels[1]);
+        } else if (levels[0] != null) {
+            return Snow.withOneHourLevelValue(levels[0]);
+        } else if (levels[1] != null) {
+            return Snow.withThreeHourLevelValue(levels[1]);
+        }
+        return null;
+    }
+
+    private Double[] parseOneAndThreeHourLevels(JsonParser parser) throws IOException {
+        final Double[] levels = new Double[2];
+        if (!isObject(parser)) {
+            return levels;
+        }
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "1h":
+                    levels[0] = parser.getValueAsDouble();
+                    break;
+                case "3h":
+                    levels[1] = parser.getValueAsDouble();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return levels;
+    }
+
+    private Clouds parseClouds(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Clouds clouds = null;
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            if ("all".equals(fieldName)) {
+                clouds = Clouds.withValue((byte) parser.getValueAsInt());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return clouds;
+    }
+
+    private SysValues parseSys(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final SysValues sysValues = new SysValues();
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "country":
+                    sysValues.countryCode = text(parser);
+                    break;
+                case "sunrise":
+                    sysValues.sunriseTime = timeConversion.toLocalDateTime(parser.getValueAsInt());
+                    break;
+                case "sunset":
+                    sysValues.sunsetTime = timeConversion.toLocalDateTime(parser.getValueAsInt());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return sysValues;
+    }
+
+    /**
+     * Location values nested into <code>sys</code> object, location itself can be created only when the root object is read.
+     */
+    private static class SysValues {
+        private String countryCode;
+        private LocalDateTime sunriseTime;
+        private LocalDateTime sunsetTime;
+    }
+}
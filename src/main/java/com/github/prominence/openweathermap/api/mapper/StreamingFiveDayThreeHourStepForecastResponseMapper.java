@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.*;
+import com.github.prominence.openweathermap.api.model.forecast.*;
+import com.github.prominence.openweathermap.api.model.forecast.Location;
+import com.github.prominence.openweathermap.api.model.forecast.Rain;
+import com.github.prominence.openweathermap.api.model.forecast.Snow;
+import com.github.prominence.openweathermap.api.model.Temperature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.prominence.openweathermap.api.mapper.StreamingMappingSupport.*;
+
+/**
+ * Forecast response mapper that reads JSON tokens directly into the model without building intermediate tree.
+ * Produces the same objects as {@link FiveDayThreeHourStepForecastResponseMapper}.
+ */
+public class StreamingFiveDayThreeHourStepForecastResponseMapper extends FiveDayThreeHourStepForecastResponseMapper {
+    private final UnitSystem unitSystem;
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
+
+    /**
+     * Instantiates a new streaming forecast response mapper.
+     *
+     * @param unitSystem     the unit system
+     * @param mappingContext the mapping context
+     */
+    public StreamingFiveDayThreeHourStepForecastResponseMapper(UnitSystem unitSystem, MappingContext mappingContext) {
+        super(unitSystem, mappingContext);
+        this.unitSystem = unitSystem != null ? unitSystem : UnitSystem.STANDARD;
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
+    }
+
+    @Override
+    public Forecast mapToForecast(String json) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(json)) {
+            parser.nextToken();
+            return parseForecast(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Forecast response");
+        }
+    }
+
+    @Override
+    public Forecast mapToForecast(InputStream inputStream) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(inputStream)) {
+            parser.nextToken();
+            return parseForecast(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse Forecast response");
+        }
+    }
+
+    private Forecast parseForecast(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final Forecast forecast = new Forecast();
+        final List<WeatherForecast> forecasts = new ArrayList<>();
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "city":
+                    forecast.setLocation(parseLocation(parser));
+                    break;
+                case "list":
+                    if (isArray(parser)) {
+                        while (nextElement(parser)) {
+                            forecasts.add(parseWeatherForecast(parser));
+                        }
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        forecast.setWeatherForecasts(forecasts);
+
+        return forecast;
+    }
+
+    private WeatherForecast parseWeatherForecast(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final WeatherForecast weatherForecast = new WeatherForecast();
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "weather":
+                    weatherForecast.setWeatherState(parseWeatherStateArray(parser));
+                    break;
+                case "main":
+                    parseMain(parser, weatherForecast);
+                    break;
+                case "clouds":
+                    weatherForecast.setClouds(parseClouds(parser));
+                    break;
+                case "wind":
+                    weatherForecast.setWind(parseWind(parser));
+                    break;
+                case "rain":
+                    final double rainLevel = parseThreeHourLevel(parser);
+                    weatherForecast.setRain(!Double.isNaN(rainLevel) ? Rain.withThreeHourLevelValue(rainLevel) : null);
+                    break;
+                case "snow":
+                    final double snowLevel = parseThreeHourLevel(parser);
+                    weatherForecast.setSnow(!Double.isNaN(snowLevel) ? Snow.withThreeHourLevelValue(snowLevel) : null);
+                    break;
+                case "sys":
+                    parseSys(parser, weatherForecast);
+                    break;
+                case "dt":
+                    weatherForecast.setForecastEpochSecond(parser.getValueAsLong());
+                    weatherForecast.setForecastTime(timeConversion.toForecastTime(weatherForecast.getForecastEpochSecond()));
+                    break;
+                case "dt_txt":
+                    weatherForecast.setForecastTimeISO(text(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return weatherForecast;
+    }
+
+    private void parseMain(JsonParser parser, WeatherForecast weatherForecast) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        Double temp = null;
+        double tempMax = Double.NaN;
+        double tempMin = Double.NaN;
+        double feelsLike = Double.NaN;
+        Double pressure = null;
+        double seaLevel = Double.NaN;
+        double groundLevel = Double.NaN;
+        Integer humidity = null;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "temp":
+                    temp = parser.getValueAsDouble();
+                    break;
+                case "temp_max":
+                    tempMax = parser.getValueAsDouble();
+                    break;
+                case "temp_min":
+                    tempMin = parser.getValueAsDouble();
+                    break;
+                case "feels_like":
+                    feelsLike = parser.getValueAsDouble();
+                    break;
+                case "pressure":
+                    pressure = parser.getValueAsDouble();
+                    break;
+                case "sea_level":
+                    seaLevel = parser.getValueAsDouble();
+                    break;
+                case "grnd_level":
+                    groundLevel = parser.getValueAsDouble();
+                    break;
+                case "humidity":
+                    humidity = parser.getValueAsInt();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        final Temperature temperature = Temperature.withValue(temp, unitSystem.getTemperatureUnit());
+        if (!Double.isNaN(tempMax)) {
+            temperature.setMaxTemperature(tempMax);
+        }
+        if (!Double.isNaN(tempMin)) {
+            temperature.setMinTemperature(tempMin);
+        }
+        if (!Double.isNaN(feelsLike)) {
+            temperature.setFeelsLike(feelsLike);
+        }
+        weatherForecast.setTemperature(temperature);
+
+        final AtmosphericPressure atmosphericPressure = AtmosphericPressure.withValue(pressure);
+        if (!Double.isNaN(seaLevel)) {
+            atmosphericPressure.setSeaLevelValue(seaLevel);
+        }
+        if (!Double.isNaN(groundLevel)) {
+            atmosphericPressure.setGroundLevelValue(groundLevel);
+        }
+        weatherForecast.setAtmosphericPressure(atmosphericPressure);
+
+        weatherForecast.setHumidity(Humidity.withValue((byte) (int) humidity));
+    }
+
+    private Wind parseWind(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Double speed = null;
+        double degrees = Double.NaN;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "speed":
+                    speed = parser.getValueAsDouble();
+                    break;
+                case "deg":
+                    degrees = parser.getValueAsDouble();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        final Wind wind = Wind.withValue(speed, unitSystem.getWindUnit());
+        if (!Double.isNaN(degrees)) {
+            wind.setDegrees(degrees);
+        }
+
+        return wind;
+    }
+
+    private double parseThreeHourLevel(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return Double.NaN;
+        }
+        double level = Double.NaN;
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            if ("3h".equals(fieldName)) {
+                level = parser.getValueAsDouble();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return level;
+    }
+
+    private Clouds parseClouds(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Clouds clouds = null;
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            if ("all".equals(fieldName)) {
+                clouds = Clouds.withValue((byte) parser.getValueAsInt());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return clouds;
+    }
+
+    private void parseSys(JsonParser parser, WeatherForecast weatherForecast) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            if ("pod".equals(fieldName)) {
+                weatherForecast.setDayTime("d".equals(text(parser)) ? DayTime.DAY : DayTime.NIGHT);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private Location parseLocation(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Integer id = null;
+        String name = null;
+        ZoneOffset zoneOffset = null;
+        String countryCode = null;
+        LocalDateTime sunriseTime = null;
+        LocalDateTime sunsetTime = null;
+        Coordinate coordinate = null;
+        Long population = null;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "id":
+                    id = parser.getValueAsInt();
+                    break;
+                case "name":
+                    name = text(parser);
+                    break;
+                case "timezone":
+                    zoneOffset = ZoneOffset.ofTotalSeconds(parser.getValueAsInt());
+                    break;
+                case "country":
+                    countryCode = text(parser);
+                    break;
+                case "sunrise":
+                    sunriseTime = timeConversion.toLocalDateTime(parser.getValueAsLong());
+                    break;
+                case "sunset":
+                    sunsetTime = timeConversion.toLocalDateTime(parser.getValueAsLong());
+                    break;
+                case "coord":
+                    coordinate = parseCoordinate(parser);
+                    break;
+                case "population":
+                    population = parser.getValueAsLong();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        final Location location = Location.withValues(id, name);
+        location.setZoneOffset(zoneOffset);
+        location.setCountryCode(countryCode);
+        location.setSunriseTime(sunriseTime);
+        location.setSunsetTime(sunsetTime);
+        location.setCoordinate(coordinate);
+        location.setPopulation(population);
+
+        return location;
+    }
+}
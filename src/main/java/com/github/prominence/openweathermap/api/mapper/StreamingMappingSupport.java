@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.prominence.openweathermap.api.model.Coordinate;
+import com.github.prominence.openweathermap.api.model.WeatherState;
+
+import java.io.IOException;
+
+/**
+ * Token-level helpers shared by streaming mappers.
+ * Every method expects the parser to be positioned on the value token and leaves it on the last token of that value,
+ * values are converted the same way as {@link com.fasterxml.jackson.databind.JsonNode} <code>asXxx()</code> methods do in tree mappers.
+ */
+final class StreamingMappingSupport {
+    private StreamingMappingSupport() {
+    }
+
+    /**
+     * Moves parser to the next field of the current object.
+     *
+     * @param parser the parser
+     * @return the field name or <code>null</code> when the object is over
+     * @throws IOException in case of malformed content
+     */
+    static String nextField(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.FIELD_NAME) {
+            return null;
+        }
+        final String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        return fieldName;
+    }
+
+    /**
+     * Checks that the current value is an object and skips it otherwise.
+     *
+     * @param parser the parser
+     * @return whether the current value is an object
+     * @throws IOException in case of malformed content
+     */
+    static boolean isObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Checks that the current value is an array and skips it otherwise.
+     *
+     * @param parser the parser
+     * @return whether the current value is an array
+     * @throws IOException in case of malformed content
+     */
+    static boolean isArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_ARRAY) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Moves parser to the next element of the current array.
+     *
+     * @param parser the parser
+     * @return whether there is one more element
+     * @throws IOException in case of malformed content
+     */
+    static boolean nextElement(JsonParser parser) throws IOException {
+        final JsonToken token = parser.nextToken();
+        return token != null && token != JsonToken.END_ARRAY;
+    }
+
+    static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return "null";
+        }
+        final String value = parser.getValueAsString();
+        return value != null ? value : "";
+    }
+
+    /**
+     * Reads the first element of <code>weather</code> array and skips the rest.
+     *
+     * @param parser the parser
+     * @return the weather state or <code>null</code> if there is no elements
+     * @throws IOException in case of malformed content
+     */
+    static WeatherState parseWeatherStateArray(JsonParser parser) throws IOException {
+        if (!isArray(parser)) {
+            return null;
+        }
+        WeatherState weatherState = null;
+        if (nextElement(parser)) {
+            weatherState = parseWeatherState(parser);
+            while (nextElement(parser)) {
+                parser.skipChildren();
+            }
+        }
+        return weatherState;
+    }
+
+    private static WeatherState parseWeatherState(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Integer id = null;
+        String name = null;
+        String description = null;
+        String iconId = null;
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "id":
+                    id = parser.getValueAsInt();
+                    break;
+                case "main":
+                    name = text(parser);
+                    break;
+                case "description":
+                    description = text(parser);
+                    break;
+                case "icon":
+                    iconId = text(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        final WeatherState weatherState = new WeatherState(id, name, description);
+        weatherState.setIconId(iconId);
+
+        return weatherState;
+    }
+
+    /**
+     * Reads <code>{"lat": ..., "lon": ...}</code> object.
+     *
+     * @param parser the parser
+     * @return the coordinate or <code>null</code> if any of values is missing
+     * @throws IOException in case of malformed content
+     */
+    static Coordinate parseCoordinate(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        Double latitude = null;
+        Double longitude = null;
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "lat":
+                    latitude = parser.getValueAsDouble();
+                    break;
+                case "lon":
+                    longitude = parser.getValueAsDouble();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (latitude != null && longitude != null) {
+            return Coordinate.of(latitude, longitude);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,715 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.OneCallResultOptions;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.Clouds;
+import com.github.prominence.openweathermap.api.model.Coordinate;
+import com.github.prominence.openweathermap.api.model.Humidity;
+import com.github.prominence.openweathermap.api.model.WeatherState;
+import com.github.prominence.openweathermap.api.model.onecall.*;
+import com.github.prominence.openweathermap.api.model.onecall.current.*;
+import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeather;
+import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeatherData;
+import com.github.prominence.openweathermap.api.model.onecall.historical.HourlyHistorical;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.github.prominence.openweathermap.api.mapper.StreamingMappingSupport.*;
+
+/**
+ * OneCall response mapper that reads JSON tokens directly into the model without building intermediate tree.
+ * Produces the same objects as {@link OneCallWeatherResponseMapper}.
+ * In {@link MappingMode#LAZY} mode the response content is retained and minutely, hourly, daily and alerts sections
+ * of {@link CurrentWeatherData} are parsed on first access.
+ */
+public class StreamingOneCallWeatherResponseMapper extends OneCallWeatherResponseMapper {
+    private final UnitSystem unitSystem;
+    private final MappingContext mappingContext;
+    private final TimeConversion timeConversion;
+    private final boolean lazySections;
+
+    /**
+     * Instantiates a new streaming OneCall response mapper.
+     *
+     * @param unitSystem     the unit system
+     * @param mappingContext the mapping context
+     */
+    public StreamingOneCallWeatherResponseMapper(UnitSystem unitSystem, MappingContext mappingContext) {
+        super(unitSystem, mappingContext);
+        this.unitSystem = unitSystem != null ? unitSystem : UnitSystem.STANDARD;
+        this.mappingContext = mappingContext;
+        this.timeConversion = mappingContext.getTimeConversion();
+        this.lazySections = mappingContext.getMappingMode() == MappingMode.LAZY;
+    }
+
+    @Override
+    public CurrentWeatherData mapToCurrent(String json, Set<OneCallResultOptions> excludedSections) {
+        if (lazySections) {
+            return mapToCurrent(JsonContent.of(mappingContext.getJsonFactory(), json), excludedSections);
+        }
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(json)) {
+            parser.nextToken();
+            return parseCurrentWeatherData(parser, null, excludedSections);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+    }
+
+    @Override
+    public CurrentWeatherData mapToCurrent(InputStream inputStream, Set<OneCallResultOptions> excludedSections) {
+        try {
+            if (lazySections) {
+                return mapToCurrent(JsonContent.of(mappingContext.getJsonFactory(), inputStream), excludedSections);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(inputStream)) {
+            parser.nextToken();
+            return parseCurrentWeatherData(parser, null, excludedSections);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+    }
+
+    private CurrentWeatherData mapToCurrent(JsonContent content, Set<OneCallResultOptions> excludedSections) {
+        try (JsonParser parser = content.createParser()) {
+            parser.nextToken();
+            return parseCurrentWeatherData(parser, content, excludedSections);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+    }
+
+    @Override
+    public HistoricalWeatherData mapToHistorical(String json) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(json)) {
+            parser.nextToken();
+            return parseHistoricalWeatherData(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+    }
+
+    @Override
+    public HistoricalWeatherData mapToHistorical(InputStream inputStream) {
+        try (JsonParser parser = mappingContext.getJsonFactory().createParser(inputStream)) {
+            parser.nextToken();
+            return parseHistoricalWeatherData(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot parse OneCall response");
+        }
+    }
+
+    /**
+     * Parses response, sections are skipped and parsed from retained content on access if it is provided.
+     * Excluded sections are skipped and never parsed.
+     */
+    private CurrentWeatherData parseCurrentWeatherData(JsonParser parser, JsonContent content, Set<OneCallResultOptions> excludedSections) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final CurrentWeatherData currentData = new CurrentWeatherData();
+        Double latitude = null;
+        Double longitude = null;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            if (isExcluded(fieldName, excludedSections)) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (fieldName) {
+                case "lat":
+                    latitude = parser.getValueAsDouble();
+                    break;
+                case "lon":
+                    longitude = parser.getValueAsDouble();
+                    break;
+                case "timezone":
+                    currentData.setTimezone(ZoneId.of(text(parser)));
+                    break;
+                case "timezone_offset":
+                    currentData.setTimezoneOffset(ZoneOffset.ofTotalSeconds(parser.getValueAsInt()));
+                    break;
+                case "current":
+                    final EntryValues currentValues = parseEntry(parser);
+                    currentData.setCurrent(currentValues != null ? currentValues.fill(new Current()) : null);
+                    break;
+                case "minutely":
+                    if (content != null) {
+                        currentData.setMinutelyListSupplier(sectionSupplier(parser, content, this::parseMinutelyList));
+                    } else {
+                        currentData.setMinutelyList(parseMinutelyList(parser));
+                    }
+                    break;
+                case "hourly":
+                    if (content != null) {
+                        currentData.setHourlyListSupplier(sectionSupplier(parser, content, this::parseHourlyList));
+                    } else {
+                        currentData.setHourlyList(parseHourlyList(parser));
+                    }
+                    break;
+                case "daily":
+                    if (content != null) {
+                        currentData.setDailyListSupplier(sectionSupplier(parser, content, this::parseDailyList));
+                    } else {
+                        currentData.setDailyList(parseDailyList(parser));
+                    }
+                    break;
+                case "alerts":
+                    if (content != null) {
+                        currentData.setAlertsSupplier(sectionSupplier(parser, content, this::parseAlerts));
+                    } else {
+                        currentData.setAlerts(parseAlerts(parser));
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        currentData.setCoordinate(Coordinate.of(latitude, longitude));
+
+        return currentData;
+    }
+
+    private HistoricalWeatherData parseHistoricalWeatherData(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final HistoricalWeatherData historicalData = new HistoricalWeatherData();
+        Double latitude = null;
+        Double longitude = null;
+
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "lat":
+                    latitude = parser.getValueAsDouble();
+                    break;
+                case "lon":
+                    longitude = parser.getValueAsDouble();
+                    break;
+                case "timezone":
+                    historicalData.setTimezone(ZoneId.of(text(parser)));
+                    break;
+                case "timezone_offset":
+                    historicalData.setTimezoneOffset(ZoneOffset.ofTotalSeconds(parser.getValueAsInt()));
+                    break;
+                case "current":
+                    final EntryValues currentValues = parseEntry(parser);
+                    historicalData.setHistoricalWeather(currentValues != null ? currentValues.fill(new HistoricalWeather()) : null);
+                    break;
+                case "hourly":
+                    final List<HourlyHistorical> hourlyList = new ArrayList<>();
+                    for (EntryValues hourlyValues : parseEntryList(parser)) {
+                        hourlyList.add(hourlyValues.toHourlyHistorical());
+                    }
+                    historicalData.setHourlyList(hourlyList);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        historicalData.setCoordinate(Coordinate.of(latitude, longitude));
+
+        return historicalData;
+    }
+
+    private static boolean isExcluded(String fieldName, Set<OneCallResultOptions> excludedSections) {
+        if (excludedSections.isEmpty()) {
+            return false;
+        }
+        for (OneCallResultOptions section : excludedSections) {
+            if (section.getValue().equals(fieldName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips the section value and returns supplier which parses it from the content.
+     */
+    private <T> Supplier<T> sectionSupplier(JsonParser parser, JsonContent content, SectionParser<T> sectionParser) throws IOException {
+        final long offset = content.tokenOffset(parser);
+        parser.skipChildren();
+        return () -> {
+            try (JsonParser sectionTokensParser = content.createParser(offset)) {
+                sectionTokensParser.nextToken();
+                return sectionParser.parse(sectionTokensParser);
+            } catch (IOException e) {
+                throw new RuntimeException("Cannot parse OneCall response");
+            }
+        };
+    }
+
+    private List<Hourly> parseHourlyList(JsonParser parser) throws IOException {
+        final List<Hourly> hourlyList = new ArrayList<>();
+        for (EntryValues hourlyValues : parseEntryList(parser)) {
+            hourlyList.add(hourlyValues.toHourly());
+        }
+        return hourlyList;
+    }
+
+    private List<Daily> parseDailyList(JsonParser parser) throws IOException {
+        final List<Daily> dailyList = new ArrayList<>();
+        for (EntryValues dailyValues : parseEntryList(parser)) {
+            dailyList.add(dailyValues.toDaily());
+        }
+        return dailyList;
+    }
+
+    private List<Minutely> parseMinutelyList(JsonParser parser) throws IOException {
+        final List<Minutely> minutelyList = new ArrayList<>();
+        if (!isArray(parser)) {
+            return minutelyList;
+        }
+        while (nextElement(parser)) {
+            if (!isObject(parser)) {
+                continue;
+            }
+            Integer forecastTime = null;
+            Double precipitation = null;
+            String fieldName;
+            while ((fieldName = nextField(parser)) != null) {
+                switch (fieldName) {
+                    case "dt":
+                        forecastTime = parser.getValueAsInt();
+                        break;
+                    case "precipitation":
+                        precipitation = parser.getValueAsDouble();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            minutelyList.add(Minutely.withValue(forecastTime, timeConversion.toForecastTime(forecastTime), precipitation));
+        }
+
+        return minutelyList;
+    }
+
+    private List<Alert> parseAlerts(JsonParser parser) throws IOException {
+        final List<Alert> alerts = new ArrayList<>();
+        if (!isArray(parser)) {
+            return alerts;
+        }
+        while (nextElement(parser)) {
+            if (!isObject(parser)) {
+                continue;
+            }
+            final Alert alert = new Alert();
+            String fieldName;
+            while ((fieldName = nextField(parser)) != null) {
+                switch (fieldName) {
+                    case "sender_name":
+                        alert.setSenderName(text(parser));
+                        break;
+                    case "event":
+                        alert.setEventName(text(parser));
+                        break;
+                    case "start":
+                        alert.setStartTime(timeConversion.toLocalDateTime(parser.getValueAsInt()));
+                        break;
+                    case "end":
+                        alert.setEndTime(timeConversion.toLocalDateTime(parser.getValueAsInt()));
+                        break;
+                    case "description":
+                        alert.setDescription(text(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            alerts.add(alert);
+        }
+
+        return alerts;
+    }
+
+    private List<EntryValues> parseEntryList(JsonParser parser) throws IOException {
+        final List<EntryValues> entries = new ArrayList<>();
+        if (!isArray(parser)) {
+            return entries;
+        }
+        while (nextElement(parser)) {
+            final EntryValues entryValues = parseEntry(parser);
+            if (entryValues != null) {
+                entries.add(entryValues);
+            }
+        }
+        return entries;
+    }
+
+    private EntryValues parseEntry(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+        final EntryValues values = new EntryValues();
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "dt":
+                    values.forecastTime = parser.getValueAsInt();
+                    break;
+                case "sunrise":
+                    values.sunriseTime = parser.getValueAsInt();
+                    break;
+                case "sunset":
+                    values.sunsetTime = parser.getValueAsInt();
+                    break;
+                case "moonrise":
+                    values.moonriseTime = parser.getValueAsInt();
+                    break;
+                case "moonset":
+                    values.moonsetTime = parser.getValueAsInt();
+                    break;
+                case "moon_phase":
+                    values.moonPhase = parser.getValueAsDouble();
+                    break;
+                case "weather":
+                    values.weatherState = parseWeatherStateArray(parser);
+                    break;
+                case "temp":
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        parseDailyTemperature(parser, values.getDailyTemperature(), false);
+                    } else {
+                        values.temperature = parser.getValueAsDouble();
+                    }
+                    break;
+                case "feels_like":
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        parseDailyTemperature(parser, values.getDailyTemperature(), true);
+                    } else {
+                        values.feelsLike = parser.getValueAsDouble();
+                    }
+                    break;
+                case "dew_point":
+                    values.dewPoint = parser.getValueAsDouble();
+                    break;
+                case "pressure":
+                    values.pressure = parser.getValueAsDouble();
+                    break;
+                case "humidity":
+                    values.humidity = parser.getValueAsInt();
+                    break;
+                case "clouds":
+                    values.clouds = parser.getValueAsInt();
+                    break;
+                case "uvi":
+                    values.uvIndex = parser.getValueAsDouble();
+                    break;
+                case "visibility":
+                    values.visibility = parser.getValueAsDouble();
+                    break;
+                case "wind_speed":
+                    values.windSpeed = parser.getValueAsDouble();
+                    break;
+                case "wind_deg":
+                    values.windDegrees = parser.getValueAsDouble();
+                    break;
+                case "wind_gust":
+                    values.windGust = parser.getValueAsDouble();
+                    break;
+                case "pop":
+                    values.probabilityOfPrecipitation = parser.getValueAsDouble();
+                    break;
+                case "rain":
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        values.rainOneHour = parseOneHourLevel(parser);
+                    } else {
+                        values.dailyRain = parser.getValueAsDouble();
+                    }
+                    break;
+                case "snow":
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        values.snowOneHour = parseOneHourLevel(parser);
+                    } else {
+                        values.dailySnow = parser.getValueAsDouble();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private void parseDailyTemperature(JsonParser parser, DailyTemperature temperature, boolean feelsLike) throws IOException {
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            switch (fieldName) {
+                case "morn":
+                    if (feelsLike) {
+                        temperature.setMorningFeelsLike(parser.getValueAsDouble());
+                    } else {
+                        temperature.setMorning(parser.getValueAsDouble());
+                    }
+                    break;
+                case "day":
+                    if (feelsLike) {
+                        temperature.setDayFeelsLike(parser.getValueAsDouble());
+                    } else {
+                        temperature.setDay(parser.getValueAsDouble());
+                    }
+                    break;
+                case "eve":
+                    if (feelsLike) {
+                        temperature.setEveFeelsLike(parser.getValueAsDouble());
+                    } else {
+                        temperature.setEve(parser.getValueAsDouble());
+                    }
+                    break;
+                case "night":
+                    if (feelsLike) {
+                        temperature.setNightFeelsLike(parser.getValueAsDouble());
+                    } else {
+                        temperature.setNight(parser.getValueAsDouble());
+                    }
+                    break;
+                case "min":
+                    if (!feelsLike) {
+                        temperature.setMin(parser.getValueAsDouble());
+                    }
+                    break;
+                case "max":
+                    if (!feelsLike) {
+                        temperature.setMax(parser.getValueAsDouble());
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private double parseOneHourLevel(JsonParser parser) throws IOException {
+        double level = Double.NaN;
+        String fieldName;
+        while ((fieldName = nextField(parser)) != null) {
+            if ("1h".equals(fieldName)) {
+                level = parser.getValueAsDouble();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return level;
+    }
+
+    @FunctionalInterface
+    private interface SectionParser<T> {
+        T parse(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Values of a single current, hourly or daily entry. Fields may come in any order,
+     * so model objects are created only after the whole entry is read.
+     */
+    private class EntryValues {
+        private Integer forecastTime;
+        private Integer sunriseTime;
+        private Integer sunsetTime;
+        private Integer moonriseTime;
+        private Integer moonsetTime;
+        private double moonPhase = Double.NaN;
+        private WeatherState weatherState;
+        private Double temperature;
+        private double feelsLike = Double.NaN;
+        private double dewPoint = Double.NaN;
+        private DailyTemperature dailyTemperature;
+        private Double pressure;
+        private Integer humidity;
+        private Integer clouds;
+        private double uvIndex = Double.NaN;
+        private double visibility = Double.NaN;
+        private double windSpeed = Double.NaN;
+        private double windDegrees = Double.NaN;
+        private double windGust = Double.NaN;
+        private double probabilityOfPrecipitation = Double.NaN;
+        private double rainOneHour = Double.NaN;
+        private double snowOneHour = Double.NaN;
+        private double dailyRain = Double.NaN;
+        private double dailySnow = Double.NaN;
+
+        private DailyTemperature getDailyTemperature() {
+            if (dailyTemperature == null) {
+                dailyTemperature = new DailyTemperature();
+            }
+            return dailyTemperature;
+        }
+
+        private <T extends Current> T fill(T current) {
+            current.setForecastEpochSecond(forecastTime);
+            current.setForecastTime(timeConversion.toForecastTime(current.getForecastEpochSecond()));
+            current.setSunriseTime(timeConversion.toLocalDateTime(sunriseTime));
+            current.setSunsetTime(timeConversion.toLocalDateTime(sunsetTime));
+            current.setWeatherState(weatherState);
+            current.setTemperature(toTemperature());
+            current.setAtmosphericPressure(AtmosphericPressure.withValue(pressure));
+            current.setHumidity(toHumidity());
+            current.setClouds(toClouds());
+            if (!Double.isNaN(uvIndex)) {
+                current.setUvIndex(uvIndex);
+            }
+            if (!Double.isNaN(visibility)) {
+                current.setVisibilityInMetres(visibility);
+            }
+            current.setWind(toWind());
+            current.setRain(toRain());
+            current.setSnow(toSnow());
+
+            return current;
+        }
+
+        private Hourly toHourly() {
+            final Hourly hourly = new Hourly();
+            hourly.setForecastEpochSecond(forecastTime);
+            hourly.setForecastTime(timeConversion.toForecastTime(hourly.getForecastEpochSecond()));
+            hourly.setWeatherState(weatherState);
+            hourly.setTemperature(toTemperature());
+            hourly.setAtmosphericPressure(AtmosphericPressure.withValue(pressure));
+            hourly.setHumidity(toHumidity());
+            hourly.setClouds(toClouds());
+            if (!Double.isNaN(uvIndex)) {
+                hourly.setUvIndex(uvIndex);
+            }
+            if (!Double.isNaN(visibility)) {
+                hourly.setVisibilityInMetres(visibility);
+            }
+            hourly.setWind(toWind());
+            if (!Double.isNaN(probabilityOfPrecipitation)) {
+                hourly.setProbabilityOfPrecipitation(probabilityOfPrecipitation);
+            }
+            hourly.setRain(toRain());
+            hourly.setSnow(toSnow());
+
+            return hourly;
+        }
+
+        private HourlyHistorical toHourlyHistorical() {
+            final HourlyHistorical hourly = new HourlyHistorical();
+            hourly.setForecastEpochSecond(forecastTime);
+            hourly.setForecastTime(timeConversion.toForecastTime(hourly.getForecastEpochSecond()));
+            hourly.setWeatherState(weatherState);
+            hourly.setTemperature(toTemperature());
+            hourly.setAtmosphericPressure(AtmosphericPressure.withValue(pressure));
+            hourly.setHumidity(toHumidity());
+            hourly.setClouds(toClouds());
+            if (!Double.isNaN(visibility)) {
+                hourly.setVisibilityInMetres(visibility);
+            }
+            hourly.setWind(toWind());
+            hourly.setRain(toRain());
+            hourly.setSnow(toSnow());
+
+            return hourly;
+        }
+
+        private Daily toDaily() {
+            final Daily daily = new Daily();
+            daily.setForecastEpochSecond(forecastTime);
+            daily.setForecastTime(timeConversion.toForecastTime(daily.getForecastEpochSecond()));
+            daily.setSunriseTime(timeConversion.toLocalDateTime(sunriseTime));
+            daily.setSunsetTime(timeConversion.toLocalDateTime(sunsetTime));
+            if (moonriseTime != null) {
+                daily.setMoonriseTime(timeConversion.toLocalDateTime(moonriseTime));
+            }
+            if (moonsetTime != null) {
+                daily.setMoonsetTime(timeConversion.toLocalDateTime(moonsetTime));
+            }
+            if (!Double.isNaN(moonPhase)) {
+                daily.setMoonPhase(new MoonPhase(moonPhase));
+            }
+            daily.setWeatherState(weatherState);
+            daily.setTemperature(dailyTemperature);
+            daily.setAtmosphericPressure(AtmosphericPressure.withValue(pressure));
+            daily.setHumidity(toHumidity());
+            daily.setWind(toWind());
+            daily.setClouds(toClouds());
+            if (!Double.isNaN(uvIndex)) {
+                daily.setUvIndex(uvIndex);
+            }
+            if (!Double.isNaN(probabilityOfPrecipitation)) {
+                daily.setProbabilityOfPrecipitation(probabilityOfPrecipitation);
+            }
+            daily.setRain(!Double.isNaN(dailyRain) ? DailyRain.withValue(dailyRain) : null);
+            daily.setSnow(!Double.isNaN(dailySnow) ? DailySnow.withValue(dailySnow) : null);
+
+            return daily;
+        }
+
+        private Temperature toTemperature() {
+            final Temperature result = Temperature.withValue(temperature, unitSystem.getTemperatureUnit());
+            if (!Double.isNaN(feelsLike)) {
+                result.setFeelsLike(feelsLike);
+            }
+            if (!Double.isNaN(dewPoint)) {
+                result.setDewPoint(dewPoint);
+            }
+            return result;
+        }
+
+        private Humidity toHumidity() {
+            return Humidity.withValue((byte) (int) humidity);
+        }
+
+        private Clouds toClouds() {
+            return clouds != null ? Clouds.withValue((byte) (int) clouds) : null;
+        }
+
+        private Wind toWind() {
+            if (Double.isNaN(windSpeed)) {
+                return null;
+            }
+            final Wind wind = Wind.withValue(windSpeed, unitSystem.getWindUnit());
+            if (!Double.isNaN(windDegrees)) {
+                wind.setDegrees(windDegrees);
+            }
+            if (!Double.isNaN(windGust)) {
+                wind.setGust(windGust);
+            }
+            return wind;
+        }
+
+        private Rain toRain() {
+            return !Double.isNaN(rainOneHour) ? Rain.withOneHourLevelValue(rainOneHour) : null;
+        }
+
+        private Snow toSnow() {
+            return !Double.isNaN(snowOneHour) ? Snow.withOneHourLevelValue(snowOneHour) : null;
+        }
+    }
+}
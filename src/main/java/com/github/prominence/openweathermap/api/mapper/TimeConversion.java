@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+
+/**
+ * The way mappers turn API timestamps (seconds since epoch) into {@link LocalDateTime}.
+ * The zone and its rules are resolved once, when the conversion is created, instead of for every timestamp.
+ * Zones with fixed offset, e.g. {@link ZoneOffset#UTC}, are converted without any rules lookup.
+ * <p>
+ * {@link #epochSeconds()} conversion is meant for high-volume consumers: forecast time of list entries
+ * (forecasts, current, hourly, daily and minutely data, air pollution records, weather calculation time) is kept only as epoch seconds,
+ * e.g. {@link com.github.prominence.openweathermap.api.model.forecast.WeatherForecast#getForecastEpochSecond()},
+ * and their <code>LocalDateTime</code> getters return <code>null</code>.
+ * Instances are immutable and thread-safe.
+ */
+public final class TimeConversion {
+    private final ZoneId zoneId;
+    private final ZoneRules zoneRules;
+    private final ZoneOffset fixedOffset;
+    private final boolean forecastTimeMaterialized;
+
+    private TimeConversion(ZoneId zoneId, boolean forecastTimeMaterialized) {
+        this.zoneId = Objects.requireNonNull(zoneId, "Zone must be set.");
+        this.zoneRules = zoneId.getRules();
+        this.fixedOffset = zoneRules.isFixedOffset() ? zoneRules.getOffset(Instant.EPOCH) : null;
+        this.forecastTimeMaterialized = forecastTimeMaterialized;
+    }
+
+    /**
+     * Converts timestamps into JVM default time zone, resolved when this conversion is created,
+     * so later changes of the default zone don't affect it. Used by default.
+     *
+     * @return the time conversion
+     */
+    public static TimeConversion systemDefaultZone() {
+        return new TimeConversion(ZoneId.systemDefault(), true);
+    }
+
+    /**
+     * Converts timestamps into provided time zone.
+     *
+     * @param zoneId the zone
+     * @return the time conversion
+     */
+    public static TimeConversion zone(ZoneId zoneId) {
+        return new TimeConversion(zoneId, true);
+    }
+
+    /**
+     * Keeps forecast times as epoch seconds only, the rest of timestamps are converted into JVM default time zone.
+     *
+     * @return the time conversion
+     */
+    public static TimeConversion epochSeconds() {
+        return new TimeConversion(ZoneId.systemDefault(), false);
+    }
+
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Returns whether forecast times are set as <code>LocalDateTime</code>.
+     *
+     * @return <code>false</code> if forecast times are kept only as epoch seconds
+     */
+    public boolean isForecastTimeMaterialized() {
+        return forecastTimeMaterialized;
+    }
+
+    /**
+     * Converts timestamp into local date and time of the zone.
+     *
+     * @param epochSecond seconds since epoch
+     * @return the local date and time
+     */
+    public LocalDateTime toLocalDateTime(long epochSecond) {
+        final ZoneOffset offset = fixedOffset != null ? fixedOffset : zoneRules.getOffset(Instant.ofEpochSecond(epochSecond));
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+    }
+
+    /**
+     * Converts forecast time, see {@link #epochSeconds()}.
+     *
+     * @param epochSecond seconds since epoch
+     * @return the local date and time or <code>null</code> if forecast times aren't materialized
+     */
+    public LocalDateTime toForecastTime(long epochSecond) {
+        return forecastTimeMaterialized ? toLocalDateTime(epochSecond) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TimeConversion)) return false;
+        TimeConversion that = (TimeConversion) o;
+        return forecastTimeMaterialized == that.forecastTimeMaterialized && zoneId.equals(that.zoneId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(zoneId, forecastTimeMaterialized);
+    }
+
+    @Override
+    public String toString() {
+        return forecastTimeMaterialized ? "Time conversion into " + zoneId : "Time conversion into epoch seconds";
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.metrics;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.RequestPhase;
+
+/**
+ * Receives measurements of API calls made over the network. Responses served from cache aren't API calls and aren't reported.
+ * Methods are called on request threads, so implementations must be thread-safe and fast.
+ * Endpoint type is <code>null</code> for calls to unknown endpoints.
+ *
+ * @see #noop()
+ */
+public interface ClientMetrics {
+
+    /**
+     * Returns metrics which record nothing. Calls aren't measured at all while it is used.
+     *
+     * @return the no-op metrics
+     */
+    static ClientMetrics noop() {
+        return NoopClientMetrics.INSTANCE;
+    }
+
+    /**
+     * Tells whether calls should be measured. When <code>false</code> is returned, no other method is called
+     * and measuring takes neither clock reads nor allocations.
+     *
+     * @return <code>true</code> if calls are measured
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called before the request is sent.
+     *
+     * @param endpointType the endpoint type
+     */
+    void requestStarted(EndpointType endpointType);
+
+    /**
+     * Called once for every started request when it is completed successfully or not.
+     *
+     * @param endpointType the endpoint type
+     */
+    void requestFinished(EndpointType endpointType);
+
+    /**
+     * Records duration of the call phase.
+     *
+     * @param endpointType the endpoint type
+     * @param phase        the phase
+     * @param nanos        the duration in nanoseconds
+     */
+    void recordPhase(EndpointType endpointType, RequestPhase phase, long nanos);
+
+    /**
+     * Records received response.
+     *
+     * @param endpointType the endpoint type
+     * @param statusCode   the HTTP status code
+     * @param bodyBytes    the number of body bytes read, <code>0</code> for responses with error status
+     */
+    void recordResponse(EndpointType endpointType, int statusCode, long bodyBytes);
+
+    /**
+     * Records failed call. Transport failures are reported with their original exception, not with the wrapping one thrown to the caller.
+     *
+     * @param endpointType the endpoint type
+     * @param exception    the failure
+     */
+    void recordException(EndpointType endpointType, Throwable exception);
+}
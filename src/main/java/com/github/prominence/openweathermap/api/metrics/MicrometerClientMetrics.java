@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.metrics;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.RequestPhase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ClientMetrics} binding to Micrometer {@link MeterRegistry}. Requires <code>io.micrometer:micrometer-core</code> on the classpath.
+ * Every meter is tagged with <code>endpoint</code>, which is the lower-case {@link EndpointType} name or <code>unknown</code>:
+ * <ul>
+ *     <li><code>openweathermap.client.request.phase</code> timer with percentile histogram, tagged with <code>phase</code>;</li>
+ *     <li><code>openweathermap.client.response.size</code> distribution summary of body bytes;</li>
+ *     <li><code>openweathermap.client.responses</code> counter tagged with HTTP <code>status</code>;</li>
+ *     <li><code>openweathermap.client.exceptions</code> counter tagged with <code>exception</code> simple class name;</li>
+ *     <li><code>openweathermap.client.requests.in.flight</code> gauge.</li>
+ * </ul>
+ * Timers, summaries and gauges are registered up front, so recording them doesn't look meters up.
+ */
+public class MicrometerClientMetrics implements ClientMetrics {
+    private static final String UNKNOWN_ENDPOINT = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    // indexed by endpoint type ordinal, the last element is for unknown endpoints
+    private final EndpointMeters[] endpointMeters;
+
+    /**
+     * Instantiates a new binding.
+     *
+     * @param meterRegistry the registry to register meters in
+     */
+    public MicrometerClientMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, Tags.empty());
+    }
+
+    /**
+     * Instantiates a new binding which adds common tags to every meter, e.g. to tell several clients apart.
+     *
+     * @param meterRegistry the registry to register meters in
+     * @param tags          the common tags
+     */
+    public MicrometerClientMetrics(MeterRegistry meterRegistry, Iterable<Tag> tags) {
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "Meter registry must be set.");
+        final EndpointType[] endpointTypes = EndpointType.values();
+        this.endpointMeters = new EndpointMeters[endpointTypes.length + 1];
+        for (EndpointType endpointType : endpointTypes) {
+            endpointMeters[endpointType.ordinal()] = new EndpointMeters(Tags.of(tags).and("endpoint", endpointType.name().toLowerCase(Locale.ROOT)));
+        }
+        endpointMeters[endpointTypes.length] = new EndpointMeters(Tags.of(tags).and("endpoint", UNKNOWN_ENDPOINT));
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    @Override
+    public void requestStarted(EndpointType endpointType) {
+        meters(endpointType).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void requestFinished(EndpointType endpointType) {
+        meters(endpointType).inFlight.decrementAndGet();
+    }
+
+    @Override
+    public void recordPhase(EndpointType endpointType, RequestPhase phase, long nanos) {
+        meters(endpointType).phaseTimers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordResponse(EndpointType endpointType, int statusCode, long bodyBytes) {
+        final EndpointMeters meters = meters(endpointType);
+        meters.statusCounters.computeIfAbsent(statusCode, status -> Counter.builder("openweathermap.client.responses")
+                .description("API responses by HTTP status")
+                .tags(meters.tags)
+                .tag("status", String.valueOf(status))
+                .register(meterRegistry)).increment();
+        if (bodyBytes > 0) {
+            meters.responseSize.record(bodyBytes);
+        }
+    }
+
+    @Override
+    public void recordException(EndpointType endpointType, Throwable exception) {
+        final EndpointMeters meters = meters(endpointType);
+        meters.exceptionCounters.computeIfAbsent(exception.getClass(), exceptionClass -> Counter.builder("openweathermap.client.exceptions")
+                .description("Failed API calls by exception type")
+                .tags(meters.tags)
+                .tag("exception", exceptionClass.getSimpleName())
+                .register(meterRegistry)).increment();
+    }
+
+    private EndpointMeters meters(EndpointType endpointType) {
+        return endpointMeters[endpointType != null ? endpointType.ordinal() : endpointMeters.length - 1];
+    }
+
+    private final class EndpointMeters {
+        private final Tags tags;
+        private final Timer[] phaseTimers;
+        private final DistributionSummary responseSize;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final ConcurrentMap<Integer, Counter> statusCounters = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+        private EndpointMeters(Tags tags) {
+            this.tags = tags;
+            final RequestPhase[] phases = RequestPhase.values();
+            this.phaseTimers = new Timer[phases.length];
+            for (RequestPhase phase : phases) {
+                phaseTimers[phase.ordinal()] = Timer.builder("openweathermap.client.request.phase")
+                        .description("API call latency by phase")
+                        .tags(tags)
+                        .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+            }
+            this.responseSize = DistributionSummary.builder("openweathermap.client.response.size")
+                    .description("API response body size")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("openweathermap.client.requests.in.flight", inFlight, AtomicInteger::get)
+                    .description("API calls waiting for response or being mapped")
+                    .tags(tags)
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+    }
+}
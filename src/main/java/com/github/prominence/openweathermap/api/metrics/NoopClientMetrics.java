@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.metrics;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.RequestPhase;
+
+/**
+ * Disabled metrics used by default.
+ */
+final class NoopClientMetrics implements ClientMetrics {
+    static final NoopClientMetrics INSTANCE = new NoopClientMetrics();
+
+    private NoopClientMetrics() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void requestStarted(EndpointType endpointType) {
+    }
+
+    @Override
+    public void requestFinished(EndpointType endpointType) {
+    }
+
+    @Override
+    public void recordPhase(EndpointType endpointType, RequestPhase phase, long nanos) {
+    }
+
+    @Override
+    public void recordResponse(EndpointType endpointType, int statusCode, long bodyBytes) {
+    }
+
+    @Override
+    public void recordException(EndpointType endpointType, Throwable exception) {
+    }
+}
@@ -30,11 +30,15 @@ import java.util.Objects;
  */
 public class AtmosphericPressure {
     private static final String DEFAULT_UNIT = "hPa";
+    private static final byte SEA_LEVEL_VALUE = 1;
+    private static final byte GROUND_LEVEL_VALUE = 1 << 1;
 
     private double value;
 
-    private Double seaLevelValue;
-    private Double groundLevelValue;
+    private double seaLevelValue;
+    private double groundLevelValue;
+    // bits of optional values which are set
+    private byte presentValues;
 
     /**
      * Instantiates a new Pressure.
@@ -86,7 +90,7 @@ public class AtmosphericPressure {
      * @return the sea level value.
      */
     public Double getSeaLevelValue() {
-        return seaLevelValue;
+        return (presentValues & SEA_LEVEL_VALUE) != 0 ? seaLevelValue : null;
     }
 
     /**
@@ -100,6 +104,7 @@ public class AtmosphericPressure {
             throw new IllegalArgumentException("Atmospheric pressure value must be in [0, +∞) range.");
         }
         this.seaLevelValue = seaLevelValue;
+        presentValues |= SEA_LEVEL_VALUE;
     }
 
     /**
@@ -108,7 +113,7 @@ public class AtmosphericPressure {
      * @return the ground level value.
      */
     public Double getGroundLevelValue() {
-        return groundLevelValue;
+        return (presentValues & GROUND_LEVEL_VALUE) != 0 ? groundLevelValue : null;
     }
 
     /**
@@ -122,6 +127,7 @@ public class AtmosphericPressure {
             throw new IllegalArgumentException("Atmospheric pressure value must be in [0, +∞) range.");
         }
         this.groundLevelValue = groundLevelValue;
+        presentValues |= GROUND_LEVEL_VALUE;
     }
 
     /**
@@ -138,14 +144,15 @@ public class AtmosphericPressure {
         if (this == o) return true;
         if (!(o instanceof AtmosphericPressure)) return false;
         AtmosphericPressure atmosphericPressure = (AtmosphericPressure) o;
-        return Double.compare(atmosphericPressure.value, value) == 0 &&
-                Objects.equals(seaLevelValue, atmosphericPressure.seaLevelValue) &&
-                Objects.equals(groundLevelValue, atmosphericPressure.groundLevelValue);
+        return presentValues == atmosphericPressure.presentValues &&
+                Double.compare(atmosphericPressure.value, value) == 0 &&
+                Double.compare(atmosphericPressure.seaLevelValue, seaLevelValue) == 0 &&
+                Double.compare(atmosphericPressure.groundLevelValue, groundLevelValue) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value, seaLevelValue, groundLevelValue);
+        return Objects.hash(value, getSeaLevelValue(), getGroundLevelValue());
     }
 
     @Override
@@ -28,10 +28,16 @@ import java.util.Objects;
  * Represents temperature values and unit.
  */
 public class Temperature {
+    private static final byte MAX_TEMPERATURE = 1;
+    private static final byte MIN_TEMPERATURE = 1 << 1;
+    private static final byte FEELS_LIKE = 1 << 2;
+
     private double value;
-    private Double maxTemperature;
-    private Double minTemperature;
-    private Double feelsLike;
+    private double maxTemperature;
+    private double minTemperature;
+    private double feelsLike;
+    // bits of optional values which are set
+    private byte presentValues;
     private String unit;
 
     private Temperature(double value, String unit) {
@@ -73,7 +79,7 @@ public class Temperature {
      * @return maximal temperature value
      */
     public Double getMaxTemperature() {
-        return maxTemperature;
+        return (presentValues & MAX_TEMPERATURE) != 0 ? maxTemperature : null;
     }
 
     /**
@@ -81,7 +87,21 @@ public class Temperature {
      * @param maxTemperature maximal temperature
      */
     public void setMaxTemperature(Double maxTemperature) {
+        if (maxTemperature != null) {
+            setMaxTemperature(maxTemperature.doubleValue());
+        } else {
+            this.maxTemperature = 0;
+            presentValues &= ~MAX_TEMPERATURE;
+        }
+    }
+
+    /**
+     * Sets maximal temperature value.
+     * @param maxTemperature maximal temperature
+     */
+    public void setMaxTemperature(double maxTemperature) {
         this.maxTemperature = maxTemperature;
+        presentValues |= MAX_TEMPERATURE;
     }
 
     /**
@@ -89,7 +109,7 @@ public class Temperature {
      * @return minimal temperature value
      */
     public Double getMinTemperature() {
-        return minTemperature;
+        return (presentValues & MIN_TEMPERATURE) != 0 ? minTemperature : null;
     }
 
     /**
@@ -97,7 +117,21 @@ public class Temperature {
      * @param minTemperature minimal temperature
      */
     public void setMinTemperature(Double minTemperature) {
+        if (minTemperature != null) {
+            setMinTemperature(minTemperature.doubleValue());
+        } else {
+            this.minTemperature = 0;
+            presentValues &= ~MIN_TEMPERATURE;
+        }
+    }
+
+    /**
+     * Sets minimal temperature value.
+     * @param minTemperature minimal temperature
+     */
+    public void setMinTemperature(double minTemperature) {
         this.minTemperature = minTemperature;
+        presentValues |= MIN_TEMPERATURE;
     }
 
     /**
@@ -105,7 +139,7 @@ public class Temperature {
      * @return 'feels like' temperature value
      */
     public Double getFeelsLike() {
-        return feelsLike;
+        return (presentValues & FEELS_LIKE) != 0 ? feelsLike : null;
     }
 
     /**
@@ -113,7 +147,21 @@ public class Temperature {
      * @param feelsLike 'feels like' temperature
      */
     public void setFeelsLike(Double feelsLike) {
+        if (feelsLike != null) {
+            setFeelsLike(feelsLike.doubleValue());
+        } else {
+            this.feelsLike = 0;
+            presentValues &= ~FEELS_LIKE;
+        }
+    }
+
+    /**
+     * Sets 'feels like' temperature value.
+     * @param feelsLike 'feels like' temperature
+     */
+    public void setFeelsLike(double feelsLike) {
         this.feelsLike = feelsLike;
+        presentValues |= FEELS_LIKE;
     }
 
     /**
@@ -140,16 +188,17 @@ public class Temperature {
         if (this == o) return true;
         if (!(o instanceof Temperature)) return false;
         Temperature that = (Temperature) o;
-        return Double.compare(that.value, value) == 0 &&
-                Objects.equals(maxTemperature, that.maxTemperature) &&
-                Objects.equals(minTemperature, that.minTemperature) &&
-                Objects.equals(feelsLike, that.feelsLike) &&
+        return presentValues == that.presentValues &&
+                Double.compare(that.value, value) == 0 &&
+                Double.compare(that.maxTemperature, maxTemperature) == 0 &&
+                Double.compare(that.minTemperature, minTemperature) == 0 &&
+                Double.compare(that.feelsLike, feelsLike) == 0 &&
                 Objects.equals(unit, that.unit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value, maxTemperature, minTemperature, feelsLike, unit);
+        return Objects.hash(value, getMaxTemperature(), getMinTemperature(), getFeelsLike(), unit);
     }
 
     @Override
@@ -159,19 +208,19 @@ public class Temperature {
         stringBuilder.append(value);
         stringBuilder.append(' ');
         stringBuilder.append(unit);
-        if (maxTemperature != null) {
+        if ((presentValues & MAX_TEMPERATURE) != 0) {
             stringBuilder.append(", Maximum value: ");
             stringBuilder.append(maxTemperature);
             stringBuilder.append(' ');
             stringBuilder.append(unit);
         }
-        if (minTemperature != null) {
+        if ((presentValues & MIN_TEMPERATURE) != 0) {
             stringBuilder.append(", Minimum value: ");
             stringBuilder.append(minTemperature);
             stringBuilder.append(' ');
             stringBuilder.append(unit);
         }
-        if (feelsLike != null) {
+        if ((presentValues & FEELS_LIKE) != 0) {
             stringBuilder.append(", Feels like: ");
             stringBuilder.append(feelsLike);
             stringBuilder.append(' ');
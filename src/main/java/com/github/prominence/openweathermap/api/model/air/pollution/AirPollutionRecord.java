@@ -34,17 +34,29 @@ import java.util.stream.Stream;
  * The type Air pollution record.
  */
 public class AirPollutionRecord {
+    private static final short CO_CONCENTRATION = 1;
+    private static final short NO_CONCENTRATION = 1 << 1;
+    private static final short NO2_CONCENTRATION = 1 << 2;
+    private static final short O3_CONCENTRATION = 1 << 3;
+    private static final short SO2_CONCENTRATION = 1 << 4;
+    private static final short PM2_5_CONCENTRATION = 1 << 5;
+    private static final short PM10_CONCENTRATION = 1 << 6;
+    private static final short NH3_CONCENTRATION = 1 << 7;
+
     private LocalDateTime forecastTime;
+    private long forecastEpochSecond;
     private AirQualityIndex airQualityIndex;
 
-    private Double CO;
-    private Double NO;
-    private Double NO2;
-    private Double O3;
-    private Double SO2;
-    private Double PM2_5;
-    private Double PM10;
-    private Double NH3;
+    private double CO;
+    private double NO;
+    private double NO2;
+    private double O3;
+    private double SO2;
+    private double PM2_5;
+    private double PM10;
+    private double NH3;
+    // bits of optional values which are set
+    private short presentValues;
 
     /**
      * Gets forecast time.
@@ -64,6 +76,24 @@ public class AirPollutionRecord {
         this.forecastTime = forecastTime;
     }
 
+    /**
+     * Gets forecast time in seconds since epoch, as it was received from the API.
+     *
+     * @return the forecast time in seconds since epoch
+     */
+    public long getForecastEpochSecond() {
+        return forecastEpochSecond;
+    }
+
+    /**
+     * Sets forecast time in seconds since epoch.
+     *
+     * @param forecastEpochSecond the forecast time in seconds since epoch
+     */
+    public void setForecastEpochSecond(long forecastEpochSecond) {
+        this.forecastEpochSecond = forecastEpochSecond;
+    }
+
     /**
      * Gets air quality index.
      *
@@ -88,7 +118,7 @@ public class AirPollutionRecord {
      * @return the carbon monoxide value
      */
     public Double getCO() {
-        return CO;
+        return (presentValues & CO_CONCENTRATION) != 0 ? CO : null;
     }
 
     /**
@@ -106,7 +136,22 @@ public class AirPollutionRecord {
      * @param CO the carbon monoxide value
      */
     public void setCO(Double CO) {
+        if (CO != null) {
+            setCO(CO.doubleValue());
+        } else {
+            this.CO = 0;
+            presentValues &= ~CO_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets carbon monoxide concentration value in μg/m^3.
+     *
+     * @param CO the carbon monoxide value
+     */
+    public void setCO(double CO) {
         this.CO = CO;
+        presentValues |= CO_CONCENTRATION;
     }
 
     /**
@@ -115,7 +160,7 @@ public class AirPollutionRecord {
      * @return the nitrogen monoxide value
      */
     public Double getNO() {
-        return NO;
+        return (presentValues & NO_CONCENTRATION) != 0 ? NO : null;
     }
 
     /**
@@ -133,7 +178,22 @@ public class AirPollutionRecord {
      * @param NO the nitrogen monoxide value
      */
     public void setNO(Double NO) {
+        if (NO != null) {
+            setNO(NO.doubleValue());
+        } else {
+            this.NO = 0;
+            presentValues &= ~NO_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets nitrogen monoxide concentration value in μg/m^3.
+     *
+     * @param NO the nitrogen monoxide value
+     */
+    public void setNO(double NO) {
         this.NO = NO;
+        presentValues |= NO_CONCENTRATION;
     }
 
     /**
@@ -142,7 +202,7 @@ public class AirPollutionRecord {
      * @return the nitrogen dioxide value
      */
     public Double getNO2() {
-        return NO2;
+        return (presentValues & NO2_CONCENTRATION) != 0 ? NO2 : null;
     }
 
     /**
@@ -160,7 +220,22 @@ public class AirPollutionRecord {
      * @param NO2 the nitrogen dioxide value
      */
     public void setNO2(Double NO2) {
+        if (NO2 != null) {
+            setNO2(NO2.doubleValue());
+        } else {
+            this.NO2 = 0;
+            presentValues &= ~NO2_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets nitrogen dioxide concentration value in μg/m^3.
+     *
+     * @param NO2 the nitrogen dioxide value
+     */
+    public void setNO2(double NO2) {
         this.NO2 = NO2;
+        presentValues |= NO2_CONCENTRATION;
     }
 
     /**
@@ -169,7 +244,7 @@ public class AirPollutionRecord {
      * @return the ozone value
      */
     public Double getO3() {
-        return O3;
+        return (presentValues & O3_CONCENTRATION) != 0 ? O3 : null;
     }
 
     /**
@@ -187,7 +262,22 @@ public class AirPollutionRecord {
      * @param o3 the ozone value
      */
     public void setO3(Double o3) {
-        O3 = o3;
+        if (o3 != null) {
+            setO3(o3.doubleValue());
+        } else {
+            this.O3 = 0;
+            presentValues &= ~O3_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets ozone concentration value in μg/m^3.
+     *
+     * @param o3 the ozone value
+     */
+    public void setO3(double o3) {
+        this.O3 = o3;
+        presentValues |= O3_CONCENTRATION;
     }
 
     /**
@@ -196,7 +286,7 @@ public class AirPollutionRecord {
      * @return the sulphur dioxide value
      */
     public Double getSO2() {
-        return SO2;
+        return (presentValues & SO2_CONCENTRATION) != 0 ? SO2 : null;
     }
 
     /**
@@ -214,7 +304,22 @@ public class AirPollutionRecord {
      * @param SO2 the sulphur dioxide value
      */
     public void setSO2(Double SO2) {
+        if (SO2 != null) {
+            setSO2(SO2.doubleValue());
+        } else {
+            this.SO2 = 0;
+            presentValues &= ~SO2_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets sulphur dioxide concentration value in μg/m^3.
+     *
+     * @param SO2 the sulphur dioxide value
+     */
+    public void setSO2(double SO2) {
         this.SO2 = SO2;
+        presentValues |= SO2_CONCENTRATION;
     }
 
     /**
@@ -223,7 +328,7 @@ public class AirPollutionRecord {
      * @return the fine particles matter value
      */
     public Double getPM2_5() {
-        return PM2_5;
+        return (presentValues & PM2_5_CONCENTRATION) != 0 ? PM2_5 : null;
     }
 
     /**
@@ -241,7 +346,22 @@ public class AirPollutionRecord {
      * @param PM2_5 the fine particles matter value
      */
     public void setPM2_5(Double PM2_5) {
+        if (PM2_5 != null) {
+            setPM2_5(PM2_5.doubleValue());
+        } else {
+            this.PM2_5 = 0;
+            presentValues &= ~PM2_5_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets fine particles matter concentration value in μg/m^3.
+     *
+     * @param PM2_5 the fine particles matter value
+     */
+    public void setPM2_5(double PM2_5) {
         this.PM2_5 = PM2_5;
+        presentValues |= PM2_5_CONCENTRATION;
     }
 
     /**
@@ -250,7 +370,7 @@ public class AirPollutionRecord {
      * @return the coarse particulate matter value
      */
     public Double getPM10() {
-        return PM10;
+        return (presentValues & PM10_CONCENTRATION) != 0 ? PM10 : null;
     }
 
     /**
@@ -268,7 +388,22 @@ public class AirPollutionRecord {
      * @param PM10 the coarse particulate matter value
      */
     public void setPM10(Double PM10) {
+        if (PM10 != null) {
+            setPM10(PM10.doubleValue());
+        } else {
+            this.PM10 = 0;
+            presentValues &= ~PM10_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets coarse particulate matter concentration value in μg/m^3.
+     *
+     * @param PM10 the coarse particulate matter value
+     */
+    public void setPM10(double PM10) {
         this.PM10 = PM10;
+        presentValues |= PM10_CONCENTRATION;
     }
 
     /**
@@ -277,7 +412,7 @@ public class AirPollutionRecord {
      * @return the ammonia value
      */
     public Double getNH3() {
-        return NH3;
+        return (presentValues & NH3_CONCENTRATION) != 0 ? NH3 : null;
     }
 
     /**
@@ -295,7 +430,22 @@ public class AirPollutionRecord {
      * @param NH3 the ammonia value
      */
     public void setNH3(Double NH3) {
+        if (NH3 != null) {
+            setNH3(NH3.doubleValue());
+        } else {
+            this.NH3 = 0;
+            presentValues &= ~NH3_CONCENTRATION;
+        }
+    }
+
+    /**
+     * Sets ammonia concentration value in μg/m^3.
+     *
+     * @param NH3 the ammonia value
+     */
+    public void setNH3(double NH3) {
         this.NH3 = NH3;
+        presentValues |= NH3_CONCENTRATION;
     }
 
     @Override
@@ -303,12 +453,12 @@ public class AirPollutionRecord {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AirPollutionRecord that = (AirPollutionRecord) o;
-        return Objects.equals(forecastTime, that.forecastTime) && airQualityIndex == that.airQualityIndex && Objects.equals(CO, that.CO) && Objects.equals(NO, that.NO) && Objects.equals(NO2, that.NO2) && Objects.equals(O3, that.O3) && Objects.equals(SO2, that.SO2) && Objects.equals(PM2_5, that.PM2_5) && Objects.equals(PM10, that.PM10) && Objects.equals(NH3, that.NH3);
+        return forecastEpochSecond == that.forecastEpochSecond && Objects.equals(forecastTime, that.forecastTime) && airQualityIndex == that.airQualityIndex && presentValues == that.presentValues && Double.compare(that.CO, CO) == 0 && Double.compare(that.NO, NO) == 0 && Double.compare(that.NO2, NO2) == 0 && Double.compare(that.O3, O3) == 0 && Double.compare(that.SO2, SO2) == 0 && Double.compare(that.PM2_5, PM2_5) == 0 && Double.compare(that.PM10, PM10) == 0 && Double.compare(that.NH3, NH3) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(forecastTime, airQualityIndex, CO, NO, NO2, O3, SO2, PM2_5, PM10, NH3);
+        return Objects.hash(forecastTime, forecastEpochSecond, airQualityIndex, getCO(), getNO(), getNO2(), getO3(), getSO2(), getPM2_5(), getPM10(), getNH3());
     }
 
     @Override
@@ -322,49 +472,49 @@ public class AirPollutionRecord {
         final boolean anyConcentrationAvailable = Stream.of(CO, NO, NO2, O3, SO2, PM2_5, PM10, NH3).anyMatch(Objects::nonNull);
         if (anyConcentrationAvailable) {
             stringBuilder.append(" Concentrations:");
-            if (CO != null) {
+            if ((presentValues & CO_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" CO(Carbon monoxide) = ")
                         .append(CO)
                         .append(" μg/m^3;");
             }
-            if (NO != null) {
+            if ((presentValues & NO_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" NO(Nitrogen monoxide) = ")
                         .append(NO)
                         .append(" μg/m^3;");
             }
-            if (NO2 != null) {
+            if ((presentValues & NO2_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" NO2(Nitrogen dioxide) = ")
                         .append(NO2)
                         .append(" μg/m^3;");
             }
-            if (O3 != null) {
+            if ((presentValues & O3_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" O3(Ozone) = ")
                         .append(O3)
                         .append(" μg/m^3;");
             }
-            if (SO2 != null) {
+            if ((presentValues & SO2_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" SO2(Sulphur dioxide) = ")
                         .append(SO2)
                         .append(" μg/m^3;");
             }
-            if (PM2_5 != null) {
+            if ((presentValues & PM2_5_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" PM2.5(Fine particles matter) = ")
                         .append(PM2_5)
                         .append(" μg/m^3;");
             }
-            if (PM10 != null) {
+            if ((presentValues & PM10_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" PM10(Coarse particulate matter) = ")
                         .append(PM10)
                         .append(" μg/m^3;");
             }
-            if (NH3 != null) {
+            if ((presentValues & NH3_CONCENTRATION) != 0) {
                 stringBuilder
                         .append(" NH3(Ammonia) = ")
                         .append(NH3)
@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.model.forecast;
+
+import com.github.prominence.openweathermap.api.model.AtmosphericPressure;
+import com.github.prominence.openweathermap.api.model.Clouds;
+import com.github.prominence.openweathermap.api.model.DayTime;
+import com.github.prominence.openweathermap.api.model.Humidity;
+import com.github.prominence.openweathermap.api.model.Temperature;
+import com.github.prominence.openweathermap.api.model.WeatherState;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact columnar representation of {@link Forecast}: every metric is kept in a primitive array indexed by timestamp,
+ * which takes a fraction of memory of the object model. Absent values are stored as <code>NaN</code> or <code>-1</code>.
+ * Objects of the model are created only on access, see {@link #getWeatherForecast(int)} and {@link #asWeatherForecasts()}.
+ * Instances are immutable.
+ */
+public final class ForecastSeries {
+    private static final DateTimeFormatter ISO_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte ABSENT = -1;
+    private static final DayTime[] DAY_TIMES = DayTime.values();
+
+    private final Location location;
+    private final int size;
+    private final String temperatureUnit;
+    private final String windUnit;
+
+    private final long[] forecastEpochSeconds;
+    // zone of materialized forecast times, null if they are kept as epoch seconds only
+    private final ZoneId zoneId;
+    // whether forecasts had epoch seconds set, e.g. they were mapped from API response
+    private final boolean epochSecondsSet;
+    // kept only if some of API timestamps don't match forecast times
+    private final String[] forecastTimesISO;
+
+    private final double[] temperatures;
+    private final double[] minTemperatures;
+    private final double[] maxTemperatures;
+    private final double[] feelsLikeTemperatures;
+    private final double[] pressures;
+    private final double[] seaLevelPressures;
+    private final double[] groundLevelPressures;
+    private final byte[] humidities;
+    private final double[] windSpeeds;
+    private final double[] windDegrees;
+    private final byte[] clouds;
+    private final double[] rainLevels;
+    private final double[] snowLevels;
+    private final byte[] dayTimes;
+
+    // weather states repeat a lot, so every distinct state is stored once
+    private final WeatherState[] weatherStates;
+    private final short[] weatherStateIndexes;
+
+    private ForecastSeries(Forecast forecast, ZoneId zoneId) {
+        final List<WeatherForecast> forecasts = forecast.getWeatherForecasts() != null ? forecast.getWeatherForecasts() : new ArrayList<>();
+        this.location = forecast.getLocation();
+        this.zoneId = zoneId;
+        this.size = forecasts.size();
+        this.forecastEpochSeconds = new long[size];
+        this.temperatures = newAbsentArray(size);
+        this.minTemperatures = newAbsentArray(size);
+        this.maxTemperatures = newAbsentArray(size);
+        this.feelsLikeTemperatures = newAbsentArray(size);
+        this.pressures = newAbsentArray(size);
+        this.seaLevelPressures = newAbsentArray(size);
+        this.groundLevelPressures = newAbsentArray(size);
+        this.humidities = newAbsentByteArray(size);
+        this.windSpeeds = newAbsentArray(size);
+        this.windDegrees = newAbsentArray(size);
+        this.clouds = newAbsentByteArray(size);
+        this.rainLevels = newAbsentArray(size);
+        this.snowLevels = newAbsentArray(size);
+        this.dayTimes = newAbsentByteArray(size);
+        this.weatherStateIndexes = new short[size];
+
+        final List<WeatherState> distinctStates = new ArrayList<>();
+        final String[] timesISO = new String[size];
+        boolean customTimeFormat = false;
+        boolean epochSecondsSetValue = false;
+        String temperatureUnitValue = null;
+        String windUnitValue = null;
+        for (int i = 0; i < size; i++) {
+            final WeatherForecast weatherForecast = forecasts.get(i);
+            timesISO[i] = weatherForecast.getForecastTimeISO();
+            forecastEpochSeconds[i] = toEpochSecond(weatherForecast, zoneId);
+            epochSecondsSetValue |= weatherForecast.getForecastEpochSecond() != 0;
+            customTimeFormat |= !Objects.equals(timesISO[i], formatISO(forecastEpochSeconds[i]));
+
+            final Temperature temperature = weatherForecast.getTemperature();
+            if (temperature != null) {
+                temperatureUnitValue = requireSameUnit(temperatureUnitValue, temperature.getUnit());
+                temperatures[i] = temperature.getValue();
+                minTemperatures[i] = toPrimitive(temperature.getMinTemperature());
+                maxTemperatures[i] = toPrimitive(temperature.getMaxTemperature());
+                feelsLikeTemperatures[i] = toPrimitive(temperature.getFeelsLike());
+            }
+            final AtmosphericPressure pressure = weatherForecast.getAtmosphericPressure();
+            if (pressure != null) {
+                pressures[i] = pressure.getValue();
+                seaLevelPressures[i] = toPrimitive(pressure.getSeaLevelValue());
+                groundLevelPressures[i] = toPrimitive(pressure.getGroundLevelValue());
+            }
+            if (weatherForecast.getHumidity() != null) {
+                humidities[i] = (byte) weatherForecast.getHumidity().getValue();
+            }
+            final Wind wind = weatherForecast.getWind();
+            if (wind != null) {
+                windUnitValue = requireSameUnit(windUnitValue, wind.getUnit());
+                windSpeeds[i] = wind.getSpeed();
+                windDegrees[i] = toPrimitive(wind.getDegrees());
+            }
+            if (weatherForecast.getClouds() != null) {
+                clouds[i] = weatherForecast.getClouds().getValue();
+            }
+            if (weatherForecast.getRain() != null) {
+                rainLevels[i] = weatherForecast.getRain().getThreeHourLevel();
+            }
+            if (weatherForecast.getSnow() != null) {
+                snowLevels[i] = weatherForecast.getSnow().getThreeHourLevel();
+            }
+            if (weatherForecast.getDayTime() != null) {
+                dayTimes[i] = (byte) weatherForecast.getDayTime().ordinal();
+            }
+            weatherStateIndexes[i] = indexOf(distinctStates, weatherForecast.getWeatherState());
+        }
+        this.temperatureUnit = temperatureUnitValue;
+        this.windUnit = windUnitValue;
+        this.epochSecondsSet = epochSecondsSetValue;
+        this.forecastTimesISO = customTimeFormat ? timesISO : null;
+        this.weatherStates = distinctStates.stream().map(ForecastSeries::copyOf).toArray(WeatherState[]::new);
+    }
+
+    /**
+     * Creates columnar representation of the forecast. The forecast isn't referenced afterwards, except for its location.
+     *
+     * @param forecast the forecast.
+     * @return forecast series.
+     * @throws IllegalArgumentException in case if timestamps have different temperature or wind units.
+     */
+    public static ForecastSeries of(Forecast forecast) {
+        return of(forecast, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates columnar representation of the forecast which forecast times are local to the provided zone.
+     *
+     * @param forecast the forecast.
+     * @param zoneId   zone of forecast times or <code>null</code> if they are kept only as epoch seconds.
+     * @return forecast series.
+     * @throws IllegalArgumentException in case if timestamps have different temperature or wind units.
+     */
+    public static ForecastSeries of(Forecast forecast, ZoneId zoneId) {
+        return new ForecastSeries(Objects.requireNonNull(forecast, "Forecast must be set."), zoneId);
+    }
+
+    /**
+     * Returns location information, shared with all materialized forecasts.
+     * @return location
+     */
+    public Location getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns number of timestamps.
+     * @return number of timestamps
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getTemperatureUnit() {
+        return temperatureUnit;
+    }
+
+    public String getWindUnit() {
+        return windUnit;
+    }
+
+    /**
+     * Returns forecast time as unix time.
+     * @param index timestamp index
+     * @return seconds since epoch
+     */
+    public long getForecastEpochSecond(int index) {
+        return forecastEpochSeconds[index];
+    }
+
+    public double getTemperature(int index) {
+        return temperatures[index];
+    }
+
+    public double getMinTemperature(int index) {
+        return minTemperatures[index];
+    }
+
+    public double getMaxTemperature(int index) {
+        return maxTemperatures[index];
+    }
+
+    public double getFeelsLikeTemperature(int index) {
+        return feelsLikeTemperatures[index];
+    }
+
+    public double getPressure(int index) {
+        return pressures[index];
+    }
+
+    public double getSeaLevelPressure(int index) {
+        return seaLevelPressures[index];
+    }
+
+    public double getGroundLevelPressure(int index) {
+        return groundLevelPressures[index];
+    }
+
+    /**
+     * Returns humidity.
+     * @param index timestamp index
+     * @return humidity in percents or <code>-1</code> if it is absent
+     */
+    public int getHumidity(int index) {
+        return humidities[index];
+    }
+
+    public double getWindSpeed(int index) {
+        return windSpeeds[index];
+    }
+
+    public double getWindDegrees(int index) {
+        return windDegrees[index];
+    }
+
+    /**
+     * Returns cloudiness.
+     * @param index timestamp index
+     * @return cloudiness in percents or <code>-1</code> if it is absent
+     */
+    public int getClouds(int index) {
+        return clouds[index];
+    }
+
+    public double getRainLevel(int index) {
+        return rainLevels[index];
+    }
+
+    public double getSnowLevel(int index) {
+        return snowLevels[index];
+    }
+
+    /**
+     * Returns weather condition id.
+     * @param index timestamp index
+     * @return condition id or <code>-1</code> if weather state is absent
+     */
+    public int getWeatherConditionId(int index) {
+        final int stateIndex = weatherStateIndexes[index];
+        return stateIndex != ABSENT ? weatherStates[stateIndex].getId() : ABSENT;
+    }
+
+    /**
+     * Returns copy of temperature column, e.g. for vectorized processing.
+     * @return temperatures, <code>NaN</code> for absent values
+     */
+    public double[] getTemperatures() {
+        return temperatures.clone();
+    }
+
+    /**
+     * Returns copy of forecast times column.
+     * @return seconds since epoch
+     */
+    public long[] getForecastEpochSeconds() {
+        return forecastEpochSeconds.clone();
+    }
+
+    /**
+     * Creates object representation of the timestamp.
+     * @param index timestamp index
+     * @return new weather forecast object
+     */
+    public WeatherForecast getWeatherForecast(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        final WeatherForecast weatherForecast = new WeatherForecast();
+        if (epochSecondsSet) {
+            weatherForecast.setForecastEpochSecond(forecastEpochSeconds[index]);
+        }
+        if (zoneId != null) {
+            weatherForecast.setForecastTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(forecastEpochSeconds[index]), zoneId));
+        }
+        weatherForecast.setForecastTimeISO(forecastTimesISO != null ? forecastTimesISO[index] : formatISO(forecastEpochSeconds[index]));
+
+        if (weatherStateIndexes[index] != ABSENT) {
+            weatherForecast.setWeatherState(copyOf(weatherStates[weatherStateIndexes[index]]));
+        }
+        if (!Double.isNaN(temperatures[index])) {
+            final Temperature temperature = Temperature.withValue(temperatures[index], temperatureUnit);
+            temperature.setMinTemperature(toBoxed(minTemperatures[index]));
+            temperature.setMaxTemperature(toBoxed(maxTemperatures[index]));
+            temperature.setFeelsLike(toBoxed(feelsLikeTemperatures[index]));
+            weatherForecast.setTemperature(temperature);
+        }
+        if (!Double.isNaN(pressures[index])) {
+            final AtmosphericPressure pressure = AtmosphericPressure.withValue(pressures[index]);
+            if (!Double.isNaN(seaLevelPressures[index])) {
+                pressure.setSeaLevelValue(seaLevelPressures[index]);
+            }
+            if (!Double.isNaN(groundLevelPressures[index])) {
+                pressure.setGroundLevelValue(groundLevelPressures[index]);
+            }
+            weatherForecast.setAtmosphericPressure(pressure);
+        }
+        if (humidities[index] != ABSENT) {
+            weatherForecast.setHumidity(Humidity.withValue(humidities[index]));
+        }
+        if (!Double.isNaN(windSpeeds[index])) {
+            final Wind wind = Wind.withValue(windSpeeds[index], windUnit);
+            if (!Double.isNaN(windDegrees[index])) {
+                wind.setDegrees(windDegrees[index]);
+            }
+            weatherForecast.setWind(wind);
+        }
+        if (clouds[index] != ABSENT) {
+            weatherForecast.setClouds(Clouds.withValue(clouds[index]));
+        }
+        if (!Double.isNaN(rainLevels[index])) {
+            weatherForecast.setRain(Rain.withThreeHourLevelValue(rainLevels[index]));
+        }
+        if (!Double.isNaN(snowLevels[index])) {
+            weatherForecast.setSnow(Snow.withThreeHourLevelValue(snowLevels[index]));
+        }
+        if (dayTimes[index] != ABSENT) {
+            weatherForecast.setDayTime(DAY_TIMES[dayTimes[index]]);
+        }
+        return weatherForecast;
+    }
+
+    /**
+     * Returns read-only list view which creates weather forecast objects on access, they aren't retained by the view.
+     * @return list view of weather forecasts
+     */
+    public List<WeatherForecast> asWeatherForecasts() {
+        return new WeatherForecastListView();
+    }
+
+    /**
+     * Creates complete object representation.
+     * @return new forecast object
+     */
+    public Forecast toForecast() {
+        final Forecast forecast = new Forecast();
+        forecast.setLocation(location);
+        forecast.setWeatherForecasts(new ArrayList<>(asWeatherForecasts()));
+        return forecast;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ForecastSeries)) return false;
+        ForecastSeries that = (ForecastSeries) o;
+        return Objects.equals(location, that.location) && asWeatherForecasts().equals(that.asWeatherForecasts());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(location, size, Arrays.hashCode(forecastEpochSeconds), Arrays.hashCode(temperatures));
+    }
+
+    @Override
+    public String toString() {
+        return "A forecast series for " + (location != null ? location.getName() : null) + " with " + size + " timestamps.";
+    }
+
+    private static long toEpochSecond(WeatherForecast weatherForecast, ZoneId zoneId) {
+        if (weatherForecast.getForecastEpochSecond() != 0) {
+            return weatherForecast.getForecastEpochSecond();
+        }
+        if (weatherForecast.getForecastTime() != null) {
+            return weatherForecast.getForecastTime().atZone(zoneId != null ? zoneId : ZoneId.systemDefault()).toEpochSecond();
+        }
+        if (weatherForecast.getForecastTimeISO() == null) {
+            throw new IllegalArgumentException("Forecast time must be set.");
+        }
+        try {
+            return LocalDateTime.parse(weatherForecast.getForecastTimeISO(), ISO_TIME_FORMATTER).toEpochSecond(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Forecast time must be set.", e);
+        }
+    }
+
+    private static String formatISO(long epochSecond) {
+        return ISO_TIME_FORMATTER.format(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+    }
+
+    private static String requireSameUnit(String currentUnit, String unit) {
+        if (currentUnit != null && !currentUnit.equals(unit)) {
+            throw new IllegalArgumentException("All timestamps must have the same units.");
+        }
+        return unit;
+    }
+
+    private static short indexOf(List<WeatherState> distinctStates, WeatherState weatherState) {
+        if (weatherState == null) {
+            return ABSENT;
+        }
+        int index = distinctStates.indexOf(weatherState);
+        if (index < 0) {
+            index = distinctStates.size();
+            distinctStates.add(weatherState);
+        }
+        return (short) index;
+    }
+
+    private static WeatherState copyOf(WeatherState weatherState) {
+        final WeatherState copy = new WeatherState(weatherState.getId(), weatherState.getName(), weatherState.getDescription());
+        copy.setIconId(weatherState.getIconId());
+        return copy;
+    }
+
+    private static double[] newAbsentArray(int size) {
+        final double[] array = new double[size];
+        Arrays.fill(array, Double.NaN);
+        return array;
+    }
+
+    private static byte[] newAbsentByteArray(int size) {
+        final byte[] array = new byte[size];
+        Arrays.fill(array, ABSENT);
+        return array;
+    }
+
+    private static double toPrimitive(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static Double toBoxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private final class WeatherForecastListView extends AbstractList<WeatherForecast> implements RandomAccess {
+        @Override
+        public WeatherForecast get(int index) {
+            return getWeatherForecast(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
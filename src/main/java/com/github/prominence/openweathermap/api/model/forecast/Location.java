@@ -32,6 +32,8 @@ import java.util.Objects;
  * Represents location information.
  */
 public class Location {
+    private static final byte POPULATION = 1;
+
     private int id;
     private String name;
     private String countryCode;
@@ -42,7 +44,9 @@ public class Location {
 
     private Coordinate coordinate;
 
-    private Long population;
+    private long population;
+    // bits of optional values which are set
+    private byte presentValues;
 
     private Location(int id, String name) {
         this.id = id;
@@ -179,7 +183,7 @@ public class Location {
      * @return location population
      */
     public Long getPopulation() {
-        return population;
+        return (presentValues & POPULATION) != 0 ? population : null;
     }
 
     /**
@@ -187,7 +191,21 @@ public class Location {
      * @param population location population
      */
     public void setPopulation(Long population) {
+        if (population != null) {
+            setPopulation(population.longValue());
+        } else {
+            this.population = 0;
+            presentValues &= ~POPULATION;
+        }
+    }
+
+    /**
+     * Sets location population.
+     * @param population location population
+     */
+    public void setPopulation(long population) {
         this.population = population;
+        presentValues |= POPULATION;
     }
 
     @Override
@@ -202,12 +220,13 @@ public class Location {
                 Objects.equals(sunsetTime, location.sunsetTime) &&
                 Objects.equals(zoneOffset, location.zoneOffset) &&
                 Objects.equals(coordinate, location.coordinate) &&
-                Objects.equals(population, location.population);
+                presentValues == location.presentValues &&
+                population == location.population;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, countryCode, sunriseTime, sunsetTime, zoneOffset, coordinate, population);
+        return Objects.hash(id, name, countryCode, sunriseTime, sunsetTime, zoneOffset, coordinate, getPopulation());
     }
 
     @Override
@@ -226,7 +245,7 @@ public class Location {
             stringBuilder.append(countryCode);
             stringBuilder.append(')');
         }
-        if (population != null) {
+        if ((presentValues & POPULATION) != 0) {
             stringBuilder.append(", Population: ");
             stringBuilder.append(population);
         }
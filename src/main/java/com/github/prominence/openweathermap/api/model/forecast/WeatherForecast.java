@@ -32,6 +32,7 @@ import java.util.Objects;
  */
 public class WeatherForecast {
     private LocalDateTime forecastTime;
+    private long forecastEpochSecond;
 
     private WeatherState weatherState;
     private Temperature temperature;
@@ -64,6 +65,24 @@ public class WeatherForecast {
         this.forecastTime = forecastTime;
     }
 
+    /**
+     * Gets forecast time in seconds since epoch, as it was received from the API.
+     *
+     * @return the forecast time in seconds since epoch
+     */
+    public long getForecastEpochSecond() {
+        return forecastEpochSecond;
+    }
+
+    /**
+     * Sets forecast time in seconds since epoch.
+     *
+     * @param forecastEpochSecond the forecast time in seconds since epoch
+     */
+    public void setForecastEpochSecond(long forecastEpochSecond) {
+        this.forecastEpochSecond = forecastEpochSecond;
+    }
+
     /**
      * Gets weather state.
      *
@@ -249,7 +268,8 @@ public class WeatherForecast {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         WeatherForecast that = (WeatherForecast) o;
-        return Objects.equals(forecastTime, that.forecastTime) &&
+        return forecastEpochSecond == that.forecastEpochSecond &&
+                Objects.equals(forecastTime, that.forecastTime) &&
                 Objects.equals(weatherState, that.weatherState) &&
                 Objects.equals(temperature, that.temperature) &&
                 Objects.equals(atmosphericPressure, that.atmosphericPressure) &&
@@ -264,7 +284,7 @@ public class WeatherForecast {
 
     @Override
     public int hashCode() {
-        return Objects.hash(forecastTime, weatherState, temperature, atmosphericPressure, humidity, wind, rain, snow, clouds, forecastTimeISO, dayTime);
+        return Objects.hash(forecastTime, forecastEpochSecond, weatherState, temperature, atmosphericPressure, humidity, wind, rain, snow, clouds, forecastTimeISO, dayTime);
     }
 
     @Override
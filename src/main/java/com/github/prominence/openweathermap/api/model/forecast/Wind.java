@@ -28,8 +28,12 @@ import java.util.Objects;
  * Represents wind information.
  */
 public class Wind {
+    private static final byte DEGREES = 1;
+
     private double speed;
-    private Double degrees;
+    private double degrees;
+    // bits of optional values which are set
+    private byte presentValues;
     private String unit;
 
     /**
@@ -86,7 +90,7 @@ public class Wind {
      * @return the degrees
      */
     public Double getDegrees() {
-        return degrees;
+        return (presentValues & DEGREES) != 0 ? degrees : null;
     }
 
     /**
@@ -99,6 +103,7 @@ public class Wind {
             throw new IllegalArgumentException("Wind direction value must be in [0, 360] range.");
         }
         this.degrees = degrees;
+        presentValues |= DEGREES;
     }
 
     /**
@@ -127,14 +132,15 @@ public class Wind {
         if (this == o) return true;
         if (!(o instanceof Wind)) return false;
         Wind wind = (Wind) o;
-        return Double.compare(wind.speed, speed) == 0 &&
-                Objects.equals(degrees, wind.degrees) &&
+        return presentValues == wind.presentValues &&
+                Double.compare(wind.speed, speed) == 0 &&
+                Double.compare(wind.degrees, degrees) == 0 &&
                 Objects.equals(unit, wind.unit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(speed, degrees, unit);
+        return Objects.hash(speed, getDegrees(), unit);
     }
 
     @Override
@@ -34,6 +34,7 @@ import java.util.Objects;
  */
 public class Current {
     protected LocalDateTime forecastTime;
+    protected long forecastEpochSecond;
     protected LocalDateTime sunriseTime;
     protected LocalDateTime sunsetTime;
 
@@ -66,6 +67,24 @@ public class Current {
         this.forecastTime = forecastTime;
     }
 
+    /**
+     * Gets forecast time in seconds since epoch, as it was received from the API.
+     *
+     * @return the forecast time in seconds since epoch
+     */
+    public long getForecastEpochSecond() {
+        return forecastEpochSecond;
+    }
+
+    /**
+     * Sets forecast time in seconds since epoch.
+     *
+     * @param forecastEpochSecond the forecast time in seconds since epoch
+     */
+    public void setForecastEpochSecond(long forecastEpochSecond) {
+        this.forecastEpochSecond = forecastEpochSecond;
+    }
+
     /**
      * Gets sunrise time.
      *
@@ -293,7 +312,8 @@ public class Current {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Current current = (Current) o;
-        return Objects.equals(forecastTime, current.forecastTime) &&
+        return forecastEpochSecond == current.forecastEpochSecond &&
+                Objects.equals(forecastTime, current.forecastTime) &&
                 Objects.equals(sunriseTime, current.sunriseTime) &&
                 Objects.equals(sunsetTime, current.sunsetTime) &&
                 Objects.equals(weatherState, current.weatherState) &&
@@ -310,7 +330,7 @@ public class Current {
 
     @Override
     public int hashCode() {
-        return Objects.hash(forecastTime, sunriseTime, sunsetTime, weatherState, temperature, atmosphericPressure, humidity, clouds, uvIndex, visibilityInMetres, wind, rain, snow);
+        return Objects.hash(forecastTime, forecastEpochSecond, sunriseTime, sunsetTime, weatherState, temperature, atmosphericPressure, humidity, clouds, uvIndex, visibilityInMetres, wind, rain, snow);
     }
 
     @Override
@@ -28,9 +28,14 @@ import java.util.Objects;
  * Represents temperature values and unit.
  */
 public class Temperature {
+    private static final byte FEELS_LIKE = 1;
+    private static final byte DEW_POINT = 1 << 1;
+
     private double value;
-    private Double feelsLike;
-    private Double dewPoint;
+    private double feelsLike;
+    private double dewPoint;
+    // bits of optional values which are set
+    private byte presentValues;
     private String unit;
 
     private Temperature() {
@@ -70,7 +75,7 @@ public class Temperature {
      * @return 'feels like' temperature value
      */
     public Double getFeelsLike() {
-        return feelsLike;
+        return (presentValues & FEELS_LIKE) != 0 ? feelsLike : null;
     }
 
     /**
@@ -78,15 +83,39 @@ public class Temperature {
      * @param feelsLike 'feels like' temperature
      */
     public void setFeelsLike(Double feelsLike) {
+        if (feelsLike != null) {
+            setFeelsLike(feelsLike.doubleValue());
+        } else {
+            this.feelsLike = 0;
+            presentValues &= ~FEELS_LIKE;
+        }
+    }
+
+    /**
+     * Sets 'feels like' temperature value.
+     * @param feelsLike 'feels like' temperature
+     */
+    public void setFeelsLike(double feelsLike) {
         this.feelsLike = feelsLike;
+        presentValues |= FEELS_LIKE;
     }
 
     public Double getDewPoint() {
-        return dewPoint;
+        return (presentValues & DEW_POINT) != 0 ? dewPoint : null;
     }
 
     public void setDewPoint(Double dewPoint) {
+        if (dewPoint != null) {
+            setDewPoint(dewPoint.doubleValue());
+        } else {
+            this.dewPoint = 0;
+            presentValues &= ~DEW_POINT;
+        }
+    }
+
+    public void setDewPoint(double dewPoint) {
         this.dewPoint = dewPoint;
+        presentValues |= DEW_POINT;
     }
 
     /**
@@ -113,15 +142,16 @@ public class Temperature {
         if (this == o) return true;
         if (!(o instanceof Temperature)) return false;
         Temperature that = (Temperature) o;
-        return Double.compare(that.value, value) == 0 &&
-                Objects.equals(feelsLike, that.feelsLike) &&
-                Objects.equals(dewPoint, that.dewPoint) &&
+        return presentValues == that.presentValues &&
+                Double.compare(that.value, value) == 0 &&
+                Double.compare(that.feelsLike, feelsLike) == 0 &&
+                Double.compare(that.dewPoint, dewPoint) == 0 &&
                 Objects.equals(unit, that.unit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value, feelsLike, dewPoint, unit);
+        return Objects.hash(value, getFeelsLike(), getDewPoint(), unit);
     }
 
     @Override
@@ -131,7 +161,7 @@ public class Temperature {
         stringBuilder.append(value);
         stringBuilder.append(' ');
         stringBuilder.append(unit);
-        if (feelsLike != null) {
+        if ((presentValues & FEELS_LIKE) != 0) {
             stringBuilder.append(", Feels like: ");
             stringBuilder.append(feelsLike);
             stringBuilder.append(' ');
@@ -29,9 +29,11 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * The type Current weather data.
+ * Sections could be set with suppliers, e.g. by lazy mapping, in that case they are created once, on first access.
  */
 public class CurrentWeatherData {
     private Coordinate coordinate;
@@ -44,6 +46,11 @@ public class CurrentWeatherData {
     private List<Daily> dailyList;
     private List<Alert> alerts;
 
+    private LazySection<List<Minutely>> lazyMinutelyList;
+    private LazySection<List<Hourly>> lazyHourlyList;
+    private LazySection<List<Daily>> lazyDailyList;
+    private LazySection<List<Alert>> lazyAlerts;
+
     /**
      * Gets coordinate.
      *
@@ -122,7 +129,8 @@ public class CurrentWeatherData {
      * @return the minutely list
      */
     public List<Minutely> getMinutelyList() {
-        return minutelyList;
+        final LazySection<List<Minutely>> lazySection = lazyMinutelyList;
+        return lazySection != null ? lazySection.get() : minutelyList;
     }
 
     /**
@@ -132,6 +140,17 @@ public class CurrentWeatherData {
      */
     public void setMinutelyList(List<Minutely> minutelyList) {
         this.minutelyList = minutelyList;
+        this.lazyMinutelyList = null;
+    }
+
+    /**
+     * Sets supplier of minutely list, it is called at most once, on first access.
+     *
+     * @param minutelyListSupplier the minutely list supplier
+     */
+    public void setMinutelyListSupplier(Supplier<List<Minutely>> minutelyListSupplier) {
+        this.minutelyList = null;
+        this.lazyMinutelyList = new LazySection<>(minutelyListSupplier);
     }
 
     /**
@@ -140,7 +159,8 @@ public class CurrentWeatherData {
      * @return the hourly list
      */
     public List<Hourly> getHourlyList() {
-        return hourlyList;
+        final LazySection<List<Hourly>> lazySection = lazyHourlyList;
+        return lazySection != null ? lazySection.get() : hourlyList;
     }
 
     /**
@@ -150,6 +170,17 @@ public class CurrentWeatherData {
      */
     public void setHourlyList(List<Hourly> hourlyList) {
         this.hourlyList = hourlyList;
+        this.lazyHourlyList = null;
+    }
+
+    /**
+     * Sets supplier of hourly list, it is called at most once, on first access.
+     *
+     * @param hourlyListSupplier the hourly list supplier
+     */
+    public void setHourlyListSupplier(Supplier<List<Hourly>> hourlyListSupplier) {
+        this.hourlyList = null;
+        this.lazyHourlyList = new LazySection<>(hourlyListSupplier);
     }
 
     /**
@@ -158,7 +189,8 @@ public class CurrentWeatherData {
      * @return the daily list
      */
     public List<Daily> getDailyList() {
-        return dailyList;
+        final LazySection<List<Daily>> lazySection = lazyDailyList;
+        return lazySection != null ? lazySection.get() : dailyList;
     }
 
     /**
@@ -168,6 +200,17 @@ public class CurrentWeatherData {
      */
     public void setDailyList(List<Daily> dailyList) {
         this.dailyList = dailyList;
+        this.lazyDailyList = null;
+    }
+
+    /**
+     * Sets supplier of daily list, it is called at most once, on first access.
+     *
+     * @param dailyListSupplier the daily list supplier
+     */
+    public void setDailyListSupplier(Supplier<List<Daily>> dailyListSupplier) {
+        this.dailyList = null;
+        this.lazyDailyList = new LazySection<>(dailyListSupplier);
     }
 
     /**
@@ -176,7 +219,8 @@ public class CurrentWeatherData {
      * @return the alerts
      */
     public List<Alert> getAlerts() {
-        return alerts;
+        final LazySection<List<Alert>> lazySection = lazyAlerts;
+        return lazySection != null ? lazySection.get() : alerts;
     }
 
     /**
@@ -186,6 +230,17 @@ public class CurrentWeatherData {
      */
     public void setAlerts(List<Alert> alerts) {
         this.alerts = alerts;
+        this.lazyAlerts = null;
+    }
+
+    /**
+     * Sets supplier of alerts, it is called at most once, on first access.
+     *
+     * @param alertsSupplier the alerts supplier
+     */
+    public void setAlertsSupplier(Supplier<List<Alert>> alertsSupplier) {
+        this.alerts = null;
+        this.lazyAlerts = new LazySection<>(alertsSupplier);
     }
 
     @Override
@@ -197,19 +252,46 @@ public class CurrentWeatherData {
                 Objects.equals(timezone, that.timezone) &&
                 Objects.equals(timezoneOffset, that.timezoneOffset) &&
                 Objects.equals(current, that.current) &&
-                Objects.equals(minutelyList, that.minutelyList) &&
-                Objects.equals(hourlyList, that.hourlyList) &&
-                Objects.equals(dailyList, that.dailyList) &&
-                Objects.equals(alerts, that.alerts);
+                Objects.equals(getMinutelyList(), that.getMinutelyList()) &&
+                Objects.equals(getHourlyList(), that.getHourlyList()) &&
+                Objects.equals(getDailyList(), that.getDailyList()) &&
+                Objects.equals(getAlerts(), that.getAlerts());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(coordinate, timezone, timezoneOffset, current, minutelyList, hourlyList, dailyList, alerts);
+        return Objects.hash(coordinate, timezone, timezoneOffset, current, getMinutelyList(), getHourlyList(), getDailyList(), getAlerts());
     }
 
     @Override
     public String toString() {
         return "Current weather data for " + coordinate + ".";
     }
+
+    /**
+     * Section created by supplier on first access. Concurrent readers wait for the first one, so the supplier is called once.
+     */
+    private static final class LazySection<T> {
+        private Supplier<T> supplier;
+        private T value;
+        private volatile boolean created;
+
+        private LazySection(Supplier<T> supplier) {
+            this.supplier = Objects.requireNonNull(supplier, "Supplier must be set.");
+        }
+
+        private T get() {
+            if (!created) {
+                synchronized (this) {
+                    if (!created) {
+                        value = supplier.get();
+                        // payload referenced by supplier isn't needed anymore
+                        supplier = null;
+                        created = true;
+                    }
+                }
+            }
+            return value;
+        }
+    }
 }
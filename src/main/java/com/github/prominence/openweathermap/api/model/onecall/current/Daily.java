@@ -36,6 +36,7 @@ import java.util.Objects;
  */
 public class Daily {
     private LocalDateTime forecastTime;
+    private long forecastEpochSecond;
     private LocalDateTime sunriseTime;
     private LocalDateTime sunsetTime;
 
@@ -49,8 +50,13 @@ public class Daily {
     private Humidity humidity;
     private Wind wind;
     private Clouds clouds;
-    private Double uvIndex;
-    private Double probabilityOfPrecipitation;
+    private static final byte UV_INDEX = 1;
+    private static final byte PROBABILITY_OF_PRECIPITATION = 1 << 1;
+
+    private double uvIndex;
+    private double probabilityOfPrecipitation;
+    // bits of optional values which are set
+    private byte presentValues;
     private DailyRain rain;
     private DailySnow snow;
 
@@ -72,6 +78,24 @@ public class Daily {
         this.forecastTime = forecastTime;
     }
 
+    /**
+     * Gets forecast time in seconds since epoch, as it was received from the API.
+     *
+     * @return the forecast time in seconds since epoch
+     */
+    public long getForecastEpochSecond() {
+        return forecastEpochSecond;
+    }
+
+    /**
+     * Sets forecast time in seconds since epoch.
+     *
+     * @param forecastEpochSecond the forecast time in seconds since epoch
+     */
+    public void setForecastEpochSecond(long forecastEpochSecond) {
+        this.forecastEpochSecond = forecastEpochSecond;
+    }
+
     /**
      * Gets sunrise time.
      *
@@ -276,7 +300,7 @@ public class Daily {
      * @return the uv index
      */
     public Double getUvIndex() {
-        return uvIndex;
+        return (presentValues & UV_INDEX) != 0 ? uvIndex : null;
     }
 
     /**
@@ -285,10 +309,25 @@ public class Daily {
      * @param uvIndex the uv index
      */
     public void setUvIndex(Double uvIndex) {
-        if (uvIndex != null && uvIndex < 0) {
+        if (uvIndex != null) {
+            setUvIndex(uvIndex.doubleValue());
+        } else {
+            this.uvIndex = 0;
+            presentValues &= ~UV_INDEX;
+        }
+    }
+
+    /**
+     * Sets uv index.
+     *
+     * @param uvIndex the uv index
+     */
+    public void setUvIndex(double uvIndex) {
+        if (uvIndex < 0) {
             throw new IllegalArgumentException("UV index must not be negative.");
         }
         this.uvIndex = uvIndex;
+        presentValues |= UV_INDEX;
     }
 
     /**
@@ -297,7 +336,7 @@ public class Daily {
      * @return the probability of precipitation
      */
     public Double getProbabilityOfPrecipitation() {
-        return probabilityOfPrecipitation;
+        return (presentValues & PROBABILITY_OF_PRECIPITATION) != 0 ? probabilityOfPrecipitation : null;
     }
 
     /**
@@ -306,10 +345,25 @@ public class Daily {
      * @param probabilityOfPrecipitation the probability of precipitation
      */
     public void setProbabilityOfPrecipitation(Double probabilityOfPrecipitation) {
-        if (probabilityOfPrecipitation != null && (probabilityOfPrecipitation < 0 || probabilityOfPrecipitation > 100))  {
+        if (probabilityOfPrecipitation != null) {
+            setProbabilityOfPrecipitation(probabilityOfPrecipitation.doubleValue());
+        } else {
+            this.probabilityOfPrecipitation = 0;
+            presentValues &= ~PROBABILITY_OF_PRECIPITATION;
+        }
+    }
+
+    /**
+     * Sets probability of precipitation.
+     *
+     * @param probabilityOfPrecipitation the probability of precipitation
+     */
+    public void setProbabilityOfPrecipitation(double probabilityOfPrecipitation) {
+        if (probabilityOfPrecipitation < 0 || probabilityOfPrecipitation > 100)  {
             throw new IllegalArgumentException("Probability of precipitation value must be in [0, 100] range.");
         }
         this.probabilityOfPrecipitation = probabilityOfPrecipitation;
+        presentValues |= PROBABILITY_OF_PRECIPITATION;
     }
 
     /**
@@ -318,7 +372,7 @@ public class Daily {
      * @return the probability of precipitation percentage
      */
     public Byte getProbabilityOfPrecipitationPercentage() {
-        if (probabilityOfPrecipitation != null) {
+        if ((presentValues & PROBABILITY_OF_PRECIPITATION) != 0) {
             return (byte)(probabilityOfPrecipitation * 100);
         }
 
@@ -366,7 +420,8 @@ public class Daily {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Daily daily = (Daily) o;
-        return Objects.equals(forecastTime, daily.forecastTime) &&
+        return forecastEpochSecond == daily.forecastEpochSecond &&
+                Objects.equals(forecastTime, daily.forecastTime) &&
                 Objects.equals(sunriseTime, daily.sunriseTime) &&
                 Objects.equals(sunsetTime, daily.sunsetTime) &&
                 Objects.equals(moonriseTime, daily.moonriseTime) &&
@@ -376,17 +431,18 @@ public class Daily {
                 Objects.equals(temperature, daily.temperature) &&
                 Objects.equals(atmosphericPressure, daily.atmosphericPressure) &&
                 Objects.equals(humidity, daily.humidity) &&
+                presentValues == daily.presentValues &&
                 Objects.equals(wind, daily.wind) &&
                 Objects.equals(clouds, daily.clouds) &&
-                Objects.equals(uvIndex, daily.uvIndex) &&
-                Objects.equals(probabilityOfPrecipitation, daily.probabilityOfPrecipitation) &&
+                Double.compare(daily.uvIndex, uvIndex) == 0 &&
+                Double.compare(daily.probabilityOfPrecipitation, probabilityOfPrecipitation) == 0 &&
                 Objects.equals(rain, daily.rain) &&
                 Objects.equals(snow, daily.snow);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(forecastTime, sunriseTime, sunsetTime, moonriseTime, moonsetTime, moonPhase, weatherState, temperature, atmosphericPressure, humidity, wind, clouds, uvIndex, probabilityOfPrecipitation, rain, snow);
+        return Objects.hash(forecastTime, forecastEpochSecond, sunriseTime, sunsetTime, moonriseTime, moonsetTime, moonPhase, weatherState, temperature, atmosphericPressure, humidity, wind, clouds, getUvIndex(), getProbabilityOfPrecipitation(), rain, snow);
     }
 
     @Override
@@ -28,17 +28,31 @@ import java.util.Objects;
  * The type Daily temperature.
  */
 public class DailyTemperature {
-    private Double morning;
-    private Double morningFeelsLike;
-    private Double day;
-    private Double dayFeelsLike;
-    private Double eve;
-    private Double eveFeelsLike;
-    private Double night;
-    private Double nightFeelsLike;
-    private Double min;
-    private Double max;
-    private Double dewPoint;
+    private static final short MORNING = 1;
+    private static final short MORNING_FEELS_LIKE = 1 << 1;
+    private static final short DAY = 1 << 2;
+    private static final short DAY_FEELS_LIKE = 1 << 3;
+    private static final short EVE = 1 << 4;
+    private static final short EVE_FEELS_LIKE = 1 << 5;
+    private static final short NIGHT = 1 << 6;
+    private static final short NIGHT_FEELS_LIKE = 1 << 7;
+    private static final short MIN = 1 << 8;
+    private static final short MAX = 1 << 9;
+    private static final short DEW_POINT = 1 << 10;
+
+    private double morning;
+    private double morningFeelsLike;
+    private double day;
+    private double dayFeelsLike;
+    private double eve;
+    private double eveFeelsLike;
+    private double night;
+    private double nightFeelsLike;
+    private double min;
+    private double max;
+    private double dewPoint;
+    // bits of optional values which are set
+    private short presentValues;
     private String unit;
 
     /**
@@ -47,7 +61,7 @@ public class DailyTemperature {
      * @return the morning
      */
     public Double getMorning() {
-        return morning;
+        return (presentValues & MORNING) != 0 ? morning : null;
     }
 
     /**
@@ -56,7 +70,22 @@ public class DailyTemperature {
      * @param morning the morning
      */
     public void setMorning(Double morning) {
+        if (morning != null) {
+            setMorning(morning.doubleValue());
+        } else {
+            this.morning = 0;
+            presentValues &= ~MORNING;
+        }
+    }
+
+    /**
+     * Sets morning temperature.
+     *
+     * @param morning the morning
+     */
+    public void setMorning(double morning) {
         this.morning = morning;
+        presentValues |= MORNING;
     }
 
     /**
@@ -65,7 +94,7 @@ public class DailyTemperature {
      * @return the morning feels like temperature
      */
     public Double getMorningFeelsLike() {
-        return morningFeelsLike;
+        return (presentValues & MORNING_FEELS_LIKE) != 0 ? morningFeelsLike : null;
     }
 
     /**
@@ -74,7 +103,22 @@ public class DailyTemperature {
      * @param morningFeelsLike the morning feels like temperature
      */
     public void setMorningFeelsLike(Double morningFeelsLike) {
+        if (morningFeelsLike != null) {
+            setMorningFeelsLike(morningFeelsLike.doubleValue());
+        } else {
+            this.morningFeelsLike = 0;
+            presentValues &= ~MORNING_FEELS_LIKE;
+        }
+    }
+
+    /**
+     * Sets morning feels like temperature.
+     *
+     * @param morningFeelsLike the morning feels like temperature
+     */
+    public void setMorningFeelsLike(double morningFeelsLike) {
         this.morningFeelsLike = morningFeelsLike;
+        presentValues |= MORNING_FEELS_LIKE;
     }
 
     /**
@@ -83,7 +127,7 @@ public class DailyTemperature {
      * @return the day temperature
      */
     public Double getDay() {
-        return day;
+        return (presentValues & DAY) != 0 ? day : null;
     }
 
     /**
@@ -92,7 +136,22 @@ public class DailyTemperature {
      * @param day the day temperature
      */
     public void setDay(Double day) {
+        if (day != null) {
+            setDay(day.doubleValue());
+        } else {
+            this.day = 0;
+            presentValues &= ~DAY;
+        }
+    }
+
+    /**
+     * Sets day temperature.
+     *
+     * @param day the day temperature
+     */
+    public void setDay(double day) {
         this.day = day;
+        presentValues |= DAY;
     }
 
     /**
@@ -101,7 +160,7 @@ public class DailyTemperature {
      * @return the day feels like temperature
      */
     public Double getDayFeelsLike() {
-        return dayFeelsLike;
+        return (presentValues & DAY_FEELS_LIKE) != 0 ? dayFeelsLike : null;
     }
 
     /**
@@ -110,7 +169,22 @@ public class DailyTemperature {
      * @param dayFeelsLike the day feels like temperature
      */
     public void setDayFeelsLike(Double dayFeelsLike) {
+        if (dayFeelsLike != null) {
+            setDayFeelsLike(dayFeelsLike.doubleValue());
+        } else {
+            this.dayFeelsLike = 0;
+            presentValues &= ~DAY_FEELS_LIKE;
+        }
+    }
+
+    /**
+     * Sets day feels like temperature.
+     *
+     * @param dayFeelsLike the day feels like temperature
+     */
+    public void setDayFeelsLike(double dayFeelsLike) {
         this.dayFeelsLike = dayFeelsLike;
+        presentValues |= DAY_FEELS_LIKE;
     }
 
     /**
@@ -119,7 +193,7 @@ public class DailyTemperature {
      * @return the eve temperature
      */
     public Double getEve() {
-        return eve;
+        return (presentValues & EVE) != 0 ? eve : null;
     }
 
     /**
@@ -128,7 +202,22 @@ public class DailyTemperature {
      * @param eve the eve temperature
      */
     public void setEve(Double eve) {
+        if (eve != null) {
+            setEve(eve.doubleValue());
+        } else {
+            this.eve = 0;
+            presentValues &= ~EVE;
+        }
+    }
+
+    /**
+     * Sets eve temperature.
+     *
+     * @param eve the eve temperature
+     */
+    public void setEve(double eve) {
         this.eve = eve;
+        presentValues |= EVE;
     }
 
     /**
@@ -137,7 +226,7 @@ public class DailyTemperature {
      * @return the eve feels like temperature
      */
     public Double getEveFeelsLike() {
-        return eveFeelsLike;
+        return (presentValues & EVE_FEELS_LIKE) != 0 ? eveFeelsLike : null;
     }
 
     /**
@@ -146,7 +235,22 @@ public class DailyTemperature {
      * @param eveFeelsLike the eve feels like temperature
      */
     public void setEveFeelsLike(Double eveFeelsLike) {
+        if (eveFeelsLike != null) {
+            setEveFeelsLike(eveFeelsLike.doubleValue());
+        } else {
+            this.eveFeelsLike = 0;
+            presentValues &= ~EVE_FEELS_LIKE;
+        }
+    }
+
+    /**
+     * Sets eve feels like temperature.
+     *
+     * @param eveFeelsLike the eve feels like temperature
+     */
+    public void setEveFeelsLike(double eveFeelsLike) {
         this.eveFeelsLike = eveFeelsLike;
+        presentValues |= EVE_FEELS_LIKE;
     }
 
     /**
@@ -155,7 +259,7 @@ public class DailyTemperature {
      * @return the night temperature
      */
     public Double getNight() {
-        return night;
+        return (presentValues & NIGHT) != 0 ? night : null;
     }
 
     /**
@@ -164,7 +268,22 @@ public class DailyTemperature {
      * @param night the night temperature
      */
     public void setNight(Double night) {
+        if (night != null) {
+            setNight(night.doubleValue());
+        } else {
+            this.night = 0;
+            presentValues &= ~NIGHT;
+        }
+    }
+
+    /**
+     * Sets night temperature.
+     *
+     * @param night the night temperature
+     */
+    public void setNight(double night) {
         this.night = night;
+        presentValues |= NIGHT;
     }
 
     /**
@@ -173,7 +292,7 @@ public class DailyTemperature {
      * @return the night feels like temperature
      */
     public Double getNightFeelsLike() {
-        return nightFeelsLike;
+        return (presentValues & NIGHT_FEELS_LIKE) != 0 ? nightFeelsLike : null;
     }
 
     /**
@@ -182,7 +301,22 @@ public class DailyTemperature {
      * @param nightFeelsLike the night feels like temperature
      */
     public void setNightFeelsLike(Double nightFeelsLike) {
+        if (nightFeelsLike != null) {
+            setNightFeelsLike(nightFeelsLike.doubleValue());
+        } else {
+            this.nightFeelsLike = 0;
+            presentValues &= ~NIGHT_FEELS_LIKE;
+        }
+    }
+
+    /**
+     * Sets night feels like temperature.
+     *
+     * @param nightFeelsLike the night feels like temperature
+     */
+    public void setNightFeelsLike(double nightFeelsLike) {
         this.nightFeelsLike = nightFeelsLike;
+        presentValues |= NIGHT_FEELS_LIKE;
     }
 
     /**
@@ -191,7 +325,7 @@ public class DailyTemperature {
      * @return the min temperature
      */
     public Double getMin() {
-        return min;
+        return (presentValues & MIN) != 0 ? min : null;
     }
 
     /**
@@ -200,7 +334,22 @@ public class DailyTemperature {
      * @param min the min temperature
      */
     public void setMin(Double min) {
+        if (min != null) {
+            setMin(min.doubleValue());
+        } else {
+            this.min = 0;
+            presentValues &= ~MIN;
+        }
+    }
+
+    /**
+     * Sets min temperature.
+     *
+     * @param min the min temperature
+     */
+    public void setMin(double min) {
         this.min = min;
+        presentValues |= MIN;
     }
 
     /**
@@ -209,7 +358,7 @@ public class DailyTemperature {
      * @return the max temperature
      */
     public Double getMax() {
-        return max;
+        return (presentValues & MAX) != 0 ? max : null;
     }
 
     /**
@@ -218,7 +367,22 @@ public class DailyTemperature {
      * @param max the max temperature
      */
     public void setMax(Double max) {
+        if (max != null) {
+            setMax(max.doubleValue());
+        } else {
+            this.max = 0;
+            presentValues &= ~MAX;
+        }
+    }
+
+    /**
+     * Sets max temperature.
+     *
+     * @param max the max temperature
+     */
+    public void setMax(double max) {
         this.max = max;
+        presentValues |= MAX;
     }
 
     /**
@@ -227,7 +391,7 @@ public class DailyTemperature {
      * @return the dew point temperature
      */
     public Double getDewPoint() {
-        return dewPoint;
+        return (presentValues & DEW_POINT) != 0 ? dewPoint : null;
     }
 
     /**
@@ -236,7 +400,22 @@ public class DailyTemperature {
      * @param dewPoint the dew point temperature
      */
     public void setDewPoint(Double dewPoint) {
+        if (dewPoint != null) {
+            setDewPoint(dewPoint.doubleValue());
+        } else {
+            this.dewPoint = 0;
+            presentValues &= ~DEW_POINT;
+        }
+    }
+
+    /**
+     * Sets dew point temperature.
+     *
+     * @param dewPoint the dew point temperature
+     */
+    public void setDewPoint(double dewPoint) {
         this.dewPoint = dewPoint;
+        presentValues |= DEW_POINT;
     }
 
     /**
@@ -262,22 +441,23 @@ public class DailyTemperature {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DailyTemperature that = (DailyTemperature) o;
-        return Objects.equals(that.dewPoint, dewPoint) &&
-                Objects.equals(morning, that.morning) &&
-                Objects.equals(morningFeelsLike, that.morningFeelsLike) &&
-                Objects.equals(day, that.day) &&
-                Objects.equals(dayFeelsLike, that.dayFeelsLike) &&
-                Objects.equals(eve, that.eve) &&
-                Objects.equals(eveFeelsLike, that.eveFeelsLike) &&
-                Objects.equals(night, that.night) &&
-                Objects.equals(nightFeelsLike, that.nightFeelsLike) &&
-                Objects.equals(min, that.min) &&
-                Objects.equals(max, that.max) &&
+        return presentValues == that.presentValues &&
+                Double.compare(that.dewPoint, dewPoint) == 0 &&
+                Double.compare(that.morning, morning) == 0 &&
+                Double.compare(that.morningFeelsLike, morningFeelsLike) == 0 &&
+                Double.compare(that.day, day) == 0 &&
+                Double.compare(that.dayFeelsLike, dayFeelsLike) == 0 &&
+                Double.compare(that.eve, eve) == 0 &&
+                Double.compare(that.eveFeelsLike, eveFeelsLike) == 0 &&
+                Double.compare(that.night, night) == 0 &&
+                Double.compare(that.nightFeelsLike, nightFeelsLike) == 0 &&
+                Double.compare(that.min, min) == 0 &&
+                Double.compare(that.max, max) == 0 &&
                 Objects.equals(unit, that.unit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(morning, morningFeelsLike, day, dayFeelsLike, eve, eveFeelsLike, night, nightFeelsLike, min, max, dewPoint, unit);
+        return Objects.hash(getMorning(), getMorningFeelsLike(), getDay(), getDayFeelsLike(), getEve(), getEveFeelsLike(), getNight(), getNightFeelsLike(), getMin(), getMax(), getDewPoint(), unit);
     }
 }
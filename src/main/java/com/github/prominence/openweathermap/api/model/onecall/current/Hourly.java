@@ -35,16 +35,23 @@ import java.util.Objects;
  */
 public class Hourly {
     private LocalDateTime forecastTime;
+    private long forecastEpochSecond;
 
     private WeatherState weatherState;
     private Temperature temperature;
     private AtmosphericPressure atmosphericPressure;
     private Humidity humidity;
-    private Double uvIndex;
+    private static final byte UV_INDEX = 1;
+    private static final byte VISIBILITY_IN_METRES = 1 << 1;
+    private static final byte PROBABILITY_OF_PRECIPITATION = 1 << 2;
+
+    private double uvIndex;
     private Clouds clouds;
-    private Double visibilityInMetres;
+    private double visibilityInMetres;
     private Wind wind;
-    private Double probabilityOfPrecipitation;
+    private double probabilityOfPrecipitation;
+    // bits of optional values which are set
+    private byte presentValues;
     private Rain rain;
     private Snow snow;
 
@@ -66,6 +73,24 @@ public class Hourly {
         this.forecastTime = forecastTime;
     }
 
+    /**
+     * Gets forecast time in seconds since epoch, as it was received from the API.
+     *
+     * @return the forecast time in seconds since epoch
+     */
+    public long getForecastEpochSecond() {
+        return forecastEpochSecond;
+    }
+
+    /**
+     * Sets forecast time in seconds since epoch.
+     *
+     * @param forecastEpochSecond the forecast time in seconds since epoch
+     */
+    public void setForecastEpochSecond(long forecastEpochSecond) {
+        this.forecastEpochSecond = forecastEpochSecond;
+    }
+
     /**
      * Gets weather state.
      *
@@ -144,7 +169,7 @@ public class Hourly {
      * @return the uv index
      */
     public Double getUvIndex() {
-        return uvIndex;
+        return (presentValues & UV_INDEX) != 0 ? uvIndex : null;
     }
 
     /**
@@ -153,7 +178,22 @@ public class Hourly {
      * @param uvIndex the uv index
      */
     public void setUvIndex(Double uvIndex) {
+        if (uvIndex != null) {
+            setUvIndex(uvIndex.doubleValue());
+        } else {
+            this.uvIndex = 0;
+            presentValues &= ~UV_INDEX;
+        }
+    }
+
+    /**
+     * Sets uv index.
+     *
+     * @param uvIndex the uv index
+     */
+    public void setUvIndex(double uvIndex) {
         this.uvIndex = uvIndex;
+        presentValues |= UV_INDEX;
     }
 
     /**
@@ -180,7 +220,7 @@ public class Hourly {
      * @return the visibility in metres
      */
     public Double getVisibilityInMetres() {
-        return visibilityInMetres;
+        return (presentValues & VISIBILITY_IN_METRES) != 0 ? visibilityInMetres : null;
     }
 
     /**
@@ -189,7 +229,22 @@ public class Hourly {
      * @param visibilityInMetres the visibility in metres
      */
     public void setVisibilityInMetres(Double visibilityInMetres) {
+        if (visibilityInMetres != null) {
+            setVisibilityInMetres(visibilityInMetres.doubleValue());
+        } else {
+            this.visibilityInMetres = 0;
+            presentValues &= ~VISIBILITY_IN_METRES;
+        }
+    }
+
+    /**
+     * Sets visibility in metres.
+     *
+     * @param visibilityInMetres the visibility in metres
+     */
+    public void setVisibilityInMetres(double visibilityInMetres) {
         this.visibilityInMetres = visibilityInMetres;
+        presentValues |= VISIBILITY_IN_METRES;
     }
 
     /**
@@ -216,7 +271,7 @@ public class Hourly {
      * @return the probability of precipitation
      */
     public Double getProbabilityOfPrecipitation() {
-        return probabilityOfPrecipitation;
+        return (presentValues & PROBABILITY_OF_PRECIPITATION) != 0 ? probabilityOfPrecipitation : null;
     }
 
     /**
@@ -225,10 +280,25 @@ public class Hourly {
      * @param probabilityOfPrecipitation the probability of precipitation
      */
     public void setProbabilityOfPrecipitation(Double probabilityOfPrecipitation) {
-        if (probabilityOfPrecipitation != null && (probabilityOfPrecipitation < 0 || probabilityOfPrecipitation > 100))  {
+        if (probabilityOfPrecipitation != null) {
+            setProbabilityOfPrecipitation(probabilityOfPrecipitation.doubleValue());
+        } else {
+            this.probabilityOfPrecipitation = 0;
+            presentValues &= ~PROBABILITY_OF_PRECIPITATION;
+        }
+    }
+
+    /**
+     * Sets probability of precipitation.
+     *
+     * @param probabilityOfPrecipitation the probability of precipitation
+     */
+    public void setProbabilityOfPrecipitation(double probabilityOfPrecipitation) {
+        if (probabilityOfPrecipitation < 0 || probabilityOfPrecipitation > 100)  {
             throw new IllegalArgumentException("Probability of precipitation value must be in [0, 100] range.");
         }
         this.probabilityOfPrecipitation = probabilityOfPrecipitation;
+        presentValues |= PROBABILITY_OF_PRECIPITATION;
     }
 
     /**
@@ -237,7 +307,7 @@ public class Hourly {
      * @return the probability of precipitation percentage
      */
     public Byte getProbabilityOfPrecipitationPercentage() {
-        if (probabilityOfPrecipitation != null) {
+        if ((presentValues & PROBABILITY_OF_PRECIPITATION) != 0) {
             return (byte)(probabilityOfPrecipitation * 100);
         }
 
@@ -285,23 +355,25 @@ public class Hourly {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Hourly hourly = (Hourly) o;
-        return Objects.equals(forecastTime, hourly.forecastTime) &&
+        return forecastEpochSecond == hourly.forecastEpochSecond &&
+                Objects.equals(forecastTime, hourly.forecastTime) &&
                 Objects.equals(weatherState, hourly.weatherState) &&
                 Objects.equals(temperature, hourly.temperature) &&
                 Objects.equals(atmosphericPressure, hourly.atmosphericPressure) &&
                 Objects.equals(humidity, hourly.humidity) &&
-                Objects.equals(uvIndex, hourly.uvIndex) &&
+                presentValues == hourly.presentValues &&
+                Double.compare(hourly.uvIndex, uvIndex) == 0 &&
                 Objects.equals(clouds, hourly.clouds) &&
-                Objects.equals(visibilityInMetres, hourly.visibilityInMetres) &&
+                Double.compare(hourly.visibilityInMetres, visibilityInMetres) == 0 &&
                 Objects.equals(wind, hourly.wind) &&
-                Objects.equals(probabilityOfPrecipitation, hourly.probabilityOfPrecipitation) &&
+                Double.compare(hourly.probabilityOfPrecipitation, probabilityOfPrecipitation) == 0 &&
                 Objects.equals(rain, hourly.rain) &&
                 Objects.equals(snow, hourly.snow);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(forecastTime, weatherState, temperature, atmosphericPressure, humidity, uvIndex, clouds, visibilityInMetres, wind, probabilityOfPrecipitation, rain, snow);
+        return Objects.hash(forecastTime, forecastEpochSecond, weatherState, temperature, atmosphericPressure, humidity, getUvIndex(), clouds, getVisibilityInMetres(), wind, getProbabilityOfPrecipitation(), rain, snow);
     }
 
     @Override
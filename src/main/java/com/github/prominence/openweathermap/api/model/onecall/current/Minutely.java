@@ -30,6 +30,7 @@ import java.util.Objects;
  */
 public class Minutely {
     private LocalDateTime forecastTime;
+    private long forecastEpochSecond;
     private double precipitationVolume;
 
     private Minutely() {
@@ -50,6 +51,23 @@ public class Minutely {
         return minutely;
     }
 
+    /**
+     * With value minutely.
+     *
+     * @param forecastEpochSecond the forecast time in seconds since epoch
+     * @param forecastTime        the forecast time, could be <code>null</code> if only epoch seconds are kept
+     * @param precipitationVolume the precipitation volume
+     * @return the minutely
+     */
+    public static Minutely withValue(long forecastEpochSecond, LocalDateTime forecastTime, double precipitationVolume) {
+        final Minutely minutely = new Minutely();
+        minutely.forecastEpochSecond = forecastEpochSecond;
+        minutely.forecastTime = forecastTime;
+        minutely.setPrecipitationVolume(precipitationVolume);
+
+        return minutely;
+    }
+
     /**
      * Gets forecast time.
      *
@@ -64,6 +82,15 @@ public class Minutely {
         this.forecastTime = forecastTime;
     }
 
+    /**
+     * Gets forecast time in seconds since epoch, as it was received from the API.
+     *
+     * @return the forecast time in seconds since epoch
+     */
+    public long getForecastEpochSecond() {
+        return forecastEpochSecond;
+    }
+
     /**
      * Gets precipitation volume.
      *
@@ -85,12 +112,12 @@ public class Minutely {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Minutely minutely = (Minutely) o;
-        return Double.compare(minutely.precipitationVolume, precipitationVolume) == 0 && Objects.equals(forecastTime, minutely.forecastTime);
+        return Double.compare(minutely.precipitationVolume, precipitationVolume) == 0 && forecastEpochSecond == minutely.forecastEpochSecond && Objects.equals(forecastTime, minutely.forecastTime);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(forecastTime, precipitationVolume);
+        return Objects.hash(forecastTime, forecastEpochSecond, precipitationVolume);
     }
 
     @Override
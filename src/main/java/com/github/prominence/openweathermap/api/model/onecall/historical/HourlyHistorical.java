@@ -34,14 +34,19 @@ import java.util.Objects;
  * The type Hourly historical.
  */
 public class HourlyHistorical {
+    private static final byte VISIBILITY_IN_METRES = 1;
+
     private LocalDateTime forecastTime;
+    private long forecastEpochSecond;
 
     private WeatherState weatherState;
     private Temperature temperature;
     private AtmosphericPressure atmosphericPressure;
     private Humidity humidity;
     private Clouds clouds;
-    private Double visibilityInMetres;
+    private double visibilityInMetres;
+    // bits of optional values which are set
+    private byte presentValues;
     private Wind wind;
     private Rain rain;
     private Snow snow;
@@ -64,6 +69,24 @@ public class HourlyHistorical {
         this.forecastTime = forecastTime;
     }
 
+    /**
+     * Gets forecast time in seconds since epoch, as it was received from the API.
+     *
+     * @return the forecast time in seconds since epoch
+     */
+    public long getForecastEpochSecond() {
+        return forecastEpochSecond;
+    }
+
+    /**
+     * Sets forecast time in seconds since epoch.
+     *
+     * @param forecastEpochSecond the forecast time in seconds since epoch
+     */
+    public void setForecastEpochSecond(long forecastEpochSecond) {
+        this.forecastEpochSecond = forecastEpochSecond;
+    }
+
     /**
      * Gets weather state.
      *
@@ -160,7 +183,7 @@ public class HourlyHistorical {
      * @return the visibility in metres
      */
     public Double getVisibilityInMetres() {
-        return visibilityInMetres;
+        return (presentValues & VISIBILITY_IN_METRES) != 0 ? visibilityInMetres : null;
     }
 
     /**
@@ -169,7 +192,22 @@ public class HourlyHistorical {
      * @param visibilityInMetres the visibility in metres
      */
     public void setVisibilityInMetres(Double visibilityInMetres) {
+        if (visibilityInMetres != null) {
+            setVisibilityInMetres(visibilityInMetres.doubleValue());
+        } else {
+            this.visibilityInMetres = 0;
+            presentValues &= ~VISIBILITY_IN_METRES;
+        }
+    }
+
+    /**
+     * Sets visibility in metres.
+     *
+     * @param visibilityInMetres the visibility in metres
+     */
+    public void setVisibilityInMetres(double visibilityInMetres) {
         this.visibilityInMetres = visibilityInMetres;
+        presentValues |= VISIBILITY_IN_METRES;
     }
 
     /**
@@ -231,13 +269,15 @@ public class HourlyHistorical {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         HourlyHistorical that = (HourlyHistorical) o;
-        return Objects.equals(forecastTime, that.forecastTime) &&
+        return forecastEpochSecond == that.forecastEpochSecond &&
+                Objects.equals(forecastTime, that.forecastTime) &&
                 Objects.equals(weatherState, that.weatherState) &&
                 Objects.equals(temperature, that.temperature) &&
                 Objects.equals(atmosphericPressure, that.atmosphericPressure) &&
                 Objects.equals(humidity, that.humidity) &&
                 Objects.equals(clouds, that.clouds) &&
-                Objects.equals(visibilityInMetres, that.visibilityInMetres) &&
+                presentValues == that.presentValues &&
+                Double.compare(that.visibilityInMetres, visibilityInMetres) == 0 &&
                 Objects.equals(wind, that.wind) &&
                 Objects.equals(rain, that.rain) &&
                 Objects.equals(snow, that.snow);
@@ -245,7 +285,7 @@ public class HourlyHistorical {
 
     @Override
     public int hashCode() {
-        return Objects.hash(forecastTime, weatherState, temperature, atmosphericPressure, humidity, clouds, visibilityInMetres, wind, rain, snow);
+        return Objects.hash(forecastTime, forecastEpochSecond, weatherState, temperature, atmosphericPressure, humidity, clouds, getVisibilityInMetres(), wind, rain, snow);
     }
 
     @Override
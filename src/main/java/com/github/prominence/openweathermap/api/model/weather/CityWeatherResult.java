@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.model.weather;
+
+import java.util.Objects;
+
+/**
+ * Result of a bulk request for a single city: either weather or the error that prevented getting it.
+ */
+public class CityWeatherResult {
+    private final long cityId;
+    private final Weather weather;
+    private final RuntimeException error;
+
+    private CityWeatherResult(long cityId, Weather weather, RuntimeException error) {
+        this.cityId = cityId;
+        this.weather = weather;
+        this.error = error;
+    }
+
+    /**
+     * Creates successful result.
+     * @param cityId requested city id
+     * @param weather weather in the city
+     * @return result object
+     */
+    public static CityWeatherResult withWeather(long cityId, Weather weather) {
+        if (weather == null) {
+            throw new IllegalArgumentException("Weather must be set.");
+        }
+        return new CityWeatherResult(cityId, weather, null);
+    }
+
+    /**
+     * Creates failed result.
+     * @param cityId requested city id
+     * @param error the error
+     * @return result object
+     */
+    public static CityWeatherResult withError(long cityId, RuntimeException error) {
+        if (error == null) {
+            throw new IllegalArgumentException("Error must be set.");
+        }
+        return new CityWeatherResult(cityId, null, error);
+    }
+
+    /**
+     * Returns requested city id.
+     * @return city id
+     */
+    public long getCityId() {
+        return cityId;
+    }
+
+    /**
+     * Returns weather in the city.
+     * @return weather or <code>null</code> if the request failed
+     */
+    public Weather getWeather() {
+        return weather;
+    }
+
+    /**
+     * Returns the error that prevented getting weather.
+     * @return error or <code>null</code> if the request succeeded
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * Checks whether weather was retrieved.
+     * @return <code>true</code> if weather is available
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CityWeatherResult)) return false;
+        CityWeatherResult that = (CityWeatherResult) o;
+        return cityId == that.cityId &&
+                Objects.equals(weather, that.weather) &&
+                Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cityId, weather, error);
+    }
+
+    @Override
+    public String toString() {
+        return "City ID: " + cityId + (isSuccessful() ? ". " + weather : ". Error: " + error.getMessage());
+    }
+}
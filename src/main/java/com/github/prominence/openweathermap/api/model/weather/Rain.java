@@ -29,9 +29,13 @@ import java.util.Objects;
  */
 public class Rain {
     private static final String DEFAULT_UNIT = "mm";
+    private static final byte ONE_HOUR_LEVEL = 1;
+    private static final byte THREE_HOUR_LEVEL = 1 << 1;
 
-    private Double oneHourLevel;
-    private Double threeHourLevel;
+    private double oneHourLevel;
+    private double threeHourLevel;
+    // bits of optional values which are set
+    private byte presentValues;
 
     private Rain() {
     }
@@ -80,7 +84,7 @@ public class Rain {
      * @return the one hour rain level
      */
     public Double getOneHourLevel() {
-        return oneHourLevel;
+        return (presentValues & ONE_HOUR_LEVEL) != 0 ? oneHourLevel : null;
     }
 
     /**
@@ -93,6 +97,7 @@ public class Rain {
             throw new IllegalArgumentException("Rain level value cannot be negative.");
         }
         this.oneHourLevel = oneHourLevel;
+        presentValues |= ONE_HOUR_LEVEL;
     }
 
     /**
@@ -101,7 +106,7 @@ public class Rain {
      * @return the three hour rain level
      */
     public Double getThreeHourLevel() {
-        return threeHourLevel;
+        return (presentValues & THREE_HOUR_LEVEL) != 0 ? threeHourLevel : null;
     }
 
     /**
@@ -114,6 +119,7 @@ public class Rain {
             throw new IllegalArgumentException("Rain level value cannot be negative.");
         }
         this.threeHourLevel = threeHourLevel;
+        presentValues |= THREE_HOUR_LEVEL;
     }
 
     /**
@@ -130,25 +136,26 @@ public class Rain {
         if (this == o) return true;
         if (!(o instanceof Rain)) return false;
         Rain rain = (Rain) o;
-        return Objects.equals(oneHourLevel, rain.oneHourLevel) &&
-                Objects.equals(threeHourLevel, rain.threeHourLevel);
+        return presentValues == rain.presentValues &&
+                Double.compare(rain.oneHourLevel, oneHourLevel) == 0 &&
+                Double.compare(rain.threeHourLevel, threeHourLevel) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(oneHourLevel, threeHourLevel);
+        return Objects.hash(getOneHourLevel(), getThreeHourLevel());
     }
 
     @Override
     public String toString() {
         final StringBuilder snowString = new StringBuilder();
-        if (oneHourLevel != null) {
+        if ((presentValues & ONE_HOUR_LEVEL) != 0) {
             snowString.append("1-hour rain level: ");
             snowString.append(oneHourLevel);
             snowString.append(getUnit());
         }
-        if (threeHourLevel != null) {
-            if (oneHourLevel != null) {
+        if ((presentValues & THREE_HOUR_LEVEL) != 0) {
+            if ((presentValues & ONE_HOUR_LEVEL) != 0) {
                 snowString.append(", ");
             }
             snowString.append("3-hours rain level: ");
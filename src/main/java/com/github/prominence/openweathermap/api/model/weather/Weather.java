@@ -32,6 +32,7 @@ import java.util.Objects;
  */
 public class Weather {
     private LocalDateTime calculationTime;
+    private long calculationEpochSecond;
 
     private WeatherState weatherState;
     private Temperature temperature;
@@ -63,6 +64,24 @@ public class Weather {
         this.calculationTime = calculationTime;
     }
 
+    /**
+     * Gets calculation time in seconds since epoch, as it was received from the API.
+     *
+     * @return the calculation time in seconds since epoch
+     */
+    public long getCalculationEpochSecond() {
+        return calculationEpochSecond;
+    }
+
+    /**
+     * Sets calculation time in seconds since epoch.
+     *
+     * @param calculationEpochSecond the calculation time in seconds since epoch
+     */
+    public void setCalculationEpochSecond(long calculationEpochSecond) {
+        this.calculationEpochSecond = calculationEpochSecond;
+    }
+
     /**
      * Gets weather state.
      *
@@ -230,7 +249,8 @@ public class Weather {
         if (this == o) return true;
         if (!(o instanceof Weather)) return false;
         Weather weather = (Weather) o;
-        return Objects.equals(calculationTime, weather.calculationTime) &&
+        return calculationEpochSecond == weather.calculationEpochSecond &&
+                Objects.equals(calculationTime, weather.calculationTime) &&
                 Objects.equals(weatherState, weather.weatherState) &&
                 Objects.equals(temperature, weather.temperature) &&
                 Objects.equals(atmosphericPressure, weather.atmosphericPressure) &&
@@ -244,7 +264,7 @@ public class Weather {
 
     @Override
     public int hashCode() {
-        return Objects.hash(calculationTime, weatherState, temperature, atmosphericPressure, humidity, wind, rain, snow, clouds, location);
+        return Objects.hash(calculationTime, calculationEpochSecond, weatherState, temperature, atmosphericPressure, humidity, wind, rain, snow, clouds, location);
     }
 
     @Override
@@ -28,9 +28,14 @@ import java.util.Objects;
  * The type Wind.
  */
 public class Wind {
+    private static final byte DEGREES = 1;
+    private static final byte GUST = 1 << 1;
+
     private double speed;
-    private Double degrees;
-    private Double gust;
+    private double degrees;
+    private double gust;
+    // bits of optional values which are set
+    private byte presentValues;
     private String unit;
 
     /**
@@ -86,7 +91,7 @@ public class Wind {
      * @return the gust
      */
     public Double getGust() {
-        return gust;
+        return (presentValues & GUST) != 0 ? gust : null;
     }
 
     /**
@@ -98,6 +103,7 @@ public class Wind {
             throw new IllegalArgumentException("Gust value must be positive or zero.");
         }
         this.gust = gust;
+        presentValues |= GUST;
     }
 
     /**
@@ -106,7 +112,7 @@ public class Wind {
      * @return the degrees
      */
     public Double getDegrees() {
-        return degrees;
+        return (presentValues & DEGREES) != 0 ? degrees : null;
     }
 
     /**
@@ -119,6 +125,7 @@ public class Wind {
             throw new IllegalArgumentException("Wind direction value must be in [0, 360] range.");
         }
         this.degrees = degrees;
+        presentValues |= DEGREES;
     }
 
     /**
@@ -147,22 +154,23 @@ public class Wind {
         if (this == o) return true;
         if (!(o instanceof Wind)) return false;
         Wind wind = (Wind) o;
-        return Double.compare(wind.speed, speed) == 0 &&
-                Objects.equals(degrees, wind.degrees) &&
-                Objects.equals(gust, wind.gust) &&
+        return presentValues == wind.presentValues &&
+                Double.compare(wind.speed, speed) == 0 &&
+                Double.compare(wind.degrees, degrees) == 0 &&
+                Double.compare(wind.gust, gust) == 0 &&
                 Objects.equals(unit, wind.unit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(speed, degrees, gust, unit);
+        return Objects.hash(speed, getDegrees(), getGust(), unit);
     }
 
     @Override
     public String toString() {
         String output = "Wind speed: " + speed + " " + unit +
                 ", degrees: " + degrees;
-        if (gust != null) {
+        if ((presentValues & GUST) != 0) {
             output += ", Gust: " + gust + " " + unit;
         }
         return output;
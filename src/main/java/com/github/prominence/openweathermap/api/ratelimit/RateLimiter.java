@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.ratelimit;
+
+import com.github.prominence.openweathermap.api.enums.RateLimitMode;
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter for API calls. Permits are refilled evenly over the period,
+ * the bucket holds at most one period worth of permits, so bursts after idle time are limited by the quota.
+ * Waiting requests reserve their permits, so they are served in order of arrival.
+ */
+public class RateLimiter {
+    private final int permitsPerPeriod;
+    private final double nanosPerPermit;
+    private final RateLimitMode mode;
+    private final LongSupplier nanoClock;
+
+    private double availablePermits;
+    private long lastRefillNanos;
+
+    private long acquiredCount;
+    private long rejectedCount;
+    private long delayedCount;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    /**
+     * Instantiates a new rate limiter.
+     *
+     * @param permitsPerPeriod number of API calls allowed per period.
+     * @param period           the period.
+     * @param timeUnit         unit of the period.
+     * @param mode             behaviour when there are no free permits.
+     */
+    public RateLimiter(int permitsPerPeriod, long period, TimeUnit timeUnit, RateLimitMode mode) {
+        this(permitsPerPeriod, period, timeUnit, mode, System::nanoTime);
+    }
+
+    RateLimiter(int permitsPerPeriod, long period, TimeUnit timeUnit, RateLimitMode mode, LongSupplier nanoClock) {
+        if (permitsPerPeriod <= 0) {
+            throw new IllegalArgumentException("Permits per period must be positive.");
+        }
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive.");
+        }
+        this.permitsPerPeriod = permitsPerPeriod;
+        this.nanosPerPermit = (double) timeUnit.toNanos(period) / permitsPerPeriod;
+        this.mode = mode;
+        this.nanoClock = nanoClock;
+        this.availablePermits = permitsPerPeriod;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Creates rate limiter with calls per minute quota of the subscription plan.
+     *
+     * @param subscriptionPlan the subscription plan.
+     * @param mode             behaviour when there are no free permits.
+     * @return the rate limiter.
+     * @throws IllegalArgumentException in case if {@link SubscriptionPlan#ALL} is provided.
+     */
+    public static RateLimiter forSubscriptionPlan(SubscriptionPlan subscriptionPlan, RateLimitMode mode) {
+        if (subscriptionPlan.getCallsPerMinute() <= 0) {
+            throw new IllegalArgumentException("Subscription plan " + subscriptionPlan + " has no calls quota.");
+        }
+        return new RateLimiter(subscriptionPlan.getCallsPerMinute(), 1, TimeUnit.MINUTES, mode);
+    }
+
+    public RateLimitMode getMode() {
+        return mode;
+    }
+
+    public int getPermitsPerPeriod() {
+        return permitsPerPeriod;
+    }
+
+    /**
+     * Acquires permit according to the mode: waits for it or fails immediately.
+     *
+     * @throws RateLimitExceededException in case if there is no free permit in {@link RateLimitMode#NON_BLOCKING} mode
+     *                                    or the thread was interrupted while waiting.
+     */
+    public void acquire() {
+        if (mode == RateLimitMode.NON_BLOCKING) {
+            if (!tryAcquire()) {
+                throw createExceededException();
+            }
+            return;
+        }
+        sleep(reserve());
+    }
+
+    /**
+     * Acquires permit if it is available at once.
+     *
+     * @return <code>true</code> if the permit was acquired.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (availablePermits >= 1) {
+            availablePermits--;
+            acquiredCount++;
+            return true;
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    /**
+     * Reserves permit and returns how long the caller must wait before using it.
+     *
+     * @return wait time in nanoseconds, <code>0</code> if the permit is available at once.
+     */
+    public synchronized long reserve() {
+        refill();
+        final long waitNanos = availablePermits >= 1 ? 0 : (long) Math.ceil((1 - availablePermits) * nanosPerPermit);
+        availablePermits--;
+        acquiredCount++;
+        if (waitNanos > 0) {
+            delayedCount++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Waits for the reserved permit.
+     *
+     * @param waitNanos wait time returned by {@link #reserve()}.
+     * @throws RateLimitExceededException in case if the thread was interrupted while waiting.
+     */
+    public static void sleep(long waitNanos) {
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException("Interrupted while waiting for rate limit permit.");
+        }
+    }
+
+    /**
+     * Creates exception for a request that got no permit.
+     *
+     * @return the exception.
+     */
+    public RateLimitExceededException createExceededException() {
+        return new RateLimitExceededException("Rate limit of " + permitsPerPeriod + " calls per period is exceeded.");
+    }
+
+    public synchronized long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns number of permits that were not available at once and had to be waited for.
+     *
+     * @return delayed permits count.
+     */
+    public synchronized long getDelayedCount() {
+        return delayedCount;
+    }
+
+    public synchronized long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public synchronized long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    private void refill() {
+        final long now = nanoClock.getAsLong();
+        availablePermits = Math.min(permitsPerPeriod, availablePermits + (now - lastRefillNanos) / nanosPerPermit);
+        lastRefillNanos = now;
+    }
+}
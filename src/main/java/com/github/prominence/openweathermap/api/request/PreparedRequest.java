@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Immutable request together with its response mapper, e.g. for periodic polling of a fixed set of locations.
+ * Prepared requests are thread-safe and can be executed any number of times.
+ *
+ * @param <T> the result type.
+ */
+public final class PreparedRequest<T> {
+    private final RequestTemplate requestTemplate;
+    private final Function<InputStream, T> bodyMapper;
+
+    /**
+     * Instantiates a new Prepared request.
+     *
+     * @param requestTemplate request template.
+     * @param bodyMapper      thread-safe function to convert response body into the result.
+     */
+    public PreparedRequest(RequestTemplate requestTemplate, Function<InputStream, T> bodyMapper) {
+        this.requestTemplate = Objects.requireNonNull(requestTemplate);
+        this.bodyMapper = Objects.requireNonNull(bodyMapper);
+    }
+
+    public RequestTemplate getRequestTemplate() {
+        return requestTemplate;
+    }
+
+    /**
+     * Executes the request.
+     *
+     * @return mapped response.
+     */
+    public T execute() {
+        return requestTemplate.getRequestExecutor().getResponse(requestTemplate, bodyMapper);
+    }
+
+    /**
+     * Executes the request asynchronously.
+     *
+     * @return future with mapped response.
+     */
+    public CompletableFuture<T> executeAsync() {
+        return requestTemplate.getRequestExecutor().getResponseAsync(requestTemplate, bodyMapper);
+    }
+
+    @Override
+    public String toString() {
+        return "Prepared request: " + requestTemplate;
+    }
+}
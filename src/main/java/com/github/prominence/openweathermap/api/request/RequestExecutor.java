@@ -0,0 +1,700 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request;
+
+import com.github.prominence.openweathermap.api.cache.DiskResponseCache;
+import com.github.prominence.openweathermap.api.cache.ResponseCache;
+import com.github.prominence.openweathermap.api.circuitbreaker.CircuitBreaker;
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.ExecutionMode;
+import com.github.prominence.openweathermap.api.enums.ExecutionPhase;
+import com.github.prominence.openweathermap.api.enums.RateLimitMode;
+import com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException;
+import com.github.prominence.openweathermap.api.hedging.HedgingPolicy;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.metrics.ClientMetrics;
+import com.github.prominence.openweathermap.api.ratelimit.RateLimiter;
+import com.github.prominence.openweathermap.api.retry.RetryPolicy;
+import com.github.prominence.openweathermap.api.tracing.RequestSpan;
+import com.github.prominence.openweathermap.api.tracing.RequestTracer;
+import com.github.prominence.openweathermap.api.tracing.TraceScope;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import com.github.prominence.openweathermap.api.utils.VirtualThreadUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Executes API calls described by {@link RequestSettings} or {@link RequestTemplate}.
+ * One instance is owned by {@link com.github.prominence.openweathermap.api.OpenWeatherMapClient} and shared by all its requests.
+ */
+public class RequestExecutor {
+    private final HttpTransport httpTransport;
+    private volatile Executor executor = ForkJoinPool.commonPool();
+    private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+    // executor created by this object and shut down when it is replaced or closed
+    private ExecutorService ownedExecutor;
+    private volatile ResponseCache responseCache;
+    private volatile DiskResponseCache diskResponseCache;
+    private volatile boolean requestCoalescing;
+    private volatile RateLimiter rateLimiter;
+    private RetryPolicy retryPolicy;
+    // the transport or its retrying wrapper
+    private volatile HttpTransport requestTransport;
+    private volatile Map<EndpointType, CircuitBreaker> circuitBreakers = Collections.emptyMap();
+    private HedgingPolicy hedgingPolicy;
+    // per endpoint transports with circuit breakers and hedging, empty if both are disabled
+    private volatile Map<EndpointType, HttpTransport> endpointTransports = Collections.emptyMap();
+    private volatile ClientMetrics clientMetrics = ClientMetrics.noop();
+    private volatile RequestTracer requestTracer = RequestTracer.noop();
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> inFlightRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new request executor.
+     *
+     * @param httpTransport the transport to execute requests with.
+     */
+    public RequestExecutor(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+        this.requestTransport = httpTransport;
+    }
+
+    public HttpTransport getHttpTransport() {
+        return httpTransport;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets executor for asynchronous requests.
+     * With blocking transport the whole call runs on it, with {@link AsyncHttpTransport} only response mapping does.
+     *
+     * @param executor the executor.
+     */
+    public synchronized void setExecutor(Executor executor) {
+        Objects.requireNonNull(executor, "Executor must be set.");
+        replaceExecutor(executor, null, ExecutionMode.PLATFORM_THREADS);
+    }
+
+    /**
+     * Returns cache of responses.
+     *
+     * @return the cache or <code>null</code> if caching is disabled.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Sets cache of responses. Only successful responses are cached.
+     *
+     * @param responseCache the cache or <code>null</code> to disable caching.
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Returns persistent cache of responses.
+     *
+     * @return the cache or <code>null</code> if disk caching is disabled.
+     */
+    public DiskResponseCache getDiskResponseCache() {
+        return diskResponseCache;
+    }
+
+    /**
+     * Sets persistent cache of responses, it is looked up after the in-memory cache. The executor closes it in {@link #close()}.
+     *
+     * @param diskResponseCache the cache or <code>null</code> to disable disk caching.
+     */
+    public synchronized void setDiskResponseCache(DiskResponseCache diskResponseCache) {
+        final DiskResponseCache previousDiskResponseCache = this.diskResponseCache;
+        this.diskResponseCache = diskResponseCache;
+        if (previousDiskResponseCache != null && previousDiskResponseCache != diskResponseCache) {
+            previousDiskResponseCache.close();
+        }
+    }
+
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * Enables sharing of one API call between identical concurrent requests.
+     * Every request still gets its own result object, only the response body is shared.
+     *
+     * @param requestCoalescing <code>true</code> to enable coalescing.
+     */
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+    }
+
+    /**
+     * Returns rate limiter of API calls.
+     *
+     * @return the rate limiter or <code>null</code> if calls aren't limited.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Sets rate limiter of API calls. Responses served from cache or shared by coalescing don't take permits.
+     *
+     * @param rateLimiter the rate limiter or <code>null</code> to disable limiting.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public synchronized RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets retry policy of failed API calls. Every retry takes a rate limiter permit and is skipped if there is no free one.
+     *
+     * @param retryPolicy the retry policy or <code>null</code> to disable retries.
+     */
+    public synchronized void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        this.requestTransport = wrapRetries(httpTransport);
+        this.endpointTransports = wrapEndpointTransports();
+    }
+
+    public synchronized CircuitBreaker getCircuitBreaker(EndpointType endpointType) {
+        return circuitBreakers.get(endpointType);
+    }
+
+    /**
+     * Sets circuit breaker settings, every endpoint type gets its own breaker. Breakers are placed inside retries,
+     * so every attempt is counted and retries of a rejected call aren't made.
+     *
+     * @param circuitBreakerSettings the settings or <code>null</code> to disable circuit breakers.
+     */
+    public synchronized void setCircuitBreakerSettings(CircuitBreakerSettings circuitBreakerSettings) {
+        if (circuitBreakerSettings == null) {
+            this.circuitBreakers = Collections.emptyMap();
+        } else {
+            final Map<EndpointType, CircuitBreaker> breakers = new EnumMap<>(EndpointType.class);
+            for (EndpointType endpointType : EndpointType.values()) {
+                breakers.put(endpointType, new CircuitBreaker(endpointType, circuitBreakerSettings));
+            }
+            this.circuitBreakers = breakers;
+        }
+        this.endpointTransports = wrapEndpointTransports();
+    }
+
+    public synchronized HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Sets hedging policy of slow API calls. Duplicate calls are made beneath circuit breakers and retries,
+     * so a hedged call is counted and retried as one call.
+     *
+     * @param hedgingPolicy the hedging policy or <code>null</code> to disable hedging.
+     */
+    public synchronized void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        this.endpointTransports = wrapEndpointTransports();
+    }
+
+    private HttpTransport wrapRetries(HttpTransport transport) {
+        return retryPolicy != null ? retryPolicy.wrap(transport, this::tryAcquireRetryPermit) : transport;
+    }
+
+    private Map<EndpointType, HttpTransport> wrapEndpointTransports() {
+        if (circuitBreakers.isEmpty() && hedgingPolicy == null) {
+            return Collections.emptyMap();
+        }
+        final Map<EndpointType, HttpTransport> transports = new EnumMap<>(EndpointType.class);
+        for (EndpointType endpointType : EndpointType.values()) {
+            HttpTransport transport = httpTransport;
+            if (hedgingPolicy != null) {
+                transport = hedgingPolicy.wrap(transport, endpointType);
+            }
+            final CircuitBreaker circuitBreaker = circuitBreakers.get(endpointType);
+            if (circuitBreaker != null) {
+                transport = circuitBreaker.wrap(transport);
+            }
+            transports.put(endpointType, wrapRetries(transport));
+        }
+        return transports;
+    }
+
+    private HttpTransport getRequestTransport(EndpointType endpointType) {
+        final HttpTransport endpointTransport = endpointType != null ? endpointTransports.get(endpointType) : null;
+        return endpointTransport != null ? endpointTransport : requestTransport;
+    }
+
+    public ClientMetrics getClientMetrics() {
+        return clientMetrics;
+    }
+
+    /**
+     * Sets metrics to report API calls to. Responses served from cache or shared by coalescing aren't reported.
+     *
+     * @param clientMetrics the metrics, {@link ClientMetrics#noop()} disables reporting.
+     */
+    public void setClientMetrics(ClientMetrics clientMetrics) {
+        this.clientMetrics = Objects.requireNonNull(clientMetrics, "Client metrics must be set.");
+    }
+
+    public RequestTracer getRequestTracer() {
+        return requestTracer;
+    }
+
+    /**
+     * Sets tracer of API calls. Every call gets a span with queue, network and mapping phases, including calls served from cache.
+     *
+     * @param requestTracer the tracer, {@link RequestTracer#noop()} disables tracing.
+     */
+    public void setRequestTracer(RequestTracer requestTracer) {
+        this.requestTracer = Objects.requireNonNull(requestTracer, "Request tracer must be set.");
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Sets threads to execute asynchronous requests with blocking transport on.
+     * {@link ExecutionMode#PLATFORM_THREADS} resets the executor to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param executionMode the execution mode.
+     * @throws UnsupportedOperationException in case if the mode isn't supported by the runtime.
+     */
+    public synchronized void setExecutionMode(ExecutionMode executionMode) {
+        Objects.requireNonNull(executionMode, "Execution mode must be set.");
+        if (executionMode == ExecutionMode.VIRTUAL_THREADS) {
+            final ExecutorService virtualThreadExecutor = VirtualThreadUtils.newVirtualThreadPerTaskExecutor();
+            replaceExecutor(virtualThreadExecutor, virtualThreadExecutor, executionMode);
+        } else {
+            replaceExecutor(ForkJoinPool.commonPool(), null, executionMode);
+        }
+    }
+
+    /**
+     * Closes the transport and disk cache and shuts down executor created for {@link ExecutionMode#VIRTUAL_THREADS}.
+     * Requests that are already running are completed.
+     */
+    public synchronized void close() {
+        replaceExecutor(ForkJoinPool.commonPool(), null, ExecutionMode.PLATFORM_THREADS);
+        setDiskResponseCache(null);
+        httpTransport.close();
+    }
+
+    private void replaceExecutor(Executor executor, ExecutorService ownedExecutor, ExecutionMode executionMode) {
+        final ExecutorService previousOwnedExecutor = this.ownedExecutor;
+        this.executor = executor;
+        this.ownedExecutor = ownedExecutor;
+        this.executionMode = executionMode;
+        if (previousOwnedExecutor != null) {
+            previousOwnedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Executes API call and retrieves response in <code>String</code> representation.
+     *
+     * @param requestSettings request settings object.
+     * @return response from the request in <code>String</code> representation.
+     */
+    public String getResponse(RequestSettings requestSettings) {
+        return getResponse(requestSettings, RequestUtils::convertInputStreamToString);
+    }
+
+    /**
+     * Executes API call and maps response body stream without reading it into <code>String</code> first.
+     *
+     * @param requestSettings request settings object.
+     * @param bodyMapper      function to convert response body into the result.
+     * @param <T>             the result type.
+     * @return result of the body mapper.
+     */
+    public <T> T getResponse(RequestSettings requestSettings, Function<InputStream, T> bodyMapper) {
+        return getResponse(RequestTemplate.from(requestSettings), bodyMapper);
+    }
+
+    /**
+     * Executes API call described by request template and maps response body stream.
+     *
+     * @param requestTemplate request template.
+     * @param bodyMapper      function to convert response body into the result.
+     * @param <T>             the result type.
+     * @return result of the body mapper.
+     */
+    public <T> T getResponse(RequestTemplate requestTemplate, Function<InputStream, T> bodyMapper) {
+        final RequestTracer currentTracer = requestTracer;
+        if (!currentTracer.isEnabled()) {
+            return getResponse(requestTemplate, bodyMapper, RequestSpan.noop());
+        }
+        final RequestSpan requestSpan = currentTracer.startRequest(requestTemplate.getEndpointType(), requestTemplate.getCanonicalRequest());
+        final TraceScope traceScope = requestSpan.makeCurrent();
+        try {
+            return getResponse(requestTemplate, bodyMapper, requestSpan);
+        } catch (RuntimeException ex) {
+            requestSpan.recordException(ex);
+            throw ex;
+        } finally {
+            traceScope.close();
+            requestSpan.end();
+        }
+    }
+
+    private <T> T getResponse(RequestTemplate requestTemplate, Function<InputStream, T> bodyMapper, RequestSpan requestSpan) {
+        final EndpointType endpointType = requestTemplate.getEndpointType();
+        final ResponseCache cache = isCacheable(responseCache, endpointType) ? responseCache : null;
+        final DiskResponseCache diskCache = isCacheable(diskResponseCache, endpointType) ? diskResponseCache : null;
+        final CircuitBreaker staleBreaker = getStaleResponseBreaker(endpointType);
+        if (cache == null && diskCache == null && !requestCoalescing && staleBreaker == null) {
+            return execute(requestTemplate, bodyMapper, requestSpan);
+        }
+
+        final String requestKey = requestTemplate.getCanonicalRequest();
+        byte[] body = getCachedBody(cache, diskCache, requestTemplate, requestKey, endpointType);
+        if (body == null) {
+            try {
+                body = requestCoalescing ? getSharedBody(requestTemplate, requestKey, requestSpan) : execute(requestTemplate, RequestUtils::readAllBytes, requestSpan);
+            } catch (CircuitBreakerOpenException ex) {
+                return mapBody(getStaleBody(staleBreaker, requestKey, ex), bodyMapper, requestSpan);
+            }
+            putCachedBody(cache, diskCache, requestKey, endpointType, body);
+            putStaleBody(staleBreaker, requestKey, body);
+        }
+        return mapBody(body, bodyMapper, requestSpan);
+    }
+
+    /**
+     * Executes API call asynchronously and retrieves response in <code>String</code> representation.
+     *
+     * @param requestSettings request settings object.
+     * @return future with response from the request in <code>String</code> representation.
+     */
+    public CompletableFuture<String> getResponseAsync(RequestSettings requestSettings) {
+        return getResponseAsync(requestSettings, RequestUtils::convertInputStreamToString);
+    }
+
+    /**
+     * Executes API call asynchronously and maps response body stream.
+     * Calling thread is never blocked: {@link AsyncHttpTransport} is used natively, other transports are called on the configured executor.
+     *
+     * @param requestSettings request settings object.
+     * @param bodyMapper      function to convert response body into the result.
+     * @param <T>             the result type.
+     * @return future with result of the body mapper.
+     */
+    public <T> CompletableFuture<T> getResponseAsync(RequestSettings requestSettings, Function<InputStream, T> bodyMapper) {
+        return getResponseAsync(RequestTemplate.from(requestSettings), bodyMapper);
+    }
+
+    /**
+     * Executes API call described by request template asynchronously and maps response body stream.
+     *
+     * @param requestTemplate request template.
+     * @param bodyMapper      function to convert response body into the result.
+     * @param <T>             the result type.
+     * @return future with result of the body mapper.
+     * @see #getResponseAsync(RequestSettings, Function)
+     */
+    public <T> CompletableFuture<T> getResponseAsync(RequestTemplate requestTemplate, Function<InputStream, T> bodyMapper) {
+        final Executor currentExecutor = executor;
+        final RequestTracer currentTracer = requestTracer;
+        if (!currentTracer.isEnabled()) {
+            return getResponseAsync(requestTemplate, bodyMapper, currentExecutor, RequestSpan.noop());
+        }
+        final RequestSpan requestSpan = currentTracer.startRequest(requestTemplate.getEndpointType(), requestTemplate.getCanonicalRequest());
+        final CompletableFuture<T> responseFuture;
+        final TraceScope traceScope = requestSpan.makeCurrent();
+        try {
+            responseFuture = getResponseAsync(requestTemplate, bodyMapper, currentExecutor, requestSpan);
+        } catch (RuntimeException ex) {
+            traceScope.close();
+            requestSpan.recordException(ex);
+            requestSpan.end();
+            throw ex;
+        }
+        traceScope.close();
+        return responseFuture.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                requestSpan.recordException(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            }
+            requestSpan.end();
+        });
+    }
+
+    private <T> CompletableFuture<T> getResponseAsync(RequestTemplate requestTemplate, Function<InputStream, T> bodyMapper, Executor currentExecutor,
+                                                      RequestSpan requestSpan) {
+        if (!(httpTransport instanceof AsyncHttpTransport)) {
+            requestSpan.startPhase(ExecutionPhase.QUEUE);
+            return CompletableFuture.supplyAsync(() -> {
+                requestSpan.endPhase();
+                final TraceScope traceScope = requestSpan.makeCurrent();
+                try {
+                    return getResponse(requestTemplate, bodyMapper, requestSpan);
+                } finally {
+                    traceScope.close();
+                }
+            }, currentExecutor);
+        }
+
+        final EndpointType endpointType = requestTemplate.getEndpointType();
+        final ResponseCache cache = isCacheable(responseCache, endpointType) ? responseCache : null;
+        final DiskResponseCache diskCache = isCacheable(diskResponseCache, endpointType) ? diskResponseCache : null;
+        final CircuitBreaker staleBreaker = getStaleResponseBreaker(endpointType);
+        if (cache == null && diskCache == null && !requestCoalescing && staleBreaker == null) {
+            return executeAsync(requestTemplate, bodyMapper, currentExecutor, requestSpan);
+        }
+
+        final String requestKey = requestTemplate.getCanonicalRequest();
+        final byte[] cachedBody = getCachedBody(cache, diskCache, requestTemplate, requestKey, endpointType);
+        if (cachedBody != null) {
+            requestSpan.startPhase(ExecutionPhase.QUEUE);
+            return CompletableFuture.supplyAsync(() -> mapBody(cachedBody, bodyMapper, requestSpan), currentExecutor);
+        }
+        final CompletableFuture<byte[]> bodyFuture = requestCoalescing ? getSharedBodyAsync(requestTemplate, requestKey, currentExecutor, requestSpan)
+                : getBodyAsync(requestTemplate, currentExecutor, requestSpan);
+        return bodyFuture.handleAsync((body, throwable) -> {
+            if (throwable != null) {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                if (cause instanceof CircuitBreakerOpenException) {
+                    return mapBody(getStaleBody(staleBreaker, requestKey, (CircuitBreakerOpenException) cause), bodyMapper, requestSpan);
+                }
+                throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+            }
+            putCachedBody(cache, diskCache, requestKey, endpointType, body);
+            putStaleBody(staleBreaker, requestKey, body);
+            return mapBody(body, bodyMapper, requestSpan);
+        }, currentExecutor);
+    }
+
+    /**
+     * Returns breaker of the endpoint if it serves stale responses. Bodies of its requests are buffered to be kept.
+     */
+    private CircuitBreaker getStaleResponseBreaker(EndpointType endpointType) {
+        final CircuitBreaker circuitBreaker = circuitBreakers.get(endpointType);
+        return circuitBreaker != null && circuitBreaker.isStaleResponseServed() ? circuitBreaker : null;
+    }
+
+    /**
+     * Returns the last successful response of the request, rethrows the rejection if there is none.
+     */
+    private static byte[] getStaleBody(CircuitBreaker staleBreaker, String requestKey, CircuitBreakerOpenException ex) {
+        final byte[] staleBody = staleBreaker != null ? staleBreaker.getStaleResponse(requestKey) : null;
+        if (staleBody == null) {
+            throw ex;
+        }
+        return staleBody;
+    }
+
+    private static void putStaleBody(CircuitBreaker staleBreaker, String requestKey, byte[] body) {
+        if (staleBreaker != null) {
+            staleBreaker.putStaleResponse(requestKey, body);
+        }
+    }
+
+    private CompletableFuture<byte[]> getBodyAsync(RequestTemplate requestTemplate, Executor currentExecutor, RequestSpan requestSpan) {
+        return executeAsync(requestTemplate, RequestUtils::readAllBytes, currentExecutor, requestSpan);
+    }
+
+    /**
+     * Maps buffered response body with the span current on the mapping thread.
+     */
+    private static <T> T mapBody(byte[] body, Function<InputStream, T> bodyMapper, RequestSpan requestSpan) {
+        requestSpan.startPhase(ExecutionPhase.MAPPING);
+        final TraceScope traceScope = requestSpan.makeCurrent();
+        try {
+            return bodyMapper.apply(new ByteArrayInputStream(body));
+        } finally {
+            traceScope.close();
+            requestSpan.endPhase();
+        }
+    }
+
+    /**
+     * Makes API call after acquiring rate limiter permit.
+     */
+    private <T> T execute(RequestTemplate requestTemplate, Function<InputStream, T> bodyMapper, RequestSpan requestSpan) {
+        final RateLimiter currentRateLimiter = rateLimiter;
+        if (currentRateLimiter != null) {
+            currentRateLimiter.acquire();
+        }
+        return RequestUtils.getResponse(getRequestTransport(requestTemplate.getEndpointType()), requestTemplate.getParsedUrl(), requestTemplate.getTimeoutSettings(), bodyMapper,
+                clientMetrics, requestTemplate.getEndpointType(), requestSpan);
+    }
+
+    /**
+     * Makes API call via {@link AsyncHttpTransport} after acquiring rate limiter permit.
+     * Waiting for a permit occupies an executor thread, calling thread is never blocked.
+     */
+    private <T> CompletableFuture<T> executeAsync(RequestTemplate requestTemplate, Function<InputStream, T> bodyMapper, Executor currentExecutor,
+                                                  RequestSpan requestSpan) {
+        final AsyncHttpTransport asyncHttpTransport = (AsyncHttpTransport) getRequestTransport(requestTemplate.getEndpointType());
+        final URL url = requestTemplate.getParsedUrl();
+        final RateLimiter currentRateLimiter = rateLimiter;
+        if (currentRateLimiter == null) {
+            return RequestUtils.getResponseAsync(asyncHttpTransport, url, requestTemplate.getTimeoutSettings(), bodyMapper, currentExecutor,
+                    clientMetrics, requestTemplate.getEndpointType(), requestSpan);
+        }
+
+        final long waitNanos;
+        if (currentRateLimiter.getMode() == RateLimitMode.NON_BLOCKING) {
+            if (!currentRateLimiter.tryAcquire()) {
+                final CompletableFuture<T> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(currentRateLimiter.createExceededException());
+                return rejected;
+            }
+            waitNanos = 0;
+        } else {
+            waitNanos = currentRateLimiter.reserve();
+        }
+        if (waitNanos == 0) {
+            return RequestUtils.getResponseAsync(asyncHttpTransport, url, requestTemplate.getTimeoutSettings(), bodyMapper, currentExecutor,
+                    clientMetrics, requestTemplate.getEndpointType(), requestSpan);
+        }
+        return CompletableFuture.runAsync(() -> RateLimiter.sleep(waitNanos), currentExecutor)
+                .thenCompose(ignored -> RequestUtils.getResponseAsync(asyncHttpTransport, url, requestTemplate.getTimeoutSettings(), bodyMapper, currentExecutor,
+                        clientMetrics, requestTemplate.getEndpointType(), requestSpan));
+    }
+
+    private boolean tryAcquireRetryPermit() {
+        final RateLimiter currentRateLimiter = rateLimiter;
+        return currentRateLimiter == null || currentRateLimiter.tryAcquire();
+    }
+
+    /**
+     * Returns body of the identical in-flight request or executes the request and lets others wait for it.
+     */
+    private byte[] getSharedBody(RequestTemplate requestTemplate, String requestKey, RequestSpan requestSpan) {
+        final CompletableFuture<byte[]> bodyFuture = new CompletableFuture<>();
+        final CompletableFuture<byte[]> inFlightBodyFuture = inFlightRequests.putIfAbsent(requestKey, bodyFuture);
+        if (inFlightBodyFuture != null) {
+            return join(inFlightBodyFuture);
+        }
+
+        try {
+            final byte[] body = execute(requestTemplate, RequestUtils::readAllBytes, requestSpan);
+            bodyFuture.complete(body);
+            return body;
+        } catch (RuntimeException ex) {
+            bodyFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightRequests.remove(requestKey, bodyFuture);
+        }
+    }
+
+    private CompletableFuture<byte[]> getSharedBodyAsync(RequestTemplate requestTemplate, String requestKey, Executor currentExecutor, RequestSpan requestSpan) {
+        final CompletableFuture<byte[]> bodyFuture = new CompletableFuture<>();
+        final CompletableFuture<byte[]> inFlightBodyFuture = inFlightRequests.putIfAbsent(requestKey, bodyFuture);
+        if (inFlightBodyFuture != null) {
+            return inFlightBodyFuture;
+        }
+
+        getBodyAsync(requestTemplate, currentExecutor, requestSpan).whenComplete((body, throwable) -> {
+            inFlightRequests.remove(requestKey, bodyFuture);
+            if (throwable != null) {
+                bodyFuture.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            } else {
+                bodyFuture.complete(body);
+            }
+        });
+        return bodyFuture;
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> bodyFuture) {
+        try {
+            return bodyFuture.join();
+        } catch (CompletionException ex) {
+            // rethrow the same exception the request owner got
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean isCacheable(ResponseCache cache, EndpointType endpointType) {
+        return cache != null && endpointType != null && cache.isCacheable(endpointType);
+    }
+
+    private static boolean isCacheable(DiskResponseCache cache, EndpointType endpointType) {
+        return cache != null && endpointType != null && cache.isCacheable(endpointType);
+    }
+
+    /**
+     * Looks up response of the request or, if there is none and the template accepts it, response of a wider request.
+     * Every key is looked up in memory cache first, responses found on disk are put into memory cache.
+     */
+    private static byte[] getCachedBody(ResponseCache cache, DiskResponseCache diskCache, RequestTemplate requestTemplate, String requestKey, EndpointType endpointType) {
+        byte[] body = getCachedBody(cache, diskCache, requestKey, endpointType);
+        if (body == null) {
+            for (String widerRequestKey : requestTemplate.getWiderCanonicalRequests()) {
+                body = getCachedBody(cache, diskCache, widerRequestKey, endpointType);
+                if (body != null) {
+                    break;
+                }
+            }
+        }
+        return body;
+    }
+
+    private static byte[] getCachedBody(ResponseCache cache, DiskResponseCache diskCache, String requestKey, EndpointType endpointType) {
+        byte[] body = cache != null ? cache.get(requestKey) : null;
+        if (body == null && diskCache != null) {
+            body = diskCache.get(requestKey);
+            if (body != null && cache != null) {
+                cache.put(requestKey, endpointType, body);
+            }
+        }
+        return body;
+    }
+
+    private static void putCachedBody(ResponseCache cache, DiskResponseCache diskCache, String requestKey, EndpointType endpointType, byte[] body) {
+        if (cache != null) {
+            cache.put(requestKey, endpointType, body);
+        }
+        if (diskCache != null) {
+            diskCache.put(requestKey, endpointType, body);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
 import com.github.prominence.openweathermap.api.enums.Language;
 import com.github.prominence.openweathermap.api.enums.ResponseType;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -35,10 +36,15 @@ public class RequestSettings {
     private static final String LANG_PARAM = "lang";
     private static final String UNITS_PARAM = "units";
     private static final String MODE_PARAM = "mode";
-    private static final String API_KEY_PARAM_NAME = "appid";
+
+    private final RequestUrlBuilder requestUrlBuilder;
 
     private final TimeoutSettings timeoutSettings;
 
+    private final RequestExecutor requestExecutor;
+
+    private final MappingContext mappingContext;
+
     private final Map<String, String> requestParameters = new HashMap<>(8);
 
     private final StringBuilder urlAppenderBuilder = new StringBuilder("");
@@ -46,16 +52,58 @@ public class RequestSettings {
     private Language language = Language.ENGLISH;
     private UnitSystem unitSystem = UnitSystem.STANDARD;
 
-    public RequestSettings(String apiKey, TimeoutSettings timeoutSettings) {
-        this.putRequestParameter(API_KEY_PARAM_NAME, apiKey);
+    public RequestSettings(String apiKey, TimeoutSettings timeoutSettings, RequestExecutor requestExecutor, MappingContext mappingContext) {
+        this(new RequestUrlBuilder(apiKey), timeoutSettings, requestExecutor, mappingContext);
+    }
+
+    /**
+     * Instantiates new settings sharing url builder, which already holds encoded API key, with other requests of the client.
+     *
+     * @param requestUrlBuilder url builder of the client.
+     * @param timeoutSettings   timeout settings, they are copied.
+     * @param requestExecutor   request executor of the client.
+     * @param mappingContext    mapping context of the client.
+     */
+    public RequestSettings(RequestUrlBuilder requestUrlBuilder, TimeoutSettings timeoutSettings, RequestExecutor requestExecutor, MappingContext mappingContext) {
+        this.requestUrlBuilder = requestUrlBuilder;
         // make a copy
         this.timeoutSettings = new TimeoutSettings(timeoutSettings);
+        this.requestExecutor = requestExecutor;
+        this.mappingContext = mappingContext;
+    }
+
+    /**
+     * Instantiates a copy of provided settings, e.g. to make several requests with the same language and units.
+     *
+     * @param from settings to copy.
+     */
+    public RequestSettings(RequestSettings from) {
+        this.requestUrlBuilder = from.requestUrlBuilder;
+        this.timeoutSettings = new TimeoutSettings(from.timeoutSettings);
+        this.requestExecutor = from.requestExecutor;
+        this.mappingContext = from.mappingContext;
+        this.requestParameters.putAll(from.requestParameters);
+        this.urlAppenderBuilder.append(from.urlAppenderBuilder);
+        this.language = from.language;
+        this.unitSystem = from.unitSystem;
+    }
+
+    public RequestUrlBuilder getRequestUrlBuilder() {
+        return requestUrlBuilder;
     }
 
     public TimeoutSettings getTimeoutSettings() {
         return timeoutSettings;
     }
 
+    public RequestExecutor getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    public MappingContext getMappingContext() {
+        return mappingContext;
+    }
+
     public UnitSystem getUnitSystem() {
         return unitSystem;
     }
@@ -78,6 +126,18 @@ public class RequestSettings {
         this.putRequestParameter(MODE_PARAM, responseType.getValue());
     }
 
+    /**
+     * Creates a copy of these settings with provided response type, these settings stay unchanged.
+     *
+     * @param responseType response type.
+     * @return settings copy.
+     */
+    public RequestSettings withResponseType(ResponseType responseType) {
+        final RequestSettings requestSettings = new RequestSettings(this);
+        requestSettings.setResponseType(responseType);
+        return requestSettings;
+    }
+
     public void putRequestParameter(String key, String value) {
         this.requestParameters.put(key, value);
     }
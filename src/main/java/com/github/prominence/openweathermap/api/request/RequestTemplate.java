@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.Language;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Immutable snapshot of {@link RequestSettings} with the request url built and parsed once.
+ * Templates are thread-safe and can be executed any number of times, later changes of the source settings don't affect them.
+ */
+public final class RequestTemplate {
+    private static final String EXCLUDE_PARAMETER = "exclude";
+    // One Call has 5 sections, more values can't be produced by the API customizers
+    private static final int MAX_EXCLUDED_SECTIONS = 5;
+
+    private final RequestExecutor requestExecutor;
+    private final MappingContext mappingContext;
+    private final TimeoutSettings timeoutSettings;
+    private final Language language;
+    private final UnitSystem unitSystem;
+    private final String urlAppender;
+    private final Map<String, String> requestParameters;
+    private final EndpointType endpointType;
+    private final String url;
+    private final URL parsedUrl;
+    private final boolean widerResponseAccepted;
+
+    // computed on first use only, as it is needed by cache and coalescing only
+    private String canonicalRequest;
+    private List<String> widerCanonicalRequests;
+
+    private RequestTemplate(RequestSettings requestSettings) {
+        this.requestExecutor = requestSettings.getRequestExecutor();
+        this.mappingContext = requestSettings.getMappingContext();
+        this.timeoutSettings = new TimeoutSettings(requestSettings.getTimeoutSettings());
+        this.language = requestSettings.getLanguage();
+        this.unitSystem = requestSettings.getUnitSystem();
+        this.urlAppender = requestSettings.getUrlAppender().toString();
+        this.requestParameters = Collections.unmodifiableMap(new HashMap<>(requestSettings.getRequestParameters()));
+        this.endpointType = EndpointType.getByUrlAppender(urlAppender);
+        this.url = RequestUtils.getRequestUrl(requestSettings);
+        this.parsedUrl = RequestUtils.parseUrl(url);
+        this.widerResponseAccepted = false;
+    }
+
+    private RequestTemplate(RequestTemplate requestTemplate, boolean widerResponseAccepted) {
+        this.requestExecutor = requestTemplate.requestExecutor;
+        this.mappingContext = requestTemplate.mappingContext;
+        this.timeoutSettings = requestTemplate.timeoutSettings;
+        this.language = requestTemplate.language;
+        this.unitSystem = requestTemplate.unitSystem;
+        this.urlAppender = requestTemplate.urlAppender;
+        this.requestParameters = requestTemplate.requestParameters;
+        this.endpointType = requestTemplate.endpointType;
+        this.url = requestTemplate.url;
+        this.parsedUrl = requestTemplate.parsedUrl;
+        this.widerResponseAccepted = widerResponseAccepted;
+    }
+
+    /**
+     * Creates template from the current state of request settings.
+     *
+     * @param requestSettings request settings object.
+     * @return request template.
+     * @throws IllegalArgumentException in case if settings don't describe a valid url.
+     */
+    public static RequestTemplate from(RequestSettings requestSettings) {
+        return new RequestTemplate(requestSettings);
+    }
+
+    /**
+     * Creates the same template which accepts cached responses of wider requests, see {@link #getWiderCanonicalRequests()}.
+     * Should be used only with response mappers which skip data that isn't requested.
+     *
+     * @return request template.
+     */
+    public RequestTemplate acceptingWiderResponse() {
+        return widerResponseAccepted ? this : new RequestTemplate(this, true);
+    }
+
+    public boolean isWiderResponseAccepted() {
+        return widerResponseAccepted;
+    }
+
+    public RequestExecutor getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    public MappingContext getMappingContext() {
+        return mappingContext;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public UnitSystem getUnitSystem() {
+        return unitSystem;
+    }
+
+    public String getUrlAppender() {
+        return urlAppender;
+    }
+
+    public Map<String, String> getRequestParameters() {
+        return requestParameters;
+    }
+
+    /**
+     * Returns endpoint type of the request.
+     *
+     * @return endpoint type or <code>null</code> if the endpoint is unknown.
+     */
+    public EndpointType getEndpointType() {
+        return endpointType;
+    }
+
+    /**
+     * Returns full API url, including API key.
+     *
+     * @return the url in <code>String</code> representation.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    URL getParsedUrl() {
+        return parsedUrl;
+    }
+
+    TimeoutSettings getTimeoutSettings() {
+        // the copy is never exposed, so it isn't changed after creation
+        return timeoutSettings;
+    }
+
+    /**
+     * Returns canonical representation of the request, see {@link RequestUtils#getCanonicalRequest(CharSequence, Map)}.
+     *
+     * @return the canonical request.
+     */
+    public String getCanonicalRequest() {
+        String result = canonicalRequest;
+        if (result == null) {
+            // benign race: every thread computes the same immutable value
+            result = RequestUtils.getCanonicalRequest(urlAppender, requestParameters);
+            canonicalRequest = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns canonical representations of requests which responses contain all data of this one, narrowest first.
+     * These are One Call requests which <code>exclude</code> only part of sections excluded by this one.
+     *
+     * @return the canonical requests, empty if wider responses aren't accepted.
+     */
+    public List<String> getWiderCanonicalRequests() {
+        List<String> result = widerCanonicalRequests;
+        if (result == null) {
+            // benign race: every thread computes the same immutable value
+            result = widerResponseAccepted && endpointType == EndpointType.ONE_CALL ? Collections.unmodifiableList(buildWiderCanonicalRequests()) : Collections.emptyList();
+            widerCanonicalRequests = result;
+        }
+        return result;
+    }
+
+    private List<String> buildWiderCanonicalRequests() {
+        final String excludeValue = requestParameters.get(EXCLUDE_PARAMETER);
+        if (excludeValue == null) {
+            return Collections.emptyList();
+        }
+        final List<String> excludedSections = Arrays.asList(excludeValue.split(","));
+        if (excludedSections.size() > MAX_EXCLUDED_SECTIONS) {
+            return Collections.emptyList();
+        }
+        final int allSections = (1 << excludedSections.size()) - 1;
+        final List<String> result = new ArrayList<>();
+        // subsets of excluded sections, from the largest one to empty set which means the full response
+        for (int sectionCount = excludedSections.size() - 1; sectionCount >= 0; sectionCount--) {
+            for (int mask = allSections - 1; mask >= 0; mask--) {
+                if (Integer.bitCount(mask) != sectionCount) {
+                    continue;
+                }
+                final Map<String, String> parameters = new HashMap<>(requestParameters);
+                if (sectionCount == 0) {
+                    parameters.remove(EXCLUDE_PARAMETER);
+                } else {
+                    final StringJoiner widerExcludeValue = new StringJoiner(",");
+                    for (int i = 0; i < excludedSections.size(); i++) {
+                        if ((mask & (1 << i)) != 0) {
+                            widerExcludeValue.add(excludedSections.get(i));
+                        }
+                    }
+                    parameters.put(EXCLUDE_PARAMETER, widerExcludeValue.toString());
+                }
+                result.add(RequestUtils.getCanonicalRequest(urlAppender, parameters));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getCanonicalRequest();
+    }
+}
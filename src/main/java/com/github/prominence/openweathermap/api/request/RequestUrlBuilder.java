@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds API urls with percent-encoded query parameters.
+ * One instance is owned by {@link com.github.prominence.openweathermap.api.OpenWeatherMapClient}: it keeps encoded url prefix
+ * (base url, endpoint path and API key) per endpoint, so only request specific parameters are encoded on each call.
+ * Urls are written into a reusable per-thread buffer.
+ */
+public final class RequestUrlBuilder {
+    static final String OWM_URL_BASE = "https://api.openweathermap.org/data/2.5/";
+    static final String API_KEY_PARAM_NAME = "appid";
+
+    // endpoint paths are fixed by requesters, the limit only protects from unexpected appenders
+    private static final int MAX_CACHED_PREFIXES = 64;
+    private static final int MAX_BUFFER_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final String apiKeyParameter;
+    private final ConcurrentMap<String, String> prefixes = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Request url builder.
+     *
+     * @param apiKey API key to put into every url.
+     */
+    public RequestUrlBuilder(String apiKey) {
+        final StringBuilder builder = new StringBuilder(API_KEY_PARAM_NAME).append('=');
+        appendEncoded(builder, String.valueOf(apiKey));
+        this.apiKeyParameter = builder.toString();
+    }
+
+    /**
+     * Builds full API url.
+     *
+     * @param urlAppender       endpoint path relative to the API base url.
+     * @param requestParameters query parameters, values are encoded as needed.
+     * @return the url in <code>String</code> representation.
+     */
+    public String build(CharSequence urlAppender, Map<String, String> requestParameters) {
+        final StringBuilder builder = BUFFER.get();
+        builder.setLength(0);
+        builder.append(getPrefix(urlAppender.toString()));
+        for (Map.Entry<String, String> parameter : requestParameters.entrySet()) {
+            if (API_KEY_PARAM_NAME.equals(parameter.getKey())) {
+                continue;
+            }
+            builder.append('&');
+            appendEncoded(builder, parameter.getKey());
+            builder.append('=');
+            appendEncoded(builder, String.valueOf(parameter.getValue()));
+        }
+
+        final String url = builder.toString();
+        if (builder.capacity() > MAX_BUFFER_CAPACITY) {
+            BUFFER.remove();
+        }
+        return url;
+    }
+
+    private String getPrefix(String urlAppender) {
+        final String prefix = prefixes.get(urlAppender);
+        if (prefix != null) {
+            return prefix;
+        }
+        final String newPrefix = OWM_URL_BASE + urlAppender + '?' + apiKeyParameter;
+        if (prefixes.size() < MAX_CACHED_PREFIXES) {
+            prefixes.putIfAbsent(urlAppender, newPrefix);
+        }
+        return newPrefix;
+    }
+
+    /**
+     * Appends percent-encoded UTF-8 form of the value. Unreserved characters and commas, used by API as list separator, are kept as is.
+     *
+     * @param builder builder to append to.
+     * @param value   value to encode.
+     */
+    public static void appendEncoded(StringBuilder builder, String value) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                builder.append(c);
+            } else if (c < 0x80) {
+                appendEncodedByte(builder, c);
+            } else if (c < 0x800) {
+                appendEncodedByte(builder, 0xC0 | (c >> 6));
+                appendEncodedByte(builder, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendEncodedByte(builder, 0xF0 | (codePoint >> 18));
+                appendEncodedByte(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendEncodedByte(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendEncodedByte(builder, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // malformed pair, encoded as '?' like String.getBytes does
+                appendEncodedByte(builder, '?');
+            } else {
+                appendEncodedByte(builder, 0xE0 | (c >> 12));
+                appendEncodedByte(builder, 0x80 | ((c >> 6) & 0x3F));
+                appendEncodedByte(builder, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~' || c == ',';
+    }
+
+    private static void appendEncodedByte(StringBuilder builder, int b) {
+        builder.append('%');
+        builder.append(HEX_DIGITS[(b >> 4) & 0xF]);
+        builder.append(HEX_DIGITS[b & 0xF]);
+    }
+}
@@ -24,10 +24,8 @@
 
 package com.github.prominence.openweathermap.api.request.air.pollution;
 
-import com.github.prominence.openweathermap.api.mapper.AirPollutionResponseMapper;
 import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -47,14 +45,10 @@ public class AirPollutionAsyncRequestTerminator {
     }
 
     public CompletableFuture<AirPollutionDetails> asJava() {
-        return CompletableFuture.supplyAsync(() -> new AirPollutionResponseMapper().mapToAirPollution(getRawResponse()));
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings, requestSettings.getMappingContext().getAirPollutionResponseMapper()::mapToAirPollution);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
-    }
-
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings);
     }
 }
@@ -24,7 +24,10 @@
 
 package com.github.prominence.openweathermap.api.request.air.pollution;
 
+import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
+import com.github.prominence.openweathermap.api.request.PreparedRequest;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
 
 /**
  * The Air Pollution request customizer.
@@ -48,4 +51,13 @@ public class AirPollutionRequestCustomizer {
     public AirPollutionAsyncRequestTerminator retrieveAsync() {
         return new AirPollutionAsyncRequestTerminator(requestSettings);
     }
+
+    /**
+     * Builds immutable request which can be executed many times and from many threads.
+     *
+     * @return prepared request.
+     */
+    public PreparedRequest<AirPollutionDetails> prepare() {
+        return new PreparedRequest<>(RequestTemplate.from(requestSettings), requestSettings.getMappingContext().getAirPollutionResponseMapper()::mapToAirPollution);
+    }
 }
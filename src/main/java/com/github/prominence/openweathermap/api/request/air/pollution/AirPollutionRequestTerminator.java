@@ -24,10 +24,8 @@
 
 package com.github.prominence.openweathermap.api.request.air.pollution;
 
-import com.github.prominence.openweathermap.api.mapper.AirPollutionResponseMapper;
 import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 /**
  * The type Air pollution request terminator.
@@ -45,7 +43,7 @@ public class AirPollutionRequestTerminator {
     }
 
     public AirPollutionDetails asJava() {
-        return new AirPollutionResponseMapper().mapToAirPollution(getRawResponse());
+        return requestSettings.getRequestExecutor().getResponse(requestSettings, requestSettings.getMappingContext().getAirPollutionResponseMapper()::mapToAirPollution);
     }
 
     public String asJSON() {
@@ -53,6 +51,6 @@ public class AirPollutionRequestTerminator {
     }
 
     private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
     }
 }
@@ -23,10 +23,9 @@
 package com.github.prominence.openweathermap.api.request.forecast.free;
 
 import com.github.prominence.openweathermap.api.enums.ResponseType;
-import com.github.prominence.openweathermap.api.mapper.FiveDayThreeHourStepForecastResponseMapper;
 import com.github.prominence.openweathermap.api.model.forecast.Forecast;
+import com.github.prominence.openweathermap.api.model.forecast.ForecastSeries;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -46,19 +45,24 @@ public class FiveDayThreeHourStepForecastAsyncRequestTerminator {
     }
 
     public CompletableFuture<Forecast> asJava() {
-        return CompletableFuture.supplyAsync(() -> new FiveDayThreeHourStepForecastResponseMapper(requestSettings.getUnitSystem()).mapToForecast(getRawResponse()));
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings, requestSettings.getMappingContext().getForecastResponseMapper(requestSettings.getUnitSystem())::mapToForecast);
     }
 
-    public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+    /**
+     * Returns forecast in compact columnar representation, see {@link ForecastSeries}.
+     *
+     * @return the forecast series future
+     */
+    public CompletableFuture<ForecastSeries> asSeries() {
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings, requestSettings.getMappingContext().getForecastResponseMapper(requestSettings.getUnitSystem())::mapToForecastSeries);
     }
 
-    public CompletableFuture<String> asXML() {
-        requestSettings.setResponseType(ResponseType.XML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+    public CompletableFuture<String> asJSON() {
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings);
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    public CompletableFuture<String> asXML() {
+        final RequestSettings xmlRequestSettings = requestSettings.withResponseType(ResponseType.XML);
+        return xmlRequestSettings.getRequestExecutor().getResponseAsync(xmlRequestSettings);
     }
 }
@@ -24,7 +24,10 @@ package com.github.prominence.openweathermap.api.request.forecast.free;
 
 import com.github.prominence.openweathermap.api.enums.Language;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.forecast.Forecast;
+import com.github.prominence.openweathermap.api.request.PreparedRequest;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
 
 /**
  * The forecast request customizer.
@@ -63,4 +66,13 @@ public class FiveDayThreeHourStepForecastRequestCustomizer {
     public FiveDayThreeHourStepForecastAsyncRequestTerminator retrieveAsync() {
         return new FiveDayThreeHourStepForecastAsyncRequestTerminator(requestSettings);
     }
+
+    /**
+     * Builds immutable request which can be executed many times and from many threads.
+     *
+     * @return prepared request.
+     */
+    public PreparedRequest<Forecast> prepare() {
+        return new PreparedRequest<>(RequestTemplate.from(requestSettings), requestSettings.getMappingContext().getForecastResponseMapper(requestSettings.getUnitSystem())::mapToForecast);
+    }
 }
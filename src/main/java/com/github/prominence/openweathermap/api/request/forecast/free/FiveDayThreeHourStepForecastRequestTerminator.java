@@ -23,10 +23,9 @@
 package com.github.prominence.openweathermap.api.request.forecast.free;
 
 import com.github.prominence.openweathermap.api.enums.ResponseType;
-import com.github.prominence.openweathermap.api.mapper.FiveDayThreeHourStepForecastResponseMapper;
 import com.github.prominence.openweathermap.api.model.forecast.Forecast;
+import com.github.prominence.openweathermap.api.model.forecast.ForecastSeries;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 /**
  * The forecast request terminator.
@@ -44,19 +43,27 @@ public class FiveDayThreeHourStepForecastRequestTerminator {
     }
 
     public Forecast asJava() {
-        return new FiveDayThreeHourStepForecastResponseMapper(requestSettings.getUnitSystem()).mapToForecast(getRawResponse());
+        return requestSettings.getRequestExecutor().getResponse(requestSettings, requestSettings.getMappingContext().getForecastResponseMapper(requestSettings.getUnitSystem())::mapToForecast);
+    }
+
+    /**
+     * Returns forecast in compact columnar representation, see {@link ForecastSeries}.
+     *
+     * @return the forecast series
+     */
+    public ForecastSeries asSeries() {
+        return requestSettings.getRequestExecutor().getResponse(requestSettings, requestSettings.getMappingContext().getForecastResponseMapper(requestSettings.getUnitSystem())::mapToForecastSeries);
     }
 
     public String asJSON() {
-        return getRawResponse();
+        return getRawResponse(requestSettings);
     }
 
     public String asXML() {
-        requestSettings.setResponseType(ResponseType.XML);
-        return getRawResponse();
+        return getRawResponse(requestSettings.withResponseType(ResponseType.XML));
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private static String getRawResponse(RequestSettings requestSettings) {
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
     }
 }
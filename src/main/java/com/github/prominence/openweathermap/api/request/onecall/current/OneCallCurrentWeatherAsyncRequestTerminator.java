@@ -22,11 +22,13 @@
 
 package com.github.prominence.openweathermap.api.request.onecall.current;
 
+import com.github.prominence.openweathermap.api.enums.OneCallResultOptions;
 import com.github.prominence.openweathermap.api.mapper.OneCallWeatherResponseMapper;
 import com.github.prominence.openweathermap.api.model.onecall.current.CurrentWeatherData;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
 
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -34,25 +36,26 @@ import java.util.concurrent.CompletableFuture;
  */
 public class OneCallCurrentWeatherAsyncRequestTerminator {
     private final RequestSettings requestSettings;
+    private final Set<OneCallResultOptions> excludedSections;
 
     /**
      * Instantiates a new One call current weather async request terminator.
      *
-     * @param requestSettings request settings object.
+     * @param requestSettings  request settings object.
+     * @param excludedSections sections excluded from the response.
      */
-    OneCallCurrentWeatherAsyncRequestTerminator(RequestSettings requestSettings) {
+    OneCallCurrentWeatherAsyncRequestTerminator(RequestSettings requestSettings, Set<OneCallResultOptions> excludedSections) {
         this.requestSettings = requestSettings;
+        this.excludedSections = excludedSections;
     }
 
     public CompletableFuture<CurrentWeatherData> asJava() {
-        return CompletableFuture.supplyAsync(() -> new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToCurrent(getRawResponse()));
+        final OneCallWeatherResponseMapper mapper = requestSettings.getMappingContext().getOneCallWeatherResponseMapper(requestSettings.getUnitSystem());
+        // excluded sections are skipped by the mapper, so response with more sections could be used
+        return requestSettings.getRequestExecutor().getResponseAsync(RequestTemplate.from(requestSettings).acceptingWiderResponse(), inputStream -> mapper.mapToCurrent(inputStream, excludedSections));
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
-    }
-
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings);
     }
 }
@@ -25,16 +25,24 @@ package com.github.prominence.openweathermap.api.request.onecall.current;
 import com.github.prominence.openweathermap.api.enums.Language;
 import com.github.prominence.openweathermap.api.enums.OneCallResultOptions;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.OneCallWeatherResponseMapper;
+import com.github.prominence.openweathermap.api.model.onecall.current.CurrentWeatherData;
+import com.github.prominence.openweathermap.api.request.PreparedRequest;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The type One call current weather request customizer.
  */
 public class OneCallCurrentWeatherRequestCustomizer {
     private final RequestSettings requestSettings;
+    private Set<OneCallResultOptions> excludedSections = Collections.emptySet();
 
     /**
      * Instantiates a new One call current weather request customizer.
@@ -55,20 +63,62 @@ public class OneCallCurrentWeatherRequestCustomizer {
         return this;
     }
 
+    /**
+     * Excludes sections from the response. They aren't mapped, and cached response of request with fewer sections excluded
+     * is used instead of API call if there is one.
+     *
+     * @param excludeOptions sections to exclude.
+     * @return customizer.
+     */
     public OneCallCurrentWeatherRequestCustomizer exclude(OneCallResultOptions... excludeOptions) {
-        if (excludeOptions != null && excludeOptions.length > 0) {
-            requestSettings.putRequestParameter("exclude", Stream.of(excludeOptions).map(OneCallResultOptions::getValue).collect(Collectors.joining(",")));
+        final Set<OneCallResultOptions> sections = EnumSet.noneOf(OneCallResultOptions.class);
+        if (excludeOptions != null) {
+            sections.addAll(Arrays.asList(excludeOptions));
+        }
+        return excludeSections(sections);
+    }
+
+    /**
+     * Requests only provided sections, the rest are excluded, see {@link #exclude(OneCallResultOptions...)}.
+     *
+     * @param includeOptions sections to request.
+     * @return customizer.
+     */
+    public OneCallCurrentWeatherRequestCustomizer include(OneCallResultOptions... includeOptions) {
+        final Set<OneCallResultOptions> sections = EnumSet.allOf(OneCallResultOptions.class);
+        if (includeOptions != null) {
+            sections.removeAll(Arrays.asList(includeOptions));
+        }
+        return excludeSections(sections);
+    }
+
+    private OneCallCurrentWeatherRequestCustomizer excludeSections(Set<OneCallResultOptions> sections) {
+        if (!sections.isEmpty()) {
+            // sections are always listed in the same order, so equal requests have equal cache keys
+            requestSettings.putRequestParameter("exclude", sections.stream().map(OneCallResultOptions::getValue).collect(Collectors.joining(",")));
         } else {
             requestSettings.removeRequestParameter("exclude");
         }
+        excludedSections = Collections.unmodifiableSet(sections);
         return this;
     }
 
     public OneCallCurrentWeatherRequestTerminator retrieve() {
-        return new OneCallCurrentWeatherRequestTerminator(requestSettings);
+        return new OneCallCurrentWeatherRequestTerminator(requestSettings, excludedSections);
     }
 
     public OneCallCurrentWeatherAsyncRequestTerminator retrieveAsync() {
-        return new OneCallCurrentWeatherAsyncRequestTerminator(requestSettings);
+        return new OneCallCurrentWeatherAsyncRequestTerminator(requestSettings, excludedSections);
+    }
+
+    /**
+     * Builds immutable request which can be executed many times and from many threads.
+     *
+     * @return prepared request.
+     */
+    public PreparedRequest<CurrentWeatherData> prepare() {
+        final OneCallWeatherResponseMapper mapper = requestSettings.getMappingContext().getOneCallWeatherResponseMapper(requestSettings.getUnitSystem());
+        final Set<OneCallResultOptions> sections = excludedSections;
+        return new PreparedRequest<>(RequestTemplate.from(requestSettings).acceptingWiderResponse(), inputStream -> mapper.mapToCurrent(inputStream, sections));
     }
 }
@@ -22,28 +22,36 @@
 
 package com.github.prominence.openweathermap.api.request.onecall.current;
 
+import com.github.prominence.openweathermap.api.enums.OneCallResultOptions;
 import com.github.prominence.openweathermap.api.mapper.OneCallWeatherResponseMapper;
 import com.github.prominence.openweathermap.api.model.onecall.current.CurrentWeatherData;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
+
+import java.util.Set;
 
 /**
  * The type One call current weather request terminator.
  */
 public class OneCallCurrentWeatherRequestTerminator {
     private final RequestSettings requestSettings;
+    private final Set<OneCallResultOptions> excludedSections;
 
     /**
      * Instantiates a new One call current weather request terminator.
      *
-     * @param requestSettings request settings object.
+     * @param requestSettings  request settings object.
+     * @param excludedSections sections excluded from the response.
      */
-    OneCallCurrentWeatherRequestTerminator(RequestSettings requestSettings) {
+    OneCallCurrentWeatherRequestTerminator(RequestSettings requestSettings, Set<OneCallResultOptions> excludedSections) {
         this.requestSettings = requestSettings;
+        this.excludedSections = excludedSections;
     }
 
     public CurrentWeatherData asJava() {
-        return new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToCurrent(getRawResponse());
+        final OneCallWeatherResponseMapper mapper = requestSettings.getMappingContext().getOneCallWeatherResponseMapper(requestSettings.getUnitSystem());
+        // excluded sections are skipped by the mapper, so response with more sections could be used
+        return requestSettings.getRequestExecutor().getResponse(RequestTemplate.from(requestSettings).acceptingWiderResponse(), inputStream -> mapper.mapToCurrent(inputStream, excludedSections));
     }
 
     public String asJSON() {
@@ -51,6 +59,6 @@ public class OneCallCurrentWeatherRequestTerminator {
     }
 
     private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
     }
 }
@@ -22,10 +22,8 @@
 
 package com.github.prominence.openweathermap.api.request.onecall.historical;
 
-import com.github.prominence.openweathermap.api.mapper.OneCallWeatherResponseMapper;
 import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeatherData;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -45,14 +43,10 @@ public class OneCallHistoricalWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<HistoricalWeatherData> asJava() {
-        return CompletableFuture.supplyAsync(() -> new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToHistorical(getRawResponse()));
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings, requestSettings.getMappingContext().getOneCallWeatherResponseMapper(requestSettings.getUnitSystem())::mapToHistorical);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
-    }
-
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings);
     }
 }
@@ -24,7 +24,10 @@ package com.github.prominence.openweathermap.api.request.onecall.historical;
 
 import com.github.prominence.openweathermap.api.enums.Language;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeatherData;
+import com.github.prominence.openweathermap.api.request.PreparedRequest;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
 
 /**
  * The type One call historical weather request customizer.
@@ -58,4 +61,13 @@ public class OneCallHistoricalWeatherRequestCustomizer {
     public OneCallHistoricalWeatherAsyncRequestTerminator retrieveAsync() {
         return new OneCallHistoricalWeatherAsyncRequestTerminator(requestSettings);
     }
+
+    /**
+     * Builds immutable request which can be executed many times and from many threads.
+     *
+     * @return prepared request.
+     */
+    public PreparedRequest<HistoricalWeatherData> prepare() {
+        return new PreparedRequest<>(RequestTemplate.from(requestSettings), requestSettings.getMappingContext().getOneCallWeatherResponseMapper(requestSettings.getUnitSystem())::mapToHistorical);
+    }
 }
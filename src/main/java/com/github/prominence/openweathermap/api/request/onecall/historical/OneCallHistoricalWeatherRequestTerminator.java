@@ -22,10 +22,8 @@
 
 package com.github.prominence.openweathermap.api.request.onecall.historical;
 
-import com.github.prominence.openweathermap.api.mapper.OneCallWeatherResponseMapper;
 import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeatherData;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 /**
  * The type One call historical weather request terminator.
@@ -43,7 +41,7 @@ public class OneCallHistoricalWeatherRequestTerminator {
     }
 
     public HistoricalWeatherData asJava() {
-        return new OneCallWeatherResponseMapper(requestSettings.getUnitSystem()).mapToHistorical(getRawResponse());
+        return requestSettings.getRequestExecutor().getResponse(requestSettings, requestSettings.getMappingContext().getOneCallWeatherResponseMapper(requestSettings.getUnitSystem())::mapToHistorical);
     }
 
     public String asJSON() {
@@ -51,6 +49,6 @@ public class OneCallHistoricalWeatherRequestTerminator {
     }
 
     private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
     }
 }
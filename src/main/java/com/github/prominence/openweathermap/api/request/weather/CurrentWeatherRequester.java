@@ -23,9 +23,14 @@
 package com.github.prominence.openweathermap.api.request.weather;
 
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.weather.bulk.BulkCurrentWeatherRequestCustomizer;
 import com.github.prominence.openweathermap.api.request.weather.multiple.MultipleLocationsCurrentWeatherRequester;
 import com.github.prominence.openweathermap.api.request.weather.single.SingleLocationCurrentWeatherRequester;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
 /**
  * The type Current weather requester.
  */
@@ -48,4 +53,17 @@ public class CurrentWeatherRequester {
     public MultipleLocationsCurrentWeatherRequester multiple() {
         return new MultipleLocationsCurrentWeatherRequester(requestSettings);
     }
+
+    /**
+     * Requests current weather for many cities at once, packing their ids into group calls.
+     *
+     * @param cityIds city ids, duplicates are requested once.
+     * @return bulk request customizer.
+     */
+    public BulkCurrentWeatherRequestCustomizer byCityIds(Collection<Long> cityIds) {
+        if (cityIds == null || cityIds.isEmpty()) {
+            throw new IllegalArgumentException("City ids must be set.");
+        }
+        return new BulkCurrentWeatherRequestCustomizer(requestSettings, new ArrayList<>(new LinkedHashSet<>(cityIds)));
+    }
 }
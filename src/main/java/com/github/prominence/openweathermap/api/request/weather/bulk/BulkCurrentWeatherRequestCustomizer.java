@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request.weather.bulk;
+
+import com.github.prominence.openweathermap.api.enums.Language;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * The type Bulk current weather request customizer.
+ */
+public class BulkCurrentWeatherRequestCustomizer {
+    /**
+     * Maximum number of city ids the group endpoint accepts in one call.
+     */
+    public static final int MAX_BATCH_SIZE = 20;
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private final RequestSettings requestSettings;
+    private final List<Long> cityIds;
+    private int batchSize = MAX_BATCH_SIZE;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private int callsPerMinute;
+    private Executor executor;
+
+    /**
+     * Instantiates a new Bulk current weather request customizer.
+     *
+     * @param requestSettings request settings object.
+     * @param cityIds         distinct city ids.
+     */
+    public BulkCurrentWeatherRequestCustomizer(RequestSettings requestSettings, List<Long> cityIds) {
+        this.requestSettings = requestSettings;
+        this.cityIds = cityIds;
+    }
+
+    public BulkCurrentWeatherRequestCustomizer language(Language language) {
+        requestSettings.setLanguage(language);
+        return this;
+    }
+
+    public BulkCurrentWeatherRequestCustomizer unitSystem(UnitSystem unitSystem) {
+        requestSettings.setUnitSystem(unitSystem);
+        return this;
+    }
+
+    /**
+     * Sets number of city ids requested in one call. Values above 1 use the group endpoint.
+     *
+     * @param batchSize from 1 to {@link #MAX_BATCH_SIZE}, the latter is used by default.
+     * @return this customizer.
+     */
+    public BulkCurrentWeatherRequestCustomizer batchSize(int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be from 1 to " + MAX_BATCH_SIZE + ".");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets maximum number of concurrent API calls of the request.
+     *
+     * @param maxConcurrency positive number, {@link #DEFAULT_MAX_CONCURRENCY} is used by default.
+     * @return this customizer.
+     */
+    public BulkCurrentWeatherRequestCustomizer maxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive.");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Limits API calls of the request, in addition to the client rate limit if it is set.
+     *
+     * @param callsPerMinute positive number of calls per minute.
+     * @return this customizer.
+     */
+    public BulkCurrentWeatherRequestCustomizer callsPerMinute(int callsPerMinute) {
+        if (callsPerMinute < 1) {
+            throw new IllegalArgumentException("Calls per minute must be positive.");
+        }
+        this.callsPerMinute = callsPerMinute;
+        return this;
+    }
+
+    /**
+     * Sets executor running the workers of the request. Workers make blocking API calls, so the executor must not be
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()} or another pool whose threads must not block.
+     * By default the client executor is used, unless it is the common pool: then the request starts its own daemon threads,
+     * one per worker.
+     *
+     * @param executor the executor.
+     * @return this customizer.
+     */
+    public BulkCurrentWeatherRequestCustomizer executor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must be set.");
+        }
+        this.executor = executor;
+        return this;
+    }
+
+    public BulkCurrentWeatherRequestTerminator retrieve() {
+        return new BulkCurrentWeatherRequestTerminator(requestSettings, cityIds, batchSize, maxConcurrency, callsPerMinute, executor);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request.weather.bulk;
+
+import com.github.prominence.openweathermap.api.enums.RateLimitMode;
+import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
+import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
+import com.github.prominence.openweathermap.api.model.weather.CityWeatherResult;
+import com.github.prominence.openweathermap.api.model.weather.Weather;
+import com.github.prominence.openweathermap.api.ratelimit.RateLimiter;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The type Bulk current weather request terminator.
+ * Cities are packed into batches which are fetched by a bounded number of workers. Workers make blocking calls, so they run
+ * on the configured executor, the client executor or, if the latter is {@link ForkJoinPool#commonPool()}, on own daemon threads.
+ * Every requested city gets exactly one {@link CityWeatherResult}, failed cities don't affect the others.
+ */
+public class BulkCurrentWeatherRequestTerminator {
+    private static final AtomicInteger WORKER_THREAD_NUMBER = new AtomicInteger();
+
+    private final RequestSettings requestSettings;
+    private final List<Long> cityIds;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final int callsPerMinute;
+    private final Executor executor;
+
+    /**
+     * Instantiates a new Bulk current weather request terminator.
+     *
+     * @param requestSettings request settings object.
+     * @param cityIds         distinct city ids.
+     * @param batchSize       number of city ids per call.
+     * @param maxConcurrency  maximum number of concurrent calls.
+     * @param callsPerMinute  calls per minute ceiling, <code>0</code> for none.
+     * @param executor        executor of the workers, <code>null</code> for the default one.
+     */
+    BulkCurrentWeatherRequestTerminator(RequestSettings requestSettings, List<Long> cityIds, int batchSize, int maxConcurrency, int callsPerMinute,
+                                        Executor executor) {
+        this.requestSettings = requestSettings;
+        this.cityIds = cityIds;
+        this.batchSize = batchSize;
+        this.maxConcurrency = maxConcurrency;
+        this.callsPerMinute = callsPerMinute;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts fetching and returns results in order of their arrival.
+     * Closing the stream stops fetching of not yet started batches.
+     *
+     * @return stream of results, one per requested city.
+     */
+    public Stream<CityWeatherResult> asStream() {
+        final BulkFetch fetch = new BulkFetch();
+        fetch.start();
+        return StreamSupport.stream(fetch, false).onClose(fetch::cancel);
+    }
+
+    /**
+     * Fetches weather for all cities.
+     *
+     * @return list of results, one per requested city.
+     */
+    public List<CityWeatherResult> asJava() {
+        try (Stream<CityWeatherResult> stream = asStream()) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    private Executor getWorkerExecutor() {
+        if (executor != null) {
+            return executor;
+        }
+        final Executor clientExecutor = requestSettings.getRequestExecutor().getExecutor();
+        if (clientExecutor != ForkJoinPool.commonPool()) {
+            return clientExecutor;
+        }
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "openweathermap-bulk-" + WORKER_THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    private class BulkFetch extends Spliterators.AbstractSpliterator<CityWeatherResult> {
+        private final Queue<List<Long>> batches = new ConcurrentLinkedQueue<>();
+        private final BlockingQueue<CityWeatherResult> results = new LinkedBlockingQueue<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final CurrentWeatherResponseMapper mapper = requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem());
+        private final RateLimiter rateLimiter = callsPerMinute > 0 ? new RateLimiter(callsPerMinute, 1, TimeUnit.MINUTES, RateLimitMode.BLOCKING) : null;
+        private int remaining = cityIds.size();
+
+        BulkFetch() {
+            super(cityIds.size(), Spliterator.NONNULL | Spliterator.SIZED);
+        }
+
+        void start() {
+            for (int i = 0; i < cityIds.size(); i += batchSize) {
+                batches.add(cityIds.subList(i, Math.min(i + batchSize, cityIds.size())));
+            }
+            final Executor workerExecutor = getWorkerExecutor();
+            final int workers = Math.min(maxConcurrency, batches.size());
+            int startedWorkers = 0;
+            for (int i = 0; i < workers; i++) {
+                try {
+                    workerExecutor.execute(this::work);
+                    startedWorkers++;
+                } catch (RejectedExecutionException e) {
+                    if (startedWorkers == 0) {
+                        // nobody would take the batches, so fail them rather than leave the consumer waiting
+                        List<Long> batch;
+                        while ((batch = batches.poll()) != null) {
+                            addErrors(batch, e);
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled.set(true);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CityWeatherResult> action) {
+            if (remaining == 0 || cancelled.get()) {
+                return false;
+            }
+            final CityWeatherResult result;
+            try {
+                result = results.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("Interrupted while waiting for bulk results.", e);
+            }
+            remaining--;
+            action.accept(result);
+            return true;
+        }
+
+        private void work() {
+            List<Long> batch;
+            while (!cancelled.get() && (batch = batches.poll()) != null) {
+                try {
+                    if (batch.size() == 1) {
+                        results.add(fetchSingle(batch.get(0)));
+                    } else {
+                        results.addAll(fetchGroup(batch));
+                    }
+                } catch (Throwable e) {
+                    // results of a batch are added at once, so none of its cities has a result yet
+                    addErrors(batch, e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException("Bulk request worker failed.", e));
+                }
+            }
+        }
+
+        private void addErrors(List<Long> batch, RuntimeException error) {
+            for (Long cityId : batch) {
+                results.add(CityWeatherResult.withError(cityId, error));
+            }
+        }
+
+        private List<CityWeatherResult> fetchGroup(List<Long> batch) {
+            final RequestSettings groupSettings = new RequestSettings(requestSettings);
+            groupSettings.appendToURL("group");
+            groupSettings.putRequestParameter("id", batch.stream().map(String::valueOf).collect(Collectors.joining(",")));
+
+            final List<Weather> weatherList;
+            try {
+                acquirePermit();
+                weatherList = groupSettings.getRequestExecutor().getResponse(groupSettings, mapper::getList);
+            } catch (NoDataFoundException e) {
+                if (e.getCause() != null) {
+                    // I/O errors and unexpected statuses would be repeated by every separate call
+                    return batch.stream().map(cityId -> CityWeatherResult.withError(cityId, e)).collect(Collectors.toList());
+                }
+                // the whole group is rejected if any of ids is unknown, so find out which one by requesting them separately
+                final List<CityWeatherResult> batchResults = new ArrayList<>(batch.size());
+                for (Long cityId : batch) {
+                    if (cancelled.get()) {
+                        break;
+                    }
+                    batchResults.add(fetchSingle(cityId));
+                }
+                return batchResults;
+            } catch (RuntimeException e) {
+                return batch.stream().map(cityId -> CityWeatherResult.withError(cityId, e)).collect(Collectors.toList());
+            }
+
+            final Map<Long, Weather> weatherById = new HashMap<>();
+            for (Weather weather : weatherList) {
+                if (weather.getLocation() != null) {
+                    weatherById.put((long) weather.getLocation().getId(), weather);
+                }
+            }
+            final List<CityWeatherResult> batchResults = new ArrayList<>(batch.size());
+            for (Long cityId : batch) {
+                final Weather weather = weatherById.get(cityId);
+                batchResults.add(weather != null ? CityWeatherResult.withWeather(cityId, weather) : CityWeatherResult.withError(cityId, new NoDataFoundException()));
+            }
+            return batchResults;
+        }
+
+        private CityWeatherResult fetchSingle(long cityId) {
+            final RequestSettings singleSettings = new RequestSettings(requestSettings);
+            singleSettings.appendToURL("weather");
+            singleSettings.putRequestParameter("id", String.valueOf(cityId));
+            try {
+                acquirePermit();
+                return CityWeatherResult.withWeather(cityId, singleSettings.getRequestExecutor().getResponse(singleSettings, mapper::getSingle));
+            } catch (RuntimeException e) {
+                return CityWeatherResult.withError(cityId, e);
+            }
+        }
+
+        private void acquirePermit() {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+        }
+    }
+}
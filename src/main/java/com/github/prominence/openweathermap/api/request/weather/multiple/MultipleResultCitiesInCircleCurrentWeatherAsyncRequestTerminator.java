@@ -25,8 +25,6 @@ package com.github.prominence.openweathermap.api.request.weather.multiple;
 import com.github.prominence.openweathermap.api.enums.ResponseType;
 import com.github.prominence.openweathermap.api.model.weather.Weather;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -47,19 +45,15 @@ public class MultipleResultCitiesInCircleCurrentWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<List<Weather>> asJava() {
-        return CompletableFuture.supplyAsync(() -> new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse()));
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings, requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings);
     }
 
     public CompletableFuture<String> asXML() {
-        requestSettings.setResponseType(ResponseType.XML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
-    }
-
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        final RequestSettings xmlRequestSettings = requestSettings.withResponseType(ResponseType.XML);
+        return xmlRequestSettings.getRequestExecutor().getResponseAsync(xmlRequestSettings);
     }
 }
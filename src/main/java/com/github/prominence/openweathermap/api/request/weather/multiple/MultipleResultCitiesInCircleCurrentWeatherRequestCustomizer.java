@@ -24,7 +24,12 @@ package com.github.prominence.openweathermap.api.request.weather.multiple;
 
 import com.github.prominence.openweathermap.api.enums.Language;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.weather.Weather;
+import com.github.prominence.openweathermap.api.request.PreparedRequest;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
+
+import java.util.List;
 
 /**
  * The type Multiple result current weather request customizer.
@@ -58,4 +63,13 @@ public class MultipleResultCitiesInCircleCurrentWeatherRequestCustomizer {
     public MultipleResultCitiesInCircleCurrentWeatherAsyncRequestTerminator retrieveAsync() {
         return new MultipleResultCitiesInCircleCurrentWeatherAsyncRequestTerminator(requestSettings);
     }
+
+    /**
+     * Builds immutable request which can be executed many times and from many threads.
+     *
+     * @return prepared request.
+     */
+    public PreparedRequest<List<Weather>> prepare() {
+        return new PreparedRequest<>(RequestTemplate.from(requestSettings), requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
+    }
 }
\ No newline at end of file
@@ -25,8 +25,6 @@ package com.github.prominence.openweathermap.api.request.weather.multiple;
 import com.github.prominence.openweathermap.api.enums.ResponseType;
 import com.github.prominence.openweathermap.api.model.weather.Weather;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.List;
 
@@ -46,19 +44,18 @@ public class MultipleResultCitiesInCircleCurrentWeatherRequestTerminator {
     }
 
     public List<Weather> asJava() {
-        return new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse());
+        return requestSettings.getRequestExecutor().getResponse(requestSettings, requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public String asJSON() {
-        return getRawResponse();
+        return getRawResponse(requestSettings);
     }
 
     public String asXML() {
-        requestSettings.setResponseType(ResponseType.XML);
-        return getRawResponse();
+        return getRawResponse(requestSettings.withResponseType(ResponseType.XML));
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private static String getRawResponse(RequestSettings requestSettings) {
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
     }
 }
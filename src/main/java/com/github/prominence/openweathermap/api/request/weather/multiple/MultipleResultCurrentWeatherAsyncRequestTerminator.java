@@ -24,8 +24,6 @@ package com.github.prominence.openweathermap.api.request.weather.multiple;
 
 import com.github.prominence.openweathermap.api.model.weather.Weather;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -46,14 +44,10 @@ public class MultipleResultCurrentWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<List<Weather>> asJava() {
-        return CompletableFuture.supplyAsync(() -> new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse()));
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings, requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
-    }
-
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings);
     }
 }
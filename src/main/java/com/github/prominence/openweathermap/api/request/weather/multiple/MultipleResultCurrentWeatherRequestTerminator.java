@@ -24,8 +24,6 @@ package com.github.prominence.openweathermap.api.request.weather.multiple;
 
 import com.github.prominence.openweathermap.api.model.weather.Weather;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.List;
 
@@ -45,7 +43,7 @@ public class MultipleResultCurrentWeatherRequestTerminator {
     }
 
     public List<Weather> asJava() {
-        return new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getList(getRawResponse());
+        return requestSettings.getRequestExecutor().getResponse(requestSettings, requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getList);
     }
 
     public String asJSON() {
@@ -53,6 +51,6 @@ public class MultipleResultCurrentWeatherRequestTerminator {
     }
 
     private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
     }
 }
@@ -24,9 +24,7 @@ package com.github.prominence.openweathermap.api.request.weather.single;
 
 import com.github.prominence.openweathermap.api.enums.ResponseType;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
 import com.github.prominence.openweathermap.api.model.weather.Weather;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -46,24 +44,20 @@ public class SingleResultCurrentWeatherAsyncRequestTerminator {
     }
 
     public CompletableFuture<Weather> asJava() {
-        return CompletableFuture.supplyAsync(() -> new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getSingle(getRawResponse()));
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings, requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getSingle);
     }
 
     public CompletableFuture<String> asJSON() {
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        return requestSettings.getRequestExecutor().getResponseAsync(requestSettings);
     }
 
     public CompletableFuture<String> asXML() {
-        requestSettings.setResponseType(ResponseType.XML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
+        final RequestSettings xmlRequestSettings = requestSettings.withResponseType(ResponseType.XML);
+        return xmlRequestSettings.getRequestExecutor().getResponseAsync(xmlRequestSettings);
     }
 
     public CompletableFuture<String> asHTML() {
-        requestSettings.setResponseType(ResponseType.HTML);
-        return CompletableFuture.supplyAsync(this::getRawResponse);
-    }
-
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+        final RequestSettings htmlRequestSettings = requestSettings.withResponseType(ResponseType.HTML);
+        return htmlRequestSettings.getRequestExecutor().getResponseAsync(htmlRequestSettings);
     }
 }
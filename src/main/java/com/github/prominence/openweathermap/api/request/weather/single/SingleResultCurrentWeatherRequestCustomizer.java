@@ -24,7 +24,10 @@ package com.github.prominence.openweathermap.api.request.weather.single;
 
 import com.github.prominence.openweathermap.api.enums.Language;
 import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.weather.Weather;
+import com.github.prominence.openweathermap.api.request.PreparedRequest;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.RequestTemplate;
 
 /**
  * The type Single result current weather request customizer.
@@ -58,4 +61,13 @@ public class SingleResultCurrentWeatherRequestCustomizer {
     public SingleResultCurrentWeatherAsyncRequestTerminator retrieveAsync() {
         return new SingleResultCurrentWeatherAsyncRequestTerminator(requestSettings);
     }
+
+    /**
+     * Builds immutable request which can be executed many times and from many threads.
+     *
+     * @return prepared request.
+     */
+    public PreparedRequest<Weather> prepare() {
+        return new PreparedRequest<>(RequestTemplate.from(requestSettings), requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getSingle);
+    }
 }
\ No newline at end of file
@@ -25,8 +25,6 @@ package com.github.prominence.openweathermap.api.request.weather.single;
 import com.github.prominence.openweathermap.api.enums.ResponseType;
 import com.github.prominence.openweathermap.api.model.weather.Weather;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
-import com.github.prominence.openweathermap.api.mapper.CurrentWeatherResponseMapper;
-import com.github.prominence.openweathermap.api.utils.RequestUtils;
 
 /**
  * The type Single result current weather request terminator.
@@ -44,24 +42,22 @@ public class SingleResultCurrentWeatherRequestTerminator {
     }
 
     public Weather asJava() {
-        return new CurrentWeatherResponseMapper(requestSettings.getUnitSystem()).getSingle(asJSON());
+        return requestSettings.getRequestExecutor().getResponse(requestSettings, requestSettings.getMappingContext().getCurrentWeatherResponseMapper(requestSettings.getUnitSystem())::getSingle);
     }
 
     public String asJSON() {
-        return getRawResponse();
+        return getRawResponse(requestSettings);
     }
 
     public String asXML() {
-        requestSettings.setResponseType(ResponseType.XML);
-        return getRawResponse();
+        return getRawResponse(requestSettings.withResponseType(ResponseType.XML));
     }
 
     public String asHTML() {
-        requestSettings.setResponseType(ResponseType.HTML);
-        return getRawResponse();
+        return getRawResponse(requestSettings.withResponseType(ResponseType.HTML));
     }
 
-    private String getRawResponse() {
-        return RequestUtils.getResponse(requestSettings);
+    private static String getRawResponse(RequestSettings requestSettings) {
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
     }
 }
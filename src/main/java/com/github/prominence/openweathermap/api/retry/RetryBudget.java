@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.retry;
+
+/**
+ * Token bucket limiting retries to a share of calls. Every call deposits tokens, every retry takes one.
+ */
+public class RetryBudget {
+    private final int maxTokens;
+    private final double tokensPerRequest;
+
+    private double availableTokens;
+
+    /**
+     * Instantiates a new full budget.
+     *
+     * @param maxTokens        the bucket capacity.
+     * @param tokensPerRequest tokens deposited by every call.
+     */
+    public RetryBudget(int maxTokens, double tokensPerRequest) {
+        if (maxTokens < 0) {
+            throw new IllegalArgumentException("Max tokens must not be negative.");
+        }
+        if (tokensPerRequest < 0) {
+            throw new IllegalArgumentException("Tokens per request must not be negative.");
+        }
+        this.maxTokens = maxTokens;
+        this.tokensPerRequest = tokensPerRequest;
+        this.availableTokens = maxTokens;
+    }
+
+    /**
+     * Deposits tokens of a new call.
+     */
+    public synchronized void deposit() {
+        availableTokens = Math.min(maxTokens, availableTokens + tokensPerRequest);
+    }
+
+    /**
+     * Takes token for a retry if there is one.
+     *
+     * @return <code>true</code> if the retry is allowed.
+     */
+    public synchronized boolean tryWithdraw() {
+        if (availableTokens >= 1) {
+            availableTokens--;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized double getAvailableTokens() {
+        return availableTokens;
+    }
+}
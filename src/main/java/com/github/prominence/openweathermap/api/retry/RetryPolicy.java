@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.retry;
+
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Retries of failed API calls. All calls are idempotent GET requests, so they are safe to repeat.
+ * Delays follow decorrelated jitter backoff, <code>Retry-After</code> delays requested by the server are respected,
+ * and retries are limited by {@link RetryBudget}, so they can't multiply load of a failing server.
+ */
+public class RetryPolicy {
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long maxRetryAfterMillis;
+    private final Set<Integer> retryableStatusCodes;
+    private final boolean networkFailureRetried;
+    private final RetryBudget retryBudget;
+    private final LongSupplier millisClock;
+
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong budgetRejectedCount = new AtomicLong();
+
+    /**
+     * Instantiates a new retry policy.
+     *
+     * @param retrySettings the settings.
+     */
+    public RetryPolicy(RetrySettings retrySettings) {
+        this(retrySettings, System::currentTimeMillis);
+    }
+
+    RetryPolicy(RetrySettings retrySettings, LongSupplier millisClock) {
+        this.maxAttempts = retrySettings.getMaxAttempts();
+        this.initialBackoffMillis = retrySettings.getInitialBackoffMillis();
+        this.maxBackoffMillis = retrySettings.getMaxBackoffMillis();
+        this.maxRetryAfterMillis = retrySettings.getMaxRetryAfterMillis();
+        this.retryableStatusCodes = new HashSet<>(retrySettings.getRetryableStatusCodes());
+        this.networkFailureRetried = retrySettings.isNetworkFailureRetried();
+        this.retryBudget = new RetryBudget(retrySettings.getBudgetMaxTokens(), retrySettings.getBudgetTokensPerRequest());
+        this.millisClock = millisClock;
+    }
+
+    /**
+     * Wraps transport into one that retries calls according to this policy.
+     * Asynchronous transports are wrapped into {@link AsyncHttpTransport}, their calls are delayed without blocking threads.
+     *
+     * @param httpTransport the transport to retry calls of.
+     * @param retryPermit   checked before every retry, e.g. to take rate limiter permit; the retry is skipped if <code>false</code> is returned.
+     * @return the retrying transport.
+     */
+    public HttpTransport wrap(HttpTransport httpTransport, BooleanSupplier retryPermit) {
+        if (httpTransport instanceof AsyncHttpTransport) {
+            return new RetryingAsyncHttpTransport((AsyncHttpTransport) httpTransport, this, retryPermit);
+        }
+        return new RetryingHttpTransport(httpTransport, this, retryPermit);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * Returns number of retries skipped because the retry budget was exhausted.
+     *
+     * @return skipped retries count.
+     */
+    public long getBudgetRejectedCount() {
+        return budgetRejectedCount.get();
+    }
+
+    boolean isRetryable(int statusCode) {
+        return retryableStatusCodes.contains(statusCode);
+    }
+
+    boolean isRetryable(IOException exception) {
+        // interrupted thread must stop rather than retry
+        return networkFailureRetried && !Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Returns random delay between the initial backoff and three times the previous delay, limited by the max backoff.
+     */
+    long nextBackoffMillis(long previousDelayMillis) {
+        final long upperBound = Math.min(maxBackoffMillis, Math.max(initialBackoffMillis, previousDelayMillis) * 3);
+        if (upperBound <= initialBackoffMillis) {
+            return upperBound;
+        }
+        return ThreadLocalRandom.current().nextLong(initialBackoffMillis, upperBound + 1);
+    }
+
+    /**
+     * Parses <code>Retry-After</code> header given in seconds or as HTTP date.
+     *
+     * @return the delay in milliseconds, <code>0</code> if there is no valid header.
+     */
+    long getRetryAfterMillis(String retryAfter) {
+        if (retryAfter == null) {
+            return 0;
+        }
+        final String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException ignored) {
+            // not a number of seconds, must be a date
+        }
+        try {
+            final long dateMillis = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(0, dateMillis - millisClock.getAsLong());
+        } catch (DateTimeParseException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Called once per call before its first attempt.
+     */
+    void onCall() {
+        retryBudget.deposit();
+    }
+
+    /**
+     * Decides whether the failed attempt is retried and how long to wait before it.
+     *
+     * @param attempt             number of the failed attempt, starting from 1.
+     * @param previousDelayMillis delay before the failed attempt, <code>0</code> for the first one.
+     * @param retryAfter          <code>Retry-After</code> header of the response or <code>null</code>.
+     * @param retryPermit         permit checked after the budget.
+     * @return delay in milliseconds or <code>-1</code> if the call must not be retried.
+     */
+    long getRetryDelayMillis(int attempt, long previousDelayMillis, String retryAfter, BooleanSupplier retryPermit) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+        final long retryAfterMillis = getRetryAfterMillis(retryAfter);
+        if (retryAfterMillis > maxRetryAfterMillis) {
+            return -1;
+        }
+        if (!retryBudget.tryWithdraw()) {
+            budgetRejectedCount.incrementAndGet();
+            return -1;
+        }
+        if (!retryPermit.getAsBoolean()) {
+            return -1;
+        }
+        retryCount.incrementAndGet();
+        return Math.max(nextBackoffMillis(previousDelayMillis), retryAfterMillis);
+    }
+
+    static String getRetryAfter(HttpResponse response) {
+        return response.getHeader(RETRY_AFTER_HEADER);
+    }
+}
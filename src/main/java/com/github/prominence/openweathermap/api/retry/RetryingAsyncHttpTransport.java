@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.retry;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Retrying transport for {@link AsyncHttpTransport}. Delayed retries are started by a shared timer thread, no thread waits for them.
+ */
+class RetryingAsyncHttpTransport extends RetryingHttpTransport implements AsyncHttpTransport {
+    private final AsyncHttpTransport httpTransport;
+
+    RetryingAsyncHttpTransport(AsyncHttpTransport httpTransport, RetryPolicy retryPolicy, BooleanSupplier retryPermit) {
+        super(httpTransport, retryPolicy, retryPermit);
+        this.httpTransport = httpTransport;
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+        retryPolicy.onCall();
+        return executeAsync(url, timeoutSettings, 1, 0);
+    }
+
+    private CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings, int attempt, long previousDelayMillis) {
+        return httpTransport.executeAsync(url, timeoutSettings).handle((response, throwable) -> {
+            final long delayMillis;
+            if (throwable != null) {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                delayMillis = cause instanceof IOException ? getRetryDelayMillis(attempt, previousDelayMillis, (IOException) cause) : -1;
+                if (delayMillis < 0) {
+                    final CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(cause);
+                    return failed;
+                }
+            } else {
+                delayMillis = getRetryDelayMillis(attempt, previousDelayMillis, response);
+                if (delayMillis < 0) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                closeQuietly(response);
+            }
+            return delay(delayMillis).thenCompose(ignored -> executeAsync(url, timeoutSettings, attempt + 1, delayMillis));
+        }).thenCompose(Function.identity());
+    }
+
+    private static CompletableFuture<Void> delay(long delayMillis) {
+        final CompletableFuture<Void> delayFuture = new CompletableFuture<>();
+        if (delayMillis == 0) {
+            delayFuture.complete(null);
+        } else {
+            RetryTimer.INSTANCE.schedule(() -> delayFuture.complete(null), delayMillis, TimeUnit.MILLISECONDS);
+        }
+        return delayFuture;
+    }
+
+    /**
+     * Holder of the timer thread, created on first delayed asynchronous retry.
+     */
+    private static final class RetryTimer {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "openweathermap-retry-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.retry;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Transport which repeats failed calls of the wrapped one according to {@link RetryPolicy}.
+ * When no more retries are allowed, the last response or failure is returned as is.
+ */
+class RetryingHttpTransport implements HttpTransport {
+    private static final Logger logger = LoggerFactory.getLogger(RetryingHttpTransport.class);
+
+    private final HttpTransport httpTransport;
+    final RetryPolicy retryPolicy;
+    final BooleanSupplier retryPermit;
+
+    RetryingHttpTransport(HttpTransport httpTransport, RetryPolicy retryPolicy, BooleanSupplier retryPermit) {
+        this.httpTransport = httpTransport;
+        this.retryPolicy = retryPolicy;
+        this.retryPermit = retryPermit;
+    }
+
+    @Override
+    public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+        retryPolicy.onCall();
+        long delayMillis = 0;
+        for (int attempt = 1; ; attempt++) {
+            final HttpResponse response;
+            try {
+                response = httpTransport.execute(url, timeoutSettings);
+            } catch (IOException ex) {
+                delayMillis = getRetryDelayMillis(attempt, delayMillis, ex);
+                if (delayMillis < 0) {
+                    throw ex;
+                }
+                sleep(delayMillis);
+                continue;
+            }
+            delayMillis = getRetryDelayMillis(attempt, delayMillis, response);
+            if (delayMillis < 0) {
+                return response;
+            }
+            closeQuietly(response);
+            sleep(delayMillis);
+        }
+    }
+
+    @Override
+    public void close() {
+        httpTransport.close();
+    }
+
+    long getRetryDelayMillis(int attempt, long previousDelayMillis, IOException exception) {
+        if (!retryPolicy.isRetryable(exception)) {
+            return -1;
+        }
+        final long delayMillis = retryPolicy.getRetryDelayMillis(attempt, previousDelayMillis, null, retryPermit);
+        if (delayMillis >= 0) {
+            logger.debug("Retrying OpenWeatherMap API call failed on attempt {} in {} ms.", attempt, delayMillis, exception);
+        }
+        return delayMillis;
+    }
+
+    long getRetryDelayMillis(int attempt, long previousDelayMillis, HttpResponse response) {
+        if (!retryPolicy.isRetryable(response.getStatusCode())) {
+            return -1;
+        }
+        final long delayMillis = retryPolicy.getRetryDelayMillis(attempt, previousDelayMillis, RetryPolicy.getRetryAfter(response), retryPermit);
+        if (delayMillis >= 0) {
+            logger.debug("Retrying OpenWeatherMap API call with status {} on attempt {} in {} ms.", response.getStatusCode(), attempt, delayMillis);
+        }
+        return delayMillis;
+    }
+
+    static void closeQuietly(HttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException ex) {
+            logger.debug("Error during response closing: ", ex);
+        }
+    }
+
+    private static void sleep(long delayMillis) throws InterruptedIOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for retry.");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.tracing;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.ExecutionPhase;
+
+/**
+ * Disabled tracer used by default. Its span and scope are shared singletons, so tracing calls don't allocate.
+ */
+final class NoopRequestTracer implements RequestTracer {
+    static final NoopRequestTracer INSTANCE = new NoopRequestTracer();
+    static final RequestSpan NOOP_SPAN = new NoopRequestSpan();
+    private static final TraceScope NOOP_SCOPE = () -> {
+    };
+
+    private NoopRequestTracer() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public RequestSpan startRequest(EndpointType endpointType, String canonicalRequest) {
+        return NOOP_SPAN;
+    }
+
+    private static final class NoopRequestSpan implements RequestSpan {
+
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+
+        @Override
+        public void startPhase(ExecutionPhase phase) {
+        }
+
+        @Override
+        public void endPhase() {
+        }
+
+        @Override
+        public TraceScope makeCurrent() {
+            return NOOP_SCOPE;
+        }
+
+        @Override
+        public void setStatusCode(int statusCode) {
+        }
+
+        @Override
+        public void recordException(Throwable exception) {
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.tracing;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.ExecutionPhase;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * {@link RequestTracer} binding to OpenTelemetry. Requires <code>io.opentelemetry:opentelemetry-api</code> on the classpath.
+ * Every call is traced with a client span named after its endpoint type, which has a child span per {@link ExecutionPhase}.
+ */
+public class OpenTelemetryRequestTracer implements RequestTracer {
+    /**
+     * Instrumentation scope name of the created spans.
+     */
+    public static final String INSTRUMENTATION_NAME = "com.github.prominence.openweathermap.api";
+
+    static final AttributeKey<String> ENDPOINT_ATTRIBUTE = AttributeKey.stringKey("openweathermap.endpoint");
+    static final AttributeKey<String> REQUEST_ATTRIBUTE = AttributeKey.stringKey("openweathermap.request");
+    static final AttributeKey<Long> STATUS_CODE_ATTRIBUTE = AttributeKey.longKey("http.status_code");
+
+    private final Tracer tracer;
+
+    /**
+     * Instantiates a new binding.
+     *
+     * @param openTelemetry the OpenTelemetry instance to get tracer from
+     */
+    public OpenTelemetryRequestTracer(OpenTelemetry openTelemetry) {
+        this(openTelemetry.getTracer(INSTRUMENTATION_NAME));
+    }
+
+    /**
+     * Instantiates a new binding.
+     *
+     * @param tracer the tracer to create spans with
+     */
+    public OpenTelemetryRequestTracer(Tracer tracer) {
+        this.tracer = Objects.requireNonNull(tracer, "Tracer must be set.");
+    }
+
+    @Override
+    public RequestSpan startRequest(EndpointType endpointType, String canonicalRequest) {
+        final String endpoint = endpointType != null ? endpointType.name().toLowerCase(Locale.ROOT) : "unknown";
+        final Span span = tracer.spanBuilder("openweathermap " + endpoint)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(ENDPOINT_ATTRIBUTE, endpoint)
+                .setAttribute(REQUEST_ATTRIBUTE, canonicalRequest)
+                .startSpan();
+        return new OpenTelemetryRequestSpan(span, Context.current().with(span));
+    }
+
+    private final class OpenTelemetryRequestSpan implements RequestSpan {
+        private final Span span;
+        private final Context context;
+        // phases are switched on different threads, but sequentially
+        private volatile Span phaseSpan;
+
+        private OpenTelemetryRequestSpan(Span span, Context context) {
+            this.span = span;
+            this.context = context;
+        }
+
+        @Override
+        public void startPhase(ExecutionPhase phase) {
+            endPhase();
+            phaseSpan = tracer.spanBuilder(phase.name().toLowerCase(Locale.ROOT))
+                    .setParent(context)
+                    .startSpan();
+        }
+
+        @Override
+        public void endPhase() {
+            final Span currentPhaseSpan = phaseSpan;
+            if (currentPhaseSpan != null) {
+                phaseSpan = null;
+                currentPhaseSpan.end();
+            }
+        }
+
+        @Override
+        public TraceScope makeCurrent() {
+            final Scope scope = context.makeCurrent();
+            return scope::close;
+        }
+
+        @Override
+        public void setStatusCode(int statusCode) {
+            span.setAttribute(STATUS_CODE_ATTRIBUTE, statusCode);
+        }
+
+        @Override
+        public void recordException(Throwable exception) {
+            span.recordException(exception);
+            span.setStatus(StatusCode.ERROR);
+        }
+
+        @Override
+        public void end() {
+            endPhase();
+            span.end();
+        }
+    }
+}
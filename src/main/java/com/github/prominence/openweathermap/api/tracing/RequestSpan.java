@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.tracing;
+
+import com.github.prominence.openweathermap.api.enums.ExecutionPhase;
+
+/**
+ * Span of a single API call, including calls served from cache. Phases are sequential, so at most one phase is open at a time.
+ * Methods may be called on different threads, but never concurrently.
+ */
+public interface RequestSpan {
+
+    /**
+     * Returns span which records nothing.
+     *
+     * @return the no-op span
+     */
+    static RequestSpan noop() {
+        return NoopRequestTracer.NOOP_SPAN;
+    }
+
+    /**
+     * Tells whether the span is recorded. Calls aren't traced when <code>false</code> is returned.
+     *
+     * @return <code>true</code> if the span is recorded
+     */
+    default boolean isRecording() {
+        return true;
+    }
+
+    /**
+     * Ends the open phase, if any, and starts the next one.
+     *
+     * @param phase the phase
+     */
+    void startPhase(ExecutionPhase phase);
+
+    /**
+     * Ends the open phase, if any.
+     */
+    void endPhase();
+
+    /**
+     * Makes the span current on the calling thread, so that work done on behalf of the call is attributed to it.
+     *
+     * @return the scope to close when the work is done
+     */
+    TraceScope makeCurrent();
+
+    /**
+     * Records HTTP status code of the response.
+     *
+     * @param statusCode the status code
+     */
+    void setStatusCode(int statusCode);
+
+    /**
+     * Records failure of the call.
+     *
+     * @param exception the failure
+     */
+    void recordException(Throwable exception);
+
+    /**
+     * Ends the open phase and the span.
+     */
+    void end();
+}
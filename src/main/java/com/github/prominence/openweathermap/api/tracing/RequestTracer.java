@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.tracing;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+
+/**
+ * Starts spans of API calls. Implementations bridge them to a tracing library and must be thread-safe.
+ *
+ * @see #noop()
+ */
+public interface RequestTracer {
+
+    /**
+     * Returns tracer which records nothing. Calls aren't traced at all while it is used.
+     *
+     * @return the no-op tracer
+     */
+    static RequestTracer noop() {
+        return NoopRequestTracer.INSTANCE;
+    }
+
+    /**
+     * Tells whether calls should be traced. When <code>false</code> is returned, spans aren't started.
+     *
+     * @return <code>true</code> if calls are traced
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Starts span of API call on the calling thread. The trace context current on this thread becomes parent of the span,
+     * also for asynchronous calls which are executed on other threads.
+     *
+     * @param endpointType     type of the called endpoint or <code>null</code> if it is unknown
+     * @param canonicalRequest the request without API key, see {@link com.github.prominence.openweathermap.api.request.RequestTemplate#getCanonicalRequest()}
+     * @return the started span
+     */
+    RequestSpan startRequest(EndpointType endpointType, String canonicalRequest);
+}
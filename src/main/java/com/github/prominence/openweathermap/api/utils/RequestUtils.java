@@ -23,20 +23,37 @@
 package com.github.prominence.openweathermap.api.utils;
 
 import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.ExecutionPhase;
+import com.github.prominence.openweathermap.api.enums.RequestPhase;
+import com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException;
 import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
 import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.http.UrlConnectionHttpTransport;
+import com.github.prominence.openweathermap.api.metrics.ClientMetrics;
+import com.github.prominence.openweathermap.api.metrics.MeteredInputStream;
 import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.tracing.RequestSpan;
+import com.github.prominence.openweathermap.api.tracing.TraceScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -44,23 +61,67 @@ import java.util.stream.Collectors;
  */
 public final class RequestUtils {
 
-    private static final String OWM_URL_BASE = "https://api.openweathermap.org/data/2.5/";
+    private static final String API_KEY_PARAM_NAME = "appid";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
 
     private static final Logger logger = LoggerFactory.getLogger(RequestUtils.class);
 
+    private static final HttpTransport DEFAULT_TRANSPORT = new UrlConnectionHttpTransport();
+
     private RequestUtils() {
     }
 
+    /**
+     * Executes call described by request settings using its client's transport.
+     *
+     * @param requestSettings request settings object.
+     * @return response from the request in <code>String</code> representation.
+     * @deprecated use {@link com.github.prominence.openweathermap.api.request.RequestExecutor#getResponse(RequestSettings)} instead.
+     */
+    @Deprecated
     public static String getResponse(RequestSettings requestSettings) {
-        StringBuilder requestUrlBuilder = new StringBuilder(OWM_URL_BASE);
-        requestUrlBuilder.append(requestSettings.getUrlAppender());
-        requestUrlBuilder.append('?');
-        String parameters = requestSettings.getRequestParameters().entrySet().stream()
+        return requestSettings.getRequestExecutor().getResponse(requestSettings);
+    }
+
+    /**
+     * Builds full API url from request settings.
+     *
+     * @param requestSettings request settings object.
+     * @return the url in <code>String</code> representation.
+     */
+    public static String getRequestUrl(RequestSettings requestSettings) {
+        return requestSettings.getRequestUrlBuilder().build(requestSettings.getUrlAppender(), requestSettings.getRequestParameters());
+    }
+
+    /**
+     * Builds canonical representation of the request: url appender and parameters sorted by name, without API key.
+     * Equal requests of any client have equal canonical representation.
+     *
+     * @param requestSettings request settings object.
+     * @return the canonical request.
+     */
+    public static String getCanonicalRequest(RequestSettings requestSettings) {
+        return getCanonicalRequest(requestSettings.getUrlAppender(), requestSettings.getRequestParameters());
+    }
+
+    /**
+     * Builds canonical representation of the request: url appender and parameters sorted by name, without API key.
+     *
+     * @param urlAppender the url appender.
+     * @param requestParameters the request parameters.
+     * @return the canonical request.
+     */
+    public static String getCanonicalRequest(CharSequence urlAppender, Map<String, String> requestParameters) {
+        final StringBuilder canonicalRequestBuilder = new StringBuilder(urlAppender);
+        canonicalRequestBuilder.append('?');
+        final String parameters = requestParameters.entrySet().stream()
+                .filter(entry -> !API_KEY_PARAM_NAME.equals(entry.getKey()))
+                .sorted(Map.Entry.comparingByKey())
                 .map(entry -> entry.getKey() + "=" + entry.getValue())
                 .collect(Collectors.joining("&"));
-        requestUrlBuilder.append(parameters);
+        canonicalRequestBuilder.append(parameters);
 
-        return getResponse(requestUrlBuilder.toString(), requestSettings.getTimeoutSettings());
+        return canonicalRequestBuilder.toString();
     }
 
     /**
@@ -83,83 +144,389 @@ public final class RequestUtils {
      * @throws IllegalArgumentException in case if provided parameter isn't a valid url for {@link URL} instance.
      */
     public static String getResponse(String url, TimeoutSettings timeoutSettings) {
-        URL requestUrl;
+        return getResponse(DEFAULT_TRANSPORT, url, timeoutSettings);
+    }
+
+    /**
+     * Executes call to provided API url via provided transport and retrieves response in <code>String</code> representation.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param url the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @return response from the request in <code>String</code> representation.
+     * @throws IllegalArgumentException in case if provided parameter isn't a valid url for {@link URL} instance.
+     */
+    public static String getResponse(HttpTransport httpTransport, String url, TimeoutSettings timeoutSettings) {
+        return getResponse(httpTransport, url, timeoutSettings, RequestUtils::convertInputStreamToString);
+    }
+
+    /**
+     * Executes call to provided API url via provided transport and passes response body stream to the body mapper.
+     * The response is closed after mapping, so the mapper must not keep the stream.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param url the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param <T> the result type.
+     * @return result of the body mapper.
+     * @throws IllegalArgumentException in case if provided parameter isn't a valid url for {@link URL} instance.
+     */
+    public static <T> T getResponse(HttpTransport httpTransport, String url, TimeoutSettings timeoutSettings, Function<InputStream, T> bodyMapper) {
+        return getResponse(httpTransport, parseUrl(url), timeoutSettings, bodyMapper);
+    }
+
+    /**
+     * Executes call to provided parsed API url via provided transport and passes response body stream to the body mapper.
+     * The response is closed after mapping, so the mapper must not keep the stream.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param requestUrl the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param <T> the result type.
+     * @return result of the body mapper.
+     */
+    public static <T> T getResponse(HttpTransport httpTransport, URL requestUrl, TimeoutSettings timeoutSettings, Function<InputStream, T> bodyMapper) {
+        logger.debug("Executing OpenWeatherMap API request: {}", requestUrl);
+        final HttpResponse response;
+        try {
+            response = httpTransport.execute(requestUrl, timeoutSettings);
+        } catch (IOException ex) {
+            logger.error("An error occurred during OpenWeatherMap API response parsing: ", ex);
+            throw new NoDataFoundException(ex);
+        }
+        return mapResponse(response, bodyMapper);
+    }
+
+    /**
+     * Executes call to provided parsed API url via provided transport, passes response body stream to the body mapper
+     * and reports the call to provided metrics.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param requestUrl the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param clientMetrics metrics to report the call to.
+     * @param endpointType type of the called endpoint or <code>null</code> if it is unknown.
+     * @param <T> the result type.
+     * @return result of the body mapper.
+     */
+    public static <T> T getResponse(HttpTransport httpTransport, URL requestUrl, TimeoutSettings timeoutSettings, Function<InputStream, T> bodyMapper,
+                                    ClientMetrics clientMetrics, EndpointType endpointType) {
+        return getResponse(httpTransport, requestUrl, timeoutSettings, bodyMapper, clientMetrics, endpointType, RequestSpan.noop());
+    }
+
+    /**
+     * Executes call to provided parsed API url via provided transport, passes response body stream to the body mapper,
+     * reports the call to provided metrics and traces its network and mapping phases with provided span.
+     * The span isn't ended, the caller owns it.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param requestUrl the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param clientMetrics metrics to report the call to.
+     * @param endpointType type of the called endpoint or <code>null</code> if it is unknown.
+     * @param requestSpan span of the call.
+     * @param <T> the result type.
+     * @return result of the body mapper.
+     */
+    public static <T> T getResponse(HttpTransport httpTransport, URL requestUrl, TimeoutSettings timeoutSettings, Function<InputStream, T> bodyMapper,
+                                    ClientMetrics clientMetrics, EndpointType endpointType, RequestSpan requestSpan) {
+        if (!clientMetrics.isEnabled() && !requestSpan.isRecording()) {
+            return getResponse(httpTransport, requestUrl, timeoutSettings, bodyMapper);
+        }
+        logger.debug("Executing OpenWeatherMap API request: {}", requestUrl);
+        clientMetrics.requestStarted(endpointType);
         try {
-            requestUrl = new URL(url);
+            final long start = System.nanoTime();
+            final HttpResponse response;
+            requestSpan.startPhase(ExecutionPhase.NETWORK);
+            try {
+                response = httpTransport.execute(requestUrl, timeoutSettings);
+            } catch (IOException ex) {
+                clientMetrics.recordException(endpointType, ex);
+                logger.error("An error occurred during OpenWeatherMap API response parsing: ", ex);
+                throw new NoDataFoundException(ex);
+            } catch (RuntimeException ex) {
+                clientMetrics.recordException(endpointType, ex);
+                throw ex;
+            }
+            recordHeadersReceived(response, System.nanoTime() - start, clientMetrics, endpointType);
+            requestSpan.setStatusCode(response.getStatusCode());
+            requestSpan.startPhase(ExecutionPhase.MAPPING);
+            return mapResponse(response, bodyMapper, clientMetrics, endpointType);
+        } finally {
+            requestSpan.endPhase();
+            clientMetrics.requestFinished(endpointType);
+        }
+    }
+
+    /**
+     * Executes call to provided API url via provided asynchronous transport without blocking the calling thread.
+     * Response status check and body mapping are performed on the provided executor.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param url the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param executor executor to map response body on.
+     * @param <T> the result type.
+     * @return future with result of the body mapper.
+     * @throws IllegalArgumentException in case if provided parameter isn't a valid url for {@link URL} instance.
+     */
+    public static <T> CompletableFuture<T> getResponseAsync(AsyncHttpTransport httpTransport, String url, TimeoutSettings timeoutSettings,
+                                                            Function<InputStream, T> bodyMapper, Executor executor) {
+        return getResponseAsync(httpTransport, parseUrl(url), timeoutSettings, bodyMapper, executor);
+    }
+
+    /**
+     * Executes call to provided parsed API url via provided asynchronous transport without blocking the calling thread.
+     * Response status check and body mapping are performed on the provided executor.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param requestUrl the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param executor executor to map response body on.
+     * @param <T> the result type.
+     * @return future with result of the body mapper.
+     */
+    public static <T> CompletableFuture<T> getResponseAsync(AsyncHttpTransport httpTransport, URL requestUrl, TimeoutSettings timeoutSettings,
+                                                            Function<InputStream, T> bodyMapper, Executor executor) {
+        logger.debug("Executing OpenWeatherMap API request: {}", requestUrl);
+        return httpTransport.executeAsync(requestUrl, timeoutSettings).handleAsync((response, throwable) -> {
+            if (throwable != null) {
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                if (cause instanceof CircuitBreakerOpenException) {
+                    throw (CircuitBreakerOpenException) cause;
+                }
+                logger.error("An error occurred during OpenWeatherMap API response parsing: ", cause);
+                throw new NoDataFoundException(cause);
+            }
+            return mapResponse(response, bodyMapper);
+        }, executor);
+    }
+
+    /**
+     * Executes call to provided parsed API url via provided asynchronous transport without blocking the calling thread
+     * and reports the call to provided metrics. Response status check and body mapping are performed on the provided executor.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param requestUrl the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param executor executor to map response body on.
+     * @param clientMetrics metrics to report the call to.
+     * @param endpointType type of the called endpoint or <code>null</code> if it is unknown.
+     * @param <T> the result type.
+     * @return future with result of the body mapper.
+     */
+    public static <T> CompletableFuture<T> getResponseAsync(AsyncHttpTransport httpTransport, URL requestUrl, TimeoutSettings timeoutSettings,
+                                                            Function<InputStream, T> bodyMapper, Executor executor,
+                                                            ClientMetrics clientMetrics, EndpointType endpointType) {
+        return getResponseAsync(httpTransport, requestUrl, timeoutSettings, bodyMapper, executor, clientMetrics, endpointType, RequestSpan.noop());
+    }
+
+    /**
+     * Executes call to provided parsed API url via provided asynchronous transport without blocking the calling thread,
+     * reports the call to provided metrics and traces its network, queue and mapping phases with provided span.
+     * The span is current while the body is mapped on the provided executor. The span isn't ended, the caller owns it.
+     *
+     * @param httpTransport the transport to execute request with.
+     * @param requestUrl the url to make API request.
+     * @param timeoutSettings an object with timeout settings.
+     * @param bodyMapper function to convert response body into the result.
+     * @param executor executor to map response body on.
+     * @param clientMetrics metrics to report the call to.
+     * @param endpointType type of the called endpoint or <code>null</code> if it is unknown.
+     * @param requestSpan span of the call.
+     * @param <T> the result type.
+     * @return future with result of the body mapper.
+     */
+    public static <T> CompletableFuture<T> getResponseAsync(AsyncHttpTransport httpTransport, URL requestUrl, TimeoutSettings timeoutSettings,
+                                                            Function<InputStream, T> bodyMapper, Executor executor,
+                                                            ClientMetrics clientMetrics, EndpointType endpointType, RequestSpan requestSpan) {
+        if (!clientMetrics.isEnabled() && !requestSpan.isRecording()) {
+            return getResponseAsync(httpTransport, requestUrl, timeoutSettings, bodyMapper, executor);
+        }
+        logger.debug("Executing OpenWeatherMap API request: {}", requestUrl);
+        clientMetrics.requestStarted(endpointType);
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse> responseFuture;
+        requestSpan.startPhase(ExecutionPhase.NETWORK);
+        try {
+            responseFuture = httpTransport.executeAsync(requestUrl, timeoutSettings);
+        } catch (RuntimeException ex) {
+            clientMetrics.recordException(endpointType, ex);
+            clientMetrics.requestFinished(endpointType);
+            requestSpan.endPhase();
+            throw ex;
+        }
+        // headers time is taken on the transport thread, before mapping is scheduled on the executor
+        return responseFuture.whenComplete((response, throwable) -> {
+            if (response != null) {
+                recordHeadersReceived(response, System.nanoTime() - start, clientMetrics, endpointType);
+                requestSpan.setStatusCode(response.getStatusCode());
+            }
+            requestSpan.startPhase(ExecutionPhase.QUEUE);
+        }).handleAsync((response, throwable) -> {
+            final TraceScope traceScope = requestSpan.makeCurrent();
+            try {
+                if (throwable != null) {
+                    final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                    clientMetrics.recordException(endpointType, cause);
+                    if (cause instanceof CircuitBreakerOpenException) {
+                        throw (CircuitBreakerOpenException) cause;
+                    }
+                    logger.error("An error occurred during OpenWeatherMap API response parsing: ", cause);
+                    throw new NoDataFoundException(cause);
+                }
+                requestSpan.startPhase(ExecutionPhase.MAPPING);
+                return mapResponse(response, bodyMapper, clientMetrics, endpointType);
+            } finally {
+                traceScope.close();
+                requestSpan.endPhase();
+                clientMetrics.requestFinished(endpointType);
+            }
+        }, executor);
+    }
+
+    /**
+     * Parses API url.
+     *
+     * @param url the url in <code>String</code> representation.
+     * @return parsed url.
+     * @throws IllegalArgumentException in case if provided parameter isn't a valid url for {@link URL} instance.
+     */
+    public static URL parseUrl(String url) {
+        try {
+            return new URL(url);
         } catch (MalformedURLException ex) {
             logger.error("Invalid URL: ", ex);
             throw new IllegalArgumentException(ex);
         }
-        logger.debug("Executing OpenWeatherMap API request: " + url);
-        final InputStream requestInputStream = executeRequest(requestUrl, timeoutSettings);
-
-        return convertInputStreamToString(requestInputStream);
     }
 
     /**
-     * Executes call to provided API url and retrieves response as an <code>InputStream</code> instance.
+     * Checks response status and maps body of successful response. The response is closed in any case.
      *
-     * @param requestUrl url for API call execution.
-     * @return <code>InputStream</code> instance containing http response body.
+     * @param response response with unread body.
+     * @param bodyMapper function to convert response body into the result.
+     * @param <T> the result type.
+     * @return result of the body mapper.
      * @throws InvalidAuthTokenException in case if authentication token wasn't set or requested functionality is not permitted for its subscription plan.
      * @throws NoDataFoundException in case if there is no any data for requested location(s) or request is invalid.
+     * @throws RateLimitExceededException in case if calls quota of the subscription plan is exceeded.
      */
-    private static InputStream executeRequest(URL requestUrl, TimeoutSettings timeoutSettings) {
-        InputStream resultStream;
-
+    private static <T> T mapResponse(HttpResponse response, Function<InputStream, T> bodyMapper) {
         try {
-            HttpURLConnection connection = (HttpURLConnection) requestUrl.openConnection();
+            checkStatus(response.getStatusCode());
+            return bodyMapper.apply(response.getBody());
+        } finally {
+            closeQuietly(response);
+        }
+    }
 
-            if (timeoutSettings.getConnectionTimeout() != null) {
-                connection.setConnectTimeout(timeoutSettings.getConnectionTimeout());
+    /**
+     * Checks response status and maps body of successful response reporting body reading and mapping to the metrics.
+     * The response is closed in any case.
+     */
+    private static <T> T mapResponse(HttpResponse response, Function<InputStream, T> bodyMapper, ClientMetrics clientMetrics, EndpointType endpointType) {
+        long bodyBytes = 0;
+        try {
+            checkStatus(response.getStatusCode());
+            final MeteredInputStream body = new MeteredInputStream(response.getBody());
+            final long start = System.nanoTime();
+            final T result;
+            try {
+                result = bodyMapper.apply(body);
+            } finally {
+                bodyBytes = body.getBytesRead();
             }
+            final long readNanos = body.getReadNanos();
+            clientMetrics.recordPhase(endpointType, RequestPhase.BODY_READ, readNanos);
+            clientMetrics.recordPhase(endpointType, RequestPhase.MAPPING, Math.max(0, System.nanoTime() - start - readNanos));
+            return result;
+        } catch (RuntimeException ex) {
+            clientMetrics.recordException(endpointType, ex);
+            throw ex;
+        } finally {
+            clientMetrics.recordResponse(endpointType, response.getStatusCode(), bodyBytes);
+            closeQuietly(response);
+        }
+    }
 
-            if (timeoutSettings.getReadTimeout() != null) {
-                connection.setReadTimeout(timeoutSettings.getReadTimeout());
-            }
+    private static void recordHeadersReceived(HttpResponse response, long headersNanos, ClientMetrics clientMetrics, EndpointType endpointType) {
+        final long connectNanos = response.getConnectNanos();
+        if (connectNanos >= 0) {
+            clientMetrics.recordPhase(endpointType, RequestPhase.CONNECT, connectNanos);
+            clientMetrics.recordPhase(endpointType, RequestPhase.TIME_TO_FIRST_BYTE, Math.max(0, headersNanos - connectNanos));
+        } else {
+            clientMetrics.recordPhase(endpointType, RequestPhase.TIME_TO_FIRST_BYTE, headersNanos);
+        }
+    }
 
-            connection.setRequestMethod("GET");
-
-            switch (connection.getResponseCode()) {
-                case HttpURLConnection.HTTP_OK:
-                    resultStream = connection.getInputStream();
-                    break;
-                case HttpURLConnection.HTTP_UNAUTHORIZED:
-                    throw new InvalidAuthTokenException();
-                case HttpURLConnection.HTTP_NOT_FOUND:
-                case HttpURLConnection.HTTP_BAD_REQUEST:
-                    throw new NoDataFoundException();
-                default:
-                    throw new IllegalStateException("Unexpected value: " + connection.getResponseCode());
-            }
-        } catch (IllegalStateException | IOException ex) {
-            logger.error("An error occurred during OpenWeatherMap API response parsing: ", ex);
-            throw new NoDataFoundException(ex);
+    private static void checkStatus(int statusCode) {
+        switch (statusCode) {
+            case HttpURLConnection.HTTP_OK:
+                return;
+            case HttpURLConnection.HTTP_UNAUTHORIZED:
+                throw new InvalidAuthTokenException();
+            case HttpURLConnection.HTTP_NOT_FOUND:
+            case HttpURLConnection.HTTP_BAD_REQUEST:
+                throw new NoDataFoundException();
+            case HTTP_TOO_MANY_REQUESTS:
+                throw new RateLimitExceededException("Calls quota of the subscription plan is exceeded.");
+            default:
+                final IllegalStateException ex = new IllegalStateException("Unexpected value: " + statusCode);
+                logger.error("An error occurred during OpenWeatherMap API response parsing: ", ex);
+                throw new NoDataFoundException(ex);
         }
+    }
 
-        return resultStream;
+    private static void closeQuietly(HttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException ex) {
+            logger.debug("Error during response closing: ", ex);
+        }
     }
 
     /**
-     * Reads the input stream line-by-line and returns its content in <code>String</code> representation.
+     * Reads the whole input stream and returns its content in <code>String</code> representation.
+     * The stream is closed afterwards.
      *
      * @param inputStream input stream to convert.
      * @return converted <code>InputStream</code> content.
      * @throws IllegalArgumentException in case if input stream is unable to be read.
      */
-    private static String convertInputStreamToString(InputStream inputStream) {
-        StringBuilder result = new StringBuilder();
+    public static String convertInputStreamToString(InputStream inputStream) {
+        return new String(readAllBytes(inputStream), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the whole input stream. The stream is closed afterwards.
+     *
+     * @param inputStream input stream to read.
+     * @return <code>InputStream</code> content.
+     * @throws IllegalArgumentException in case if input stream is unable to be read.
+     */
+    public static byte[] readAllBytes(InputStream inputStream) {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                result.append(line);
+        try (InputStream stream = inputStream) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                result.write(buffer, 0, read);
             }
         } catch (IOException ex) {
             logger.error("Error during response reading: ", ex);
             throw new IllegalArgumentException(ex);
         }
 
-        return result.toString();
+        return result.toByteArray();
     }
 }
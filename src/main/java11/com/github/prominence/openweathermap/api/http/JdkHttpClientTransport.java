@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AsyncHttpTransport} implementation based on {@link HttpClient}.
+ * Async requests don't occupy any thread while waiting for the response: the body is collected by the client's selector
+ * and mapping starts only when it is fully received. Connections are pooled by the {@link HttpClient} itself.
+ * Available on Java 11 and newer, use {@link HttpTransports#newHttpClientTransport()} to create it from Java 8 code.
+ */
+public class JdkHttpClientTransport implements AsyncHttpTransport {
+    private final HttpClient httpClient;
+
+    /**
+     * Instantiates a new transport with default {@link HttpClient} that follows redirects like {@link java.net.HttpURLConnection} does.
+     */
+    public JdkHttpClientTransport() {
+        this(HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build());
+    }
+
+    /**
+     * Instantiates a new transport.
+     *
+     * @param httpClient the client to execute requests with.
+     */
+    public JdkHttpClientTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+        try {
+            final java.net.http.HttpResponse<InputStream> response = httpClient.send(createRequest(url, timeoutSettings), java.net.http.HttpResponse.BodyHandlers.ofInputStream());
+            return new HttpResponse(response.statusCode(), convertHeaders(response.headers()), response.body());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request was interrupted.");
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+        final HttpRequest request;
+        try {
+            request = createRequest(url, timeoutSettings);
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return httpClient.sendAsync(request, java.net.http.HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> new HttpResponse(response.statusCode(), convertHeaders(response.headers()), new ByteArrayInputStream(response.body())));
+    }
+
+    @Override
+    public void close() {
+        // connections are released by the client when it becomes unreachable
+    }
+
+    private HttpRequest createRequest(URL url, TimeoutSettings timeoutSettings) throws IOException {
+        final HttpRequest.Builder requestBuilder;
+        try {
+            requestBuilder = HttpRequest.newBuilder(url.toURI()).GET();
+        } catch (URISyntaxException ex) {
+            throw new IOException("Invalid request url: " + url, ex);
+        }
+
+        // client has only global connection timeout, so both timeouts limit the time until response headers are received
+        long timeoutMillis = 0;
+        if (timeoutSettings.getConnectionTimeout() != null) {
+            timeoutMillis += timeoutSettings.getConnectionTimeout();
+        }
+        if (timeoutSettings.getReadTimeout() != null) {
+            timeoutMillis += timeoutSettings.getReadTimeout();
+        }
+        if (timeoutMillis > 0) {
+            requestBuilder.timeout(Duration.ofMillis(timeoutMillis));
+        }
+
+        return requestBuilder.build();
+    }
+
+    private static Map<String, String> convertHeaders(HttpHeaders httpHeaders) {
+        final Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : httpHeaders.map().entrySet()) {
+            headers.put(header.getKey(), String.join(",", header.getValue()));
+        }
+        return headers;
+    }
+}
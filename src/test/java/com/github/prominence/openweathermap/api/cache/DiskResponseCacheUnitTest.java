@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.cache;
+
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskResponseCacheUnitTest {
+    private static final String KEY = "onecall/timemachine?dt=1586468027&lat=60.99&lon=30.9";
+    private static final byte[] BODY = "{\"current\":{\"temp\":280.1}}".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong wallClock = new AtomicLong(1_000_000L);
+
+    @Test
+    public void whenGetStoredResponse_thenHitIsCounted() {
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            assertNull(cache.get(KEY));
+            cache.put(KEY, EndpointType.ONE_CALL_HISTORICAL, BODY);
+
+            assertArrayEquals(BODY, cache.get(KEY));
+            assertEquals(1, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(1, cache.size());
+        }
+    }
+
+    @Test
+    public void whenEndpointTypeIsNotHistorical_thenResponseIsNotStoredByDefault() {
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            assertFalse(cache.isCacheable(EndpointType.CURRENT_WEATHER));
+            assertTrue(cache.isCacheable(EndpointType.AIR_POLLUTION_HISTORY));
+
+            cache.put("weather?q=London", EndpointType.CURRENT_WEATHER, BODY);
+
+            assertNull(cache.get("weather?q=London"));
+        }
+    }
+
+    @Test
+    public void whenCacheIsReopened_thenStoredResponsesAreServed() {
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            cache.put(KEY, EndpointType.ONE_CALL_HISTORICAL, BODY);
+            cache.put("air_pollution/history?end=2&lat=1&lon=1&start=1", EndpointType.AIR_POLLUTION_HISTORY, BODY);
+            // newer response of the same request overrides older one
+            cache.put(KEY, EndpointType.ONE_CALL_HISTORICAL, "{}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            assertEquals(2, cache.size());
+            assertArrayEquals("{}".getBytes(StandardCharsets.UTF_8), cache.get(KEY));
+            assertArrayEquals(BODY, cache.get("air_pollution/history?end=2&lat=1&lon=1&start=1"));
+        }
+    }
+
+    @Test
+    public void whenTimeToLiveIsPassed_thenResponseIsExpiredAfterReopen() {
+        final DiskCacheSettings settings = new DiskCacheSettings(directory);
+        settings.setTimeToLive(EndpointType.ONE_CALL_HISTORICAL, 1, TimeUnit.HOURS);
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            cache.put(KEY, EndpointType.ONE_CALL_HISTORICAL, BODY);
+        }
+
+        wallClock.addAndGet(TimeUnit.HOURS.toMillis(1));
+
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            assertNull(cache.get(KEY));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void whenLastRecordIsCorrupted_thenPreviousRecordsAreLoaded() throws IOException {
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            cache.put("onecall/timemachine?dt=1", EndpointType.ONE_CALL_HISTORICAL, BODY);
+            cache.put("onecall/timemachine?dt=2", EndpointType.ONE_CALL_HISTORICAL, BODY);
+        }
+        final Path segment = listSegments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // damage last byte of the second record body
+            final int firstRecordLength = readInt(channel, 0);
+            final int secondRecordLength = readInt(channel, firstRecordLength);
+            channel.write(ByteBuffer.wrap(new byte[]{'x'}), firstRecordLength + secondRecordLength - 1);
+        }
+
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            assertArrayEquals(BODY, cache.get("onecall/timemachine?dt=1"));
+            assertNull(cache.get("onecall/timemachine?dt=2"));
+            // the damaged record is overwritten by new ones
+            cache.put("onecall/timemachine?dt=3", EndpointType.ONE_CALL_HISTORICAL, BODY);
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            assertEquals(2, cache.size());
+        }
+    }
+
+    @Test
+    public void whenSizeCapIsReached_thenStaleSegmentsAreCompacted() throws IOException {
+        final DiskCacheSettings settings = new DiskCacheSettings(directory);
+        settings.setSegmentSizeBytes(4096);
+        settings.setMaxSizeBytes(3 * 4096);
+        final byte[] body = new byte[1000];
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            // the same requests are stored again and again, so most of the data is stale
+            for (int i = 0; i < 40; i++) {
+                cache.put("onecall/timemachine?dt=" + (i % 3), EndpointType.ONE_CALL_HISTORICAL, body);
+            }
+
+            assertEquals(3, cache.size());
+            assertTrue(cache.getSegmentCount() <= 3);
+            assertTrue(cache.getCompactionCount() > 0);
+            assertEquals(0, cache.getDroppedSegmentCount());
+            assertTrue(listSegments().size() <= 3);
+            for (int i = 0; i < 3; i++) {
+                assertArrayEquals(body, cache.get("onecall/timemachine?dt=" + i));
+            }
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            assertEquals(3, cache.size());
+        }
+    }
+
+    @Test
+    public void whenSizeCapIsReachedWithLiveData_thenOldestSegmentIsDropped() {
+        final DiskCacheSettings settings = new DiskCacheSettings(directory);
+        settings.setSegmentSizeBytes(4096);
+        settings.setMaxSizeBytes(2 * 4096);
+        final byte[] body = new byte[1000];
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            for (int i = 0; i < 20; i++) {
+                cache.put("onecall/timemachine?dt=" + i, EndpointType.ONE_CALL_HISTORICAL, body);
+            }
+
+            assertEquals(2, cache.getSegmentCount());
+            assertTrue(cache.getDroppedSegmentCount() > 0);
+            assertNull(cache.get("onecall/timemachine?dt=0"));
+            assertArrayEquals(body, cache.get("onecall/timemachine?dt=19"));
+            assertEquals(2 * 4096, cache.getSizeBytes());
+        }
+    }
+
+    @Test
+    public void whenSegmentWasEmptiedOnDrop_thenItsFileIsDeletedOnStart() throws IOException {
+        final DiskCacheSettings settings = new DiskCacheSettings(directory);
+        settings.setSegmentSizeBytes(4096);
+        final byte[] body = new byte[1000];
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            for (int i = 0; i < 6; i++) {
+                cache.put("onecall/timemachine?dt=" + i, EndpointType.ONE_CALL_HISTORICAL, body);
+            }
+        }
+        final List<Path> segments = listSegments();
+        segments.sort(null);
+        assertEquals(2, segments.size());
+        // the way a mapped segment is dropped when its file can't be deleted
+        try (FileChannel channel = FileChannel.open(segments.get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 0);
+        }
+
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            assertEquals(3, cache.size());
+            assertEquals(1, cache.getSegmentCount());
+            assertFalse(Files.exists(segments.get(0)));
+            assertNull(cache.get("onecall/timemachine?dt=0"));
+            assertArrayEquals(body, cache.get("onecall/timemachine?dt=5"));
+        }
+    }
+
+    @Test
+    public void whenResponseIsLargerThanSegment_thenItIsNotStored() {
+        final DiskCacheSettings settings = new DiskCacheSettings(directory);
+        settings.setSegmentSizeBytes(4096);
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            cache.put(KEY, EndpointType.ONE_CALL_HISTORICAL, new byte[5000]);
+
+            assertNull(cache.get(KEY));
+        }
+    }
+
+    @Test
+    public void whenCompactManually_thenStaleDataIsRemoved() {
+        final DiskCacheSettings settings = new DiskCacheSettings(directory);
+        settings.setSegmentSizeBytes(4096);
+        final byte[] body = new byte[1000];
+        try (DiskResponseCache cache = new DiskResponseCache(settings, wallClock::get)) {
+            for (int i = 0; i < 8; i++) {
+                cache.put("onecall/timemachine?dt=" + (i % 2), EndpointType.ONE_CALL_HISTORICAL, body);
+            }
+            final int segmentCount = cache.getSegmentCount();
+
+            cache.compact();
+
+            assertTrue(cache.getSegmentCount() < segmentCount);
+            assertArrayEquals(body, cache.get("onecall/timemachine?dt=0"));
+            assertArrayEquals(body, cache.get("onecall/timemachine?dt=1"));
+        }
+    }
+
+    @Test
+    public void whenDirectoryIsUsed_thenThrowAnException() {
+        try (DiskResponseCache ignored = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            assertThrows(IllegalStateException.class, () -> new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get));
+        }
+    }
+
+    @Test
+    public void whenClear_thenSegmentFilesAreRemoved() throws IOException {
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            cache.put(KEY, EndpointType.ONE_CALL_HISTORICAL, BODY);
+
+            cache.clear();
+
+            assertNull(cache.get(KEY));
+            assertEquals(1, listSegments().size());
+        }
+        try (DiskResponseCache cache = new DiskResponseCache(new DiskCacheSettings(directory), wallClock::get)) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void whenInvalidSizesAreSet_thenThrowAnException() {
+        final DiskCacheSettings settings = new DiskCacheSettings(directory);
+
+        assertThrows(IllegalArgumentException.class, () -> settings.setSegmentSizeBytes(1024));
+        assertThrows(IllegalArgumentException.class, () -> settings.setMaxSizeBytes(settings.getSegmentSizeBytes()));
+        assertThrows(IllegalArgumentException.class, () -> settings.setTimeToLive(EndpointType.ONE_CALL, -1, TimeUnit.DAYS));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        final List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.seg")) {
+            stream.forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4);
+        channel.read(buffer, position);
+        buffer.flip();
+        return buffer.getInt();
+    }
+}
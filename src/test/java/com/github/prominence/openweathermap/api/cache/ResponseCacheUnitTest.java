@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.cache;
+
+import com.github.prominence.openweathermap.api.conf.CacheSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheUnitTest {
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    public void whenGetStoredResponse_thenHitIsCounted() {
+        final ResponseCache cache = new ResponseCache(new CacheSettings(), nanoTime::get);
+
+        assertNull(cache.get("weather?q=London"));
+        cache.put("weather?q=London", EndpointType.CURRENT_WEATHER, BODY);
+
+        assertSame(BODY, cache.get("weather?q=London"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void whenTimeToLiveIsPassed_thenResponseIsExpired() {
+        final CacheSettings cacheSettings = new CacheSettings();
+        cacheSettings.setTimeToLive(EndpointType.CURRENT_WEATHER, 10, TimeUnit.MINUTES);
+        final ResponseCache cache = new ResponseCache(cacheSettings, nanoTime::get);
+        cache.put("weather?q=London", EndpointType.CURRENT_WEATHER, BODY);
+        cache.put("onecall/timemachine?dt=1", EndpointType.ONE_CALL_HISTORICAL, BODY);
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        assertNull(cache.get("weather?q=London"));
+        assertSame(BODY, cache.get("onecall/timemachine?dt=1"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void whenMaxEntriesIsExceeded_thenLeastRecentlyUsedResponseIsEvicted() {
+        final CacheSettings cacheSettings = new CacheSettings();
+        cacheSettings.setMaxEntries(2);
+        final ResponseCache cache = new ResponseCache(cacheSettings, nanoTime::get);
+        cache.put("weather?q=London", EndpointType.CURRENT_WEATHER, BODY);
+        cache.put("weather?q=Minsk", EndpointType.CURRENT_WEATHER, BODY);
+        cache.get("weather?q=London");
+
+        cache.put("weather?q=Paris", EndpointType.CURRENT_WEATHER, BODY);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("weather?q=Minsk"));
+        assertNotNull(cache.get("weather?q=London"));
+        assertNotNull(cache.get("weather?q=Paris"));
+    }
+
+    @Test
+    public void whenTimeToLiveIsZero_thenResponseIsNotStored() {
+        final CacheSettings cacheSettings = new CacheSettings();
+        cacheSettings.setTimeToLive(EndpointType.FORECAST, 0, TimeUnit.SECONDS);
+        final ResponseCache cache = new ResponseCache(cacheSettings, nanoTime::get);
+
+        cache.put("forecast?q=London", EndpointType.FORECAST, BODY);
+
+        assertFalse(cache.isCacheable(EndpointType.FORECAST));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void whenSettingsAreChangedAfterCreation_thenCacheIsNotAffected() {
+        final CacheSettings cacheSettings = new CacheSettings();
+        final ResponseCache cache = new ResponseCache(cacheSettings, nanoTime::get);
+
+        cacheSettings.setTimeToLive(EndpointType.CURRENT_WEATHER, 0, TimeUnit.SECONDS);
+
+        assertTrue(cache.isCacheable(EndpointType.CURRENT_WEATHER));
+    }
+
+    @Test
+    public void whenSetInvalidSettings_thenThrowAnException() {
+        final CacheSettings cacheSettings = new CacheSettings();
+
+        assertThrows(IllegalArgumentException.class, () -> cacheSettings.setMaxEntries(0));
+        assertThrows(IllegalArgumentException.class, () -> cacheSettings.setTimeToLive(EndpointType.FORECAST, -1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.circuitbreaker;
+
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.CircuitBreakerState;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerHttpTransportUnitTest {
+    private static final URL URL = createUrl();
+
+    @Test
+    public void whenBreakerIsOpen_thenCallFailsFastWithoutReachingTransport() throws IOException {
+        final FixedTransport transport = new FixedTransport(500);
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(EndpointType.FORECAST, createSettings());
+        final CircuitBreakerHttpTransport breakerTransport = (CircuitBreakerHttpTransport) circuitBreaker.wrap(transport);
+
+        assertEquals(500, breakerTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertEquals(500, breakerTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+
+        final CircuitBreakerOpenException exception = assertThrows(CircuitBreakerOpenException.class, () -> breakerTransport.execute(URL, new TimeoutSettings()));
+        assertEquals(EndpointType.FORECAST, exception.getEndpointType());
+        assertEquals(2, transport.calls);
+    }
+
+    @Test
+    public void whenTransportThrowsError_thenFailureIsRecorded() {
+        final FixedTransport transport = new FixedTransport(200);
+        transport.error = new StackOverflowError();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(EndpointType.FORECAST, createSettings());
+        final CircuitBreakerHttpTransport breakerTransport = (CircuitBreakerHttpTransport) circuitBreaker.wrap(transport);
+
+        assertThrows(StackOverflowError.class, () -> breakerTransport.execute(URL, new TimeoutSettings()));
+        assertThrows(StackOverflowError.class, () -> breakerTransport.execute(URL, new TimeoutSettings()));
+
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        assertThrows(CircuitBreakerOpenException.class, () -> breakerTransport.execute(URL, new TimeoutSettings()));
+        assertEquals(2, transport.calls);
+    }
+
+    @Test
+    public void whenAsyncCallFails_thenFailureIsRecorded() {
+        final FixedTransport transport = new FixedTransport(200);
+        transport.failure = new IOException("Connection reset");
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(EndpointType.ONE_CALL, createSettings());
+        final AsyncHttpTransport breakerTransport = (AsyncHttpTransport) circuitBreaker.wrap(transport);
+
+        assertThrows(CompletionException.class, () -> breakerTransport.executeAsync(URL, new TimeoutSettings()).join());
+        assertThrows(CompletionException.class, () -> breakerTransport.executeAsync(URL, new TimeoutSettings()).join());
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+
+        final CompletionException exception = assertThrows(CompletionException.class, () -> breakerTransport.executeAsync(URL, new TimeoutSettings()).join());
+        assertTrue(exception.getCause() instanceof CircuitBreakerOpenException);
+        assertEquals(2, transport.calls);
+    }
+
+    private static CircuitBreakerSettings createSettings() {
+        final CircuitBreakerSettings circuitBreakerSettings = new CircuitBreakerSettings();
+        circuitBreakerSettings.setSlidingWindow(4, 2);
+        return circuitBreakerSettings;
+    }
+
+    private static URL createUrl() {
+        try {
+            return new URL("https://api.openweathermap.org/data/2.5/forecast?q=London");
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class FixedTransport implements AsyncHttpTransport {
+        private final int statusCode;
+        private IOException failure;
+        private Error error;
+        private int calls;
+
+        private FixedTransport(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+            calls++;
+            if (error != null) {
+                throw error;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            final byte[] body = ("{\"status\":" + statusCode + "}").getBytes(StandardCharsets.UTF_8);
+            return new HttpResponse(statusCode, Collections.emptyMap(), new ByteArrayInputStream(body));
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+            try {
+                response.complete(execute(url, timeoutSettings));
+            } catch (IOException ex) {
+                response.completeExceptionally(ex);
+            }
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
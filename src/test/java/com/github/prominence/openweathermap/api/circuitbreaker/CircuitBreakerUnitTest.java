@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.circuitbreaker;
+
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.enums.CircuitBreakerState;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerUnitTest {
+    private static final long FAST_CALL = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_CALL = TimeUnit.SECONDS.toNanos(2);
+
+    private long nanos;
+
+    @Test
+    public void whenFailureRateReachesThreshold_thenBreakerOpensAndRejectsCalls() {
+        final CircuitBreaker circuitBreaker = createCircuitBreaker();
+
+        recordCalls(circuitBreaker, 5, false, FAST_CALL);
+        recordCalls(circuitBreaker, 4, true, FAST_CALL);
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+
+        recordCalls(circuitBreaker, 1, true, FAST_CALL);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getTransitionCount(CircuitBreakerState.OPEN));
+        assertEquals(-1, circuitBreaker.tryAcquirePermission());
+        assertEquals(1, circuitBreaker.getRejectedCount());
+    }
+
+    @Test
+    public void whenSlowCallRateReachesThreshold_thenBreakerOpens() {
+        final CircuitBreaker circuitBreaker = createCircuitBreaker();
+
+        recordCalls(circuitBreaker, 2, false, FAST_CALL);
+        recordCalls(circuitBreaker, 8, false, SLOW_CALL);
+
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void whenThereAreLessCallsThanMinimum_thenBreakerStaysClosed() {
+        final CircuitBreaker circuitBreaker = createCircuitBreaker();
+
+        recordCalls(circuitBreaker, 9, true, FAST_CALL);
+
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(-1f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    public void whenOldCallsLeaveSlidingWindow_thenTheyAreNotCounted() {
+        final CircuitBreaker circuitBreaker = createCircuitBreaker();
+
+        recordCalls(circuitBreaker, 4, true, FAST_CALL);
+        recordCalls(circuitBreaker, 16, false, FAST_CALL);
+        recordCalls(circuitBreaker, 9, true, FAST_CALL);
+
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(45f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    public void whenOpenStateDurationPasses_thenProbeCallsArePermittedAndCloseBreaker() {
+        final CircuitBreaker circuitBreaker = createOpenCircuitBreaker();
+
+        nanos += TimeUnit.SECONDS.toNanos(30);
+        final long[] epochs = new long[3];
+        for (int i = 0; i < epochs.length; i++) {
+            epochs[i] = circuitBreaker.tryAcquirePermission();
+            assertTrue(epochs[i] >= 0);
+        }
+        assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(-1, circuitBreaker.tryAcquirePermission());
+
+        for (long epoch : epochs) {
+            circuitBreaker.onResult(epoch, false, FAST_CALL);
+        }
+        assertEquals(CircuitBreakerState.CLOSED, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getTransitionCount(CircuitBreakerState.HALF_OPEN));
+        assertEquals(1, circuitBreaker.getTransitionCount(CircuitBreakerState.CLOSED));
+    }
+
+    @Test
+    public void whenProbeCallFails_thenBreakerOpensAgain() {
+        final CircuitBreaker circuitBreaker = createOpenCircuitBreaker();
+
+        nanos += TimeUnit.SECONDS.toNanos(30);
+        final long epoch = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onResult(epoch, true, FAST_CALL);
+
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getTransitionCount(CircuitBreakerState.OPEN));
+        assertEquals(-1, circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void whenCallStartedBeforeTransitionCompletes_thenItsOutcomeIsIgnored() {
+        final CircuitBreaker circuitBreaker = createCircuitBreaker();
+        final long staleEpoch = circuitBreaker.tryAcquirePermission();
+        recordCalls(circuitBreaker, 10, true, FAST_CALL);
+
+        nanos += TimeUnit.SECONDS.toNanos(30);
+        final long epoch = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onResult(staleEpoch, true, FAST_CALL);
+
+        assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onResult(epoch, false, FAST_CALL);
+        assertEquals(CircuitBreakerState.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    private CircuitBreaker createCircuitBreaker() {
+        return new CircuitBreaker(EndpointType.CURRENT_WEATHER, new CircuitBreakerSettings(), () -> nanos);
+    }
+
+    private CircuitBreaker createOpenCircuitBreaker() {
+        final CircuitBreaker circuitBreaker = createCircuitBreaker();
+        recordCalls(circuitBreaker, 10, true, FAST_CALL);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+        return circuitBreaker;
+    }
+
+    private static void recordCalls(CircuitBreaker circuitBreaker, int count, boolean failed, long durationNanos) {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.onResult(circuitBreaker.tryAcquirePermission(), failed, durationNanos);
+        }
+    }
+}
@@ -95,6 +95,22 @@ public class WeatherConditionUnitTest {
         assertEquals(WeatherCondition.ASH, WeatherCondition.getById(WeatherCondition.ASH.getId()));
     }
 
+    @Test
+    public void getByIdForAllConditions() {
+        for (WeatherCondition weatherCondition : WeatherCondition.values()) {
+            assertSame(weatherCondition, WeatherCondition.getById(weatherCondition.getId()));
+        }
+    }
+
+    @Test
+    public void getByUnknownId() {
+        assertNull(WeatherCondition.getById(0));
+        assertNull(WeatherCondition.getById(199));
+        assertNull(WeatherCondition.getById(250));
+        assertNull(WeatherCondition.getById(805));
+        assertNull(WeatherCondition.getById(-1));
+    }
+
     @Test
     public void testToString() {
         final WeatherCondition weatherCondition = WeatherCondition.ASH;
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.hedging;
+
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.github.prominence.openweathermap.api.hedging.HedgingPolicyUnitTest.createSettings;
+import static com.github.prominence.openweathermap.api.hedging.HedgingPolicyUnitTest.recordLatencies;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgingHttpTransportUnitTest {
+    private static final URL URL = createUrl();
+
+    @Test
+    public void whenCallIsSlowerThanHedgeDelay_thenDuplicateCallResponseIsReturned() throws Exception {
+        final BlockingTransport transport = new BlockingTransport();
+        final HedgingPolicy hedgingPolicy = createWarmPolicy(createSettings());
+        final HttpTransport hedgingTransport = hedgingPolicy.wrap(transport, EndpointType.ONE_CALL);
+
+        final long start = System.nanoTime();
+        assertEquals(2, hedgingTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, hedgingPolicy.getHedgedCount());
+        assertEquals(1, hedgingPolicy.getHedgeWonCount());
+        assertEquals(1, transport.release.getCount());
+
+        transport.release.countDown();
+        assertTrue(transport.primaryResponse.get(5, TimeUnit.SECONDS).closed.await(5, TimeUnit.SECONDS));
+        assertTrue(transport.primaryThreadName.startsWith("openweathermap-hedging-primary-"));
+        assertNotNull(transport.hedgeThreadName);
+    }
+
+    @Test
+    public void whenPrimaryThreadsAreBusy_thenOriginalCallIsMadeOnCallingThread() throws IOException {
+        final BlockingTransport transport = new BlockingTransport();
+        final HedgingPolicy hedgingPolicy = createWarmPolicy(createSettings());
+        final HttpTransport hedgingTransport = new HedgingHttpTransport(transport, hedgingPolicy, EndpointType.ONE_CALL, runnable -> {
+            throw new RejectedExecutionException();
+        }, null);
+        startReleaser(transport, () -> hedgingPolicy.getHedgeWonCount() > 0);
+
+        assertEquals(2, hedgingTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertEquals(Thread.currentThread().getName(), transport.primaryThreadName);
+    }
+
+    @Test
+    public void whenDuplicateCallThrowsError_thenCallIsStillCompleted() {
+        final BlockingTransport transport = new BlockingTransport();
+        transport.primaryFailure = new SocketTimeoutException();
+        transport.hedgeFailure = new LinkageError("Broken transport");
+        final HedgingPolicy hedgingPolicy = createWarmPolicy(createSettings());
+        final HttpTransport hedgingTransport = hedgingPolicy.wrap(transport, EndpointType.ONE_CALL);
+        startReleaser(transport, () -> transport.calls.get() == 2);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            final Throwable throwable = assertThrows(Throwable.class, () -> hedgingTransport.execute(URL, new TimeoutSettings()));
+            assertTrue(throwable instanceof SocketTimeoutException || throwable instanceof LinkageError);
+        });
+        assertEquals(0, hedgingPolicy.getHedgeWonCount());
+    }
+
+    @Test
+    public void whenHedgeIsRejectedByExecutor_thenOriginalCallOutcomeIsReturned() {
+        final BlockingTransport transport = new BlockingTransport();
+        transport.primaryFailure = new SocketTimeoutException();
+        final HedgingPolicy hedgingPolicy = createWarmPolicy(createSettings());
+        final AtomicInteger rejectedHedges = new AtomicInteger();
+        final HttpTransport hedgingTransport = new HedgingHttpTransport(transport, hedgingPolicy, EndpointType.ONE_CALL, null, runnable -> {
+            rejectedHedges.incrementAndGet();
+            throw new RejectedExecutionException();
+        });
+        startReleaser(transport, () -> rejectedHedges.get() > 0);
+
+        assertThrows(SocketTimeoutException.class, () -> hedgingTransport.execute(URL, new TimeoutSettings()));
+        assertEquals(1, transport.calls.get());
+        assertEquals(0, hedgingPolicy.getHedgeWonCount());
+    }
+
+    @Test
+    public void whenAsyncCallIsSlowerThanHedgeDelay_thenSlowerCallIsCancelled() {
+        final PendingAsyncTransport transport = new PendingAsyncTransport();
+        final HedgingPolicy hedgingPolicy = createWarmPolicy(createSettings());
+        final AsyncHttpTransport hedgingTransport = (AsyncHttpTransport) hedgingPolicy.wrap(transport, EndpointType.ONE_CALL);
+
+        final CompletableFuture<HttpResponse> responseFuture = hedgingTransport.executeAsync(URL, new TimeoutSettings());
+        transport.awaitCalls(2);
+        transport.attempts.get(1).complete(createResponse(200));
+
+        assertEquals(200, responseFuture.join().getStatusCode());
+        assertTrue(transport.attempts.get(0).isCancelled());
+        assertEquals(1, hedgingPolicy.getHedgeWonCount());
+    }
+
+    @Test
+    public void whenCallFailsBeforeHedgeDelay_thenFailureIsReturnedWithoutDuplicateCall() {
+        final PendingAsyncTransport transport = new PendingAsyncTransport();
+        final HedgingSettings hedgingSettings = createSettings();
+        hedgingSettings.setMinDelay(1, TimeUnit.MINUTES);
+        final HedgingPolicy hedgingPolicy = createWarmPolicy(hedgingSettings);
+        final AsyncHttpTransport hedgingTransport = (AsyncHttpTransport) hedgingPolicy.wrap(transport, EndpointType.ONE_CALL);
+
+        final CompletableFuture<HttpResponse> responseFuture = hedgingTransport.executeAsync(URL, new TimeoutSettings());
+        transport.attempts.get(0).completeExceptionally(new SocketTimeoutException());
+
+        final Exception exception = assertThrows(Exception.class, responseFuture::join);
+        assertTrue(exception.getCause() instanceof SocketTimeoutException);
+        assertEquals(1, transport.attempts.size());
+        assertEquals(0, hedgingPolicy.getHedgedCount());
+    }
+
+    @Test
+    public void whenHedgingBudgetIsExhausted_thenOriginalCallIsAwaited() throws IOException {
+        final BlockingTransport transport = new BlockingTransport();
+        final HedgingSettings hedgingSettings = createSettings();
+        hedgingSettings.setMaxExtraLoad(0, 0);
+        final HedgingPolicy hedgingPolicy = createWarmPolicy(hedgingSettings);
+        final HttpTransport hedgingTransport = hedgingPolicy.wrap(transport, EndpointType.ONE_CALL);
+
+        startReleaser(transport, () -> hedgingPolicy.getBudgetRejectedCount() > 0);
+
+        assertEquals(1, hedgingTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertEquals(1, transport.calls.get());
+        assertEquals(1, hedgingPolicy.getBudgetRejectedCount());
+    }
+
+    private static void startReleaser(BlockingTransport transport, BooleanSupplier condition) {
+        final Thread releaser = new Thread(() -> {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            transport.release.countDown();
+        });
+        releaser.setDaemon(true);
+        releaser.start();
+    }
+
+    private static HedgingPolicy createWarmPolicy(HedgingSettings hedgingSettings) {
+        final HedgingPolicy hedgingPolicy = new HedgingPolicy(hedgingSettings);
+        recordLatencies(hedgingPolicy, EndpointType.ONE_CALL, 10, 1);
+        return hedgingPolicy;
+    }
+
+    private static HttpResponse createResponse(int statusCode) {
+        return new HttpResponse(statusCode, Collections.emptyMap(), new ByteArrayInputStream(new byte[0]));
+    }
+
+    private static URL createUrl() {
+        try {
+            return new URL("https://api.openweathermap.org/data/2.5/onecall?lat=1&lon=1");
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Blocks the original call until released, returns 1 for the original call and 2 for the duplicate one
+     * or throws the failure of the call.
+     */
+    private static class BlockingTransport implements HttpTransport {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CompletableFuture<TrackedResponse> primaryResponse = new CompletableFuture<>();
+        private volatile String primaryThreadName;
+        private volatile String hedgeThreadName;
+        private volatile IOException primaryFailure;
+        private volatile Error hedgeFailure;
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+            final String threadName = Thread.currentThread().getName();
+            final boolean hedge = threadName.startsWith("openweathermap-hedging-") && !threadName.startsWith("openweathermap-hedging-primary-");
+            calls.incrementAndGet();
+            if (hedge) {
+                hedgeThreadName = threadName;
+                if (hedgeFailure != null) {
+                    throw hedgeFailure;
+                }
+                return new TrackedResponse(2);
+            }
+            primaryThreadName = threadName;
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                throw new IOException(ex);
+            }
+            if (primaryFailure != null) {
+                throw primaryFailure;
+            }
+            final TrackedResponse response = new TrackedResponse(1);
+            primaryResponse.complete(response);
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class TrackedResponse extends HttpResponse {
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        TrackedResponse(int statusCode) {
+            super(statusCode, Collections.emptyMap(), new ByteArrayInputStream(new byte[0]));
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            closed.countDown();
+        }
+    }
+
+    private static class PendingAsyncTransport implements AsyncHttpTransport {
+        private final List<CompletableFuture<HttpResponse>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        void awaitCalls(int count) {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (attempts.size() < count && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            final CompletableFuture<HttpResponse> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+}
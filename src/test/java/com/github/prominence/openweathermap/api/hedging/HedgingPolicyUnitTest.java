@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.hedging;
+
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgingPolicyUnitTest {
+
+    @Test
+    public void whenTooFewLatenciesAreKnown_thenCallsAreNotHedged() {
+        final HedgingPolicy hedgingPolicy = new HedgingPolicy(createSettings());
+
+        recordLatencies(hedgingPolicy, EndpointType.ONE_CALL, 4, 100);
+
+        assertEquals(-1, hedgingPolicy.getHedgeDelayMillis(EndpointType.ONE_CALL));
+    }
+
+    @Test
+    public void whenEnoughLatenciesAreKnown_thenHedgeDelayIsTheirPercentile() {
+        final HedgingPolicy hedgingPolicy = new HedgingPolicy(createSettings());
+
+        for (int i = 1; i <= 10; i++) {
+            hedgingPolicy.recordLatency(EndpointType.ONE_CALL, TimeUnit.MILLISECONDS.toNanos(i * 10));
+        }
+
+        assertEquals(90, hedgingPolicy.getHedgeDelayMillis(EndpointType.ONE_CALL));
+        assertEquals(-1, hedgingPolicy.getHedgeDelayMillis(EndpointType.FORECAST));
+    }
+
+    @Test
+    public void whenOldLatenciesLeaveWindow_thenPercentileFollowsNewOnes() {
+        final HedgingPolicy hedgingPolicy = new HedgingPolicy(createSettings());
+
+        recordLatencies(hedgingPolicy, EndpointType.FORECAST, 10, 500);
+        recordLatencies(hedgingPolicy, EndpointType.FORECAST, 10, 50);
+
+        assertEquals(50, hedgingPolicy.getHedgeDelayMillis(EndpointType.FORECAST));
+    }
+
+    @Test
+    public void whenPercentileIsBelowMinDelay_thenMinDelayIsUsed() {
+        final HedgingSettings hedgingSettings = createSettings();
+        hedgingSettings.setMinDelay(200, TimeUnit.MILLISECONDS);
+        final HedgingPolicy hedgingPolicy = new HedgingPolicy(hedgingSettings);
+
+        recordLatencies(hedgingPolicy, EndpointType.CURRENT_WEATHER, 10, 50);
+
+        assertEquals(200, hedgingPolicy.getHedgeDelayMillis(EndpointType.CURRENT_WEATHER));
+    }
+
+    @Test
+    public void whenHedgingBudgetIsExhausted_thenHedgesAreRejectedUntilCallsRefillIt() {
+        final HedgingSettings hedgingSettings = createSettings();
+        hedgingSettings.setMaxExtraLoad(0.5, 1);
+        final HedgingPolicy hedgingPolicy = new HedgingPolicy(hedgingSettings);
+
+        assertTrue(hedgingPolicy.tryAcquireHedge());
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+        hedgingPolicy.onCall();
+        assertFalse(hedgingPolicy.tryAcquireHedge());
+        hedgingPolicy.onCall();
+        assertTrue(hedgingPolicy.tryAcquireHedge());
+
+        assertEquals(2, hedgingPolicy.getHedgedCount());
+        assertEquals(2, hedgingPolicy.getBudgetRejectedCount());
+    }
+
+    @Test
+    public void whenSettingsAreInvalid_thenExceptionIsThrown() {
+        final HedgingSettings hedgingSettings = new HedgingSettings();
+
+        assertThrows(IllegalArgumentException.class, () -> hedgingSettings.setLatencyPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> hedgingSettings.setLatencyWindow(10, 11));
+        assertThrows(IllegalArgumentException.class, () -> hedgingSettings.setMaxExtraLoad(1.5, 5));
+        assertThrows(IllegalArgumentException.class, () -> hedgingSettings.setMinDelay(-1, TimeUnit.MILLISECONDS));
+    }
+
+    static HedgingSettings createSettings() {
+        final HedgingSettings hedgingSettings = new HedgingSettings();
+        hedgingSettings.setLatencyPercentile(90);
+        hedgingSettings.setLatencyWindow(10, 5);
+        hedgingSettings.setMinDelay(0, TimeUnit.MILLISECONDS);
+        return hedgingSettings;
+    }
+
+    static void recordLatencies(HedgingPolicy hedgingPolicy, EndpointType endpointType, int count, long latencyMillis) {
+        for (int i = 0; i < count; i++) {
+            hedgingPolicy.recordLatency(endpointType, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class HttpTransportsUnitTest {
+    private static final String BODY = "{\"cod\":200}";
+
+    private HttpServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/fixed", exchange -> {
+            final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void whenCreateHttpClientTransport_thenBlockingRequestIsExecuted() throws IOException {
+        assumeTrue(HttpTransports.isHttpClientTransportSupported());
+        final AsyncHttpTransport transport = HttpTransports.newHttpClientTransport();
+
+        try (HttpResponse response = transport.execute(new URL(url("/fixed")), new TimeoutSettings())) {
+            assertEquals(200, response.getStatusCode());
+            assertEquals("application/json", response.getHeader("content-type"));
+        }
+        assertEquals(BODY, RequestUtils.getResponse(transport, url("/fixed"), new TimeoutSettings()));
+        transport.close();
+    }
+
+    @Test
+    public void whenExecuteAsync_thenBodyIsMapped() {
+        assumeTrue(HttpTransports.isHttpClientTransportSupported());
+        final AsyncHttpTransport transport = HttpTransports.newHttpClientTransport();
+
+        final String body = RequestUtils.getResponseAsync(transport, url("/fixed"), new TimeoutSettings(),
+                RequestUtils::convertInputStreamToString, ForkJoinPool.commonPool()).join();
+
+        assertEquals(BODY, body);
+        transport.close();
+    }
+
+    @Test
+    public void whenExecuteAsyncToMissingPage_thenFutureFailsWithNoDataFoundException() {
+        assumeTrue(HttpTransports.isHttpClientTransportSupported());
+        final AsyncHttpTransport transport = HttpTransports.newHttpClientTransport();
+
+        final CompletionException ex = assertThrows(CompletionException.class, () -> RequestUtils.getResponseAsync(transport, url("/missing"),
+                new TimeoutSettings(), RequestUtils::convertInputStreamToString, ForkJoinPool.commonPool()).join());
+        assertTrue(ex.getCause() instanceof NoDataFoundException);
+        transport.close();
+    }
+
+    @Test
+    public void whenServerIsUnavailable_thenFutureFailsWithNoDataFoundException() {
+        assumeTrue(HttpTransports.isHttpClientTransportSupported());
+        final AsyncHttpTransport transport = HttpTransports.newHttpClientTransport();
+        final String unavailableUrl = url("/fixed");
+        server.stop(0);
+
+        final CompletionException ex = assertThrows(CompletionException.class, () -> RequestUtils.getResponseAsync(transport, unavailableUrl,
+                new TimeoutSettings(), RequestUtils::convertInputStreamToString, ForkJoinPool.commonPool()).join());
+        assertTrue(ex.getCause() instanceof NoDataFoundException);
+        transport.close();
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}
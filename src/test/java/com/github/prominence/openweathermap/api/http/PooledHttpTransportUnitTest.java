@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledHttpTransportUnitTest {
+    private static final String BODY = "{\"cod\":200}";
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final Set<String> requestUris = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/fixed", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            requestUris.add(exchange.getRequestURI().toString());
+            final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/chunked", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+                outputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            final byte[] body = "{\"cod\":\"404\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/moved", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/fixed");
+            exchange.sendResponseHeaders(301, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void whenExecuteSequentialRequests_thenConnectionIsReused() {
+        final PooledHttpTransport transport = new PooledHttpTransport();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(BODY, RequestUtils.getResponse(transport, url("/fixed"), new TimeoutSettings()));
+        }
+
+        assertEquals(1, clientPorts.size());
+        assertEquals(1, transport.getIdleConnectionCount());
+        transport.close();
+        assertEquals(0, transport.getIdleConnectionCount());
+    }
+
+    @Test
+    public void whenReadChunkedResponse_thenBodyIsCompleteAndConnectionIsReused() {
+        final PooledHttpTransport transport = new PooledHttpTransport();
+
+        assertEquals(BODY + BODY, RequestUtils.getResponse(transport, url("/chunked"), new TimeoutSettings()));
+        assertEquals(BODY + BODY, RequestUtils.getResponse(transport, url("/chunked"), new TimeoutSettings()));
+
+        assertEquals(1, clientPorts.size());
+        transport.close();
+    }
+
+    @Test
+    public void whenParseResponseFromStream_thenConnectionIsReused() {
+        final PooledHttpTransport transport = new PooledHttpTransport();
+        final ObjectReader objectReader = new ObjectMapper().reader();
+
+        for (int i = 0; i < 3; i++) {
+            final JsonNode root = RequestUtils.getResponse(transport, url("/chunked"), new TimeoutSettings(), inputStream -> {
+                try (JsonParser parser = objectReader.getFactory().createParser(inputStream)) {
+                    // only the first of two concatenated objects is read, the rest must be drained on close
+                    return objectReader.readTree(parser);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertEquals(200, root.get("cod").asInt());
+        }
+
+        assertEquals(1, clientPorts.size());
+        assertEquals(1, transport.getIdleConnectionCount());
+        transport.close();
+    }
+
+    @Test
+    public void whenResponseIsNotFound_thenThrowAnExceptionAndKeepConnection() {
+        final PooledHttpTransport transport = new PooledHttpTransport();
+
+        assertThrows(NoDataFoundException.class, () -> RequestUtils.getResponse(transport, url("/missing"), new TimeoutSettings()));
+        assertEquals(BODY, RequestUtils.getResponse(transport, url("/fixed"), new TimeoutSettings()));
+
+        assertEquals(1, clientPorts.size());
+        transport.close();
+    }
+
+    @Test
+    public void whenResponseIsRedirect_thenThrowAnException() {
+        final PooledHttpTransport transport = new PooledHttpTransport();
+
+        final ProtocolException exception = assertThrows(ProtocolException.class, () -> transport.execute(new URL(url("/moved")), new TimeoutSettings()));
+        assertTrue(exception.getMessage().contains("301"));
+        assertEquals(0, transport.getIdleConnectionCount());
+        transport.close();
+    }
+
+    @Test
+    public void whenProxyIsSelected_thenRequestGoesThroughIt() {
+        final ProxySelector defaultProxySelector = ProxySelector.getDefault();
+        final Proxy proxy = new Proxy(Proxy.Type.HTTP, server.getAddress());
+        ProxySelector.setDefault(new ProxySelector() {
+            @Override
+            public List<Proxy> select(URI uri) {
+                return Collections.singletonList(proxy);
+            }
+
+            @Override
+            public void connectFailed(URI uri, SocketAddress address, IOException ex) {
+            }
+        });
+        final PooledHttpTransport transport = new PooledHttpTransport();
+        try {
+            // the test server plays the proxy, so the host of the request is never resolved
+            assertEquals(BODY, RequestUtils.getResponse(transport, "http://api.openweathermap.invalid/fixed", new TimeoutSettings()));
+        } finally {
+            ProxySelector.setDefault(defaultProxySelector);
+            transport.close();
+        }
+
+        assertEquals(Collections.singleton("http://api.openweathermap.invalid/fixed"), requestUris);
+    }
+
+    @Test
+    public void whenConnectionIsIdleTooLong_thenItIsEvicted() throws InterruptedException {
+        final PooledHttpTransport transport = new PooledHttpTransport(2, 50);
+
+        RequestUtils.getResponse(transport, url("/fixed"), new TimeoutSettings());
+        assertEquals(1, transport.getIdleConnectionCount());
+        Thread.sleep(100);
+        transport.evictIdleConnections();
+        assertEquals(0, transport.getIdleConnectionCount());
+        RequestUtils.getResponse(transport, url("/fixed"), new TimeoutSettings());
+
+        assertEquals(2, clientPorts.size());
+        transport.close();
+    }
+
+    @Test
+    public void whenAllConnectionsAreLeased_thenWaitUntilTimeout() throws IOException {
+        final PooledHttpTransport transport = new PooledHttpTransport(1, 1000);
+        final TimeoutSettings timeoutSettings = new TimeoutSettings(100, 1000);
+
+        final HttpResponse leased = transport.execute(new URL(url("/fixed")), timeoutSettings);
+        assertThrows(IOException.class, () -> transport.execute(new URL(url("/fixed")), timeoutSettings));
+        leased.close();
+        transport.execute(new URL(url("/fixed")), timeoutSettings).close();
+
+        assertEquals(1, clientPorts.size());
+        transport.close();
+    }
+
+    @Test
+    public void whenCreateWithInvalidSettings_thenThrowAnException() {
+        assertThrows(IllegalArgumentException.class, () -> new PooledHttpTransport(0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new PooledHttpTransport(1, 0));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.weather.Weather;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappingContextUnitTest {
+    @Test
+    public void whenGetMappers_thenSameInstancesAreReturned() {
+        final MappingContext mappingContext = new MappingContext();
+
+        assertSame(mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC), mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC));
+        assertNotSame(mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC), mappingContext.getCurrentWeatherResponseMapper(UnitSystem.IMPERIAL));
+        assertSame(mappingContext.getForecastResponseMapper(UnitSystem.STANDARD), mappingContext.getForecastResponseMapper(null));
+        assertSame(mappingContext.getOneCallWeatherResponseMapper(UnitSystem.STANDARD), mappingContext.getOneCallWeatherResponseMapper(null));
+        assertSame(mappingContext.getAirPollutionResponseMapper(), mappingContext.getAirPollutionResponseMapper());
+        assertSame(mappingContext.getJsonFactory(), mappingContext.getObjectReader().getFactory());
+    }
+
+    @Test
+    public void whenMapWithContextMapper_thenUnitSystemIsApplied() {
+        final String jsonString = "{\"coord\":{\"lon\":27.5667,\"lat\":53.9},\"weather\":[{\"id\":600,\"main\":\"Snow\",\"description\":\"небольшой снег\",\"icon\":\"13n\"}],\"base\":\"stations\",\"main\":{\"temp\":1.84,\"feels_like\":-0.31,\"temp_min\":1.67,\"temp_max\":2,\"pressure\":1001,\"humidity\":69},\"visibility\":10000,\"wind\":{\"speed\":2,\"deg\":250},\"snow\":{\"1h\":0.2},\"clouds\":{\"all\":75},\"dt\":1617746826,\"sys\":{\"type\":1,\"id\":8939,\"country\":\"BY\",\"sunrise\":1617766068,\"sunset\":1617814530},\"timezone\":10800,\"id\":0,\"name\":\"Minsk\",\"cod\":200}";
+
+        final Weather weather = new MappingContext().getCurrentWeatherResponseMapper(UnitSystem.IMPERIAL).getSingle(jsonString);
+
+        assertEquals(UnitSystem.IMPERIAL.getTemperatureUnit(), weather.getTemperature().getUnit());
+    }
+
+    @Test
+    public void whenCreateWithStreamingMode_thenStreamingMappersAreReturned() {
+        final MappingContext mappingContext = new MappingContext(MappingMode.STREAMING);
+
+        assertEquals(MappingMode.STREAMING, mappingContext.getMappingMode());
+        assertTrue(mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC) instanceof StreamingCurrentWeatherResponseMapper);
+        assertTrue(mappingContext.getForecastResponseMapper(UnitSystem.METRIC) instanceof StreamingFiveDayThreeHourStepForecastResponseMapper);
+        assertTrue(mappingContext.getOneCallWeatherResponseMapper(UnitSystem.METRIC) instanceof StreamingOneCallWeatherResponseMapper);
+        assertTrue(mappingContext.getAirPollutionResponseMapper() instanceof StreamingAirPollutionResponseMapper);
+        assertEquals(MappingMode.TREE, new MappingContext().getMappingMode());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.github.prominence.openweathermap.api.enums.AirQualityIndex;
+import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingAirPollutionResponseMapperUnitTest {
+    private static final String AIR_POLLUTION_JSON = "{\"coord\":{\"lon\":27.5667,\"lat\":53.9},\"list\":[{\"main\":{\"aqi\":1},\"components\":{\"co\":243.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"dt\":1618610400},{\"main\":{\"aqi\":2},\"components\":{\"co\":244.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"dt\":1618614000},{\"main\":{\"aqi\":3},\"components\":{\"co\":245.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"dt\":1618617600},{\"main\":{\"aqi\":4},\"components\":{\"co\":246.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"dt\":1618621200},{\"main\":{\"aqi\":5},\"components\":{\"co\":247.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"dt\":1618624800},{\"main\":{\"aqi\":1},\"components\":{\"co\":248.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"dt\":1618628400}]}";
+    private static final String AIR_POLLUTION_WITHOUT_COORDINATE_JSON = "{\"list\":[{\"dt\":1618610400,\"components\":{\"co\":243.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"main\":{\"aqi\":2}}],\"coord\":{}}";
+
+    private final AirPollutionResponseMapper treeMapper = new AirPollutionResponseMapper();
+    private final AirPollutionResponseMapper streamingMapper = new StreamingAirPollutionResponseMapper(MappingContext.getDefault());
+
+    @Test
+    public void whenMapAirPollution_thenResultIsTheSameAsWithTreeMapper() {
+        final AirPollutionDetails airPollutionDetails = streamingMapper.mapToAirPollution(AIR_POLLUTION_JSON);
+
+        assertEquals(treeMapper.mapToAirPollution(AIR_POLLUTION_JSON), airPollutionDetails);
+        assertEquals(6, airPollutionDetails.getAirPollutionRecords().size());
+        assertEquals(AirQualityIndex.GOOD, airPollutionDetails.getAirPollutionRecords().get(0).getAirQualityIndex());
+        assertEquals(248.66, airPollutionDetails.getAirPollutionRecords().get(5).getCO(), 0.00001);
+    }
+
+    @Test
+    public void whenMapAirPollutionWithoutCoordinate_thenResultIsTheSameAsWithTreeMapper() {
+        final AirPollutionDetails airPollutionDetails = streamingMapper.mapToAirPollution(AIR_POLLUTION_WITHOUT_COORDINATE_JSON);
+
+        assertEquals(treeMapper.mapToAirPollution(AIR_POLLUTION_WITHOUT_COORDINATE_JSON), airPollutionDetails);
+        assertNull(airPollutionDetails.getCoordinate());
+    }
+
+    @Test
+    public void whenMapDamagedJson_thenThrowAnException() {
+        assertThrows(RuntimeException.class, () -> streamingMapper.mapToAirPollution("{\"coord\":{\"lon\":27.5667,\"lat\":53.9},\"list\":[{\"main\":{\"aqi\":1},}]}"));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.weather.Weather;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingCurrentWeatherResponseMapperUnitTest {
+    private static final String SINGLE_JSON = "{\"coord\":{\"lon\":27.5667,\"lat\":53.9},\"weather\":[{\"id\":600,\"main\":\"Snow\",\"description\":\"небольшой снег\",\"icon\":\"13n\"},{\"id\":701,\"main\":\"Mist\",\"description\":\"mist\",\"icon\":\"50n\"}],\"base\":\"stations\",\"main\":{\"temp\":1.84,\"feels_like\":-0.31,\"temp_min\":1.67,\"temp_max\":2,\"pressure\":1001,\"humidity\":69,\"sea_level\":1003,\"grnd_level\":985},\"visibility\":10000,\"wind\":{\"speed\":2,\"deg\":250,\"gust\":3.4},\"rain\":{\"1h\":0.1,\"3h\":0.3},\"snow\":{\"1h\":0.2},\"clouds\":{\"all\":75},\"dt\":1617746826,\"sys\":{\"type\":1,\"id\":8939,\"country\":\"BY\",\"sunrise\":1617766068,\"sunset\":1617814530},\"timezone\":10800,\"id\":625144,\"name\":\"Minsk\",\"cod\":200}";
+    private static final String REORDERED_MINIMAL_JSON = "{\"name\":\"Minsk\",\"id\":0,\"clouds\":{},\"wind\":{\"speed\":2},\"main\":{\"pressure\":1001,\"humidity\":69,\"temp\":1.84},\"coord\":{\"lon\":27.5667}}";
+    private static final String LIST_JSON = "{\"message\":\"accurate\",\"cod\":\"200\",\"count\":2,\"list\":[{\"coord\":{\"lon\":27.5667,\"lat\":53.9},\"weather\":[{\"id\":600,\"main\":\"Snow\",\"description\":\"небольшой снег\",\"icon\":\"13n\"},{\"id\":701,\"main\":\"Mist\",\"description\":\"mist\",\"icon\":\"50n\"}],\"base\":\"stations\",\"main\":{\"temp\":1.84,\"feels_like\":-0.31,\"temp_min\":1.67,\"temp_max\":2,\"pressure\":1001,\"humidity\":69,\"sea_level\":1003,\"grnd_level\":985},\"visibility\":10000,\"wind\":{\"speed\":2,\"deg\":250,\"gust\":3.4},\"rain\":{\"1h\":0.1,\"3h\":0.3},\"snow\":{\"1h\":0.2},\"clouds\":{\"all\":75},\"dt\":1617746826,\"sys\":{\"type\":1,\"id\":8939,\"country\":\"BY\",\"sunrise\":1617766068,\"sunset\":1617814530},\"timezone\":10800,\"id\":625144,\"name\":\"Minsk\",\"cod\":200},{\"name\":\"Minsk\",\"id\":0,\"clouds\":{},\"wind\":{\"speed\":2},\"main\":{\"pressure\":1001,\"humidity\":69,\"temp\":1.84},\"coord\":{\"lon\":27.5667},\"snow\":{\"3h\":0.4},\"dt\":1617746800}]}";
+
+    private final CurrentWeatherResponseMapper treeMapper = new CurrentWeatherResponseMapper(UnitSystem.METRIC);
+    private final CurrentWeatherResponseMapper streamingMapper = new StreamingCurrentWeatherResponseMapper(UnitSystem.METRIC, MappingContext.getDefault());
+
+    @Test
+    public void whenMapSingle_thenResultIsTheSameAsWithTreeMapper() {
+        final Weather weather = streamingMapper.getSingle(SINGLE_JSON);
+
+        assertEquals(treeMapper.getSingle(SINGLE_JSON), weather);
+        assertEquals(600, weather.getWeatherState().getId());
+        assertEquals(3.4, weather.getWind().getGust(), 0.00001);
+        assertEquals(0.3, weather.getRain().getThreeHourLevel(), 0.00001);
+        assertEquals("BY", weather.getLocation().getCountryCode());
+    }
+
+    @Test
+    public void whenMapReorderedResponseWithoutOptionalValues_thenResultIsTheSameAsWithTreeMapper() {
+        final Weather weather = streamingMapper.getSingle(REORDERED_MINIMAL_JSON);
+
+        assertEquals(treeMapper.getSingle(REORDERED_MINIMAL_JSON), weather);
+        assertNull(weather.getWeatherState());
+        assertNull(weather.getClouds());
+        assertNull(weather.getLocation().getCoordinate());
+        assertNull(weather.getCalculationTime());
+    }
+
+    @Test
+    public void whenMapList_thenResultIsTheSameAsWithTreeMapper() {
+        final List<Weather> weatherList = streamingMapper.getList(LIST_JSON);
+
+        assertEquals(2, weatherList.size());
+        assertEquals(treeMapper.getList(LIST_JSON), weatherList);
+    }
+
+    @Test
+    public void whenMapFromStream_thenResultIsTheSameAsFromString() {
+        assertEquals(streamingMapper.getSingle(SINGLE_JSON), streamingMapper.getSingle(new ByteArrayInputStream(SINGLE_JSON.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(treeMapper.getSingle(SINGLE_JSON), treeMapper.getSingle(new ByteArrayInputStream(SINGLE_JSON.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(streamingMapper.getList(LIST_JSON), streamingMapper.getList(new ByteArrayInputStream(LIST_JSON.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(treeMapper.getList(LIST_JSON), treeMapper.getList(new ByteArrayInputStream(LIST_JSON.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void whenMapDamagedJson_thenThrowAnException() {
+        final String jsonString = SINGLE_JSON.substring(0, SINGLE_JSON.length() - 20);
+
+        assertThrows(RuntimeException.class, () -> streamingMapper.getSingle(jsonString));
+        assertThrows(RuntimeException.class, () -> streamingMapper.getList("{\"list\":[{\"id\":1,}]}"));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.DayTime;
+import com.github.prominence.openweathermap.api.model.forecast.Forecast;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingFiveDayThreeHourStepForecastResponseMapperUnitTest {
+    private static final String FORECAST_JSON = "{\"cod\":\"200\",\"message\":0,\"cnt\":4,\"list\":[{\"dt\":1618930800,\"main\":{\"temp\":10.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"2021-04-20 15:00:00\",\"rain\":{\"3h\":2.44}},{\"dt\":1618941600,\"main\":{\"temp\":11.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"n\"},\"dt_txt\":\"2021-04-20 15:00:00\",\"snow\":{\"3h\":0.5}},{\"dt\":1618952400,\"main\":{\"temp\":12.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"dt_txt\":\"2021-04-20 15:00:00\"},{\"dt\":1618963200,\"main\":{\"temp\":13.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"n\"},\"dt_txt\":\"2021-04-20 15:00:00\"}],\"city\":{\"id\":625144,\"name\":\"Minsk\",\"coord\":{\"lat\":53.9,\"lon\":27.5667},\"country\":\"BY\",\"population\":1742124,\"timezone\":10800,\"sunrise\":1618885782,\"sunset\":1618938297}}";
+    private static final String FORECAST_WITHOUT_COORDINATE_JSON = "{\"cod\":\"200\",\"message\":0,\"cnt\":4,\"list\":[{\"dt\":1618930800,\"main\":{\"temp\":10.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"2021-04-20 15:00:00\",\"rain\":{\"3h\":2.44}},{\"dt\":1618941600,\"main\":{\"temp\":11.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"n\"},\"dt_txt\":\"2021-04-20 15:00:00\",\"snow\":{\"3h\":0.5}},{\"dt\":1618952400,\"main\":{\"temp\":12.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"dt_txt\":\"2021-04-20 15:00:00\"},{\"dt\":1618963200,\"main\":{\"temp\":13.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"n\"},\"dt_txt\":\"2021-04-20 15:00:00\"}],\"city\":{\"name\":\"Minsk\",\"id\":625144,\"coord\":{\"lat\":53.9}}}";
+
+    private final FiveDayThreeHourStepForecastResponseMapper treeMapper = new FiveDayThreeHourStepForecastResponseMapper(UnitSystem.IMPERIAL);
+    private final FiveDayThreeHourStepForecastResponseMapper streamingMapper = new StreamingFiveDayThreeHourStepForecastResponseMapper(UnitSystem.IMPERIAL, MappingContext.getDefault());
+
+    @Test
+    public void whenMapForecast_thenResultIsTheSameAsWithTreeMapper() {
+        final Forecast forecast = streamingMapper.mapToForecast(FORECAST_JSON);
+
+        assertEquals(treeMapper.mapToForecast(FORECAST_JSON), forecast);
+        assertEquals(4, forecast.getWeatherForecasts().size());
+        assertEquals(2.44, forecast.getWeatherForecasts().get(0).getRain().getThreeHourLevel(), 0.00001);
+        assertEquals(DayTime.NIGHT, forecast.getWeatherForecasts().get(1).getDayTime());
+        assertNull(forecast.getWeatherForecasts().get(1).getClouds());
+        assertNull(forecast.getWeatherForecasts().get(2).getWeatherState());
+        assertNull(forecast.getWeatherForecasts().get(2).getDayTime());
+        assertEquals(1742124, forecast.getLocation().getPopulation());
+    }
+
+    @Test
+    public void whenMapForecastWithPartialLocation_thenResultIsTheSameAsWithTreeMapper() {
+        final Forecast forecast = streamingMapper.mapToForecast(FORECAST_WITHOUT_COORDINATE_JSON);
+
+        assertEquals(treeMapper.mapToForecast(FORECAST_WITHOUT_COORDINATE_JSON), forecast);
+        assertNull(forecast.getLocation().getCoordinate());
+        assertNull(forecast.getLocation().getPopulation());
+    }
+
+    @Test
+    public void whenMapDamagedJson_thenThrowAnException() {
+        final String jsonString = FORECAST_JSON.replace("\"list\":[", "\"list\":");
+
+        assertThrows(RuntimeException.class, () -> streamingMapper.mapToForecast(jsonString));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.OneCallResultOptions;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.onecall.current.CurrentWeatherData;
+import com.github.prominence.openweathermap.api.model.onecall.historical.HistoricalWeatherData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingOneCallWeatherResponseMapperUnitTest {
+    private static final String CURRENT_JSON = "{\"lat\":53.54,\"lon\":27.34,\"timezone\":\"Europe/Minsk\",\"timezone_offset\":10800,\"current\":{\"dt\":1618050045,\"sunrise\":1618024927,\"sunset\":1618074079,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"uvi\":3.36,\"clouds\":0,\"visibility\":10000,\"wind_speed\":9,\"wind_deg\":200,\"wind_gust\":12,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}],\"rain\":{\"1h\":0.21},\"snow\":{\"1h\":0.13}},\"minutely\":[{\"dt\":1618050060,\"precipitation\":0},{\"dt\":1618050120,\"precipitation\":0.13}],\"hourly\":[{\"dt\":1618048800,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"uvi\":3.36,\"clouds\":0,\"visibility\":10000,\"wind_speed\":7.3,\"wind_deg\":203,\"wind_gust\":10.1,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}],\"pop\":0.2},{\"dt\":1618052400,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"clouds\":10,\"wind_speed\":7.3,\"wind_deg\":203,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}]},{\"dt\":1618056000,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"uvi\":3.36,\"clouds\":20,\"visibility\":10000,\"wind_speed\":7.3,\"wind_deg\":203,\"wind_gust\":10.1,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}],\"pop\":0.2,\"rain\":{\"1h\":0.5}}],\"daily\":[{\"dt\":1618048800,\"sunrise\":1618024927,\"sunset\":1618074079,\"moonrise\":1618020840,\"moonset\":1618064940,\"moon_phase\":0.93,\"temp\":{\"day\":11.84,\"min\":0.42,\"max\":12.17,\"night\":4.66,\"eve\":9.84,\"morn\":0.42},\"feels_like\":{\"day\":10.12,\"night\":1.6,\"eve\":7.7,\"morn\":-3.2},\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"wind_speed\":9,\"wind_deg\":200,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}],\"clouds\":0,\"pop\":0.4,\"rain\":1.2,\"snow\":0.3,\"uvi\":3.36},{\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}],\"feels_like\":{\"morn\":-3.2,\"day\":10.12,\"eve\":7.7,\"night\":1.6},\"temp\":{\"morn\":0.42,\"day\":11.84,\"eve\":9.84,\"night\":4.66,\"min\":0.42,\"max\":12.17},\"dt\":1618135200,\"sunrise\":1618111200,\"sunset\":1618160400,\"pressure\":1020,\"humidity\":45,\"clouds\":20,\"pop\":0,\"uvi\":4.1}],\"alerts\":[{\"sender_name\":\"NWS Tulsa\",\"event\":\"Heat Advisory\",\"start\":1597341600,\"end\":1597366800,\"description\":\"...HEAT ADVISORY REMAINS IN EFFECT...\",\"tags\":[\"Extreme temperature value\"]}]}";
+    private static final String CURRENT_PARTIAL_JSON = "{\"timezone_offset\":10800,\"timezone\":\"Europe/Minsk\",\"lon\":27.34,\"lat\":53.54,\"current\":{\"dt\":1618050045,\"sunrise\":1618024927,\"sunset\":1618074079,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"uvi\":3.36,\"clouds\":0,\"wind_deg\":200,\"wind_gust\":12,\"weather\":[]}}";
+    private static final String HISTORICAL_JSON = "{\"lat\":60.99,\"lon\":30.9,\"timezone\":\"Europe/Moscow\",\"timezone_offset\":10800,\"current\":{\"dt\":1618050045,\"sunrise\":1618024927,\"sunset\":1618074079,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"uvi\":3.36,\"clouds\":0,\"visibility\":10000,\"wind_speed\":9,\"wind_deg\":200,\"wind_gust\":12,\"rain\":{\"1h\":0.21},\"snow\":{\"1h\":0.13}},\"hourly\":[{\"dt\":1618048800,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"clouds\":0,\"visibility\":10000,\"wind_speed\":7.3,\"wind_deg\":203,\"wind_gust\":10.1,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}]},{\"dt\":1618052400,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"clouds\":10,\"wind_speed\":7.3,\"wind_deg\":203,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}]},{\"dt\":1618056000,\"temp\":11.84,\"feels_like\":10.12,\"pressure\":1018,\"humidity\":40,\"dew_point\":-1.16,\"clouds\":20,\"visibility\":10000,\"wind_speed\":7.3,\"wind_deg\":203,\"wind_gust\":10.1,\"weather\":[{\"id\":500,\"main\":\"Rain\",\"description\":\"light rain\",\"icon\":\"10d\"}],\"rain\":{\"1h\":0.5}}]}";
+
+    private final OneCallWeatherResponseMapper treeMapper = new OneCallWeatherResponseMapper(UnitSystem.METRIC);
+    private final OneCallWeatherResponseMapper streamingMapper = new StreamingOneCallWeatherResponseMapper(UnitSystem.METRIC, MappingContext.getDefault());
+    private final OneCallWeatherResponseMapper lazyMapper = new MappingContext(MappingMode.LAZY).getOneCallWeatherResponseMapper(UnitSystem.METRIC);
+
+    @Test
+    public void whenMapCurrent_thenResultIsTheSameAsWithTreeMapper() {
+        final CurrentWeatherData currentWeatherData = streamingMapper.mapToCurrent(CURRENT_JSON);
+
+        assertEquals(treeMapper.mapToCurrent(CURRENT_JSON), currentWeatherData);
+        assertEquals(0.13, currentWeatherData.getCurrent().getSnow().getOneHourLevel(), 0.00001);
+        assertEquals(2, currentWeatherData.getMinutelyList().size());
+        assertEquals(3, currentWeatherData.getHourlyList().size());
+        assertNull(currentWeatherData.getHourlyList().get(1).getUvIndex());
+        assertNull(currentWeatherData.getHourlyList().get(1).getProbabilityOfPrecipitation());
+        assertEquals(2, currentWeatherData.getDailyList().size());
+        assertEquals(-3.2, currentWeatherData.getDailyList().get(1).getTemperature().getMorningFeelsLike(), 0.00001);
+        assertNull(currentWeatherData.getDailyList().get(1).getMoonPhase());
+        assertEquals(1, currentWeatherData.getAlerts().size());
+    }
+
+    @Test
+    public void whenMapCurrentWithoutOptionalSections_thenResultIsTheSameAsWithTreeMapper() {
+        final CurrentWeatherData currentWeatherData = streamingMapper.mapToCurrent(CURRENT_PARTIAL_JSON);
+
+        assertEquals(treeMapper.mapToCurrent(CURRENT_PARTIAL_JSON), currentWeatherData);
+        assertNull(currentWeatherData.getCurrent().getWeatherState());
+        assertNull(currentWeatherData.getCurrent().getWind());
+        assertNull(currentWeatherData.getMinutelyList());
+        assertNull(currentWeatherData.getHourlyList());
+        assertNull(currentWeatherData.getDailyList());
+        assertNull(currentWeatherData.getAlerts());
+    }
+
+    @Test
+    public void whenMapHistorical_thenResultIsTheSameAsWithTreeMapper() {
+        final HistoricalWeatherData historicalWeatherData = streamingMapper.mapToHistorical(HISTORICAL_JSON);
+
+        assertEquals(treeMapper.mapToHistorical(HISTORICAL_JSON), historicalWeatherData);
+        assertNull(historicalWeatherData.getHistoricalWeather().getWeatherState());
+        assertEquals(3, historicalWeatherData.getHourlyList().size());
+    }
+
+    @Test
+    public void whenMapDamagedJson_thenThrowAnException() {
+        final String jsonString = CURRENT_JSON.replace("\"timezone\":", "timezone\":");
+
+        assertThrows(RuntimeException.class, () -> streamingMapper.mapToCurrent(jsonString));
+        assertThrows(RuntimeException.class, () -> streamingMapper.mapToHistorical(jsonString));
+    }
+
+    @Test
+    public void whenMapCurrentLazily_thenResultIsTheSameAsWithTreeMapper() {
+        final CurrentWeatherData currentWeatherData = lazyMapper.mapToCurrent(CURRENT_JSON);
+
+        assertEquals(treeMapper.mapToCurrent(CURRENT_JSON), currentWeatherData);
+        assertSame(currentWeatherData.getHourlyList(), currentWeatherData.getHourlyList());
+        assertEquals(treeMapper.mapToCurrent(CURRENT_PARTIAL_JSON), lazyMapper.mapToCurrent(CURRENT_PARTIAL_JSON));
+    }
+
+    @Test
+    public void whenMapCurrentLazilyFromStream_thenSectionsAreFoundByByteOffsets() {
+        // multibyte characters before sections shift byte offsets from char ones
+        final String json = CURRENT_JSON.replace("\"timezone\":\"Europe/Minsk\"", "\"timezone\":\"Europe/Minsk\",\"note\":\"небольшой снег\"");
+        final CurrentWeatherData currentWeatherData = lazyMapper.mapToCurrent(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(treeMapper.mapToCurrent(json), currentWeatherData);
+        assertEquals(lazyMapper.mapToCurrent(json), currentWeatherData);
+    }
+
+    @Test
+    public void whenMapDamagedSectionLazily_thenThrowAnExceptionOnAccess() {
+        final String jsonString = CURRENT_JSON.replace("\"daily\":[{", "\"daily\":[{\"dt\":\"x\",\"pop\":[1,{}],");
+        final CurrentWeatherData currentWeatherData = lazyMapper.mapToCurrent(jsonString);
+
+        assertNotNull(currentWeatherData.getCurrent());
+        assertThrows(RuntimeException.class, currentWeatherData::getDailyList);
+    }
+
+    @Test
+    public void whenMapCurrentWithExcludedSections_thenTheyAreSkipped() {
+        final Set<OneCallResultOptions> excludedSections = EnumSet.of(OneCallResultOptions.MINUTELY, OneCallResultOptions.HOURLY, OneCallResultOptions.ALERTS);
+        final CurrentWeatherData currentWeatherData = streamingMapper.mapToCurrent(CURRENT_JSON, excludedSections);
+
+        assertEquals(treeMapper.mapToCurrent(CURRENT_JSON, excludedSections), currentWeatherData);
+        assertEquals(lazyMapper.mapToCurrent(CURRENT_JSON, excludedSections), currentWeatherData);
+        assertNotNull(currentWeatherData.getCurrent());
+        assertNull(currentWeatherData.getMinutelyList());
+        assertNull(currentWeatherData.getHourlyList());
+        assertEquals(2, currentWeatherData.getDailyList().size());
+        assertNull(currentWeatherData.getAlerts());
+        assertNull(streamingMapper.mapToCurrent(CURRENT_JSON, EnumSet.of(OneCallResultOptions.CURRENT)).getCurrent());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.mapper;
+
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.model.air.pollution.AirPollutionDetails;
+import com.github.prominence.openweathermap.api.model.weather.Weather;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeConversionUnitTest {
+    private static final String WEATHER_JSON = "{\"coord\":{\"lon\":27.5667,\"lat\":53.9},\"weather\":[{\"id\":600,\"main\":\"Snow\",\"description\":\"небольшой снег\",\"icon\":\"13n\"}],\"base\":\"stations\",\"main\":{\"temp\":1.84,\"feels_like\":-0.31,\"temp_min\":1.67,\"temp_max\":2,\"pressure\":1001,\"humidity\":69},\"visibility\":10000,\"wind\":{\"speed\":2,\"deg\":250},\"snow\":{\"1h\":0.2},\"clouds\":{\"all\":75},\"dt\":1617746826,\"sys\":{\"type\":1,\"id\":8939,\"country\":\"BY\",\"sunrise\":1617766068,\"sunset\":1617814530},\"timezone\":10800,\"id\":0,\"name\":\"Minsk\",\"cod\":200}";
+    private static final String AIR_POLLUTION_JSON = "{\"coord\":{\"lon\":27.5667,\"lat\":53.9},\"list\":[{\"main\":{\"aqi\":1},\"components\":{\"co\":243.66,\"no\":0,\"no2\":4.07,\"o3\":62.23,\"so2\":1.77,\"pm2_5\":3.87,\"pm10\":4.58,\"nh3\":2.41},\"dt\":1618610400}]}";
+
+    @Test
+    public void whenConvertWithFixedOffset_thenResultIsTheSameAsWithZoneRules() {
+        final TimeConversion utc = TimeConversion.zone(ZoneOffset.UTC);
+        final TimeConversion berlin = TimeConversion.zone(ZoneId.of("Europe/Berlin"));
+
+        assertEquals(LocalDateTime.of(2021, 4, 6, 22, 7, 6), utc.toLocalDateTime(1617746826));
+        // daylight saving time
+        assertEquals(LocalDateTime.of(2021, 4, 7, 0, 7, 6), berlin.toLocalDateTime(1617746826));
+        assertEquals(LocalDateTime.of(2021, 1, 1, 1, 0), berlin.toLocalDateTime(1609459200));
+        assertEquals(LocalDateTime.ofInstant(Instant.ofEpochSecond(1617746826), TimeZone.getDefault().toZoneId()), TimeConversion.systemDefaultZone().toLocalDateTime(1617746826));
+    }
+
+    @Test
+    public void whenMapWithZone_thenTimesAreLocalToIt() {
+        final MappingContext mappingContext = new MappingContext(MappingMode.TREE, TimeConversion.zone(ZoneOffset.UTC));
+
+        final Weather weather = mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getSingle(WEATHER_JSON);
+
+        assertEquals(1617746826, weather.getCalculationEpochSecond());
+        assertEquals(LocalDateTime.of(2021, 4, 6, 22, 7, 6), weather.getCalculationTime());
+        assertEquals(LocalDateTime.of(2021, 4, 7, 3, 27, 48), weather.getLocation().getSunriseTime());
+    }
+
+    @Test
+    public void whenMapWithEpochSeconds_thenForecastTimesAreNotMaterialized() {
+        final MappingContext mappingContext = new MappingContext(MappingMode.TREE, TimeConversion.epochSeconds());
+
+        final AirPollutionDetails airPollutionDetails = mappingContext.getAirPollutionResponseMapper().mapToAirPollution(AIR_POLLUTION_JSON);
+        final Weather weather = mappingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getSingle(WEATHER_JSON);
+
+        assertNull(airPollutionDetails.getAirPollutionRecords().get(0).getForecastTime());
+        assertEquals(1618610400, airPollutionDetails.getAirPollutionRecords().get(0).getForecastEpochSecond());
+        assertNull(weather.getCalculationTime());
+        assertEquals(1617746826, weather.getCalculationEpochSecond());
+        assertNotNull(weather.getLocation().getSunriseTime());
+    }
+
+    @Test
+    public void whenMapWithStreamingMode_thenResultIsTheSameAsWithTreeMode() {
+        for (TimeConversion timeConversion : new TimeConversion[]{TimeConversion.zone(ZoneOffset.UTC), TimeConversion.epochSeconds()}) {
+            final MappingContext treeContext = new MappingContext(MappingMode.TREE, timeConversion);
+            final MappingContext streamingContext = new MappingContext(MappingMode.STREAMING, timeConversion);
+
+            assertEquals(treeContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getSingle(WEATHER_JSON),
+                    streamingContext.getCurrentWeatherResponseMapper(UnitSystem.METRIC).getSingle(WEATHER_JSON));
+            assertEquals(treeContext.getAirPollutionResponseMapper().mapToAirPollution(AIR_POLLUTION_JSON),
+                    streamingContext.getAirPollutionResponseMapper().mapToAirPollution(AIR_POLLUTION_JSON));
+        }
+    }
+
+    @Test
+    public void whenCreateContextWithoutTimeConversion_thenSystemDefaultZoneIsUsed() {
+        assertEquals(TimeConversion.systemDefaultZone(), new MappingContext(MappingMode.TREE, null).getTimeConversion());
+        assertTrue(new MappingContext().getTimeConversion().isForecastTimeMaterialized());
+        assertFalse(TimeConversion.epochSeconds().isForecastTimeMaterialized());
+        assertThrows(NullPointerException.class, () -> TimeConversion.zone(null));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.metrics;
+
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.RequestPhase;
+import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicrometerClientMetricsUnitTest {
+
+    @Test
+    public void whenMetricsAreCreated_thenTimersAndGaugesAreRegisteredForEveryEndpoint() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MicrometerClientMetrics(registry, Tags.of("client", "test"));
+
+        assertEquals((EndpointType.values().length + 1) * RequestPhase.values().length, registry.find("openweathermap.client.request.phase").timers().size());
+        assertNotNull(registry.find("openweathermap.client.requests.in.flight").tags("client", "test", "endpoint", "unknown").gauge());
+    }
+
+    @Test
+    public void whenCallIsRecorded_thenMetersAreUpdated() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final MicrometerClientMetrics clientMetrics = new MicrometerClientMetrics(registry);
+
+        clientMetrics.requestStarted(EndpointType.ONE_CALL);
+        assertEquals(1, registry.get("openweathermap.client.requests.in.flight").tag("endpoint", "one_call").gauge().value());
+
+        clientMetrics.recordPhase(EndpointType.ONE_CALL, RequestPhase.TIME_TO_FIRST_BYTE, TimeUnit.MILLISECONDS.toNanos(20));
+        clientMetrics.recordResponse(EndpointType.ONE_CALL, 200, 1024);
+        clientMetrics.recordResponse(EndpointType.ONE_CALL, 401, 0);
+        clientMetrics.recordException(EndpointType.ONE_CALL, new InvalidAuthTokenException());
+        clientMetrics.requestFinished(EndpointType.ONE_CALL);
+
+        assertEquals(0, registry.get("openweathermap.client.requests.in.flight").tag("endpoint", "one_call").gauge().value());
+        assertEquals(20, registry.get("openweathermap.client.request.phase").tags("endpoint", "one_call", "phase", "time_to_first_byte")
+                .timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get("openweathermap.client.responses").tags("endpoint", "one_call", "status", "200").counter().count());
+        assertEquals(1, registry.get("openweathermap.client.responses").tags("endpoint", "one_call", "status", "401").counter().count());
+        assertEquals(1, registry.get("openweathermap.client.response.size").tag("endpoint", "one_call").summary().count());
+        assertEquals(1024, registry.get("openweathermap.client.response.size").tag("endpoint", "one_call").summary().totalAmount());
+        assertEquals(1, registry.get("openweathermap.client.exceptions").tags("endpoint", "one_call", "exception", "InvalidAuthTokenException")
+                .counter().count());
+    }
+
+    @Test
+    public void whenEndpointIsUnknown_thenMetersAreTaggedAsUnknown() {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final MicrometerClientMetrics clientMetrics = new MicrometerClientMetrics(registry);
+
+        clientMetrics.recordResponse(null, 200, 10);
+
+        assertEquals(1, registry.get("openweathermap.client.responses").tags("endpoint", "unknown", "status", "200").counter().count());
+    }
+}
@@ -217,6 +217,24 @@ public class AirPollutionRecordUnitTest {
         assertEquals(first, second);
     }
 
+    @Test
+    public void whenConcentrationIsZero_thenItIsDistinguishedFromAbsentOne() {
+        final AirPollutionRecord first = new AirPollutionRecord();
+        final AirPollutionRecord second = new AirPollutionRecord();
+
+        first.setNO(0.0);
+
+        assertEquals(0.0, first.getNO(), 0.00001);
+        assertNull(second.getNO());
+        assertNotEquals(first, second);
+
+        first.setNO(null);
+
+        assertNull(first.getNO());
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
     @Test
     public void testHashCode() {
         final AirPollutionRecord first = new AirPollutionRecord();
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.model.forecast;
+
+import com.github.prominence.openweathermap.api.enums.MappingMode;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.mapper.FiveDayThreeHourStepForecastResponseMapper;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.mapper.StreamingFiveDayThreeHourStepForecastResponseMapper;
+import com.github.prominence.openweathermap.api.mapper.TimeConversion;
+import com.github.prominence.openweathermap.api.model.Temperature;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForecastSeriesUnitTest {
+    private static final String FORECAST_JSON = "{\"cod\":\"200\",\"message\":0,\"cnt\":4,\"list\":[{\"dt\":1618930800,\"main\":{\"temp\":10.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"d\"},\"dt_txt\":\"2021-04-20 15:00:00\",\"rain\":{\"3h\":2.44}},{\"dt\":1618941600,\"main\":{\"temp\":11.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"n\"},\"dt_txt\":\"2021-04-20 15:00:00\",\"snow\":{\"3h\":0.5}},{\"dt\":1618952400,\"main\":{\"temp\":12.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"dt_txt\":\"2021-04-20 15:00:00\"},{\"dt\":1618963200,\"main\":{\"temp\":13.3,\"feels_like\":8.9,\"temp_min\":9.8,\"temp_max\":10.3,\"pressure\":1012,\"sea_level\":1012,\"grnd_level\":993,\"humidity\":54,\"temp_kf\":0.5},\"weather\":[{\"id\":803,\"main\":\"Clouds\",\"description\":\"broken clouds\",\"icon\":\"04d\"}],\"clouds\":{\"all\":64},\"wind\":{\"speed\":3.5,\"deg\":281,\"gust\":5.1},\"visibility\":10000,\"pop\":0.12,\"sys\":{\"pod\":\"n\"},\"dt_txt\":\"2021-04-20 15:00:00\"}],\"city\":{\"id\":625144,\"name\":\"Minsk\",\"coord\":{\"lat\":53.9,\"lon\":27.5667},\"country\":\"BY\",\"population\":1742124,\"timezone\":10800,\"sunrise\":1618885782,\"sunset\":1618938297}}";
+
+    private final FiveDayThreeHourStepForecastResponseMapper mapper = new FiveDayThreeHourStepForecastResponseMapper(UnitSystem.METRIC);
+
+    @Test
+    public void whenCreateSeries_thenMaterializedForecastIsEqualToOriginal() {
+        final Forecast forecast = mapper.mapToForecast(FORECAST_JSON);
+        final ForecastSeries series = ForecastSeries.of(forecast);
+
+        assertEquals(4, series.size());
+        assertEquals(forecast, series.toForecast());
+        assertEquals(forecast.getWeatherForecasts(), series.asWeatherForecasts());
+        assertSame(forecast.getLocation(), series.getLocation());
+        assertEquals(forecast.getWeatherForecasts().get(3), series.getWeatherForecast(3));
+    }
+
+    @Test
+    public void whenCreateSeries_thenPrimitiveValuesAreAvailable() {
+        final ForecastSeries series = mapper.mapToForecastSeries(FORECAST_JSON);
+
+        assertEquals(1618930800L, series.getForecastEpochSecond(0));
+        assertEquals(10.3, series.getTemperature(0), 0.00001);
+        assertEquals(11.3, series.getTemperatures()[1], 0.00001);
+        assertEquals(9.8, series.getMinTemperature(0), 0.00001);
+        assertEquals(1012, series.getPressure(0), 0.00001);
+        assertEquals(993, series.getGroundLevelPressure(0), 0.00001);
+        assertEquals(54, series.getHumidity(0));
+        assertEquals(3.5, series.getWindSpeed(0), 0.00001);
+        assertEquals(281, series.getWindDegrees(0), 0.00001);
+        assertEquals(64, series.getClouds(0));
+        assertEquals(2.44, series.getRainLevel(0), 0.00001);
+        assertEquals(0.5, series.getSnowLevel(1), 0.00001);
+        assertEquals(803, series.getWeatherConditionId(0));
+        assertEquals(UnitSystem.METRIC.getTemperatureUnit(), series.getTemperatureUnit());
+    }
+
+    @Test
+    public void whenValueIsAbsent_thenSentinelIsReturnedAndObjectIsNotMaterialized() {
+        final ForecastSeries series = mapper.mapToForecastSeries(FORECAST_JSON);
+
+        assertEquals(-1, series.getClouds(1));
+        assertNull(series.getWeatherForecast(1).getClouds());
+        assertTrue(Double.isNaN(series.getRainLevel(1)));
+        assertNull(series.getWeatherForecast(1).getRain());
+        assertTrue(Double.isNaN(series.getSnowLevel(0)));
+        assertEquals(-1, series.getWeatherConditionId(2));
+        assertNull(series.getWeatherForecast(2).getWeatherState());
+        assertNull(series.getWeatherForecast(2).getDayTime());
+    }
+
+    @Test
+    public void whenMaterializeTwice_thenObjectsAreNotShared() {
+        final ForecastSeries series = mapper.mapToForecastSeries(FORECAST_JSON);
+
+        final WeatherForecast first = series.getWeatherForecast(0);
+        first.getWeatherState().setIconId("01d");
+        first.getTemperature().setValue(100);
+
+        assertNotSame(first, series.getWeatherForecast(0));
+        assertEquals("04d", series.getWeatherForecast(0).getWeatherState().getIconId());
+        assertEquals(10.3, series.getTemperature(0), 0.00001);
+    }
+
+    @Test
+    public void whenMapWithStreamingMapper_thenSeriesIsTheSame() {
+        final FiveDayThreeHourStepForecastResponseMapper streamingMapper = new StreamingFiveDayThreeHourStepForecastResponseMapper(UnitSystem.METRIC, MappingContext.getDefault());
+
+        assertEquals(mapper.mapToForecastSeries(FORECAST_JSON), streamingMapper.mapToForecastSeries(FORECAST_JSON));
+    }
+
+    @Test
+    public void whenMapWithEpochSecondsConversion_thenForecastTimesAreNotMaterialized() {
+        final MappingContext mappingContext = new MappingContext(MappingMode.TREE, TimeConversion.epochSeconds());
+        final FiveDayThreeHourStepForecastResponseMapper epochSecondsMapper = mappingContext.getForecastResponseMapper(UnitSystem.METRIC);
+
+        final Forecast forecast = epochSecondsMapper.mapToForecast(FORECAST_JSON);
+        final ForecastSeries series = epochSecondsMapper.mapToForecastSeries(FORECAST_JSON);
+
+        assertEquals(forecast.getWeatherForecasts(), series.asWeatherForecasts());
+        assertNull(series.getWeatherForecast(0).getForecastTime());
+        assertEquals(1618930800L, series.getWeatherForecast(0).getForecastEpochSecond());
+    }
+
+    @Test
+    public void whenForecastTimeISOHasCustomFormat_thenItIsPreserved() {
+        final WeatherForecast weatherForecast = new WeatherForecast();
+        weatherForecast.setForecastTime(LocalDateTime.of(2022, 1, 1, 12, 0));
+        weatherForecast.setForecastTimeISO("2022-01-01T12:00:00Z");
+        final Forecast forecast = new Forecast();
+        forecast.setWeatherForecasts(Collections.singletonList(weatherForecast));
+
+        final ForecastSeries series = ForecastSeries.of(forecast);
+
+        assertEquals(weatherForecast, series.getWeatherForecast(0));
+        assertNull(series.getTemperatureUnit());
+    }
+
+    @Test
+    public void whenUnitsAreMixed_thenThrowAnException() {
+        final List<WeatherForecast> weatherForecasts = new ArrayList<>();
+        for (String unit : new String[]{"K", "°C"}) {
+            final WeatherForecast weatherForecast = new WeatherForecast();
+            weatherForecast.setForecastTimeISO("2022-01-01 12:00:00");
+            weatherForecast.setTemperature(Temperature.withValue(1, unit));
+            weatherForecasts.add(weatherForecast);
+        }
+        final Forecast forecast = new Forecast();
+        forecast.setWeatherForecasts(weatherForecasts);
+
+        assertThrows(IllegalArgumentException.class, () -> ForecastSeries.of(forecast));
+    }
+
+    @Test
+    public void whenGetByWrongIndex_thenThrowAnException() {
+        final ForecastSeries series = mapper.mapToForecastSeries(FORECAST_JSON);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> series.getWeatherForecast(4));
+        assertThrows(UnsupportedOperationException.class, () -> series.asWeatherForecasts().remove(0));
+    }
+}
@@ -30,6 +30,10 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -191,6 +195,32 @@ public class CurrentWeatherDataUnitTest {
         assertEquals(first, second);
     }
 
+    @Test
+    public void whenSectionIsSetWithSupplier_thenItIsCreatedOnceOnFirstAccess() {
+        final CurrentWeatherData currentWeatherData = new CurrentWeatherData();
+        final AtomicInteger supplierCalls = new AtomicInteger();
+        currentWeatherData.setHourlyListSupplier(() -> {
+            supplierCalls.incrementAndGet();
+            return new ArrayList<>();
+        });
+
+        assertEquals(0, supplierCalls.get());
+
+        final List<CompletableFuture<List<Hourly>>> readers = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(currentWeatherData::getHourlyList))
+                .collect(Collectors.toList());
+        final List<Hourly> hourlyList = currentWeatherData.getHourlyList();
+
+        for (CompletableFuture<List<Hourly>> reader : readers) {
+            assertSame(hourlyList, reader.join());
+        }
+        assertEquals(1, supplierCalls.get());
+
+        currentWeatherData.setHourlyList(null);
+
+        assertNull(currentWeatherData.getHourlyList());
+    }
+
     @Test
     public void getHashCode() {
         final CurrentWeatherData first = new CurrentWeatherData();
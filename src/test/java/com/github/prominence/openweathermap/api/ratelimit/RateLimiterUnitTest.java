@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.ratelimit;
+
+import com.github.prominence.openweathermap.api.enums.RateLimitMode;
+import com.github.prominence.openweathermap.api.enums.SubscriptionPlan;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterUnitTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    public void whenPermitsAreExhausted_thenNonBlockingAcquireIsRejected() {
+        final RateLimiter rateLimiter = new RateLimiter(2, 1, TimeUnit.SECONDS, RateLimitMode.NON_BLOCKING, nanoTime::get);
+
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+
+        assertThrows(RateLimitExceededException.class, rateLimiter::acquire);
+        assertEquals(2, rateLimiter.getAcquiredCount());
+        assertEquals(1, rateLimiter.getRejectedCount());
+    }
+
+    @Test
+    public void whenTimePasses_thenPermitsAreRefilledUpToLimit() {
+        final RateLimiter rateLimiter = new RateLimiter(2, 1, TimeUnit.SECONDS, RateLimitMode.NON_BLOCKING, nanoTime::get);
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertTrue(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+    }
+
+    @Test
+    public void whenReservePermitsBeyondLimit_thenWaitTimeGrows() {
+        final RateLimiter rateLimiter = new RateLimiter(4, 1, TimeUnit.SECONDS, RateLimitMode.BLOCKING, nanoTime::get);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, rateLimiter.reserve());
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), rateLimiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.reserve());
+
+        assertEquals(6, rateLimiter.getAcquiredCount());
+        assertEquals(2, rateLimiter.getDelayedCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(750), rateLimiter.getTotalWaitNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.getMaxWaitNanos());
+    }
+
+    @Test
+    public void whenAcquireInBlockingMode_thenCallerWaitsForPermit() {
+        final RateLimiter rateLimiter = new RateLimiter(1, 50, TimeUnit.MILLISECONDS, RateLimitMode.BLOCKING);
+        rateLimiter.acquire();
+
+        final long start = System.nanoTime();
+        rateLimiter.acquire();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(0, rateLimiter.getRejectedCount());
+    }
+
+    @Test
+    public void whenCreateForSubscriptionPlan_thenPlanQuotaIsUsed() {
+        assertEquals(60, RateLimiter.forSubscriptionPlan(SubscriptionPlan.FREE, RateLimitMode.BLOCKING).getPermitsPerPeriod());
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.forSubscriptionPlan(SubscriptionPlan.ALL, RateLimitMode.BLOCKING));
+    }
+
+    @Test
+    public void whenCreateWithInvalidLimits_thenThrowAnException() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1, TimeUnit.SECONDS, RateLimitMode.BLOCKING));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0, TimeUnit.SECONDS, RateLimitMode.BLOCKING));
+    }
+}
@@ -0,0 +1,711 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request;
+
+import com.github.prominence.openweathermap.api.cache.DiskResponseCache;
+import com.github.prominence.openweathermap.api.cache.ResponseCache;
+import com.github.prominence.openweathermap.api.circuitbreaker.CircuitBreaker;
+import com.github.prominence.openweathermap.api.conf.CacheSettings;
+import com.github.prominence.openweathermap.api.conf.CircuitBreakerSettings;
+import com.github.prominence.openweathermap.api.conf.DiskCacheSettings;
+import com.github.prominence.openweathermap.api.conf.HedgingSettings;
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.CircuitBreakerState;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.ExecutionMode;
+import com.github.prominence.openweathermap.api.enums.RateLimitMode;
+import com.github.prominence.openweathermap.api.enums.RequestPhase;
+import com.github.prominence.openweathermap.api.exception.CircuitBreakerOpenException;
+import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
+import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import com.github.prominence.openweathermap.api.hedging.HedgingPolicy;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.metrics.ClientMetrics;
+import com.github.prominence.openweathermap.api.metrics.MeteredInputStream;
+import com.github.prominence.openweathermap.api.ratelimit.RateLimiter;
+import com.github.prominence.openweathermap.api.retry.RetryPolicy;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import com.github.prominence.openweathermap.api.utils.VirtualThreadUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class RequestExecutorUnitTest {
+    private static final String BODY = "{\"cod\":200}";
+
+    @Test
+    public void whenGetResponseAsyncWithBlockingTransport_thenWholeCallRunsOnExecutor() {
+        final CountingExecutor executor = new CountingExecutor();
+        final AtomicInteger executeCalls = new AtomicInteger();
+        final RequestExecutor requestExecutor = new RequestExecutor(new HttpTransport() {
+            @Override
+            public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+                assertTrue(CountingExecutor.isExecutorThread());
+                executeCalls.incrementAndGet();
+                return createResponse(200);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        requestExecutor.setExecutor(executor);
+
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+        assertEquals(1, executor.tasks.get());
+        assertEquals(1, executeCalls.get());
+    }
+
+    @Test
+    public void whenGetResponseAsyncWithAsyncTransport_thenOnlyMappingRunsOnExecutor() {
+        final CountingExecutor executor = new CountingExecutor();
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setExecutor(executor);
+
+        final String body = requestExecutor.getResponseAsync(createSettings(requestExecutor), inputStream -> {
+            assertTrue(CountingExecutor.isExecutorThread());
+            return RequestUtils.convertInputStreamToString(inputStream);
+        }).join();
+
+        assertEquals(BODY, body);
+        assertEquals(1, executor.tasks.get());
+        assertEquals(0, transport.blockingCalls.get());
+        assertEquals(1, transport.asyncCalls.get());
+    }
+
+    @Test
+    public void whenAsyncTransportReturnsUnauthorized_thenFutureFailsWithInvalidAuthTokenException() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(401));
+
+        final CompletionException ex = assertThrows(CompletionException.class, () -> requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+        assertTrue(ex.getCause() instanceof InvalidAuthTokenException);
+    }
+
+    @Test
+    public void whenSetNullExecutor_thenThrowAnException() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(200));
+
+        assertThrows(NullPointerException.class, () -> requestExecutor.setExecutor(null));
+    }
+
+    @Test
+    public void whenSetVirtualThreadsModeOnOldRuntime_thenThrowAnException() {
+        assumeFalse(VirtualThreadUtils.isSupported());
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(200));
+
+        assertThrows(UnsupportedOperationException.class, () -> requestExecutor.setExecutionMode(ExecutionMode.VIRTUAL_THREADS));
+        assertEquals(ExecutionMode.PLATFORM_THREADS, requestExecutor.getExecutionMode());
+        assertSame(ForkJoinPool.commonPool(), requestExecutor.getExecutor());
+    }
+
+    @Test
+    public void whenSetVirtualThreadsMode_thenExecutorIsShutDownOnReplace() {
+        assumeTrue(VirtualThreadUtils.isSupported());
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(200));
+
+        requestExecutor.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+        final ExecutorService virtualThreadExecutor = (ExecutorService) requestExecutor.getExecutor();
+        assertEquals(ExecutionMode.VIRTUAL_THREADS, requestExecutor.getExecutionMode());
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+
+        requestExecutor.setExecutor(Runnable::run);
+        assertEquals(ExecutionMode.PLATFORM_THREADS, requestExecutor.getExecutionMode());
+        assertTrue(virtualThreadExecutor.isShutdown());
+    }
+
+    @Test
+    public void whenSetPlatformThreadsMode_thenCommonPoolIsUsed() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(200));
+        requestExecutor.setExecutor(new CountingExecutor());
+
+        requestExecutor.setExecutionMode(ExecutionMode.PLATFORM_THREADS);
+
+        assertSame(ForkJoinPool.commonPool(), requestExecutor.getExecutor());
+    }
+
+    @Test
+    public void whenCacheIsEnabled_thenEqualRequestIsServedFromCache() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+
+        final RequestSettings firstSettings = createSettings(requestExecutor);
+        firstSettings.putRequestParameter("q", "London");
+        firstSettings.putRequestParameter("units", "metric");
+        final RequestSettings secondSettings = new RequestSettings("anotherKey", new TimeoutSettings(), requestExecutor, new MappingContext());
+        secondSettings.appendToURL("weather");
+        secondSettings.putRequestParameter("units", "metric");
+        secondSettings.putRequestParameter("q", "London");
+
+        assertEquals(BODY, requestExecutor.getResponse(firstSettings));
+        assertEquals(BODY, requestExecutor.getResponse(secondSettings, RequestUtils::convertInputStreamToString));
+        assertEquals(BODY, requestExecutor.getResponseAsync(secondSettings).join());
+
+        assertEquals(1, transport.blockingCalls.get() + transport.asyncCalls.get());
+        assertEquals(2, requestExecutor.getResponseCache().getHitCount());
+        assertEquals(1, requestExecutor.getResponseCache().getMissCount());
+    }
+
+    @Test
+    public void whenWiderOneCallResponseIsCached_thenNarrowerRequestIsServedFromIt() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+
+        final RequestSettings fullSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        fullSettings.appendToURL("onecall");
+        fullSettings.putRequestParameter("exclude", "minutely");
+        final RequestSettings narrowSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        narrowSettings.appendToURL("onecall");
+        narrowSettings.putRequestParameter("exclude", "minutely,hourly,daily");
+
+        assertEquals(BODY, requestExecutor.getResponse(fullSettings));
+        assertEquals(BODY, requestExecutor.getResponse(RequestTemplate.from(narrowSettings).acceptingWiderResponse(), RequestUtils::convertInputStreamToString));
+        assertEquals(BODY, requestExecutor.getResponseAsync(RequestTemplate.from(narrowSettings).acceptingWiderResponse(), RequestUtils::convertInputStreamToString).join());
+        assertEquals(1, transport.blockingCalls.get() + transport.asyncCalls.get());
+
+        // raw response of wider request isn't returned for the narrower one
+        assertEquals(BODY, requestExecutor.getResponse(narrowSettings));
+        assertEquals(2, transport.blockingCalls.get() + transport.asyncCalls.get());
+    }
+
+    @Test
+    public void whenCacheIsEnabledForAsyncTransport_thenMissIsStored() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+
+        assertEquals(0, transport.blockingCalls.get());
+        assertEquals(1, transport.asyncCalls.get());
+    }
+
+    @Test
+    public void whenDiskCacheIsEnabled_thenHistoricalResponseSurvivesExecutorRestart(@TempDir Path directory) {
+        final StubAsyncTransport firstTransport = new StubAsyncTransport(200);
+        final RequestExecutor firstExecutor = new RequestExecutor(firstTransport);
+        firstExecutor.setDiskResponseCache(new DiskResponseCache(new DiskCacheSettings(directory)));
+        assertEquals(BODY, firstExecutor.getResponse(createHistoricalSettings(firstExecutor)));
+        firstExecutor.close();
+
+        final StubAsyncTransport secondTransport = new StubAsyncTransport(200);
+        final RequestExecutor secondExecutor = new RequestExecutor(secondTransport);
+        secondExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+        secondExecutor.setDiskResponseCache(new DiskResponseCache(new DiskCacheSettings(directory)));
+
+        assertEquals(BODY, secondExecutor.getResponseAsync(createHistoricalSettings(secondExecutor)).join());
+        assertEquals(BODY, secondExecutor.getResponse(createHistoricalSettings(secondExecutor)));
+
+        assertEquals(1, firstTransport.blockingCalls.get() + firstTransport.asyncCalls.get());
+        assertEquals(0, secondTransport.blockingCalls.get() + secondTransport.asyncCalls.get());
+        assertEquals(1, secondExecutor.getDiskResponseCache().getHitCount());
+        // disk hit is promoted to memory cache
+        assertEquals(1, secondExecutor.getResponseCache().getHitCount());
+        secondExecutor.close();
+        assertNull(secondExecutor.getDiskResponseCache());
+    }
+
+    @Test
+    public void whenResponseIsNotSuccessful_thenItIsNotCached() {
+        final StubAsyncTransport transport = new StubAsyncTransport(404);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+
+        assertThrows(NoDataFoundException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertThrows(NoDataFoundException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+
+        assertEquals(2, transport.blockingCalls.get());
+        assertEquals(0, requestExecutor.getResponseCache().size());
+    }
+
+    @Test
+    public void whenEndpointIsUnknown_thenResponseIsNotCached() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        requestSettings.appendToURL("unknown");
+
+        requestExecutor.getResponse(requestSettings);
+        requestExecutor.getResponse(requestSettings);
+
+        assertEquals(2, transport.blockingCalls.get());
+        assertEquals(0, requestExecutor.getResponseCache().getMissCount());
+    }
+
+    @Test
+    public void whenRequestCoalescingIsEnabled_thenIdenticalRequestsShareOneCall() throws InterruptedException {
+        final PendingAsyncTransport transport = new PendingAsyncTransport();
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setRequestCoalescing(true);
+
+        final CompletableFuture<String> firstResponse = requestExecutor.getResponseAsync(createSettings(requestExecutor));
+        final CompletableFuture<String> secondResponse = requestExecutor.getResponseAsync(createSettings(requestExecutor));
+        final CompletableFuture<String> syncResponse = new CompletableFuture<>();
+        final Thread syncThread = new Thread(() -> syncResponse.complete(requestExecutor.getResponse(createSettings(requestExecutor))));
+        syncThread.start();
+        while (syncThread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        assertFalse(firstResponse.isDone());
+
+        transport.complete(200);
+
+        assertEquals(BODY, firstResponse.join());
+        assertEquals(BODY, secondResponse.join());
+        assertEquals(BODY, syncResponse.join());
+        assertEquals(1, transport.calls.get());
+    }
+
+    @Test
+    public void whenCoalescedRequestFails_thenAllWaitersGetTheError() {
+        final PendingAsyncTransport transport = new PendingAsyncTransport();
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setRequestCoalescing(true);
+
+        final CompletableFuture<String> firstResponse = requestExecutor.getResponseAsync(createSettings(requestExecutor));
+        final CompletableFuture<String> secondResponse = requestExecutor.getResponseAsync(createSettings(requestExecutor));
+        transport.complete(401);
+
+        assertTrue(assertThrows(CompletionException.class, firstResponse::join).getCause() instanceof InvalidAuthTokenException);
+        assertTrue(assertThrows(CompletionException.class, secondResponse::join).getCause() instanceof InvalidAuthTokenException);
+        assertEquals(1, transport.calls.get());
+    }
+
+    @Test
+    public void whenCoalescedRequestIsCompleted_thenNextRequestMakesNewCall() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setRequestCoalescing(true);
+
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+
+        assertEquals(1, transport.blockingCalls.get());
+        assertEquals(1, transport.asyncCalls.get());
+    }
+
+    @Test
+    public void whenRequestCoalescingIsDisabled_thenEachRequestMakesOwnCall() {
+        final PendingAsyncTransport transport = new PendingAsyncTransport();
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+
+        requestExecutor.getResponseAsync(createSettings(requestExecutor));
+        requestExecutor.getResponseAsync(createSettings(requestExecutor));
+
+        assertEquals(2, transport.calls.get());
+    }
+
+    @Test
+    public void whenRateLimitIsReached_thenNonBlockingRequestsAreRejected() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setRateLimiter(new RateLimiter(1, 1, TimeUnit.MINUTES, RateLimitMode.NON_BLOCKING));
+
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertThrows(RateLimitExceededException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        final CompletionException ex = assertThrows(CompletionException.class, () -> requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+        assertTrue(ex.getCause() instanceof RateLimitExceededException);
+
+        assertEquals(1, transport.blockingCalls.get() + transport.asyncCalls.get());
+        assertEquals(2, requestExecutor.getRateLimiter().getRejectedCount());
+    }
+
+    @Test
+    public void whenResponseIsCached_thenRateLimitPermitIsNotTaken() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setRateLimiter(new RateLimiter(1, 1, TimeUnit.MINUTES, RateLimitMode.NON_BLOCKING));
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+
+        assertEquals(1, requestExecutor.getRateLimiter().getAcquiredCount());
+        assertEquals(0, requestExecutor.getRateLimiter().getRejectedCount());
+    }
+
+    @Test
+    public void whenRateLimitIsReachedInBlockingMode_thenAsyncRequestIsDelayed() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setRateLimiter(new RateLimiter(1, 50, TimeUnit.MILLISECONDS, RateLimitMode.BLOCKING));
+
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+        final CompletableFuture<String> delayedResponse = requestExecutor.getResponseAsync(createSettings(requestExecutor));
+
+        assertEquals(BODY, delayedResponse.join());
+        assertEquals(1, requestExecutor.getRateLimiter().getDelayedCount());
+        assertEquals(2, transport.asyncCalls.get());
+    }
+
+    @Test
+    public void whenClientMetricsAreSet_thenCallPhasesAndResponseAreRecorded() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(200));
+        final RecordingClientMetrics clientMetrics = new RecordingClientMetrics();
+        requestExecutor.setClientMetrics(clientMetrics);
+
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+
+        final List<String> expectedEvents = Arrays.asList("started CURRENT_WEATHER", "phase CURRENT_WEATHER TIME_TO_FIRST_BYTE",
+                "phase CURRENT_WEATHER BODY_READ", "phase CURRENT_WEATHER MAPPING", "response CURRENT_WEATHER 200 " + BODY.length(), "finished CURRENT_WEATHER");
+        final List<String> events = clientMetrics.getEvents();
+        assertEquals(expectedEvents, events.subList(0, 6));
+        assertEquals(expectedEvents, events.subList(6, 12));
+    }
+
+    @Test
+    public void whenTransportMeasuresConnection_thenConnectPhaseIsRecorded() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new HttpTransport() {
+            @Override
+            public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+                return new HttpResponse(200, Collections.emptyMap(), new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)), 5);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        final RecordingClientMetrics clientMetrics = new RecordingClientMetrics();
+        requestExecutor.setClientMetrics(clientMetrics);
+
+        requestExecutor.getResponse(createSettings(requestExecutor));
+
+        assertEquals("phase CURRENT_WEATHER CONNECT", clientMetrics.getEvents().get(1));
+        assertEquals("phase CURRENT_WEATHER TIME_TO_FIRST_BYTE", clientMetrics.getEvents().get(2));
+    }
+
+    @Test
+    public void whenCallFails_thenExceptionIsRecordedAndRequestIsFinished() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(401));
+        final RecordingClientMetrics clientMetrics = new RecordingClientMetrics();
+        requestExecutor.setClientMetrics(clientMetrics);
+
+        assertThrows(InvalidAuthTokenException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertThrows(CompletionException.class, () -> requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+
+        final List<String> expectedEvents = Arrays.asList("started CURRENT_WEATHER", "phase CURRENT_WEATHER TIME_TO_FIRST_BYTE",
+                "exception CURRENT_WEATHER InvalidAuthTokenException", "response CURRENT_WEATHER 401 0", "finished CURRENT_WEATHER");
+        final List<String> events = clientMetrics.getEvents();
+        assertEquals(expectedEvents, events.subList(0, 5));
+        assertEquals(expectedEvents, events.subList(5, 10));
+    }
+
+    @Test
+    public void whenResponseIsCached_thenOnlyNetworkCallIsRecorded() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(200));
+        final RecordingClientMetrics clientMetrics = new RecordingClientMetrics();
+        requestExecutor.setClientMetrics(clientMetrics);
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+
+        requestExecutor.getResponse(createSettings(requestExecutor));
+        requestExecutor.getResponse(createSettings(requestExecutor));
+
+        assertEquals(1, clientMetrics.getEvents().stream().filter(event -> event.startsWith("started")).count());
+    }
+
+    @Test
+    public void whenClientMetricsAreDisabled_thenBodyStreamIsNotWrapped() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubAsyncTransport(200));
+        assertSame(ClientMetrics.noop(), requestExecutor.getClientMetrics());
+
+        final boolean wrapped = requestExecutor.getResponse(createSettings(requestExecutor), inputStream -> inputStream instanceof MeteredInputStream);
+        assertFalse(wrapped);
+        assertThrows(NullPointerException.class, () -> requestExecutor.setClientMetrics(null));
+    }
+
+    @Test
+    public void whenRetryPolicyIsSet_thenFailedCallsAreRetriedInSyncAndAsyncRequests() {
+        final FlakyAsyncTransport transport = new FlakyAsyncTransport(503);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        final RetrySettings retrySettings = new RetrySettings();
+        retrySettings.setBackoff(1, 1, TimeUnit.MILLISECONDS);
+        requestExecutor.setRetryPolicy(new RetryPolicy(retrySettings));
+
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+
+        assertEquals(4, transport.calls.get());
+        assertEquals(2, requestExecutor.getRetryPolicy().getRetryCount());
+    }
+
+    @Test
+    public void whenRetryWouldExceedRateLimit_thenFailureIsReturned() {
+        final FlakyAsyncTransport transport = new FlakyAsyncTransport(500);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        requestExecutor.setRateLimiter(new RateLimiter(1, 1, TimeUnit.MINUTES, RateLimitMode.NON_BLOCKING));
+        final RetrySettings retrySettings = new RetrySettings();
+        retrySettings.setBackoff(1, 1, TimeUnit.MILLISECONDS);
+        requestExecutor.setRetryPolicy(new RetryPolicy(retrySettings));
+
+        assertThrows(NoDataFoundException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(1, transport.calls.get());
+    }
+
+    @Test
+    public void whenCircuitBreakerOfEndpointOpens_thenOnlyItsRequestsFailFast() {
+        final StubAsyncTransport transport = new StubAsyncTransport(503);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        final CircuitBreakerSettings circuitBreakerSettings = new CircuitBreakerSettings();
+        circuitBreakerSettings.setSlidingWindow(2, 2);
+        requestExecutor.setCircuitBreakerSettings(circuitBreakerSettings);
+
+        assertThrows(NoDataFoundException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertThrows(NoDataFoundException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(CircuitBreakerState.OPEN, requestExecutor.getCircuitBreaker(EndpointType.CURRENT_WEATHER).getState());
+
+        assertThrows(CircuitBreakerOpenException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        final CompletionException exception = assertThrows(CompletionException.class,
+                () -> requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+        assertTrue(exception.getCause() instanceof CircuitBreakerOpenException);
+        assertEquals(2, transport.blockingCalls.get() + transport.asyncCalls.get());
+
+        assertThrows(NoDataFoundException.class, () -> requestExecutor.getResponse(createHistoricalSettings(requestExecutor)));
+        assertEquals(CircuitBreakerState.CLOSED, requestExecutor.getCircuitBreaker(EndpointType.ONE_CALL_HISTORICAL).getState());
+
+        requestExecutor.setCircuitBreakerSettings(null);
+        assertNull(requestExecutor.getCircuitBreaker(EndpointType.CURRENT_WEATHER));
+    }
+
+    @Test
+    public void whenCircuitBreakerServesStaleResponses_thenTheyAreMatchedByCanonicalRequest() {
+        final FlakyAsyncTransport transport = new FlakyAsyncTransport(503);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        final CircuitBreakerSettings circuitBreakerSettings = new CircuitBreakerSettings();
+        circuitBreakerSettings.setSlidingWindow(2, 2);
+        circuitBreakerSettings.setStaleResponseServed(true, 10);
+        requestExecutor.setCircuitBreakerSettings(circuitBreakerSettings);
+
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        requestSettings.appendToURL("weather");
+        requestSettings.putRequestParameter("lat", "51.5");
+        requestSettings.putRequestParameter("lon", "-0.12");
+        assertThrows(NoDataFoundException.class, () -> requestExecutor.getResponse(requestSettings));
+        assertEquals(BODY, requestExecutor.getResponse(requestSettings));
+        final CircuitBreaker circuitBreaker = requestExecutor.getCircuitBreaker(EndpointType.CURRENT_WEATHER);
+        assertEquals(CircuitBreakerState.OPEN, circuitBreaker.getState());
+
+        final RequestSettings reorderedSettings = new RequestSettings("other-key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        reorderedSettings.appendToURL("weather");
+        reorderedSettings.putRequestParameter("lon", "-0.12");
+        reorderedSettings.putRequestParameter("lat", "51.5");
+        assertEquals(BODY, requestExecutor.getResponse(reorderedSettings));
+        assertEquals(BODY, requestExecutor.getResponseAsync(reorderedSettings).join());
+        assertThrows(CircuitBreakerOpenException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+
+        assertEquals(2, transport.calls.get());
+        assertEquals(2, circuitBreaker.getStaleResponseCount());
+    }
+
+    @Test
+    public void whenHedgingPolicyIsSet_thenLatenciesAreTrackedPerEndpoint() {
+        final StubAsyncTransport transport = new StubAsyncTransport(200);
+        final RequestExecutor requestExecutor = new RequestExecutor(transport);
+        final HedgingSettings hedgingSettings = new HedgingSettings();
+        hedgingSettings.setLatencyWindow(4, 2);
+        requestExecutor.setHedgingPolicy(new HedgingPolicy(hedgingSettings));
+
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+        assertEquals(BODY, requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+
+        assertTrue(requestExecutor.getHedgingPolicy().getHedgeDelayMillis(EndpointType.CURRENT_WEATHER) >= 0);
+        assertEquals(-1, requestExecutor.getHedgingPolicy().getHedgeDelayMillis(EndpointType.ONE_CALL));
+        assertEquals(1, transport.blockingCalls.get());
+        assertEquals(1, transport.asyncCalls.get());
+
+        requestExecutor.setHedgingPolicy(null);
+        assertNull(requestExecutor.getHedgingPolicy());
+    }
+
+    private static RequestSettings createHistoricalSettings(RequestExecutor requestExecutor) {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        requestSettings.appendToURL("onecall/timemachine");
+        requestSettings.putRequestParameter("dt", "1586468027");
+        return requestSettings;
+    }
+
+    private static RequestSettings createSettings(RequestExecutor requestExecutor) {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        requestSettings.appendToURL("weather");
+        return requestSettings;
+    }
+
+    private static HttpResponse createResponse(int statusCode) {
+        return new HttpResponse(statusCode, Collections.emptyMap(), new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static class CountingExecutor implements Executor {
+        private static final String THREAD_NAME = "counting-executor";
+
+        private final AtomicInteger tasks = new AtomicInteger();
+
+        static boolean isExecutorThread() {
+            return THREAD_NAME.equals(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.incrementAndGet();
+            new Thread(command, THREAD_NAME).start();
+        }
+    }
+
+    private static class RecordingClientMetrics implements ClientMetrics {
+        private final List<String> events = new ArrayList<>();
+
+        synchronized List<String> getEvents() {
+            return new ArrayList<>(events);
+        }
+
+        @Override
+        public synchronized void requestStarted(EndpointType endpointType) {
+            events.add("started " + endpointType);
+        }
+
+        @Override
+        public synchronized void requestFinished(EndpointType endpointType) {
+            events.add("finished " + endpointType);
+        }
+
+        @Override
+        public synchronized void recordPhase(EndpointType endpointType, RequestPhase phase, long nanos) {
+            assertTrue(nanos >= 0);
+            events.add("phase " + endpointType + " " + phase);
+        }
+
+        @Override
+        public synchronized void recordResponse(EndpointType endpointType, int statusCode, long bodyBytes) {
+            events.add("response " + endpointType + " " + statusCode + " " + bodyBytes);
+        }
+
+        @Override
+        public synchronized void recordException(EndpointType endpointType, Throwable exception) {
+            events.add("exception " + endpointType + " " + exception.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Fails every odd call with provided status.
+     */
+    private static class FlakyAsyncTransport implements AsyncHttpTransport {
+        private final int failureStatusCode;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FlakyAsyncTransport(int failureStatusCode) {
+            this.failureStatusCode = failureStatusCode;
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+            return createResponse(calls.incrementAndGet() % 2 == 1 ? failureStatusCode : 200);
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            return CompletableFuture.completedFuture(execute(url, timeoutSettings));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class StubAsyncTransport implements AsyncHttpTransport {
+        private final int statusCode;
+        private final AtomicInteger blockingCalls = new AtomicInteger();
+        private final AtomicInteger asyncCalls = new AtomicInteger();
+
+        StubAsyncTransport(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+            blockingCalls.incrementAndGet();
+            return createResponse(statusCode);
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            asyncCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(createResponse(statusCode));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class PendingAsyncTransport implements AsyncHttpTransport {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+
+        void complete(int statusCode) {
+            response.complete(createResponse(statusCode));
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            calls.incrementAndGet();
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.EndpointType;
+import com.github.prominence.openweathermap.api.enums.Language;
+import com.github.prominence.openweathermap.api.enums.ResponseType;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.utils.RequestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestTemplateUnitTest {
+    private static final String BODY = "{\"cod\":200}";
+
+    @Test
+    public void whenCreateTemplate_thenItDescribesTheRequest() {
+        final RequestTemplate template = RequestTemplate.from(createSettings(new RequestExecutor(new RecordingTransport())));
+
+        assertEquals("https://api.openweathermap.org/data/2.5/weather?", template.getUrl().substring(0, template.getUrl().indexOf('?') + 1));
+        assertTrue(template.getUrl().contains("appid=key"));
+        assertEquals("weather?id=524901&lang=de&units=metric", template.getCanonicalRequest());
+        assertEquals(EndpointType.CURRENT_WEATHER, template.getEndpointType());
+        assertEquals(Language.GERMAN, template.getLanguage());
+        assertEquals(UnitSystem.METRIC, template.getUnitSystem());
+        assertEquals("weather", template.getUrlAppender());
+    }
+
+    @Test
+    public void whenSettingsChangeAfterTemplateCreation_thenTemplateStaysTheSame() {
+        final RequestSettings requestSettings = createSettings(new RequestExecutor(new RecordingTransport()));
+        final RequestTemplate template = RequestTemplate.from(requestSettings);
+        final String url = template.getUrl();
+
+        requestSettings.putRequestParameter("id", "1");
+        requestSettings.setUnitSystem(UnitSystem.IMPERIAL);
+        requestSettings.appendToURL("/other");
+        requestSettings.getTimeoutSettings().setReadTimeout(1);
+
+        assertEquals(url, template.getUrl());
+        assertEquals(UnitSystem.METRIC, template.getUnitSystem());
+        assertEquals("524901", template.getRequestParameters().get("id"));
+        assertEquals(Integer.valueOf(2000), template.getTimeoutSettings().getReadTimeout());
+        assertThrows(UnsupportedOperationException.class, () -> template.getRequestParameters().put("id", "1"));
+    }
+
+    @Test
+    public void whenPreparedRequestIsExecutedManyTimes_thenTheSameParsedUrlIsUsed() {
+        final RecordingTransport transport = new RecordingTransport();
+        final PreparedRequest<String> request = new PreparedRequest<>(RequestTemplate.from(createSettings(new RequestExecutor(transport))), RequestUtils::convertInputStreamToString);
+
+        assertEquals(BODY, request.execute());
+        assertEquals(BODY, request.execute());
+        assertEquals(BODY, request.executeAsync().join());
+
+        final List<URL> urls = new ArrayList<>(transport.urls);
+        assertEquals(3, urls.size());
+        assertSame(urls.get(0), urls.get(1));
+        assertSame(urls.get(0), urls.get(2));
+    }
+
+    @Test
+    public void whenPreparedRequestIsExecutedFromManyThreads_thenAllCallsSucceed() throws Exception {
+        final RecordingTransport transport = new RecordingTransport();
+        final PreparedRequest<String> request = new PreparedRequest<>(RequestTemplate.from(createSettings(new RequestExecutor(transport))), RequestUtils::convertInputStreamToString);
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(CompletableFuture.supplyAsync(request::execute, executorService));
+            }
+            for (CompletableFuture<String> future : futures) {
+                assertEquals(BODY, future.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(200, transport.urls.size());
+        assertEquals(1, transport.urls.stream().map(URL::toString).distinct().count());
+    }
+
+    @Test
+    public void whenWiderResponseIsAccepted_thenWiderOneCallRequestsAreListedNarrowestFirst() {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), new RequestExecutor(new RecordingTransport()), new MappingContext());
+        requestSettings.appendToURL("onecall");
+        requestSettings.putRequestParameter("lat", "53.9");
+        requestSettings.putRequestParameter("exclude", "minutely,hourly");
+        final RequestTemplate template = RequestTemplate.from(requestSettings);
+
+        assertFalse(template.isWiderResponseAccepted());
+        assertTrue(template.getWiderCanonicalRequests().isEmpty());
+
+        final RequestTemplate widerResponseTemplate = template.acceptingWiderResponse();
+
+        assertTrue(widerResponseTemplate.isWiderResponseAccepted());
+        assertSame(widerResponseTemplate, widerResponseTemplate.acceptingWiderResponse());
+        assertEquals(template.getCanonicalRequest(), widerResponseTemplate.getCanonicalRequest());
+        assertEquals(template.getUrl(), widerResponseTemplate.getUrl());
+        assertEquals(3, widerResponseTemplate.getWiderCanonicalRequests().size());
+        assertEquals("onecall?exclude=hourly&lat=53.9", widerResponseTemplate.getWiderCanonicalRequests().get(0));
+        assertEquals("onecall?exclude=minutely&lat=53.9", widerResponseTemplate.getWiderCanonicalRequests().get(1));
+        assertEquals("onecall?lat=53.9", widerResponseTemplate.getWiderCanonicalRequests().get(2));
+        assertTrue(RequestTemplate.from(createSettings(new RequestExecutor(new RecordingTransport()))).acceptingWiderResponse().getWiderCanonicalRequests().isEmpty());
+    }
+
+    @Test
+    public void whenSettingsCopyGetsResponseType_thenOriginalSettingsStayUnchanged() {
+        final RequestSettings requestSettings = createSettings(new RequestExecutor(new RecordingTransport()));
+
+        final RequestSettings xmlRequestSettings = requestSettings.withResponseType(ResponseType.XML);
+
+        assertEquals("xml", xmlRequestSettings.getRequestParameters().get("mode"));
+        assertFalse(requestSettings.getRequestParameters().containsKey("mode"));
+    }
+
+    private static RequestSettings createSettings(RequestExecutor requestExecutor) {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        requestSettings.appendToURL("weather");
+        requestSettings.putRequestParameter("id", "524901");
+        requestSettings.setLanguage(Language.GERMAN);
+        requestSettings.setUnitSystem(UnitSystem.METRIC);
+        return requestSettings;
+    }
+
+    private static class RecordingTransport implements HttpTransport {
+        private final Queue<URL> urls = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+            urls.add(url);
+            return new HttpResponse(200, Collections.emptyMap(), new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
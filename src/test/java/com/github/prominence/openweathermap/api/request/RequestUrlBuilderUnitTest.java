@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestUrlBuilderUnitTest {
+    @Test
+    public void whenBuildUrl_thenPrefixAndParametersArePresent() {
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("lat", "53.9045");
+        parameters.put("lon", "-27.5615");
+        parameters.put("exclude", "minutely,alerts");
+
+        assertEquals("https://api.openweathermap.org/data/2.5/onecall?appid=key&lat=53.9045&lon=-27.5615&exclude=minutely,alerts",
+                new RequestUrlBuilder("key").build("onecall", parameters));
+    }
+
+    @Test
+    public void whenParametersContainSpecialCharacters_thenTheyAreEncoded() throws UnsupportedEncodingException {
+        final RequestUrlBuilder builder = new RequestUrlBuilder("key");
+
+        assertEquals("https://api.openweathermap.org/data/2.5/weather?appid=key&q=New%20York,US",
+                builder.build("weather", Collections.singletonMap("q", "New York,US")));
+        assertEquals("https://api.openweathermap.org/data/2.5/weather?appid=key&q=%D0%9C%D0%B8%D0%BD%D1%81%D0%BA",
+                builder.build("weather", Collections.singletonMap("q", "Минск")));
+        assertEquals("https://api.openweathermap.org/data/2.5/weather?appid=key&q=a%26b%3Dc%2B%25",
+                builder.build("weather", Collections.singletonMap("q", "a&b=c+%")));
+
+        final String value = "São Paulo 東京 🌤";
+        final String url = builder.build("weather", Collections.singletonMap("q", value));
+        assertEquals(value, URLDecoder.decode(url.substring(url.indexOf("&q=") + 3), "UTF-8"));
+    }
+
+    @Test
+    public void whenApiKeyContainsSpecialCharacters_thenItIsEncoded() {
+        assertEquals("https://api.openweathermap.org/data/2.5/weather?appid=a%20b&id=1",
+                new RequestUrlBuilder("a b").build("weather", Collections.singletonMap("id", "1")));
+    }
+
+    @Test
+    public void whenParametersContainApiKey_thenItIsWrittenOnce() {
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("appid", "other");
+        parameters.put("id", "1");
+
+        assertEquals("https://api.openweathermap.org/data/2.5/weather?appid=key&id=1", new RequestUrlBuilder("key").build("weather", parameters));
+    }
+
+    @Test
+    public void whenBuildManyUrls_thenBufferIsReusedWithoutLeakingPreviousContent() {
+        final RequestUrlBuilder builder = new RequestUrlBuilder("key");
+        final StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longValue.append('x');
+        }
+
+        assertTrue(builder.build("weather", Collections.singletonMap("q", longValue.toString())).endsWith(longValue.toString()));
+        assertEquals("https://api.openweathermap.org/data/2.5/weather?appid=key&id=1", builder.build("weather", Collections.singletonMap("id", "1")));
+        assertEquals("https://api.openweathermap.org/data/2.5/forecast?appid=key&id=2", builder.build(new StringBuilder("forecast"), Collections.singletonMap("id", "2")));
+    }
+}
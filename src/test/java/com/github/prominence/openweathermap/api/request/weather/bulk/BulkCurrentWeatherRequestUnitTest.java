@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.prominence.openweathermap.api.request.weather.bulk;
+
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.model.weather.CityWeatherResult;
+import com.github.prominence.openweathermap.api.request.RequestExecutor;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import com.github.prominence.openweathermap.api.request.weather.CurrentWeatherRequester;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkCurrentWeatherRequestUnitTest {
+    @Test
+    public void whenRequestManyCities_thenIdsArePackedIntoGroupCalls() {
+        final StubTransport transport = new StubTransport();
+        final List<Long> cityIds = LongStream.rangeClosed(1, 45).boxed().collect(Collectors.toList());
+
+        final List<CityWeatherResult> results = createRequester(transport).byCityIds(cityIds).retrieve().asJava();
+
+        assertEquals(45, results.size());
+        assertTrue(results.stream().allMatch(CityWeatherResult::isSuccessful));
+        assertEquals(cityIds, results.stream().map(CityWeatherResult::getCityId).sorted().collect(Collectors.toList()));
+        results.forEach(result -> assertEquals(result.getCityId(), result.getWeather().getLocation().getId()));
+
+        // 20 + 20 ids go to the group endpoint, the remaining 5 too
+        assertEquals(3, transport.requests.size());
+        assertTrue(transport.requests.stream().allMatch(request -> request.startsWith("group")));
+    }
+
+    @Test
+    public void whenBatchSizeIsOne_thenSingleEndpointIsUsed() {
+        final StubTransport transport = new StubTransport();
+
+        final List<CityWeatherResult> results = createRequester(transport).byCityIds(Arrays.asList(1L, 2L, 3L))
+                .batchSize(1)
+                .retrieve()
+                .asJava();
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(CityWeatherResult::isSuccessful));
+        assertEquals(3, transport.requests.size());
+        assertTrue(transport.requests.stream().allMatch(request -> request.startsWith("weather")));
+    }
+
+    @Test
+    public void whenDuplicateIdsRequested_thenEachCityIsRequestedOnce() {
+        final StubTransport transport = new StubTransport();
+
+        final List<CityWeatherResult> results = createRequester(transport).byCityIds(Arrays.asList(1L, 2L, 1L, 2L)).retrieve().asJava();
+
+        assertEquals(2, results.size());
+        assertEquals(1, transport.requests.size());
+    }
+
+    @Test
+    public void whenGroupContainsUnknownCity_thenOnlyThatCityFails() {
+        final StubTransport transport = new StubTransport();
+
+        final Map<Long, CityWeatherResult> results = createRequester(transport).byCityIds(Arrays.asList(1L, StubTransport.UNKNOWN_ID, 3L))
+                .retrieve()
+                .asJava()
+                .stream()
+                .collect(Collectors.toMap(CityWeatherResult::getCityId, Function.identity()));
+
+        assertTrue(results.get(1L).isSuccessful());
+        assertTrue(results.get(3L).isSuccessful());
+        assertFalse(results.get(StubTransport.UNKNOWN_ID).isSuccessful());
+        assertTrue(results.get(StubTransport.UNKNOWN_ID).getError() instanceof NoDataFoundException);
+        assertNull(results.get(StubTransport.UNKNOWN_ID).getWeather());
+        // rejected group call followed by a separate call per city
+        assertEquals(4, transport.requests.size());
+    }
+
+    @Test
+    public void whenGroupCallIsRejected_thenAllItsCitiesGetTheError() {
+        final StubTransport transport = new StubTransport();
+
+        final List<CityWeatherResult> results = createRequester(transport).byCityIds(Arrays.asList(1L, StubTransport.BROKEN_ID))
+                .retrieve()
+                .asJava();
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().noneMatch(CityWeatherResult::isSuccessful));
+        assertTrue(results.stream().allMatch(result -> result.getError() instanceof RateLimitExceededException));
+        assertEquals(1, transport.requests.size());
+    }
+
+    @Test
+    public void whenGroupCallFailsWithIoError_thenNoSeparateCallsAreMade() {
+        final StubTransport transport = new StubTransport();
+
+        final List<CityWeatherResult> results = createRequester(transport).byCityIds(Arrays.asList(1L, StubTransport.TIMEOUT_ID, 3L))
+                .retrieve()
+                .asJava();
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().noneMatch(CityWeatherResult::isSuccessful));
+        assertTrue(results.stream().allMatch(result -> result.getError().getCause() instanceof SocketTimeoutException));
+        assertEquals(1, transport.requests.size());
+    }
+
+    @Test
+    public void whenMaxConcurrencyIsSet_thenNoMoreCallsRunAtOnce() {
+        final StubTransport transport = new StubTransport();
+        transport.delayMillis = 20;
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final RequestExecutor requestExecutor = new RequestExecutor(transport);
+            requestExecutor.setExecutor(executor);
+            final List<Long> cityIds = LongStream.rangeClosed(1, 12).boxed().collect(Collectors.toList());
+
+            final List<CityWeatherResult> results = new CurrentWeatherRequester(createSettings(requestExecutor)).byCityIds(cityIds)
+                    .batchSize(1)
+                    .maxConcurrency(3)
+                    .retrieve()
+                    .asJava();
+
+            assertEquals(12, results.size());
+            assertEquals(3, transport.maxActiveCalls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void whenWorkerFailsWithError_thenCitiesOfItsBatchGetTheError() {
+        final StubTransport transport = new StubTransport();
+
+        final List<CityWeatherResult> results = createRequester(transport).byCityIds(Arrays.asList(1L, StubTransport.FATAL_ID, 3L))
+                .batchSize(1)
+                .maxConcurrency(1)
+                .retrieve()
+                .asJava();
+
+        assertEquals(3, results.size());
+        final CityWeatherResult failed = results.stream().filter(result -> result.getCityId() == StubTransport.FATAL_ID).findFirst().orElseThrow(IllegalStateException::new);
+        assertTrue(failed.getError().getCause() instanceof LinkageError);
+        assertEquals(2, results.stream().filter(CityWeatherResult::isSuccessful).count());
+    }
+
+    @Test
+    public void whenClientExecutorIsCommonPool_thenWorkersRunOnOwnThreads() {
+        final StubTransport transport = new StubTransport();
+
+        createRequester(transport).byCityIds(Arrays.asList(1L, 2L)).batchSize(1).retrieve().asJava();
+
+        assertTrue(transport.threadNames.stream().allMatch(name -> name.startsWith("openweathermap-bulk-")));
+    }
+
+    @Test
+    public void whenExecutorIsSet_thenWorkersRunOnIt() {
+        final StubTransport transport = new StubTransport();
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "custom-bulk"));
+        try {
+            createRequester(transport).byCityIds(Arrays.asList(1L, 2L)).batchSize(1).executor(executor).retrieve().asJava();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, transport.threadNames.size());
+        assertTrue(transport.threadNames.stream().allMatch("custom-bulk"::equals));
+    }
+
+    @Test
+    public void whenStreamIsClosed_thenRemainingBatchesAreNotRequested() {
+        final StubTransport transport = new StubTransport();
+        transport.delayMillis = 20;
+        final List<Long> cityIds = LongStream.rangeClosed(1, 50).boxed().collect(Collectors.toList());
+
+        try (Stream<CityWeatherResult> stream = createRequester(transport).byCityIds(cityIds).batchSize(1).maxConcurrency(1).retrieve().asStream()) {
+            assertEquals(2, stream.limit(2).count());
+        }
+
+        assertTrue(transport.requests.size() < 50);
+    }
+
+    @Test
+    public void whenInvalidOptionsAreSet_thenThrowAnException() {
+        final CurrentWeatherRequester requester = createRequester(new StubTransport());
+
+        assertThrows(IllegalArgumentException.class, () -> requester.byCityIds(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> requester.byCityIds(Collections.singletonList(1L)).batchSize(21));
+        assertThrows(IllegalArgumentException.class, () -> requester.byCityIds(Collections.singletonList(1L)).batchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> requester.byCityIds(Collections.singletonList(1L)).maxConcurrency(0));
+        assertThrows(IllegalArgumentException.class, () -> requester.byCityIds(Collections.singletonList(1L)).callsPerMinute(0));
+    }
+
+    private static CurrentWeatherRequester createRequester(HttpTransport transport) {
+        return new CurrentWeatherRequester(createSettings(new RequestExecutor(transport)));
+    }
+
+    private static RequestSettings createSettings(RequestExecutor requestExecutor) {
+        return new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+    }
+
+    private static class StubTransport implements HttpTransport {
+        private static final long UNKNOWN_ID = 404;
+        private static final long TIMEOUT_ID = 408;
+        private static final long BROKEN_ID = 429;
+        private static final long FATAL_ID = 500;
+
+        private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+        private final Queue<String> threadNames = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger activeCalls = new AtomicInteger();
+        private final AtomicInteger maxActiveCalls = new AtomicInteger();
+        private volatile int delayMillis;
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+            final String path = url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+            final String ids = Arrays.stream(url.getQuery().split("&"))
+                    .filter(parameter -> parameter.startsWith("id="))
+                    .map(parameter -> parameter.substring(3).replace("%2C", ","))
+                    .findFirst()
+                    .orElseThrow(IllegalStateException::new);
+            requests.add(path + "?id=" + ids);
+            threadNames.add(Thread.currentThread().getName());
+
+            maxActiveCalls.accumulateAndGet(activeCalls.incrementAndGet(), Math::max);
+            try {
+                if (delayMillis > 0) {
+                    Thread.sleep(delayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                activeCalls.decrementAndGet();
+            }
+
+            final List<Long> cityIds = Arrays.stream(ids.split(",")).map(Long::valueOf).collect(Collectors.toList());
+            if (cityIds.contains(FATAL_ID)) {
+                throw new LinkageError("Broken transport");
+            }
+            if (cityIds.contains(TIMEOUT_ID)) {
+                throw new SocketTimeoutException("Read timed out");
+            }
+            if (cityIds.contains(BROKEN_ID)) {
+                return createResponse(429, "{\"cod\":429}");
+            }
+            if (cityIds.contains(UNKNOWN_ID)) {
+                return createResponse(404, "{\"cod\":\"404\",\"message\":\"city not found\"}");
+            }
+            if (path.equals("group")) {
+                return createResponse(200, cityIds.stream().map(StubTransport::cityJson).collect(Collectors.joining(",", "{\"cnt\":" + cityIds.size() + ",\"list\":[", "]}")));
+            }
+            return createResponse(200, cityJson(cityIds.get(0)));
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private static String cityJson(long cityId) {
+            return "{\"id\":" + cityId + ",\"name\":\"City " + cityId + "\",\"main\":{\"temp\":280.1,\"pressure\":1012,\"humidity\":81},\"wind\":{\"speed\":4.1,\"deg\":80},\"clouds\":{\"all\":90}}";
+        }
+
+        private static HttpResponse createResponse(int statusCode, String body) {
+            return new HttpResponse(statusCode, Collections.emptyMap(), new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.retry;
+
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyUnitTest {
+
+    @Test
+    public void whenBackoffIsComputed_thenItIsBetweenInitialAndThreeTimesPreviousDelay() {
+        final RetrySettings retrySettings = new RetrySettings();
+        retrySettings.setBackoff(100, 1000, TimeUnit.MILLISECONDS);
+        final RetryPolicy retryPolicy = new RetryPolicy(retrySettings);
+
+        for (int i = 0; i < 100; i++) {
+            final long firstDelay = retryPolicy.nextBackoffMillis(0);
+            assertTrue(firstDelay >= 100 && firstDelay <= 300);
+            final long nextDelay = retryPolicy.nextBackoffMillis(250);
+            assertTrue(nextDelay >= 100 && nextDelay <= 750);
+            assertTrue(retryPolicy.nextBackoffMillis(900) <= 1000);
+        }
+    }
+
+    @Test
+    public void whenRetryAfterIsGiven_thenItIsParsedAsSecondsOrDate() {
+        final RetryPolicy retryPolicy = new RetryPolicy(new RetrySettings(), () -> 1_445_412_480_000L);
+
+        assertEquals(120_000, retryPolicy.getRetryAfterMillis("120"));
+        assertEquals(2_000, retryPolicy.getRetryAfterMillis("Wed, 21 Oct 2015 07:28:02 GMT"));
+        assertEquals(0, retryPolicy.getRetryAfterMillis("Wed, 21 Oct 2015 07:27:00 GMT"));
+        assertEquals(0, retryPolicy.getRetryAfterMillis("soon"));
+        assertEquals(0, retryPolicy.getRetryAfterMillis(null));
+    }
+
+    @Test
+    public void whenRetryAfterIsLongerThanMax_thenCallIsNotRetried() {
+        final RetrySettings retrySettings = new RetrySettings();
+        retrySettings.setMaxRetryAfter(10, TimeUnit.SECONDS);
+        final RetryPolicy retryPolicy = new RetryPolicy(retrySettings);
+
+        assertEquals(-1, retryPolicy.getRetryDelayMillis(1, 0, "60", () -> true));
+        assertEquals(5_000, retryPolicy.getRetryDelayMillis(1, 0, "5", () -> true));
+    }
+
+    @Test
+    public void whenAttemptsAreExhausted_thenCallIsNotRetried() {
+        final RetryPolicy retryPolicy = new RetryPolicy(new RetrySettings());
+
+        assertTrue(retryPolicy.getRetryDelayMillis(2, 0, null, () -> true) >= 0);
+        assertEquals(-1, retryPolicy.getRetryDelayMillis(3, 0, null, () -> true));
+        assertEquals(1, retryPolicy.getRetryCount());
+    }
+
+    @Test
+    public void whenBudgetIsExhausted_thenRetriesAreSkippedUntilCallsRefillIt() {
+        final RetrySettings retrySettings = new RetrySettings();
+        retrySettings.setBudget(2, 0.5);
+        final RetryPolicy retryPolicy = new RetryPolicy(retrySettings);
+
+        assertTrue(retryPolicy.getRetryDelayMillis(1, 0, null, () -> true) >= 0);
+        assertTrue(retryPolicy.getRetryDelayMillis(1, 0, null, () -> true) >= 0);
+        assertEquals(-1, retryPolicy.getRetryDelayMillis(1, 0, null, () -> true));
+        assertEquals(1, retryPolicy.getBudgetRejectedCount());
+
+        retryPolicy.onCall();
+        retryPolicy.onCall();
+        assertEquals(1, retryPolicy.getRetryBudget().getAvailableTokens(), 0.0001);
+        assertTrue(retryPolicy.getRetryDelayMillis(1, 0, null, () -> true) >= 0);
+    }
+
+    @Test
+    public void whenRetryPermitIsNotGiven_thenCallIsNotRetried() {
+        final RetryPolicy retryPolicy = new RetryPolicy(new RetrySettings());
+
+        assertEquals(-1, retryPolicy.getRetryDelayMillis(1, 0, null, () -> false));
+        assertEquals(0, retryPolicy.getRetryCount());
+    }
+
+    @Test
+    public void whenInvalidSettingsAreSet_thenThrowAnException() {
+        final RetrySettings retrySettings = new RetrySettings();
+
+        assertThrows(IllegalArgumentException.class, () -> retrySettings.setMaxAttempts(0));
+        assertThrows(IllegalArgumentException.class, () -> retrySettings.setBackoff(10, 5, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> retrySettings.setBudget(-1, 0.1));
+    }
+}
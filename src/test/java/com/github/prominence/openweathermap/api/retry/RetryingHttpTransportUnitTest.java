@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.retry;
+
+import com.github.prominence.openweathermap.api.conf.RetrySettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryingHttpTransportUnitTest {
+    private static final URL URL = createUrl();
+
+    @Test
+    public void whenServerErrorIsFollowedBySuccess_thenSuccessfulResponseIsReturned() throws IOException {
+        final ScriptedTransport transport = new ScriptedTransport(503, 502, 200);
+        final HttpTransport retryingTransport = createRetryPolicy().wrap(transport, () -> true);
+
+        assertEquals(200, retryingTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertEquals(3, transport.calls);
+    }
+
+    @Test
+    public void whenStatusIsNotRetryable_thenResponseIsReturnedAtOnce() throws IOException {
+        final ScriptedTransport transport = new ScriptedTransport(401, 200);
+        final HttpTransport retryingTransport = createRetryPolicy().wrap(transport, () -> true);
+
+        assertEquals(401, retryingTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertEquals(1, transport.calls);
+    }
+
+    @Test
+    public void whenAttemptsAreExhausted_thenLastFailureIsReturned() {
+        final ScriptedTransport transport = new ScriptedTransport(new SocketTimeoutException(), new SocketTimeoutException(), new SocketTimeoutException(), 200);
+        final HttpTransport retryingTransport = createRetryPolicy().wrap(transport, () -> true);
+
+        assertThrows(SocketTimeoutException.class, () -> retryingTransport.execute(URL, new TimeoutSettings()));
+        assertEquals(3, transport.calls);
+    }
+
+    @Test
+    public void whenTooManyRequestsWithRetryAfter_thenRetryWaitsForIt() throws IOException {
+        final ScriptedTransport transport = new ScriptedTransport(429, 200);
+        transport.headers = Collections.singletonMap("Retry-After", "1");
+        final HttpTransport retryingTransport = createRetryPolicy().wrap(transport, () -> true);
+
+        final long start = System.nanoTime();
+        assertEquals(200, retryingTransport.execute(URL, new TimeoutSettings()).getStatusCode());
+        assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void whenAsyncCallFails_thenItIsRetriedWithoutBlocking() {
+        final ScriptedTransport transport = new ScriptedTransport(new SocketTimeoutException(), 500, 200);
+        final HttpTransport retryingTransport = createRetryPolicy().wrap(transport, () -> true);
+
+        assertTrue(retryingTransport instanceof AsyncHttpTransport);
+        assertEquals(200, ((AsyncHttpTransport) retryingTransport).executeAsync(URL, new TimeoutSettings()).join().getStatusCode());
+        assertEquals(3, transport.calls);
+    }
+
+    @Test
+    public void whenAsyncRetryBudgetIsExhausted_thenFailureIsReturned() {
+        final RetrySettings retrySettings = new RetrySettings();
+        retrySettings.setBudget(0, 0);
+        final ScriptedTransport transport = new ScriptedTransport(new SocketTimeoutException(), 200);
+        final AsyncHttpTransport retryingTransport = (AsyncHttpTransport) new RetryPolicy(retrySettings).wrap(transport, () -> true);
+
+        final CompletionException ex = assertThrows(CompletionException.class, () -> retryingTransport.executeAsync(URL, new TimeoutSettings()).join());
+        assertTrue(ex.getCause() instanceof SocketTimeoutException);
+        assertEquals(1, transport.calls);
+    }
+
+    private static RetryPolicy createRetryPolicy() {
+        final RetrySettings retrySettings = new RetrySettings();
+        retrySettings.setBackoff(1, 5, TimeUnit.MILLISECONDS);
+        return new RetryPolicy(retrySettings);
+    }
+
+    private static URL createUrl() {
+        try {
+            return new URL("http://localhost/data/2.5/weather");
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Returns responses with scripted statuses or throws scripted exceptions in order.
+     */
+    private static class ScriptedTransport implements AsyncHttpTransport {
+        private final Deque<Object> outcomes = new ArrayDeque<>();
+        private Map<String, String> headers = Collections.emptyMap();
+        private int calls;
+
+        ScriptedTransport(Object... outcomes) {
+            Collections.addAll(this.outcomes, outcomes);
+        }
+
+        @Override
+        public synchronized HttpResponse execute(URL url, TimeoutSettings timeoutSettings) throws IOException {
+            calls++;
+            final Object outcome = outcomes.poll();
+            if (outcome instanceof IOException) {
+                throw (IOException) outcome;
+            }
+            return new HttpResponse((Integer) outcome, headers, new ByteArrayInputStream(new byte[0]));
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+            try {
+                response.complete(execute(url, timeoutSettings));
+            } catch (IOException ex) {
+                response.completeExceptionally(ex);
+            }
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2022 Alexey Zinchenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.prominence.openweathermap.api.tracing;
+
+import com.github.prominence.openweathermap.api.conf.CacheSettings;
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.cache.ResponseCache;
+import com.github.prominence.openweathermap.api.exception.InvalidAuthTokenException;
+import com.github.prominence.openweathermap.api.http.AsyncHttpTransport;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.mapper.MappingContext;
+import com.github.prominence.openweathermap.api.request.RequestExecutor;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpenTelemetryRequestTracerUnitTest {
+    private static final String BODY = "{\"cod\":200}";
+
+    private InMemorySpanExporter spanExporter;
+    private Tracer tracer;
+
+    @BeforeEach
+    public void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        tracer = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build()
+                .get(OpenTelemetryRequestTracer.INSTRUMENTATION_NAME);
+    }
+
+    @Test
+    public void whenRequestIsExecuted_thenCallSpanHasNetworkAndMappingPhases() {
+        final RequestExecutor requestExecutor = createExecutor(new StubTransport(200));
+
+        assertEquals(BODY, requestExecutor.getResponse(createSettings(requestExecutor)));
+
+        final SpanData requestSpan = findSpan("openweathermap current_weather");
+        assertEquals(SpanKind.CLIENT, requestSpan.getKind());
+        assertEquals("current_weather", requestSpan.getAttributes().get(OpenTelemetryRequestTracer.ENDPOINT_ATTRIBUTE));
+        assertEquals("weather?", requestSpan.getAttributes().get(OpenTelemetryRequestTracer.REQUEST_ATTRIBUTE));
+        assertEquals(200L, requestSpan.getAttributes().get(OpenTelemetryRequestTracer.STATUS_CODE_ATTRIBUTE));
+        assertEquals(Arrays.asList("network", "mapping"), getPhases(requestSpan));
+    }
+
+    @Test
+    public void whenAsyncRequestIsExecutedWithBlockingTransport_thenSpanIsChildOfCallerContextAndHasQueuePhase() {
+        final RequestExecutor requestExecutor = createExecutor(new StubTransport(200));
+
+        final Span parentSpan = tracer.spanBuilder("parent").startSpan();
+        final CompletableFuture<Boolean> response;
+        try (Scope ignored = parentSpan.makeCurrent()) {
+            response = requestExecutor.getResponseAsync(createSettings(requestExecutor), inputStream -> Span.current().getSpanContext().isValid());
+        }
+        assertTrue(response.join());
+        parentSpan.end();
+
+        final SpanData requestSpan = findSpan("openweathermap current_weather");
+        assertEquals(parentSpan.getSpanContext().getSpanId(), requestSpan.getParentSpanId());
+        assertEquals(Arrays.asList("queue", "network", "mapping"), getPhases(requestSpan));
+    }
+
+    @Test
+    public void whenAsyncRequestIsExecutedWithAsyncTransport_thenMappingIsQueuedOnExecutor() {
+        final RequestExecutor requestExecutor = createExecutor(new StubAsyncTransport(200));
+
+        final Span parentSpan = tracer.spanBuilder("parent").startSpan();
+        final CompletableFuture<String> response;
+        try (Scope ignored = parentSpan.makeCurrent()) {
+            response = requestExecutor.getResponseAsync(createSettings(requestExecutor), inputStream -> Span.current().getSpanContext().getSpanId());
+        }
+        final String mappingSpanId = response.join();
+        parentSpan.end();
+
+        final SpanData requestSpan = findSpan("openweathermap current_weather");
+        assertEquals(parentSpan.getSpanContext().getSpanId(), requestSpan.getParentSpanId());
+        assertEquals(requestSpan.getSpanId(), mappingSpanId);
+        assertEquals(Arrays.asList("network", "queue", "mapping"), getPhases(requestSpan));
+    }
+
+    @Test
+    public void whenResponseIsServedFromCache_thenOnlyMappingPhaseIsTraced() {
+        final RequestExecutor requestExecutor = createExecutor(new StubTransport(200));
+        requestExecutor.setResponseCache(new ResponseCache(new CacheSettings()));
+
+        requestExecutor.getResponse(createSettings(requestExecutor));
+        spanExporter.reset();
+        requestExecutor.getResponse(createSettings(requestExecutor));
+
+        assertEquals(Collections.singletonList("mapping"), getPhases(findSpan("openweathermap current_weather")));
+    }
+
+    @Test
+    public void whenRequestFails_thenSpanHasErrorStatus() {
+        final RequestExecutor requestExecutor = createExecutor(new StubAsyncTransport(401));
+
+        assertThrows(InvalidAuthTokenException.class, () -> requestExecutor.getResponse(createSettings(requestExecutor)));
+        final SpanData syncSpan = findSpan("openweathermap current_weather");
+        assertEquals(StatusCode.ERROR, syncSpan.getStatus().getStatusCode());
+        assertEquals(1, syncSpan.getEvents().size());
+        spanExporter.reset();
+
+        assertThrows(CompletionException.class, () -> requestExecutor.getResponseAsync(createSettings(requestExecutor)).join());
+        assertEquals(StatusCode.ERROR, findSpan("openweathermap current_weather").getStatus().getStatusCode());
+    }
+
+    @Test
+    public void whenTracingIsDisabled_thenNoSpanIsCreated() {
+        final RequestExecutor requestExecutor = new RequestExecutor(new StubTransport(200));
+
+        assertSame(RequestTracer.noop(), requestExecutor.getRequestTracer());
+        requestExecutor.getResponse(createSettings(requestExecutor));
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+        assertThrows(NullPointerException.class, () -> requestExecutor.setRequestTracer(null));
+    }
+
+    private RequestExecutor createExecutor(HttpTransport httpTransport) {
+        final RequestExecutor requestExecutor = new RequestExecutor(httpTransport);
+        requestExecutor.setRequestTracer(new OpenTelemetryRequestTracer(tracer));
+        return requestExecutor;
+    }
+
+    private SpanData findSpan(String name) {
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name));
+    }
+
+    private List<String> getPhases(SpanData requestSpan) {
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getParentSpanId().equals(requestSpan.getSpanId()))
+                .sorted((first, second) -> Long.compare(first.getStartEpochNanos(), second.getStartEpochNanos()))
+                .map(SpanData::getName)
+                .collect(Collectors.toList());
+    }
+
+    private static RequestSettings createSettings(RequestExecutor requestExecutor) {
+        final RequestSettings requestSettings = new RequestSettings("key", new TimeoutSettings(), requestExecutor, new MappingContext());
+        requestSettings.appendToURL("weather");
+        return requestSettings;
+    }
+
+    private static HttpResponse createResponse(int statusCode) {
+        return new HttpResponse(statusCode, Collections.emptyMap(), new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static class StubTransport implements HttpTransport {
+        private final int statusCode;
+
+        StubTransport(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+            return createResponse(statusCode);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class StubAsyncTransport extends StubTransport implements AsyncHttpTransport {
+
+        StubAsyncTransport(int statusCode) {
+            super(statusCode);
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(URL url, TimeoutSettings timeoutSettings) {
+            return CompletableFuture.completedFuture(execute(url, timeoutSettings));
+        }
+    }
+}
@@ -22,10 +22,23 @@
 
 package com.github.prominence.openweathermap.api.utils;
 
+import com.github.prominence.openweathermap.api.conf.TimeoutSettings;
+import com.github.prominence.openweathermap.api.enums.Language;
+import com.github.prominence.openweathermap.api.enums.UnitSystem;
 import com.github.prominence.openweathermap.api.exception.NoDataFoundException;
+import com.github.prominence.openweathermap.api.exception.RateLimitExceededException;
+import com.github.prominence.openweathermap.api.http.HttpResponse;
+import com.github.prominence.openweathermap.api.http.HttpTransport;
+import com.github.prominence.openweathermap.api.request.RequestSettings;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class RequestUtilsUnitTest {
     @Test
@@ -37,4 +50,97 @@ public class RequestUtilsUnitTest {
     public void whenPassUrlToNonExistingPage_thenThrowAnException() {
         assertThrows(NoDataFoundException.class, () -> RequestUtils.getResponse("https://openweathermap.org/somePage"));
     }
+
+    @Test
+    public void whenGetResponseAsString_thenContentIsNotChanged() {
+        final String body = "{\n  \"name\": \"Minsk\"\n}\n";
+        final StubTransport transport = new StubTransport(200, body);
+
+        assertEquals(body, RequestUtils.getResponse(transport, "http://localhost/weather", new TimeoutSettings()));
+        assertTrue(transport.body.closed);
+    }
+
+    @Test
+    public void whenGetResponseWithBodyMapper_thenStreamIsPassedAndClosedAfterwards() {
+        final StubTransport transport = new StubTransport(200, "{}");
+
+        final Integer firstByte = RequestUtils.getResponse(transport, "http://localhost/weather", new TimeoutSettings(), inputStream -> {
+            assertSame(transport.body, inputStream);
+            assertFalse(transport.body.closed);
+            return transport.body.read();
+        });
+
+        assertEquals('{', firstByte);
+        assertTrue(transport.body.closed);
+    }
+
+    @Test
+    public void whenBodyMapperFails_thenStreamIsClosed() {
+        final StubTransport transport = new StubTransport(200, "{}");
+
+        assertThrows(RuntimeException.class, () -> RequestUtils.getResponse(transport, "http://localhost/weather", new TimeoutSettings(), inputStream -> {
+            throw new RuntimeException("Cannot parse response");
+        }));
+        assertTrue(transport.body.closed);
+    }
+
+    @Test
+    public void whenResponseIsNotSuccessful_thenBodyMapperIsNotCalled() {
+        final StubTransport transport = new StubTransport(404, "{\"cod\":\"404\"}");
+
+        assertThrows(NoDataFoundException.class, () -> RequestUtils.getResponse(transport, "http://localhost/weather", new TimeoutSettings(), inputStream -> fail("Must not be called")));
+        assertTrue(transport.body.closed);
+    }
+
+    @Test
+    public void whenResponseStatusIsTooManyRequests_thenThrowRateLimitExceededException() {
+        final StubTransport transport = new StubTransport(429, "{\"cod\":429}");
+
+        assertThrows(RateLimitExceededException.class, () -> RequestUtils.getResponse(transport, "http://localhost/weather", new TimeoutSettings()));
+        assertTrue(transport.body.closed);
+    }
+
+    @Test
+    public void whenGetCanonicalRequest_thenParametersAreSortedAndApiKeyIsSkipped() {
+        final RequestSettings requestSettings = new RequestSettings("secret", new TimeoutSettings(), null, null);
+        requestSettings.appendToURL("weather");
+        requestSettings.putRequestParameter("q", "London");
+        requestSettings.setUnitSystem(UnitSystem.METRIC);
+        requestSettings.setLanguage(Language.GERMAN);
+
+        assertEquals("weather?lang=de&q=London&units=metric", RequestUtils.getCanonicalRequest(requestSettings));
+    }
+
+    private static class StubTransport implements HttpTransport {
+        private final int statusCode;
+        private final TrackingInputStream body;
+
+        StubTransport(int statusCode, String body) {
+            this.statusCode = statusCode;
+            this.body = new TrackingInputStream(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public HttpResponse execute(URL url, TimeoutSettings timeoutSettings) {
+            return new HttpResponse(statusCode, Collections.emptyMap(), body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        TrackingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
 }